@@ -564,10 +564,7 @@ public abstract class AbstractControlService {
      */
     @CloudSDKVersion(exclude = GatewayTypeEnum.RC)
     protected void droneControlDown(GatewayManager gateway, DroneControlRequest request) {
-        drcDownPublish.publish(
-                gateway.getGatewaySn(),
-                ControlMethodEnum.DRONE_CONTROL.getMethod(),
-                request);
+        drcDownPublish.publishDroneControl(gateway.getGatewaySn(), request);
     }
 
     /**
@@ -10,6 +10,7 @@ import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -23,6 +24,11 @@ public class Common {
 
     private static final JsonMapper.Builder MAPPER_BUILDER = JsonMapper.builder();
 
+    /**
+     * Built once, so the deserializers and serializers of each type are introspected only once and then cached by the mapper.
+     */
+    private static final ObjectMapper MAPPER;
+
     static {
         JavaTimeModule timeModule = new JavaTimeModule();
         timeModule.addDeserializer(LocalDateTime.class,
@@ -34,11 +40,14 @@ public class Common {
                 .serializationInclusion(JsonInclude.Include.NON_ABSENT)
                 .disable(MapperFeature.IGNORE_DUPLICATE_MODULE_REGISTRATIONS)
                 .addModule(timeModule)
+                // Access the properties with generated lambdas instead of reflection. Falls back to reflection when it can't.
+                .addModule(new BlackbirdModule())
                 .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
                 .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
                 .configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true)
                 .configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true)
                 .configure(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT, true);
+        MAPPER = MAPPER_BUILDER.build();
     }
 
     public static void validateModel(BaseModel model) {
@@ -55,8 +64,12 @@ public class Common {
         model.valid(gateway);
     }
 
+    /**
+     * The mapper is shared, don't change its configuration. Use {@link ObjectMapper#copy()} to customize it.
+     * @return
+     */
     public static ObjectMapper getObjectMapper() {
-        return MAPPER_BUILDER.build();
+        return MAPPER;
     }
 
     public static String convertSnake(String key) {
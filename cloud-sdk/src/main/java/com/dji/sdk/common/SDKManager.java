@@ -10,6 +10,7 @@ import com.dji.sdk.exception.CloudSDKErrorEnum;
 import com.dji.sdk.exception.CloudSDKException;
 
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -32,6 +33,10 @@ public class SDKManager {
                 "The device has not been registered, please call the 'SDKManager.registerDevice()' method to register the device first.");
     }
 
+    public static Optional<GatewayManager> findDeviceSDK(String gatewaySn) {
+        return null == gatewaySn ? Optional.empty() : Optional.ofNullable(SDK_MAP.get(gatewaySn));
+    }
+
     public static GatewayManager registerDevice(String gatewaySn, String droneSn,
             DeviceDomainEnum domain, DeviceTypeEnum type, DeviceSubTypeEnum subType, String gatewayThingVersion, String droneThingVersion) {
         return registerDevice(gatewaySn, droneSn, GatewayTypeEnum.find(DeviceEnum.find(domain, type, subType)), gatewayThingVersion, droneThingVersion);
@@ -0,0 +1,146 @@
+package com.dji.sdk.config;
+
+import com.dji.sdk.common.Common;
+import com.dji.sdk.exception.CloudSDKException;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The binding plan of a query parameter class. It is resolved once per target class,
+ * so that binding a request only needs map lookups instead of reflection.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+final class GetSnakeBindingPlan {
+
+    private static final Map<Class<?>, GetSnakeBindingPlan> PLANS = new ConcurrentHashMap<>();
+
+    private static final ObjectMapper MAPPER = Common.getObjectMapper();
+
+    /**
+     * Key: field name and json property name.
+     */
+    private final Map<String, FieldBinding> bindings;
+
+    /**
+     * Resolves the plan by reflection. Use {@link #of(Class)} to get the cached one.
+     * @param type
+     */
+    GetSnakeBindingPlan(Class<?> type) {
+        Field[] fields = type.getDeclaredFields();
+        Map<String, FieldBinding> map = new HashMap<>(fields.length * 4);
+        for (Field field : fields) {
+            FieldBinding binding = new FieldBinding(field);
+            map.put(field.getName(), binding);
+            JsonProperty jsonProperty = field.getAnnotation(JsonProperty.class);
+            if (null != jsonProperty) {
+                map.put(jsonProperty.value(), binding);
+            }
+        }
+        this.bindings = Collections.unmodifiableMap(map);
+    }
+
+    static GetSnakeBindingPlan of(Class<?> type) {
+        return PLANS.computeIfAbsent(type, GetSnakeBindingPlan::new);
+    }
+
+    FieldBinding get(String name) {
+        return bindings.get(name);
+    }
+
+    static final class FieldBinding {
+
+        private final String fieldName;
+
+        private final boolean collection;
+
+        private final boolean parameterized;
+
+        /**
+         * The json creator of the field type, or of the element type for a collection. Null if not an enum.
+         */
+        private final Method enumCreator;
+
+        private final Class<?>[] creatorParameterTypes;
+
+        private FieldBinding(Field field) {
+            this.fieldName = field.getName();
+            this.collection = Collection.class.isAssignableFrom(field.getType());
+            this.parameterized = field.getType() != field.getGenericType();
+
+            Class<?> valueType = field.getType();
+            if (!valueType.isEnum() && collection && parameterized) {
+                Type elementType = ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+                valueType = elementType instanceof Class ? (Class<?>) elementType : Object.class;
+            }
+            this.enumCreator = valueType.isEnum() ? findCreator(valueType) : null;
+            this.creatorParameterTypes = null == enumCreator ? null : enumCreator.getParameterTypes();
+        }
+
+        private static Method findCreator(Class<?> type) {
+            return Arrays.stream(type.getDeclaredMethods())
+                    .filter(m -> null != m.getAnnotation(JsonCreator.class))
+                    .filter(m -> Modifier.isStatic(m.getModifiers()))
+                    .filter(m -> m.getParameterTypes().length == 1)
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        String getFieldName() {
+            return fieldName;
+        }
+
+        boolean isCollection() {
+            return collection;
+        }
+
+        List<Object> convertValue(Object value) {
+            List<Object> convertedValue = new ArrayList<>();
+            if (!collection && null != enumCreator) {
+                convertedValue.add(toEnum(value));
+                return convertedValue;
+            }
+            if (!parameterized) {
+                convertedValue.add(value);
+                return convertedValue;
+            }
+            if (collection) {
+                if (!value.getClass().isArray()) {
+                    value = String.valueOf(value).split(",");
+                }
+                for (String v : (String[]) value) {
+                    if ("".equals(v)) {
+                        continue;
+                    }
+                    convertedValue.add(null == enumCreator ? v : toEnum(v));
+                }
+            }
+            return convertedValue;
+        }
+
+        private Object toEnum(Object value) {
+            if (null == enumCreator) {
+                return value;
+            }
+            Object arg = creatorParameterTypes[0].isInstance(value) ?
+                    value : MAPPER.convertValue(value, creatorParameterTypes[0]);
+            try {
+                return enumCreator.invoke(null, arg);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new CloudSDKException(e);
+            }
+        }
+    }
+}
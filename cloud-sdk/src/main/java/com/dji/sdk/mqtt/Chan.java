@@ -33,6 +33,13 @@ public class Chan {
         return chan;
     }
 
+    /**
+     * @return the number of requests waiting for a reply.
+     */
+    public static int pendingCount() {
+        return CHANNEL.size();
+    }
+
     public CommonTopicResponse get(String tid, long timeout) {
         Chan chan = CHANNEL.get(tid);
         if (Objects.isNull(chan)) {
@@ -11,7 +11,6 @@ public class ChannelName {
 
     public static final String INBOUND = "inbound";
     public static final String DEFAULT = "default";
-    public static final String OUTBOUND = "outbound";
 
     // status
     public static final String INBOUND_STATUS = "inboundStatus";
@@ -79,6 +78,8 @@ public class ChannelName {
     // osd
     public static final String INBOUND_OSD = "inboundOsd";
 
+    public static final String INBOUND_OSD_DECODE = "inboundOsdDecode";
+
     public static final String INBOUND_OSD_RC = "inboundOsdRc";
 
     public static final String INBOUND_OSD_DOCK = "inboundOsdDock";
@@ -168,6 +169,8 @@ public class ChannelName {
     // drc/up
     public static final String INBOUND_DRC_UP = "inboundDrcUp";
 
+    public static final String OUTBOUND_DRC = "outboundDrc";
+
     public static final String INBOUND_DRC_UP_DRONE_CONTROL = "inboundDrcUpDroneControl";
 
     public static final String INBOUND_DRC_UP_DRONE_EMERGENCY_STOP = "inboundDrcUpDroneEmergencyStop";
@@ -24,6 +24,12 @@ public interface IMqttTopicService {
      */
     void subscribe(@Header(MqttHeaders.TOPIC) String topic, int qos);
 
+    /**
+     * Subscribe all the topics that the action subscribes in the current thread with one request.
+     * @param action    the subscriptions
+     */
+    void subscribeInBatch(Runnable action);
+
     /**
      * Unsubscribe from a specific topic.
      * @param topics target
@@ -11,6 +11,7 @@ import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Resource;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -25,6 +26,9 @@ public class InboundMessageRouter extends AbstractMessageRouter {
 
     private static final Logger log = LoggerFactory.getLogger(InboundMessageRouter.class);
 
+    @Resource
+    private MqttMetrics mqttMetrics;
+
     /**
      * All mqtt broker messages will arrive here before distributing them to different channels.
      * @param message message from mqtt broker
@@ -39,8 +43,10 @@ public class InboundMessageRouter extends AbstractMessageRouter {
 
         log.debug("received topic: {} \t payload =>{}", topic, new String(payload));
 
+        long start = mqttMetrics.start();
         CloudApiTopicEnum topicEnum = CloudApiTopicEnum.find(topic);
         MessageChannel bean = (MessageChannel) SpringBeanUtils.getBean(topicEnum.getBeanName());
+        mqttMetrics.recordRoute(topicEnum, start);
 
         return Collections.singleton(bean);
     }
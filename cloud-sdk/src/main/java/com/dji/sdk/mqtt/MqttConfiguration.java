@@ -1,5 +1,6 @@
 package com.dji.sdk.mqtt;
 
+import com.dji.sdk.mqtt.shared.MqttSharedInboundPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,7 +10,6 @@ import org.springframework.integration.annotation.IntegrationComponentScan;
 import org.springframework.integration.annotation.ServiceActivator;
 import org.springframework.integration.mqtt.core.MqttPahoClientFactory;
 import org.springframework.integration.mqtt.inbound.MqttPahoMessageDrivenChannelAdapter;
-import org.springframework.integration.mqtt.outbound.MqttPahoMessageHandler;
 import org.springframework.integration.mqtt.support.DefaultPahoMessageConverter;
 import org.springframework.integration.mqtt.support.MqttHeaders;
 import org.springframework.messaging.MessageChannel;
@@ -33,6 +33,9 @@ public class MqttConfiguration {
     @Value("${cloud-sdk.mqtt.inbound-topic: }")
     private String inboundTopic;
 
+    @Value("${cloud-sdk.mqtt.shared-subscription.enabled:false}")
+    private boolean sharedSubscription;
+
     @Resource
     private MqttPahoClientFactory mqttClientFactory;
 
@@ -41,12 +44,16 @@ public class MqttConfiguration {
 
     /**
      * Clients of inbound message channels.
+     * In the shared subscription mode, it only receives the replies and the topics that are not shared.
+     * @see MqttSharedInboundPool
      * @return
      */
     @Bean
     public MqttPahoMessageDrivenChannelAdapter mqttInbound() {
+        String[] topics = sharedSubscription ?
+                MqttSharedInboundPool.commonTopics(inboundTopic.split(",")) : inboundTopic.split(",");
         MqttPahoMessageDrivenChannelAdapter adapter = new MqttPahoMessageDrivenChannelAdapter(
-                UUID.randomUUID().toString(), mqttClientFactory, inboundTopic.split(","));
+                UUID.randomUUID().toString(), mqttClientFactory, topics);
         DefaultPahoMessageConverter converter = new DefaultPahoMessageConverter();
         // use byte types uniformly
         converter.setPayloadAsBytes(true);
@@ -56,25 +63,6 @@ public class MqttConfiguration {
         return adapter;
     }
 
-    /**
-     * Clients of outbound message channels.
-     * @return
-     */
-    @Bean
-    @ServiceActivator(inputChannel = ChannelName.OUTBOUND)
-    public MessageHandler mqttOutbound() {
-        MqttPahoMessageHandler messageHandler = new MqttPahoMessageHandler(
-                UUID.randomUUID().toString(), mqttClientFactory);
-        DefaultPahoMessageConverter converter = new DefaultPahoMessageConverter();
-        // use byte types uniformly
-        converter.setPayloadAsBytes(true);
-
-        messageHandler.setAsync(true);
-        messageHandler.setDefaultQos(0);
-        messageHandler.setConverter(converter);
-        return messageHandler;
-    }
-
 
 
     /**
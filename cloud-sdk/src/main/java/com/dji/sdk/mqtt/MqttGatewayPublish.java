@@ -3,8 +3,10 @@ package com.dji.sdk.mqtt;
 import com.dji.sdk.common.Common;
 import com.dji.sdk.exception.CloudSDKErrorEnum;
 import com.dji.sdk.exception.CloudSDKException;
+import com.dji.sdk.mqtt.outbound.MqttOutboundPublisher;
 import com.dji.sdk.websocket.api.WebSocketMessageSend;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.TypeMismatchException;
@@ -28,18 +30,24 @@ public class MqttGatewayPublish {
 
     private static final Logger log = LoggerFactory.getLogger(WebSocketMessageSend.class);
 
-    private static final int DEFAULT_QOS = 0;
+    private static final ObjectMapper MAPPER = Common.getObjectMapper();
+
     public static final int DEFAULT_RETRY_COUNT = 2;
     public static final int DEFAULT_RETRY_TIMEOUT = 3000;
 
     @Resource
-    private IMqttMessageGateway messageGateway;
+    private MqttOutboundPublisher outboundPublisher;
+
+    @Resource
+    private MqttMetrics mqttMetrics;
 
+    /**
+     * The publishing time is recorded by the outbound publisher, from queuing to the acknowledgement.
+     */
     public void publish(String topic, int qos, CommonTopicRequest request) {
         try {
             log.debug("send topic: {}, payload: {}", topic, request.toString());
-            byte[] payload = Common.getObjectMapper().writeValueAsBytes(request);
-            messageGateway.publish(topic, payload, qos);
+            outboundPublisher.publish(topic, MAPPER.writeValueAsBytes(request), qos);
         } catch (JsonProcessingException e) {
             log.error("Failed to publish the message. {}", request.toString());
             e.printStackTrace();
@@ -49,8 +57,7 @@ public class MqttGatewayPublish {
     public void publish(String topic, int qos, CommonTopicResponse response) {
         try {
             log.debug("send topic: {}, payload: {}", topic, response.toString());
-            byte[] payload = Common.getObjectMapper().writeValueAsBytes(response);
-            messageGateway.publish(topic, payload, qos);
+            outboundPublisher.publish(topic, MAPPER.writeValueAsBytes(response), qos);
         } catch (JsonProcessingException e) {
             log.error("Failed to publish the message. {}", response.toString());
             e.printStackTrace();
@@ -60,16 +67,17 @@ public class MqttGatewayPublish {
     public void publish(String topic, CommonTopicRequest request, int publishCount) {
         AtomicInteger time = new AtomicInteger(0);
         while (time.getAndIncrement() < publishCount) {
-            this.publish(topic, DEFAULT_QOS, request);
+            this.publish(topic, outboundPublisher.getQos(topic), request);
         }
     }
 
     public void publish(String topic, CommonTopicRequest request) {
-        this.publish(topic, DEFAULT_QOS, request);
+        this.publish(topic, outboundPublisher.getQos(topic), request);
     }
 
     public void publishReply(CommonTopicResponse response, MessageHeaders headers) {
-        this.publish(headers.get(MqttHeaders.RECEIVED_TOPIC) + TopicConst._REPLY_SUF, 2, response);
+        String topic = headers.get(MqttHeaders.RECEIVED_TOPIC) + TopicConst._REPLY_SUF;
+        this.publish(topic, outboundPublisher.getQos(topic), response);
     }
 
     public <T> CommonTopicResponse<T> publishWithReply(Class<T> clazz, String topic, CommonTopicRequest request, int retryCount, long timeout) {
@@ -78,14 +86,17 @@ public class MqttGatewayPublish {
         request.setBid(hasBid ? request.getBid() : UUID.randomUUID().toString());
         // Retry
         while (time.getAndIncrement() <= retryCount) {
+            long start = mqttMetrics.start();
             this.publish(topic, request);
 
             // If the message is not received in 3 seconds then resend it again.
             CommonTopicResponse<T> receiver = Chan.getInstance(request.getTid(), true).get(request.getTid(), timeout);
             // Need to match tid and bid.
-            if (Objects.nonNull(receiver)
+            boolean received = Objects.nonNull(receiver)
                     && receiver.getTid().equals(request.getTid())
-                    && receiver.getBid().equals(request.getBid())) {
+                    && receiver.getBid().equals(request.getBid());
+            mqttMetrics.recordReply(topic, start, received);
+            if (received) {
                 if (clazz.isAssignableFrom(receiver.getData().getClass())) {
                     return receiver;
                 }
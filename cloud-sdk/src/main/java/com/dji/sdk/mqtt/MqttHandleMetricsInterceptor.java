@@ -0,0 +1,63 @@
+package com.dji.sdk.mqtt;
+
+import org.springframework.integration.config.GlobalChannelInterceptor;
+import org.springframework.integration.support.context.NamedComponent;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.util.Arrays;
+
+/**
+ * Record the handling time of each method channel.
+ * The channels of the routers and the osd decoding are excluded, because they also contain the decoding
+ * and the queueing, which are recorded by their own timers.
+ * Each method has its own direct channel, so the handler runs inside the send of the channel.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Component
+@GlobalChannelInterceptor(patterns = {
+        "!" + ChannelName.INBOUND, "!" + ChannelName.INBOUND_OSD, "!" + ChannelName.INBOUND_STATUS,
+        "!" + ChannelName.INBOUND_STATE, "!" + ChannelName.INBOUND_REQUESTS, "!" + ChannelName.INBOUND_EVENTS,
+        "!" + ChannelName.INBOUND_DRC_UP, "!" + ChannelName.INBOUND_OSD_DECODE, "inbound*"})
+public class MqttHandleMetricsInterceptor implements ChannelInterceptor {
+
+    private static final int MAX_DEPTH = 16;
+
+    /**
+     * The start time of the nested sends on the current thread. Index 0 is the depth.
+     */
+    private static final ThreadLocal<long[]> STARTS = ThreadLocal.withInitial(() -> new long[MAX_DEPTH + 1]);
+
+    @Resource
+    private MqttMetrics mqttMetrics;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        long[] starts = STARTS.get();
+        int depth = (int) ++starts[0];
+        if (depth <= MAX_DEPTH) {
+            starts[depth] = mqttMetrics.start();
+        }
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        long[] starts = STARTS.get();
+        int depth = (int) starts[0]--;
+        if (depth <= 0) {
+            Arrays.fill(starts, 0);
+            return;
+        }
+        if (depth <= MAX_DEPTH) {
+            mqttMetrics.recordHandle(channel instanceof NamedComponent ?
+                    ((NamedComponent) channel).getComponentName() : channel.toString(), starts[depth]);
+        }
+    }
+}
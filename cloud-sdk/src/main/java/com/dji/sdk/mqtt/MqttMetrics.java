@@ -0,0 +1,271 @@
+package com.dji.sdk.mqtt;
+
+import com.dji.sdk.common.SDKManager;
+import com.dji.sdk.config.version.GatewayManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Timers and counters of each stage of the mqtt pipeline.
+ *
+ * Meters are cached by their name and tags, so recording a stage costs two clock reads and one map lookup.
+ * The metrics of an inbound message, from the route to the handle, must stay within 2 us, see MqttMetricsTest.
+ * Each metric accepts at most {@link #MAX_TAG_COMBINATIONS} tag combinations, the others are merged into "other".
+ * Any registry can be passed in, e.g. a SimpleMeterRegistry in tests.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Component
+public class MqttMetrics {
+
+    public static final String ROUTE = "cloud_sdk.mqtt.inbound.route";
+
+    public static final String DECODE = "cloud_sdk.mqtt.inbound.decode";
+
+    public static final String QUEUE = "cloud_sdk.mqtt.inbound.queue";
+
+    public static final String HANDLE = "cloud_sdk.mqtt.inbound.handle";
+
+    public static final String PUBLISH = "cloud_sdk.mqtt.outbound.publish";
+
+    public static final String PUBLISH_FAILED = "cloud_sdk.mqtt.outbound.publish.failed";
+
+    public static final String REPLY = "cloud_sdk.mqtt.outbound.reply";
+
+    public static final String OUTBOUND_QUEUE = "cloud_sdk.mqtt.outbound.queue";
+
+    public static final String OUTBOUND_IN_FLIGHT = "cloud_sdk.mqtt.outbound.in_flight";
+
+    public static final String CHAN_PENDING = "cloud_sdk.mqtt.chan.pending";
+
+    static final int MAX_TAG_COMBINATIONS = 256;
+
+    private static final String OTHER = "other";
+
+    private static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry registry;
+
+    private final boolean enabled;
+
+    private final Map<MeterKey, Meter> meters = new ConcurrentHashMap<>();
+
+    /**
+     * The number of the tag combinations of each metric.
+     */
+    private final Map<String, AtomicInteger> combinations = new ConcurrentHashMap<>();
+
+    public MqttMetrics(MeterRegistry registry) {
+        this(registry, true);
+    }
+
+    @Autowired
+    public MqttMetrics(MeterRegistry registry, @Value("${cloud-sdk.mqtt.metrics.enabled:true}") boolean enabled) {
+        this.registry = Objects.requireNonNull(registry);
+        this.enabled = enabled;
+        if (enabled) {
+            Gauge.builder(CHAN_PENDING, Chan::pendingCount)
+                    .description("The number of requests waiting for a reply.")
+                    .register(registry);
+        }
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * @return the start time of a stage, or 0 if the metrics are disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public void recordRoute(CloudApiTopicEnum topic, long start) {
+        if (enabled) {
+            timer(ROUTE, "topic", topic.name()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * The device type is the type of the gateway.
+     */
+    public void recordDecode(CloudApiTopicEnum topic, String gatewaySn, Enum<?> method, long start) {
+        if (enabled) {
+            recordDecodeOfType(topic, gatewayType(gatewaySn), method, start);
+        }
+    }
+
+    public void recordDecode(CloudApiTopicEnum topic, Enum<?> deviceType, Enum<?> method, long start) {
+        if (enabled) {
+            recordDecodeOfType(topic, null == deviceType ? UNKNOWN : deviceType.name(), method, start);
+        }
+    }
+
+    private void recordDecodeOfType(CloudApiTopicEnum topic, String deviceType, Enum<?> method, long start) {
+        timer(DECODE, "topic", topic.name(), "device_type", deviceType, "method", null == method ? UNKNOWN : method.name())
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordHandle(String channel, long start) {
+        if (enabled) {
+            timer(HANDLE, "channel", channel).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * The outbound messages are tagged by the topic without the device sn, e.g. "services", "drc/down".
+     */
+    public void recordPublish(String topic, int qos, long start, boolean success) {
+        if (!enabled) {
+            return;
+        }
+        String topicTag = topicTag(topic);
+        timer(PUBLISH, "topic", topicTag, "qos", String.valueOf(qos))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!success) {
+            meter(PUBLISH_FAILED, tags -> Counter.builder(PUBLISH_FAILED).tags(tags).register(registry),
+                    "topic", topicTag).increment();
+        }
+    }
+
+    public void recordReply(String topic, long start, boolean received) {
+        if (enabled) {
+            timer(REPLY, "topic", topicTag(topic), "result", received ? "received" : "timeout")
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void gauge(String name, String description, Supplier<Number> value) {
+        if (enabled) {
+            Gauge.builder(name, value).description(description).register(registry);
+        }
+    }
+
+    /**
+     * Wrap the executor of an executor channel to record how long the messages wait in its queue.
+     * @param executor
+     * @param channel
+     * @return
+     */
+    public Executor monitorQueue(Executor executor, String channel) {
+        if (!enabled) {
+            return executor;
+        }
+        Timer timer = timer(QUEUE, "channel", channel);
+        return command -> {
+            long enqueued = System.nanoTime();
+            executor.execute(() -> {
+                timer.record(System.nanoTime() - enqueued, TimeUnit.NANOSECONDS);
+                command.run();
+            });
+        };
+    }
+
+    private String gatewayType(String gatewaySn) {
+        return SDKManager.findDeviceSDK(gatewaySn)
+                .map(GatewayManager::getType)
+                .map(Enum::name)
+                .orElse(UNKNOWN);
+    }
+
+    /**
+     * The topics are in the format of {prefix}/product/{sn}/{suffix}.
+     */
+    private static String topicTag(String topic) {
+        if (null == topic) {
+            return UNKNOWN;
+        }
+        int index = topic.indexOf(TopicConst.PRODUCT);
+        index = index < 0 ? -1 : topic.indexOf('/', index + TopicConst.PRODUCT.length());
+        return index < 0 ? UNKNOWN : topic.substring(index + 1);
+    }
+
+    private Timer timer(String name, String... tags) {
+        return meter(name, meterTags -> Timer.builder(name).tags(meterTags).register(registry), tags);
+    }
+
+    /**
+     * @param name
+     * @param factory register the meter with the given tags.
+     * @param tags key value pairs.
+     * @return the cached meter.
+     */
+    @SuppressWarnings("unchecked")
+    private <M extends Meter> M meter(String name, Function<String[], M> factory, String... tags) {
+        MeterKey key = new MeterKey(name, tags);
+        Meter meter = meters.get(key);
+        if (meter != null) {
+            return (M) meter;
+        }
+        AtomicInteger count = combinations.computeIfAbsent(name, k -> new AtomicInteger());
+        if (count.get() >= MAX_TAG_COMBINATIONS) {
+            return (M) meters.computeIfAbsent(new MeterKey(name, otherTags(tags)), k -> factory.apply(k.tags));
+        }
+        return (M) meters.computeIfAbsent(key, k -> {
+            count.incrementAndGet();
+            return factory.apply(tags);
+        });
+    }
+
+    private static String[] otherTags(String[] tags) {
+        String[] other = tags.clone();
+        for (int i = 1; i < other.length; i += 2) {
+            other[i] = OTHER;
+        }
+        return other;
+    }
+
+    /**
+     * The name and the tags of a meter, the hash is computed once.
+     */
+    private static final class MeterKey {
+
+        private final String name;
+
+        private final String[] tags;
+
+        private final int hash;
+
+        private MeterKey(String name, String[] tags) {
+            this.name = name;
+            this.tags = tags;
+            this.hash = 31 * name.hashCode() + Arrays.hashCode(tags);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MeterKey)) {
+                return false;
+            }
+            MeterKey that = (MeterKey) o;
+            return hash == that.hash && name.equals(that.name) && Arrays.equals(tags, that.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package com.dji.sdk.mqtt;
 
+import com.dji.sdk.mqtt.shared.MqttSharedInboundPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.integration.mqtt.inbound.MqttPahoMessageDrivenChannelAdapter;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Resource;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -21,11 +25,25 @@ public class MqttTopicServiceImpl implements IMqttTopicService {
 
     private static final Logger log = LoggerFactory.getLogger(MqttTopicServiceImpl.class);
 
-    @Resource
+    /**
+     * The topics collected by {@link #subscribeInBatch(Runnable)} in the current thread, with their qos.
+     */
+    private static final ThreadLocal<Map<String, Integer>> BATCH = new ThreadLocal<>();
+
+    @Resource(name = "mqttInbound")
     private MqttPahoMessageDrivenChannelAdapter adapter;
 
+    @Autowired(required = false)
+    private MqttSharedInboundPool sharedInboundPool;
+
     @Override
     public void subscribe(String... topics) {
+        if (BATCH.get() != null) {
+            for (String topic : topics) {
+                subscribe(topic, 1);
+            }
+            return;
+        }
         Set<String> topicSet = new HashSet<>(Arrays.asList(getSubscribedTopic()));
         for (String topic : topics) {
             if (topicSet.contains(topic)) {
@@ -37,18 +55,68 @@ public class MqttTopicServiceImpl implements IMqttTopicService {
 
     @Override
     public void subscribe(String topic, int qos) {
+        Map<String, Integer> batch = BATCH.get();
+        if (batch != null) {
+            if (!isShared(topic)) {
+                batch.put(topic, qos);
+            }
+            return;
+        }
         Set<String> topicSet = new HashSet<>(Arrays.asList(getSubscribedTopic()));
-        if (topicSet.contains(topic)) {
+        if (topicSet.contains(topic) || isShared(topic)) {
             return;
         }
         log.debug("subscribe topic: {}", topic);
         adapter.addTopic(topic, qos);
     }
 
+    @Override
+    public void subscribeInBatch(Runnable action) {
+        if (BATCH.get() != null) {
+            action.run();
+            return;
+        }
+        Map<String, Integer> batch = new LinkedHashMap<>();
+        BATCH.set(batch);
+        try {
+            action.run();
+        } finally {
+            BATCH.remove();
+        }
+        batch.keySet().removeAll(Arrays.asList(getSubscribedTopic()));
+        if (batch.isEmpty()) {
+            return;
+        }
+        log.debug("subscribe topics: {}", batch.keySet());
+        try {
+            adapter.addTopics(batch.keySet().toArray(String[]::new),
+                    batch.values().stream().mapToInt(Integer::intValue).toArray());
+        } catch (RuntimeException e) {
+            // Some topics were subscribed by another thread in the meantime.
+            log.debug("Failed to subscribe the topics in batch, subscribe them one by one. {}", e.getMessage());
+            batch.forEach(this::subscribe);
+        }
+    }
+
     @Override
     public void unsubscribe(String... topics) {
-        log.debug("unsubscribe topic: {}", Arrays.toString(topics));
-        adapter.removeTopic(topics);
+        Map<String, Integer> batch = BATCH.get();
+        if (batch != null) {
+            Arrays.asList(topics).forEach(batch::remove);
+        }
+        String[] subscribed = Arrays.stream(topics).filter(topic -> !isShared(topic)).toArray(String[]::new);
+        if (subscribed.length == 0) {
+            return;
+        }
+        log.debug("unsubscribe topic: {}", Arrays.toString(subscribed));
+        adapter.removeTopic(subscribed);
+    }
+
+    /**
+     * The topics received by the shared subscriptions are not subscribed for each device.
+     */
+    private boolean isShared(String topic) {
+        return sharedInboundPool != null && MqttSharedInboundPool.covers(topic);
     }
 
     public String[] getSubscribedTopic() {
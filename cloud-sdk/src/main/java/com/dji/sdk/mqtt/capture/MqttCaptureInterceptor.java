@@ -0,0 +1,77 @@
+package com.dji.sdk.mqtt.capture;
+
+import com.dji.sdk.mqtt.ChannelName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.integration.config.GlobalChannelInterceptor;
+import org.springframework.integration.mqtt.support.MqttHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Capture all raw messages received from the mqtt broker before they are routed.
+ * The drc up messages come from their own client, and are captured on their channel.
+ * The replayed messages are not captured again.
+ * Enabled by cloud-sdk.mqtt.capture.enabled=true.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Component
+@ConditionalOnProperty(name = "cloud-sdk.mqtt.capture.enabled", havingValue = "true")
+@GlobalChannelInterceptor(patterns = {ChannelName.INBOUND, ChannelName.INBOUND_DRC_UP})
+public class MqttCaptureInterceptor implements ChannelInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(MqttCaptureInterceptor.class);
+
+    @Value("${cloud-sdk.mqtt.capture.dir:capture}")
+    private Path dir;
+
+    @Value("${cloud-sdk.mqtt.capture.max-file-size:256MB}")
+    private DataSize maxFileSize;
+
+    private MqttCaptureWriter writer;
+
+    @PostConstruct
+    private void init() throws IOException {
+        writer = new MqttCaptureWriter(dir, maxFileSize.toBytes());
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        Object topic = message.getHeaders().get(MqttHeaders.RECEIVED_TOPIC);
+        if (topic == null || !(message.getPayload() instanceof byte[])
+                || message.getHeaders().containsKey(MqttReplayDriver.REPLAYED)) {
+            return message;
+        }
+        try {
+            writer.write(topic.toString(), (byte[]) message.getPayload());
+        } catch (IOException e) {
+            log.error("Failed to capture the message of the topic {}.", topic, e);
+        }
+        return message;
+    }
+
+    @Scheduled(initialDelay = 1, fixedDelay = 1, timeUnit = TimeUnit.SECONDS)
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @PreDestroy
+    private void destroy() throws IOException {
+        writer.close();
+    }
+}
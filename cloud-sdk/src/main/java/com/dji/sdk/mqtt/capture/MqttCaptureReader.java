@@ -0,0 +1,119 @@
+package com.dji.sdk.mqtt.capture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Read the records of a capture file, or of all capture files in a directory in the order they were written.
+ * A record truncated by a crash ends its file.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public class MqttCaptureReader implements Iterator<MqttCaptureRecord>, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(MqttCaptureReader.class);
+
+    private final Iterator<Path> files;
+
+    private DataInputStream in;
+
+    private MqttCaptureRecord next;
+
+    public MqttCaptureReader(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            this.files = List.of(path).iterator();
+            return;
+        }
+        try (Stream<Path> list = Files.list(path)) {
+            this.files = list.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(MqttCaptureWriter.FILE_PREFIX) && name.endsWith(MqttCaptureWriter.FILE_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList())
+                    .iterator();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = readNext();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public MqttCaptureRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        MqttCaptureRecord record = next;
+        next = null;
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            in.close();
+            in = null;
+        }
+    }
+
+    private MqttCaptureRecord readNext() throws IOException {
+        while (true) {
+            if (in == null && !openNextFile()) {
+                return null;
+            }
+            try {
+                long arrivalNanos = in.readLong();
+                byte[] topic = new byte[in.readUnsignedShort()];
+                in.readFully(topic);
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                return new MqttCaptureRecord(arrivalNanos, new String(topic, StandardCharsets.UTF_8), payload);
+            } catch (EOFException e) {
+                close();
+            }
+        }
+    }
+
+    private boolean openNextFile() throws IOException {
+        while (files.hasNext()) {
+            Path file = files.next();
+            DataInputStream stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024));
+            try {
+                if (stream.readInt() == MqttCaptureWriter.MAGIC && stream.readByte() == MqttCaptureWriter.VERSION) {
+                    in = stream;
+                    return true;
+                }
+            } catch (EOFException ignored) {
+            }
+            log.warn("Skip the file {}, it's not a supported capture file.", file);
+            stream.close();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,47 @@
+package com.dji.sdk.mqtt.capture;
+
+/**
+ * A raw mqtt message in the capture file.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public class MqttCaptureRecord {
+
+    /**
+     * The arrival time in nanoseconds since the epoch.
+     */
+    private final long arrivalNanos;
+
+    private final String topic;
+
+    private final byte[] payload;
+
+    public MqttCaptureRecord(long arrivalNanos, String topic, byte[] payload) {
+        this.arrivalNanos = arrivalNanos;
+        this.topic = topic;
+        this.payload = payload;
+    }
+
+    @Override
+    public String toString() {
+        return "MqttCaptureRecord{" +
+                "arrivalNanos=" + arrivalNanos +
+                ", topic='" + topic + '\'' +
+                ", payloadLength=" + payload.length +
+                '}';
+    }
+
+    public long getArrivalNanos() {
+        return arrivalNanos;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,113 @@
+package com.dji.sdk.mqtt.capture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append the raw mqtt messages to the capture files.
+ *
+ * File layout: magic, version, then the records until the end of the file.
+ * Record layout: arrival time in epoch nanoseconds (8 bytes), topic length (2 bytes), topic in utf-8,
+ * payload length (4 bytes), payload.
+ * A new file is started once the current one reaches the max size. The file names sort in the order they are written.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public class MqttCaptureWriter implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(MqttCaptureWriter.class);
+
+    static final int MAGIC = 0x444A4D43;
+
+    static final byte VERSION = 1;
+
+    static final String FILE_PREFIX = "mqtt-capture-";
+
+    static final String FILE_SUFFIX = ".bin";
+
+    private static final int HEADER_LENGTH = 5;
+
+    private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final Path dir;
+
+    private final long maxFileSize;
+
+    /**
+     * Align the monotonic clock with the epoch once, so the arrival time is both precise and absolute.
+     */
+    private final long epochNanosBase = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+
+    private final long nanoTimeBase = System.nanoTime();
+
+    private DataOutputStream out;
+
+    private long fileSize;
+
+    private int fileIndex;
+
+    public MqttCaptureWriter(Path dir, long maxFileSize) throws IOException {
+        if (maxFileSize <= HEADER_LENGTH) {
+            throw new IllegalArgumentException("The max file size is too small.");
+        }
+        this.dir = Files.createDirectories(dir);
+        this.maxFileSize = maxFileSize;
+    }
+
+    public synchronized void write(String topic, byte[] payload) throws IOException {
+        byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        if (topicBytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("The topic is too long.");
+        }
+        long recordSize = Long.BYTES + Short.BYTES + topicBytes.length + Integer.BYTES + payload.length;
+        if (out == null || fileSize + recordSize > maxFileSize && fileSize > HEADER_LENGTH) {
+            rotate();
+        }
+        out.writeLong(epochNanosBase + System.nanoTime() - nanoTimeBase);
+        out.writeShort(topicBytes.length);
+        out.write(topicBytes);
+        out.writeInt(payload.length);
+        out.write(payload);
+        fileSize += recordSize;
+    }
+
+    public synchronized void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    private void rotate() throws IOException {
+        close();
+        Path file = dir.resolve(String.format("%s%s-%05d%s", FILE_PREFIX,
+                LocalDateTime.now().format(FILE_TIME_FORMAT), fileIndex++, FILE_SUFFIX));
+        out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        fileSize = HEADER_LENGTH;
+        log.info("Capturing mqtt messages into {}.", file);
+    }
+}
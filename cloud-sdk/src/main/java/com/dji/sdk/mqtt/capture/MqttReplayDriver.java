@@ -0,0 +1,164 @@
+package com.dji.sdk.mqtt.capture;
+
+import com.dji.sdk.common.SpringBeanUtils;
+import com.dji.sdk.mqtt.ChannelName;
+import com.dji.sdk.mqtt.CloudApiTopicEnum;
+import com.dji.sdk.mqtt.TopicConst;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.integration.mqtt.support.MqttHeaders;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feed the captured messages into the channels of their topics, without any mqtt broker.
+ *
+ * The messages keep the intervals of the capture divided by the speed, or are sent as fast as possible if the speed is 0.
+ * The messages of one device are always handled by the same lane, so their order is preserved.
+ * Each message is handled on the thread of its lane, the executor of the osd channel is skipped,
+ * so a message is counted as succeeded only after its handler returns.
+ * The replies are still published, so they fail if no broker is connected. Failures are counted and skipped.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Component
+public class MqttReplayDriver {
+
+    private static final Logger log = LoggerFactory.getLogger(MqttReplayDriver.class);
+
+    private static final int LANE_CAPACITY = 1024;
+
+    /**
+     * The header of the replayed messages.
+     */
+    public static final String REPLAYED = "cloud_sdk_replayed";
+
+    private static final Message<?> END = MessageBuilder.withPayload(new byte[0]).build();
+
+    /**
+     * @param path a capture file, or a directory of capture files.
+     * @param speed the multiple of the captured rate. 0 means as fast as possible.
+     * @param lanes the number of threads handling the messages.
+     * @return the number of messages handled successfully.
+     */
+    public long replay(Path path, double speed, int lanes) throws IOException, InterruptedException {
+        if (speed < 0 || lanes < 1) {
+            throw new IllegalArgumentException("The speed must not be negative, and there must be at least one lane.");
+        }
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        Lane[] workers = new Lane[lanes];
+        for (int i = 0; i < lanes; i++) {
+            workers[i] = new Lane(i, succeeded, failed);
+            workers[i].start();
+        }
+
+        long total = 0;
+        long start = System.nanoTime();
+        try (MqttCaptureReader reader = new MqttCaptureReader(path)) {
+            long firstArrival = 0;
+            while (reader.hasNext()) {
+                MqttCaptureRecord record = reader.next();
+                if (total++ == 0) {
+                    firstArrival = record.getArrivalNanos();
+                }
+                if (speed > 0) {
+                    long due = start + (long) ((record.getArrivalNanos() - firstArrival) / speed);
+                    long wait;
+                    while ((wait = due - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+                Message<byte[]> message = MessageBuilder.withPayload(record.getPayload())
+                        .setHeader(MqttHeaders.RECEIVED_TOPIC, record.getTopic())
+                        .setHeader(REPLAYED, true)
+                        .build();
+                workers[Math.floorMod(deviceSn(record.getTopic()).hashCode(), lanes)].queue.put(message);
+            }
+        } finally {
+            for (Lane worker : workers) {
+                worker.queue.put(END);
+            }
+            for (Lane worker : workers) {
+                worker.join();
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        log.info("Replayed {} mqtt messages in {} ms, {} failed, {} msg/s.", total, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                failed.get(), elapsed == 0 ? 0 : total * TimeUnit.SECONDS.toNanos(1) / elapsed);
+        return succeeded.get();
+    }
+
+    /**
+     * The channel that the router sends the topic to. The osd messages go to the direct channel behind the executor.
+     */
+    private static MessageChannel targetChannel(String topic) {
+        CloudApiTopicEnum topicEnum = CloudApiTopicEnum.find(topic);
+        return (MessageChannel) SpringBeanUtils.getBean(
+                CloudApiTopicEnum.OSD == topicEnum ? ChannelName.INBOUND_OSD_DECODE : topicEnum.getBeanName());
+    }
+
+    /**
+     * The topics are in the format of {prefix}/product/{sn}/{suffix}.
+     */
+    private static String deviceSn(String topic) {
+        int start = topic.indexOf(TopicConst.PRODUCT);
+        if (start < 0) {
+            return topic;
+        }
+        start += TopicConst.PRODUCT.length();
+        int end = topic.indexOf('/', start);
+        return end < 0 ? topic.substring(start) : topic.substring(start, end);
+    }
+
+    private class Lane extends Thread {
+
+        private final BlockingQueue<Message<?>> queue = new ArrayBlockingQueue<>(LANE_CAPACITY);
+
+        private final AtomicLong succeeded;
+
+        private final AtomicLong failed;
+
+        private Lane(int index, AtomicLong succeeded, AtomicLong failed) {
+            super("mqtt-replay-" + index);
+            this.succeeded = succeeded;
+            this.failed = failed;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Message<?> message;
+                while ((message = queue.take()) != END) {
+                    try {
+                        String topic = String.valueOf(message.getHeaders().get(MqttHeaders.RECEIVED_TOPIC));
+                        if (targetChannel(topic).send(message)) {
+                            succeeded.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        log.debug("Failed to replay the message of the topic {}.",
+                                message.getHeaders().get(MqttHeaders.RECEIVED_TOPIC), e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
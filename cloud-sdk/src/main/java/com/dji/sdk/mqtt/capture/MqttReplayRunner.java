@@ -0,0 +1,40 @@
+package com.dji.sdk.mqtt.capture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.nio.file.Path;
+
+/**
+ * Replay a capture once the application has started, e.g.
+ * --cloud-sdk.mqtt.replay.path=capture --cloud-sdk.mqtt.replay.speed=10
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Component
+@ConditionalOnProperty(name = "cloud-sdk.mqtt.replay.path")
+public class MqttReplayRunner implements ApplicationRunner {
+
+    @Value("${cloud-sdk.mqtt.replay.path}")
+    private Path path;
+
+    @Value("${cloud-sdk.mqtt.replay.speed:1}")
+    private double speed;
+
+    @Value("${cloud-sdk.mqtt.replay.lanes:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int lanes;
+
+    @Resource
+    private MqttReplayDriver replayDriver;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        replayDriver.replay(path, speed, lanes);
+    }
+}
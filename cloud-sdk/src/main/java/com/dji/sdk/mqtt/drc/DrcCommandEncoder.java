@@ -0,0 +1,52 @@
+package com.dji.sdk.mqtt.drc;
+
+import com.dji.sdk.cloudapi.control.ControlMethodEnum;
+import com.dji.sdk.cloudapi.control.DroneControlRequest;
+
+/**
+ * Encode the fixed shape stick commands without the object mapper.
+ * Each thread reuses its own buffer, so encoding a command only allocates the payload itself.
+ * The output has the same content as the object mapper writes for a TopicDrcRequest.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+final class DrcCommandEncoder {
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private DrcCommandEncoder() {
+    }
+
+    static byte[] encodeDroneControl(DroneControlRequest request) {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        sb.append("{\"data\":{\"seq\":").append(request.getSeq());
+        appendField(sb, "x", request.getX());
+        appendField(sb, "y", request.getY());
+        appendField(sb, "h", request.getH());
+        appendField(sb, "w", request.getW());
+        appendField(sb, "freq", request.getFreq());
+        appendField(sb, "delay_time", request.getDelayTime());
+        sb.append("},\"method\":\"").append(ControlMethodEnum.DRONE_CONTROL.getMethod()).append("\"}");
+        return toAscii(sb);
+    }
+
+    private static void appendField(StringBuilder sb, String name, Object value) {
+        if (value != null) {
+            sb.append(",\"").append(name).append("\":").append(value);
+        }
+    }
+
+    /**
+     * All characters are ascii, because the content is only field names and numbers.
+     */
+    private static byte[] toAscii(StringBuilder sb) {
+        byte[] payload = new byte[sb.length()];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) sb.charAt(i);
+        }
+        return payload;
+    }
+}
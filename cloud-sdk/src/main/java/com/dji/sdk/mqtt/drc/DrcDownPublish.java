@@ -1,7 +1,12 @@
 package com.dji.sdk.mqtt.drc;
 
-import com.dji.sdk.mqtt.MqttGatewayPublish;
+import com.dji.sdk.cloudapi.control.DroneControlRequest;
+import com.dji.sdk.common.Common;
+import com.dji.sdk.exception.CloudSDKException;
+import com.dji.sdk.mqtt.MqttMetrics;
 import com.dji.sdk.mqtt.TopicConst;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Resource;
@@ -15,8 +20,16 @@ import java.util.Objects;
 @Component
 public class DrcDownPublish {
 
+    private static final ObjectMapper MAPPER = Common.getObjectMapper();
+
+    @Resource
+    private IDrcMessageGateway drcMessageGateway;
+
+    @Resource
+    private DrcLinkMonitor drcLinkMonitor;
+
     @Resource
-    private MqttGatewayPublish gatewayPublish;
+    private MqttMetrics mqttMetrics;
 
     public static final int DEFAULT_PUBLISH_COUNT = 5;
 
@@ -29,12 +42,37 @@ public class DrcDownPublish {
     }
 
     public void publish(String sn, String method, Object data, int publishCount) {
+        try {
+            byte[] payload = MAPPER.writeValueAsBytes(new TopicDrcRequest<>()
+                    .setMethod(method)
+                    .setData(Objects.requireNonNullElse(data, "")));
+            this.publish(sn, payload, publishCount);
+        } catch (JsonProcessingException e) {
+            throw new CloudSDKException(e);
+        }
+    }
+
+    /**
+     * Publish the stick command. The number of copies follows the measured loss rate of the drc link.
+     * @param sn
+     * @param request
+     */
+    public void publishDroneControl(String sn, DroneControlRequest request) {
+        int publishCount = null == request.getSeq() ?
+                DEFAULT_PUBLISH_COUNT : drcLinkMonitor.sent(sn, request.getSeq());
+        this.publish(sn, DrcCommandEncoder.encodeDroneControl(request), publishCount);
+    }
+
+    /**
+     * The payload is encoded once and the same bytes are published for each copy.
+     */
+    private void publish(String sn, byte[] payload, int publishCount) {
         String topic = TopicConst.THING_MODEL_PRE + TopicConst.PRODUCT + Objects.requireNonNull(sn) + TopicConst.DRC + TopicConst.DOWN;
-        gatewayPublish.publish(topic,
-                new TopicDrcRequest<>()
-                        .setMethod(method)
-                        .setData(Objects.requireNonNullElse(data, "")),
-                publishCount);
+        for (int i = 0; i < publishCount; i++) {
+            long start = mqttMetrics.start();
+            drcMessageGateway.publish(topic, payload);
+            mqttMetrics.recordPublish(topic, 0, start, true);
+        }
     }
 
 }
@@ -0,0 +1,165 @@
+package com.dji.sdk.mqtt.drc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Track the sequence numbered drc commands of each gateway.
+ *
+ * The device replies to every copy of a command it receives, so the replies of a command
+ * tell how many of its copies got through. The loss rate of a single copy is averaged over the recent commands,
+ * and the number of copies is the smallest one that keeps the chance of losing all of them below {@link #TARGET_LOSS}.
+ * Until there are enough samples, the commands are sent {@link DrcDownPublish#DEFAULT_PUBLISH_COUNT} times.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Component
+public class DrcLinkMonitor {
+
+    public static final String RTT = "cloud_sdk.mqtt.drc.rtt";
+
+    static final int MIN_PUBLISH_COUNT = 1;
+
+    static final int MAX_PUBLISH_COUNT = DrcDownPublish.DEFAULT_PUBLISH_COUNT;
+
+    static final double TARGET_LOSS = 0.001;
+
+    /**
+     * The replies after this window are ignored, and the missing copies are counted as lost.
+     */
+    private static final long REPLY_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final double EWMA_ALPHA = 0.1;
+
+    private static final int MAX_PENDING = 256;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    private Timer rttTimer;
+
+    private final Map<String, Link> links = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    private void init() {
+        rttTimer = Timer.builder(RTT)
+                .description("The round trip time of the drc commands.")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Register a command before it is published.
+     * @param gatewaySn
+     * @param seq
+     * @return the number of copies to publish.
+     */
+    public int sent(String gatewaySn, long seq) {
+        Link link = links.computeIfAbsent(gatewaySn, key -> new Link());
+        synchronized (link) {
+            long now = System.nanoTime();
+            link.expire(now);
+            int copies = link.copies();
+            link.pending.put(seq, new Pending(now, copies));
+            return copies;
+        }
+    }
+
+    /**
+     * Count a reply of the command.
+     * @param gatewaySn
+     * @param seq
+     * @return true if it's the first reply of the command, false if it's a duplicate or too late.
+     */
+    public boolean replied(String gatewaySn, long seq) {
+        Link link = links.get(gatewaySn);
+        if (link == null) {
+            return true;
+        }
+        synchronized (link) {
+            Pending pending = link.pending.get(seq);
+            if (pending == null) {
+                return seq > link.lastSeq;
+            }
+            if (pending.replies++ > 0) {
+                return false;
+            }
+            link.lastSeq = Math.max(link.lastSeq, seq);
+            rttTimer.record(System.nanoTime() - pending.sentNanos, TimeUnit.NANOSECONDS);
+            return true;
+        }
+    }
+
+    /**
+     * @param gatewaySn
+     * @return the estimated loss rate of a single copy.
+     */
+    public double getLossRate(String gatewaySn) {
+        Link link = links.get(gatewaySn);
+        return link == null ? Link.INITIAL_LOSS : link.loss;
+    }
+
+    public void remove(String gatewaySn) {
+        links.remove(gatewaySn);
+    }
+
+    private static class Link {
+
+        private static final double INITIAL_LOSS = 0.5;
+
+        private final LinkedHashMap<Long, Pending> pending = new LinkedHashMap<>();
+
+        private double loss = INITIAL_LOSS;
+
+        private long lastSeq = Long.MIN_VALUE;
+
+        private void expire(long now) {
+            Iterator<Pending> iterator = pending.values().iterator();
+            while (iterator.hasNext()) {
+                Pending oldest = iterator.next();
+                if (now - oldest.sentNanos < REPLY_WINDOW_NANOS && pending.size() <= MAX_PENDING) {
+                    return;
+                }
+                double sample = 1 - (double) Math.min(oldest.replies, oldest.copies) / oldest.copies;
+                loss += EWMA_ALPHA * (sample - loss);
+                iterator.remove();
+            }
+        }
+
+        private int copies() {
+            if (loss <= 0) {
+                return MIN_PUBLISH_COUNT;
+            }
+            if (loss >= 1) {
+                return MAX_PUBLISH_COUNT;
+            }
+            int copies = (int) Math.ceil(Math.log(TARGET_LOSS) / Math.log(loss));
+            return Math.max(MIN_PUBLISH_COUNT, Math.min(MAX_PUBLISH_COUNT, copies));
+        }
+    }
+
+    private static class Pending {
+
+        private final long sentNanos;
+
+        private final int copies;
+
+        private int replies;
+
+        private Pending(long sentNanos, int copies) {
+            this.sentNanos = sentNanos;
+            this.copies = copies;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.dji.sdk.mqtt.drc;
+
+import com.dji.sdk.mqtt.ChannelName;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.annotation.ServiceActivator;
+import org.springframework.integration.mqtt.core.MqttPahoClientFactory;
+import org.springframework.integration.mqtt.inbound.MqttPahoMessageDrivenChannelAdapter;
+import org.springframework.integration.mqtt.outbound.MqttPahoMessageHandler;
+import org.springframework.integration.mqtt.support.DefaultPahoMessageConverter;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+
+import javax.annotation.Resource;
+import java.util.UUID;
+
+/**
+ * The drc traffic has its own mqtt clients, so the high frequency messages neither wait for nor delay the other topics.
+ * The up messages are handled on the callback thread of the drc client, in the order they arrive.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Configuration
+public class DrcMqttConfiguration {
+
+    @Resource
+    private MqttPahoClientFactory mqttClientFactory;
+
+    @Resource(name = ChannelName.INBOUND_DRC_UP)
+    private MessageChannel drcUpChannel;
+
+    /**
+     * The topics are added when the drc mode is entered.
+     * @return
+     */
+    @Bean
+    public MqttPahoMessageDrivenChannelAdapter drcInbound() {
+        MqttPahoMessageDrivenChannelAdapter adapter = new MqttPahoMessageDrivenChannelAdapter(
+                "drc-" + UUID.randomUUID(), mqttClientFactory);
+        DefaultPahoMessageConverter converter = new DefaultPahoMessageConverter();
+        converter.setPayloadAsBytes(true);
+        adapter.setConverter(converter);
+        adapter.setQos(0);
+        adapter.setOutputChannel(drcUpChannel);
+        return adapter;
+    }
+
+    @Bean
+    @ServiceActivator(inputChannel = ChannelName.OUTBOUND_DRC)
+    public MessageHandler drcOutbound() {
+        MqttPahoMessageHandler messageHandler = new MqttPahoMessageHandler(
+                "drc-" + UUID.randomUUID(), mqttClientFactory);
+        DefaultPahoMessageConverter converter = new DefaultPahoMessageConverter();
+        converter.setPayloadAsBytes(true);
+
+        messageHandler.setAsync(true);
+        messageHandler.setDefaultQos(0);
+        messageHandler.setConverter(converter);
+        return messageHandler;
+    }
+}
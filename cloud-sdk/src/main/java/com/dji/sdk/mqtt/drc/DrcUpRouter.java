@@ -1,16 +1,30 @@
 package com.dji.sdk.mqtt.drc;
 
+import com.dji.sdk.cloudapi.control.DroneControlResponse;
 import com.dji.sdk.common.Common;
 import com.dji.sdk.exception.CloudSDKException;
 import com.dji.sdk.mqtt.ChannelName;
+import com.dji.sdk.mqtt.CloudApiTopicEnum;
+import com.dji.sdk.mqtt.MqttMetrics;
+import com.dji.sdk.mqtt.TopicConst;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.integration.dsl.IntegrationFlow;
 import org.springframework.integration.dsl.IntegrationFlows;
+import org.springframework.integration.mqtt.support.MqttHeaders;
 import org.springframework.messaging.Message;
 
+import javax.annotation.Resource;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * @author sean
@@ -20,22 +34,91 @@ import java.util.Arrays;
 @Configuration
 public class DrcUpRouter {
 
+    private static final ObjectMapper MAPPER = Common.getObjectMapper();
+
+    private static final String METHOD = "method";
+
+    /**
+     * Read the whole message with the data type of each method, so it's parsed only once.
+     */
+    private static final Map<DrcUpMethodEnum, ObjectReader> READERS = new EnumMap<>(DrcUpMethodEnum.class);
+
+    static {
+        TypeFactory typeFactory = MAPPER.getTypeFactory();
+        for (DrcUpMethodEnum methodEnum : DrcUpMethodEnum.values()) {
+            JavaType dataType = typeFactory.constructType(methodEnum.getClassType());
+            READERS.put(methodEnum, MAPPER.readerFor(typeFactory.constructParametricType(TopicDrcRequest.class, dataType)));
+        }
+    }
+
+    @Resource
+    private MqttMetrics mqttMetrics;
+
+    @Resource
+    private DrcLinkMonitor drcLinkMonitor;
+
     @Bean
     public IntegrationFlow drcUpRouterFlow() {
         return IntegrationFlows
                 .from(ChannelName.INBOUND_DRC_UP)
                 .transform(Message.class, source -> {
                     try {
-                        TopicDrcRequest data = Common.getObjectMapper().readValue((byte[]) source.getPayload(), TopicDrcRequest.class);
-                        return data.setData(Common.getObjectMapper().convertValue(data.getData(), DrcUpMethodEnum.find(data.getMethod()).getClassType()));
+                        long start = mqttMetrics.start();
+                        byte[] payload = (byte[]) source.getPayload();
+                        DrcUpMethodEnum methodEnum = DrcUpMethodEnum.find(readMethod(payload));
+                        TopicDrcRequest data = READERS.get(methodEnum).readValue(payload);
+                        mqttMetrics.recordDecode(CloudApiTopicEnum.DRC_UP, (Enum<?>) null, methodEnum, start);
+                        return data;
                     } catch (IOException e) {
                         throw new CloudSDKException(e);
                     }
                 }, null)
+                .filter(Message.class, this::isFirstReply)
                 .<TopicDrcRequest, DrcUpMethodEnum>route(
                         response -> DrcUpMethodEnum.find(response.getMethod()),
                         mapping -> Arrays.stream(DrcUpMethodEnum.values()).forEach(
                                 methodEnum -> mapping.channelMapping(methodEnum, methodEnum.getChannelName())))
                 .get();
     }
+
+    /**
+     * Only scan the top level fields for the method, the values are skipped without being parsed.
+     * @param payload
+     * @return
+     * @throws IOException
+     */
+    private static String readMethod(byte[] payload) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if (METHOD.equals(name)) {
+                    return parser.getValueAsString();
+                }
+                parser.skipChildren();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Each copy of a stick command gets its own reply, only the first one is handled.
+     * @param message
+     * @return
+     */
+    private boolean isFirstReply(Message<?> message) {
+        TopicDrcRequest request = (TopicDrcRequest) message.getPayload();
+        if (!(request.getData() instanceof DrcUpData)
+                || !(((DrcUpData) request.getData()).getOutput() instanceof DroneControlResponse)) {
+            return true;
+        }
+        Long seq = ((DroneControlResponse) ((DrcUpData) request.getData()).getOutput()).getSeq();
+        String topic = String.valueOf(message.getHeaders().get(MqttHeaders.RECEIVED_TOPIC));
+        int start = (TopicConst.THING_MODEL_PRE + TopicConst.PRODUCT).length();
+        int end = topic.indexOf(TopicConst.DRC);
+        return null == seq || end < start || drcLinkMonitor.replied(topic.substring(start, end), seq);
+    }
 }
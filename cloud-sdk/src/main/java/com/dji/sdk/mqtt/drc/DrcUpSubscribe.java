@@ -1,11 +1,12 @@
 package com.dji.sdk.mqtt.drc;
 
 import com.dji.sdk.config.version.GatewayManager;
-import com.dji.sdk.mqtt.IMqttTopicService;
 import com.dji.sdk.mqtt.TopicConst;
+import org.springframework.integration.mqtt.inbound.MqttPahoMessageDrivenChannelAdapter;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Resource;
+import java.util.Arrays;
 
 /**
  *
@@ -16,11 +17,34 @@ import javax.annotation.Resource;
 @Component
 public class DrcUpSubscribe {
 
+    @Resource(name = "drcInbound")
+    private MqttPahoMessageDrivenChannelAdapter drcInbound;
+
     @Resource
-    private IMqttTopicService topicService;
+    private DrcLinkMonitor drcLinkMonitor;
 
+    /**
+     * The drc topics are subscribed by the drc client, not the common one.
+     * @param gateway
+     */
     public void subscribe(GatewayManager gateway) {
+        String topic = getTopic(gateway);
+        if (Arrays.asList(drcInbound.getTopic()).contains(topic)) {
+            return;
+        }
+        drcInbound.addTopic(topic, 0);
+    }
+
+    public void unsubscribe(GatewayManager gateway) {
+        String topic = getTopic(gateway);
+        if (Arrays.asList(drcInbound.getTopic()).contains(topic)) {
+            drcInbound.removeTopic(topic);
+        }
+        drcLinkMonitor.remove(gateway.getGatewaySn());
+    }
+
+    private String getTopic(GatewayManager gateway) {
         String drc = TopicConst.THING_MODEL_PRE + TopicConst.PRODUCT + "%s" + TopicConst.DRC + TopicConst.UP;
-        topicService.subscribe(String.format(drc, gateway.getGatewaySn()));
+        return String.format(drc, gateway.getGatewaySn());
     }
 }
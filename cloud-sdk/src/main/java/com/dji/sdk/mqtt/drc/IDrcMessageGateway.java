@@ -1,19 +1,21 @@
-package com.dji.sdk.mqtt;
+package com.dji.sdk.mqtt.drc;
 
+import com.dji.sdk.mqtt.ChannelName;
 import org.springframework.integration.annotation.MessagingGateway;
 import org.springframework.integration.mqtt.support.MqttHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 /**
+ * Publish the drc down messages with the drc client.
  *
- * @author sean.zhou
- * @date 2021/11/10
- * @version 0.1
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
  */
 @Component
-@MessagingGateway(defaultRequestChannel = ChannelName.OUTBOUND)
-public interface IMqttMessageGateway {
+@MessagingGateway(defaultRequestChannel = ChannelName.OUTBOUND_DRC)
+public interface IDrcMessageGateway {
 
     /**
      * Publish a message to a specific topic.
@@ -21,12 +23,4 @@ public interface IMqttMessageGateway {
      * @param payload   message
      */
     void publish(@Header(MqttHeaders.TOPIC) String topic, byte[] payload);
-
-    /**
-     * Use a specific qos to push messages to a specific topic.
-     * @param topic     target
-     * @param payload   message
-     * @param qos   qos
-     */
-    void publish(@Header(MqttHeaders.TOPIC) String topic, byte[] payload, @Header(MqttHeaders.QOS) int qos);
 }
@@ -3,7 +3,9 @@ package com.dji.sdk.mqtt.events;
 import com.dji.sdk.common.Common;
 import com.dji.sdk.exception.CloudSDKException;
 import com.dji.sdk.mqtt.ChannelName;
+import com.dji.sdk.mqtt.CloudApiTopicEnum;
 import com.dji.sdk.mqtt.MqttGatewayPublish;
+import com.dji.sdk.mqtt.MqttMetrics;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.integration.dsl.IntegrationFlow;
@@ -30,16 +32,23 @@ public class EventsRouter {
     @Resource
     private MqttGatewayPublish gatewayPublish;
 
+    @Resource
+    private MqttMetrics mqttMetrics;
+
     @Bean
     public IntegrationFlow eventsMethodRouterFlow() {
         return IntegrationFlows
                 .from(ChannelName.INBOUND_EVENTS)
                 .transform(Message.class, source -> {
                     try {
+                        long start = mqttMetrics.start();
                         TopicEventsRequest data = Common.getObjectMapper().readValue((byte[]) source.getPayload(), TopicEventsRequest.class);
                         String topic = String.valueOf(source.getHeaders().get(MqttHeaders.RECEIVED_TOPIC));
-                        return data.setFrom(topic.substring((THING_MODEL_PRE + PRODUCT).length(), topic.indexOf(EVENTS_SUF)))
-                                .setData(Common.getObjectMapper().convertValue(data.getData(), EventsMethodEnum.find(data.getMethod()).getClassType()));
+                        EventsMethodEnum methodEnum = EventsMethodEnum.find(data.getMethod());
+                        data.setFrom(topic.substring((THING_MODEL_PRE + PRODUCT).length(), topic.indexOf(EVENTS_SUF)))
+                                .setData(Common.getObjectMapper().convertValue(data.getData(), methodEnum.getClassType()));
+                        mqttMetrics.recordDecode(CloudApiTopicEnum.EVENTS, data.getGateway(), methodEnum, start);
+                        return data;
                     } catch (IOException e) {
                         throw new CloudSDKException(e);
                     }
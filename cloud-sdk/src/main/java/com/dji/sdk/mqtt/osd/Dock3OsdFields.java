@@ -0,0 +1,86 @@
+package com.dji.sdk.mqtt.osd;
+
+import com.dji.sdk.cloudapi.device.BatteryIndexEnum;
+import com.dji.sdk.cloudapi.device.HeatStateEnum;
+import com.dji.sdk.cloudapi.device.MaintainTypeEnum;
+import com.dji.sdk.cloudapi.device.MaintenanceStateEnum;
+import com.dji.sdk.cloudapi.device.PayloadModelConst;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * The fields that Dock 3 reports differently from the standard model, fixed in the tree before binding.
+ * The other Dock 3 fields bind to the standard model as they are.
+ *
+ * The codes that the standard enums don't know are removed, so the field is null instead of failing the whole message.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+final class Dock3OsdFields {
+
+    private static final Map<String, String> DRONE_FIELDS = Map.of("payload_bindings", PayloadModelConst.PAYLOAD_KEY);
+
+    private static final Map<String, String> MAINTAIN_STATUS_FIELDS =
+            Map.of("last_maintain_work_sorties", "last_maintain_flight_sorties");
+
+    private Dock3OsdFields() {
+    }
+
+    static void normalize(OsdDeviceTypeEnum type, ObjectNode data) {
+        if (OsdDeviceTypeEnum.DOCK_DRONE == type) {
+            rename(data, DRONE_FIELDS);
+        }
+        for (JsonNode status : data.path("maintain_status").path("maintain_status_array")) {
+            if (!status.isObject()) {
+                continue;
+            }
+            ObjectNode node = (ObjectNode) status;
+            rename(node, MAINTAIN_STATUS_FIELDS);
+            // 0: not under maintenance, 1: under maintenance.
+            JsonNode state = node.get("state");
+            if (state != null && state.isNumber()) {
+                node.set("state", BooleanNode.valueOf(state.asInt() != 0));
+            }
+            removeUnknown(node, "last_maintain_type", MaintainTypeEnum.values(), MaintainTypeEnum::getType);
+        }
+
+        JsonNode maintenance = data.path("drone_battery_maintenance_info");
+        if (!maintenance.isObject()) {
+            return;
+        }
+        removeUnknown((ObjectNode) maintenance, "maintenance_state",
+                MaintenanceStateEnum.values(), MaintenanceStateEnum::getState);
+        removeUnknown((ObjectNode) maintenance, "heat_state", HeatStateEnum.values(), HeatStateEnum::getState);
+        for (JsonNode battery : maintenance.path("batteries")) {
+            if (battery.isObject()) {
+                removeUnknown((ObjectNode) battery, "index", BatteryIndexEnum.values(), BatteryIndexEnum::getIndex);
+            }
+        }
+    }
+
+    private static void rename(ObjectNode node, Map<String, String> fields) {
+        fields.forEach((from, to) -> {
+            if (node.has(from) && !node.has(to)) {
+                node.set(to, node.remove(from));
+            }
+        });
+    }
+
+    private static <E> void removeUnknown(ObjectNode node, String field, E[] values, ToIntFunction<E> code) {
+        JsonNode value = node.get(field);
+        if (value == null || !value.canConvertToInt()) {
+            return;
+        }
+        int actual = value.asInt();
+        if (Arrays.stream(values).noneMatch(known -> code.applyAsInt(known) == actual)) {
+            node.remove(field);
+        }
+    }
+}
@@ -3,22 +3,30 @@ package com.dji.sdk.mqtt.osd;
 import com.dji.sdk.cloudapi.device.PayloadModelConst;
 import com.dji.sdk.common.Common;
 import com.dji.sdk.config.version.GatewayManager;
+import com.dji.sdk.config.version.GatewayTypeEnum;
 import com.dji.sdk.common.SDKManager;
 import com.dji.sdk.exception.CloudSDKException;
 import com.dji.sdk.mqtt.ChannelName;
+import com.dji.sdk.mqtt.CloudApiTopicEnum;
+import com.dji.sdk.mqtt.MqttMetrics;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.integration.dsl.IntegrationFlow;
 import org.springframework.integration.dsl.IntegrationFlows;
 import org.springframework.integration.mqtt.support.MqttHeaders;
-import org.springframework.messaging.Message;
 
+import javax.annotation.Resource;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.Set;
 
 import static com.dji.sdk.mqtt.TopicConst.*;
 
@@ -31,30 +39,63 @@ import static com.dji.sdk.mqtt.TopicConst.*;
 @Configuration
 public class OsdRouter {
 
+    private static final ObjectMapper MAPPER = Common.getObjectMapper();
+
+    /**
+     * The data is kept as a tree, and bound to the type of the device once the device is known.
+     */
+    private static final ObjectReader REQUEST_READER = MAPPER.readerFor(new TypeReference<TopicOsdRequest<JsonNode>>() {});
+
+    private static final Map<OsdDeviceTypeEnum, ObjectReader> DATA_READERS = new EnumMap<>(OsdDeviceTypeEnum.class);
+
+    private static final Set<String> PAYLOAD_INDEXES = PayloadModelConst.getAllIndexWithPosition();
+
+    static {
+        Arrays.stream(OsdDeviceTypeEnum.values()).forEach(type -> DATA_READERS.put(type, MAPPER.readerFor(type.getClassType())));
+    }
+
+    @Resource
+    private MqttMetrics mqttMetrics;
+
+    /**
+     * The decoding starts from a direct channel, so the replay can hand the messages in on its own thread.
+     * @return
+     */
     @Bean
     public IntegrationFlow osdRouterFlow() {
         return IntegrationFlows
                 .from(ChannelName.INBOUND_OSD)
-                .transform(Message.class, source -> {
+                .channel(ChannelName.INBOUND_OSD_DECODE)
+                .<byte[]>handle((bytes, headers) -> {
+                    // The decode timer includes the parsing of the bytes, like the other routers.
+                    long start = mqttMetrics.start();
+                    TopicOsdRequest<JsonNode> response;
                     try {
-                        TopicOsdRequest response = Common.getObjectMapper().readValue((byte[]) source.getPayload(), new TypeReference<TopicOsdRequest>() {});
-                        String topic = String.valueOf(source.getHeaders().get(MqttHeaders.RECEIVED_TOPIC));
-                        return response.setFrom(topic.substring((THING_MODEL_PRE + PRODUCT).length(), topic.indexOf(OSD_SUF)));
+                        response = REQUEST_READER.readValue(bytes);
                     } catch (IOException e) {
                         throw new CloudSDKException(e);
                     }
-                }, null)
-                .<TopicOsdRequest>handle((response, headers) -> {
+                    String topic = String.valueOf(headers.get(MqttHeaders.RECEIVED_TOPIC));
+                    response.setFrom(topic.substring((THING_MODEL_PRE + PRODUCT).length(), topic.indexOf(OSD_SUF)));
                     GatewayManager gateway = SDKManager.getDeviceSDK(response.getGateway());
                     OsdDeviceTypeEnum typeEnum = OsdDeviceTypeEnum.find(gateway.getType(), response.getFrom().equals(response.getGateway()));
-                    Map<String, Object> data = (Map<String, Object>) response.getData();
+                    ObjectNode data = (ObjectNode) response.getData();
+                    if (GatewayTypeEnum.DOCK3 == gateway.getType()) {
+                        Dock3OsdFields.normalize(typeEnum, data);
+                    }
                     if (!typeEnum.isGateway()) {
-                        List payloadData = (List) data.getOrDefault(PayloadModelConst.PAYLOAD_KEY, new ArrayList<>());
-                        PayloadModelConst.getAllIndexWithPosition().stream().filter(data::containsKey)
-                                .map(data::get).forEach(payloadData::add);
-                        data.put(PayloadModelConst.PAYLOAD_KEY, payloadData);
+                        JsonNode payload = data.get(PayloadModelConst.PAYLOAD_KEY);
+                        ArrayNode payloadData = payload instanceof ArrayNode ? (ArrayNode) payload : data.arrayNode();
+                        PAYLOAD_INDEXES.stream().filter(data::has).map(data::get).forEach(payloadData::add);
+                        data.set(PayloadModelConst.PAYLOAD_KEY, payloadData);
+                    }
+                    try {
+                        response.setData(DATA_READERS.get(typeEnum).readValue(data));
+                    } catch (IOException e) {
+                        throw new CloudSDKException(e);
                     }
-                    return response.setData(Common.getObjectMapper().convertValue(data, typeEnum.getClassType()));
+                    mqttMetrics.recordDecode(CloudApiTopicEnum.OSD, typeEnum, null, start);
+                    return response;
                 })
                 .<TopicOsdRequest, OsdDeviceTypeEnum>route(response -> OsdDeviceTypeEnum.find(response.getData().getClass()),
                         mapping -> Arrays.stream(OsdDeviceTypeEnum.values()).forEach(key -> mapping.channelMapping(key, key.getChannelName())))
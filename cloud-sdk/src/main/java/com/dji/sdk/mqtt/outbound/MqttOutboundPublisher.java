@@ -0,0 +1,350 @@
+package com.dji.sdk.mqtt.outbound;
+
+import com.dji.sdk.exception.CloudSDKErrorEnum;
+import com.dji.sdk.exception.CloudSDKException;
+import com.dji.sdk.mqtt.MqttMetrics;
+import org.eclipse.paho.client.mqttv3.IMqttActionListener;
+import org.eclipse.paho.client.mqttv3.IMqttAsyncClient;
+import org.eclipse.paho.client.mqttv3.IMqttToken;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.integration.mqtt.core.MqttPahoClientFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publish the outbound messages with a bounded queue and a bounded window of in-flight messages.
+ *
+ * The callers put the messages into the queue, and wait if the queue is full,
+ * so a slow broker slows down the callers instead of piling up the messages.
+ * A single sender thread waits for room in the window, then takes the next message from the queue and publishes it.
+ * The room is given back when the broker acknowledges the message, or when a qos 0 message is written.
+ * The failed messages are put back at the head of the queue, ahead of the later messages,
+ * and published again up to cloud-sdk.mqtt.outbound.max-retries times.
+ * The publisher starts before and stops after the inbound adapters, so the replies to the last messages are still sent.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Component
+public class MqttOutboundPublisher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(MqttOutboundPublisher.class);
+
+    private static final String QOS_KEY = "cloud-sdk.mqtt.outbound.qos.";
+
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+    private static final long DRAIN_CHECK_MILLIS = 50;
+
+    /**
+     * Lower than the phase of the inbound adapters.
+     */
+    private static final int PHASE = Integer.MAX_VALUE / 2 - 1024;
+
+    @Value("${cloud-sdk.mqtt.outbound.max-in-flight:64}")
+    private int maxInFlight;
+
+    @Value("${cloud-sdk.mqtt.outbound.queue-capacity:4096}")
+    private int queueCapacity;
+
+    @Value("${cloud-sdk.mqtt.outbound.enqueue-timeout:3s}")
+    private Duration enqueueTimeout;
+
+    @Value("${cloud-sdk.mqtt.outbound.max-retries:2}")
+    private int maxRetries;
+
+    @Resource
+    private Environment environment;
+
+    @Resource
+    private MqttPahoClientFactory mqttClientFactory;
+
+    @Resource
+    private MqttMetrics mqttMetrics;
+
+    private final Map<OutboundTopicClassEnum, Integer> qosMap = new EnumMap<>(OutboundTopicClassEnum.class);
+
+    private BlockingDeque<OutboundMessage> queue;
+
+    /**
+     * The room in the queue for the new messages. The retried messages go back without taking any room,
+     * there are at most max-in-flight of them.
+     */
+    private Semaphore capacity;
+
+    private Semaphore window;
+
+    /**
+     * The sender holds a room of the window while waiting for a message, so the in-flight messages are counted apart.
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private IMqttAsyncClient client;
+
+    private MqttConnectOptions connectOptions;
+
+    private Thread sender;
+
+    private volatile boolean running;
+
+    private final IMqttActionListener deliveryListener = new IMqttActionListener() {
+        @Override
+        public void onSuccess(IMqttToken token) {
+            inFlight.decrementAndGet();
+            window.release();
+            OutboundMessage message = (OutboundMessage) token.getUserContext();
+            mqttMetrics.recordPublish(message.topic, message.qos, message.start, true);
+        }
+
+        @Override
+        public void onFailure(IMqttToken token, Throwable e) {
+            inFlight.decrementAndGet();
+            OutboundMessage message = (OutboundMessage) token.getUserContext();
+            // Put the message back before giving back the room, so it's the next one to be published.
+            if (message.attempts.getAndIncrement() < maxRetries && running) {
+                queue.offerFirst(message);
+            } else {
+                fail(message, e);
+            }
+            window.release();
+        }
+    };
+
+    @PostConstruct
+    private void init() {
+        for (OutboundTopicClassEnum topicClass : OutboundTopicClassEnum.values()) {
+            qosMap.put(topicClass, environment.getProperty(QOS_KEY + topicClass.getName(), Integer.class, topicClass.getQos()));
+        }
+        queue = new LinkedBlockingDeque<>();
+        capacity = new Semaphore(queueCapacity);
+        window = new Semaphore(maxInFlight);
+        mqttMetrics.gauge(MqttMetrics.OUTBOUND_QUEUE, "The number of messages waiting to be published.", queue::size);
+        mqttMetrics.gauge(MqttMetrics.OUTBOUND_IN_FLIGHT, "The number of messages published but not yet acknowledged.",
+                inFlight::get);
+    }
+
+    /**
+     * @param topic
+     * @return the qos of the class of the topic.
+     */
+    public int getQos(String topic) {
+        return qosMap.get(OutboundTopicClassEnum.find(topic));
+    }
+
+    /**
+     * Publish a message with the qos of the class of the topic.
+     * @param topic
+     * @param payload
+     */
+    public void publish(String topic, byte[] payload) {
+        this.publish(topic, payload, getQos(topic));
+    }
+
+    /**
+     * Put the message into the queue. Wait for at most cloud-sdk.mqtt.outbound.enqueue-timeout if the queue is full.
+     * @param topic
+     * @param payload
+     * @param qos
+     */
+    public void publish(String topic, byte[] payload, int qos) {
+        OutboundMessage message = new OutboundMessage(topic, payload, qos, mqttMetrics.start());
+        boolean accepted = false;
+        try {
+            accepted = capacity.tryAcquire(enqueueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!accepted) {
+            mqttMetrics.recordPublish(topic, qos, message.start, false);
+            throw new CloudSDKException(CloudSDKErrorEnum.MQTT_PUBLISH_ABNORMAL,
+                    "The outbound queue is full. Topic: " + topic);
+        }
+        queue.offerLast(message);
+    }
+
+    private void send() {
+        while (running) {
+            try {
+                // Wait for the room first, so a message put back in the meantime is taken before the later ones.
+                window.acquire();
+                OutboundMessage message = queue.pollFirst(1, TimeUnit.SECONDS);
+                if (message == null) {
+                    window.release();
+                    continue;
+                }
+                if (message.attempts.get() == 0) {
+                    capacity.release();
+                }
+                deliver(message);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void deliver(OutboundMessage message) throws InterruptedException {
+        while (true) {
+            awaitConnected();
+            // The listener may be called before the publish returns.
+            inFlight.incrementAndGet();
+            try {
+                client.publish(message.topic, message.payload, message.qos, false, message, deliveryListener);
+                return;
+            } catch (MqttException e) {
+                inFlight.decrementAndGet();
+                if (message.attempts.getAndIncrement() >= maxRetries) {
+                    window.release();
+                    fail(message, e);
+                    return;
+                }
+                Thread.sleep(RECONNECT_DELAY_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Connect to the broker if the client is not connected. The automatic reconnection is also waited here.
+     */
+    private void awaitConnected() throws InterruptedException {
+        while (!client.isConnected()) {
+            try {
+                client.connect(connectOptions).waitForCompletion(TimeUnit.SECONDS.toMillis(connectOptions.getConnectionTimeout()));
+            } catch (MqttException e) {
+                if (e.getReasonCode() != MqttException.REASON_CODE_CONNECT_IN_PROGRESS
+                        && e.getReasonCode() != MqttException.REASON_CODE_CLIENT_CONNECTED) {
+                    log.warn("Failed to connect the outbound client. {}", e.getMessage());
+                }
+                Thread.sleep(RECONNECT_DELAY_MILLIS);
+            }
+        }
+    }
+
+    private void fail(OutboundMessage message, Throwable e) {
+        log.error("Failed to publish the message to the topic {} after {} attempts.", message.topic, message.attempts.get(), e);
+        mqttMetrics.recordPublish(message.topic, message.qos, message.start, false);
+    }
+
+    @Override
+    public void start() {
+        connectOptions = copyOf(mqttClientFactory.getConnectionOptions(), maxInFlight);
+        try {
+            client = mqttClientFactory.getAsyncClientInstance(null, "outbound-" + UUID.randomUUID());
+        } catch (MqttException e) {
+            throw new CloudSDKException(e);
+        }
+        running = true;
+        sender = new Thread(this::send, "mqtt-outbound");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    @Override
+    public void stop() {
+        // Send the messages queued before stopping, e.g. the replies to the last inbound messages.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(connectOptions.getConnectionTimeout());
+        try {
+            while (!queue.isEmpty() && client.isConnected() && System.nanoTime() < deadline) {
+                Thread.sleep(DRAIN_CHECK_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        running = false;
+        sender.interrupt();
+        try {
+            sender.join(TimeUnit.SECONDS.toMillis(connectOptions.getConnectionTimeout()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("{} outbound messages are dropped when stopping.", queue.size());
+            queue.clear();
+        }
+        try {
+            if (client.isConnected()) {
+                client.disconnect().waitForCompletion();
+            }
+            client.close();
+        } catch (MqttException e) {
+            log.warn("Failed to close the outbound client. {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Paho rejects the publishing beyond its max inflight, so it's the same as the window.
+     */
+    private static MqttConnectOptions copyOf(MqttConnectOptions source, int maxInflight) {
+        MqttConnectOptions options = new MqttConnectOptions();
+        if (source.getServerURIs() != null) {
+            options.setServerURIs(source.getServerURIs());
+        }
+        if (source.getPassword() != null) {
+            options.setPassword(source.getPassword());
+        }
+        options.setUserName(source.getUserName());
+        options.setKeepAliveInterval(source.getKeepAliveInterval());
+        options.setConnectionTimeout(source.getConnectionTimeout());
+        options.setCleanSession(source.isCleanSession());
+        options.setAutomaticReconnect(source.isAutomaticReconnect());
+        options.setMaxReconnectDelay(source.getMaxReconnectDelay());
+        options.setMqttVersion(source.getMqttVersion());
+        options.setSocketFactory(source.getSocketFactory());
+        options.setSSLProperties(source.getSSLProperties());
+        options.setSSLHostnameVerifier(source.getSSLHostnameVerifier());
+        options.setHttpsHostnameVerificationEnabled(source.isHttpsHostnameVerificationEnabled());
+        options.setMaxInflight(maxInflight);
+        return options;
+    }
+
+    private static class OutboundMessage {
+
+        private final String topic;
+
+        private final byte[] payload;
+
+        private final int qos;
+
+        private final long start;
+
+        /**
+         * Counted on the sender thread and on the callback thread of paho.
+         */
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        private OutboundMessage(String topic, byte[] payload, int qos, long start) {
+            this.topic = topic;
+            this.payload = payload;
+            this.qos = qos;
+            this.start = start;
+        }
+    }
+}
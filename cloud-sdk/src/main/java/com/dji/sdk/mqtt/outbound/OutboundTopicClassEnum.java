@@ -0,0 +1,53 @@
+package com.dji.sdk.mqtt.outbound;
+
+import com.dji.sdk.mqtt.TopicConst;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import static com.dji.sdk.mqtt.TopicConst.*;
+
+/**
+ * The classes of the outbound topics, each class is published with its own qos.
+ * The default qos can be changed by cloud-sdk.mqtt.outbound.qos.{class}, e.g. cloud-sdk.mqtt.outbound.qos.services=2.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public enum OutboundTopicClassEnum {
+
+    SERVICES("services", Pattern.compile("^" + THING_MODEL_PRE + PRODUCT + REGEX_SN + SERVICES_SUF + "$"), 1),
+
+    PROPERTY_SET("property-set", Pattern.compile("^" + THING_MODEL_PRE + PRODUCT + REGEX_SN + PROPERTY_SUF + SET_SUF + "$"), 1),
+
+    REPLY("reply", Pattern.compile("^.*" + _REPLY_SUF + "$"), 1),
+
+    DRC("drc", Pattern.compile("^" + THING_MODEL_PRE + PRODUCT + REGEX_SN + TopicConst.DRC + DOWN + "$"), 0),
+
+    OTHER("other", Pattern.compile("^.*$"), 0);
+
+    private final String name;
+
+    private final Pattern pattern;
+
+    private final int qos;
+
+    OutboundTopicClassEnum(String name, Pattern pattern, int qos) {
+        this.name = name;
+        this.pattern = pattern;
+        this.qos = qos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQos() {
+        return qos;
+    }
+
+    public static OutboundTopicClassEnum find(String topic) {
+        return Arrays.stream(OutboundTopicClassEnum.values()).filter(topicClass -> topicClass.pattern.matcher(topic).matches()).findFirst().orElse(OTHER);
+    }
+}
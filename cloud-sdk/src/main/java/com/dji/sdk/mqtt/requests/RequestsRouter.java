@@ -4,7 +4,9 @@ import com.dji.sdk.common.Common;
 import com.dji.sdk.exception.CloudSDKErrorEnum;
 import com.dji.sdk.exception.CloudSDKException;
 import com.dji.sdk.mqtt.ChannelName;
+import com.dji.sdk.mqtt.CloudApiTopicEnum;
 import com.dji.sdk.mqtt.MqttGatewayPublish;
+import com.dji.sdk.mqtt.MqttMetrics;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.integration.dsl.IntegrationFlow;
@@ -27,14 +29,21 @@ public class RequestsRouter {
     @Resource
     private MqttGatewayPublish gatewayPublish;
 
+    @Resource
+    private MqttMetrics mqttMetrics;
+
     @Bean
     public IntegrationFlow requestsMethodRouterFlow() {
         return IntegrationFlows
                 .from(ChannelName.INBOUND_REQUESTS)
                 .<byte[], TopicRequestsRequest>transform(payload -> {
                     try {
+                        long start = mqttMetrics.start();
                         TopicRequestsRequest response = Common.getObjectMapper().readValue(payload, TopicRequestsRequest.class);
-                        return response.setData(Common.getObjectMapper().convertValue(response.getData(), RequestsMethodEnum.find(response.getMethod()).getClassType()));
+                        RequestsMethodEnum methodEnum = RequestsMethodEnum.find(response.getMethod());
+                        response.setData(Common.getObjectMapper().convertValue(response.getData(), methodEnum.getClassType()));
+                        mqttMetrics.recordDecode(CloudApiTopicEnum.REQUESTS, response.getGateway(), methodEnum, start);
+                        return response;
                     } catch (IOException e) {
                         throw new CloudSDKException(e);
                     }
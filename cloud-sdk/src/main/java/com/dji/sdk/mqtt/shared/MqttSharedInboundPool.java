@@ -0,0 +1,167 @@
+package com.dji.sdk.mqtt.shared;
+
+import com.dji.sdk.mqtt.ChannelName;
+import com.dji.sdk.mqtt.TopicConst;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.integration.mqtt.core.MqttPahoClientFactory;
+import org.springframework.integration.mqtt.inbound.MqttPahoMessageDrivenChannelAdapter;
+import org.springframework.integration.mqtt.support.DefaultPahoMessageConverter;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Consume the device topics as a consumer group with mqtt shared subscriptions.
+ * Enabled by cloud-sdk.mqtt.shared-subscription.enabled=true.
+ * The status and the state topics stay unshared, and the messages of one device in the shared namespaces
+ * are handled out of order, see {@link SharedNamespaceEnum}.
+ *
+ * Every node subscribes the wildcard topic of each namespace as "$share/{group}/{topic}" on
+ * cloud-sdk.mqtt.shared-subscription.connections.{namespace} connections, and the broker delivers each message
+ * to only one of the connections in the group. So adding connections or nodes spreads the ingest across them.
+ * The per device subscriptions of these namespaces are skipped, because the shared subscriptions already cover them.
+ *
+ * The replies are not shared. Every node subscribes all the replies on the common inbound connection,
+ * so the reply always reaches the node that is waiting for it.
+ * In one node, the waiting requests are found by tid in {@link com.dji.sdk.mqtt.Chan}, whichever connection receives the reply.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Component
+@ConditionalOnProperty(name = "cloud-sdk.mqtt.shared-subscription.enabled", havingValue = "true")
+public class MqttSharedInboundPool implements SmartLifecycle, BeanFactoryAware {
+
+    private static final Logger log = LoggerFactory.getLogger(MqttSharedInboundPool.class);
+
+    private static final String SHARE_PREFIX = "$share/";
+
+    private static final String CONNECTIONS_KEY = "cloud-sdk.mqtt.shared-subscription.connections.";
+
+    /**
+     * The replies of all devices, which are subscribed by every node.
+     */
+    public static final String[] REPLY_TOPICS = {
+            TopicConst.THING_MODEL_PRE + TopicConst.PRODUCT + "+" + TopicConst.SERVICES_SUF + TopicConst._REPLY_SUF,
+            TopicConst.THING_MODEL_PRE + TopicConst.PRODUCT + "+" + TopicConst.PROPERTY_SUF + TopicConst.SET_SUF + TopicConst._REPLY_SUF
+    };
+
+    @Value("${cloud-sdk.mqtt.shared-subscription.group:cloud-api}")
+    private String group;
+
+    @Resource
+    private Environment environment;
+
+    @Resource
+    private MqttPahoClientFactory mqttClientFactory;
+
+    @Resource(name = ChannelName.INBOUND)
+    private MessageChannel inboundChannel;
+
+    private BeanFactory beanFactory;
+
+    private final List<MqttPahoMessageDrivenChannelAdapter> adapters = new ArrayList<>();
+
+    private volatile boolean running;
+
+    /**
+     * The topics of the common inbound connection in the shared mode.
+     * @param topics the configured initial topics.
+     * @return the replies and the initial topics that are not covered by the shared subscriptions.
+     */
+    public static String[] commonTopics(String... topics) {
+        return Stream.concat(Arrays.stream(REPLY_TOPICS), Arrays.stream(topics)
+                        .filter(StringUtils::hasText)
+                        .map(String::trim)
+                        .filter(topic -> !covers(topic)))
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * @param topic
+     * @return true if the messages of the topic are already received by the shared subscriptions or the reply subscriptions.
+     */
+    public static boolean covers(String topic) {
+        if (SharedNamespaceEnum.find(topic).isPresent()) {
+            return true;
+        }
+        String wildcard = topic.replaceFirst("^(" + TopicConst.THING_MODEL_PRE + TopicConst.PRODUCT + ")[^/]+/", "$1+/");
+        return Arrays.asList(REPLY_TOPICS).contains(wildcard);
+    }
+
+    public int getConnectionCount(SharedNamespaceEnum namespace) {
+        return Math.max(1, environment.getProperty(CONNECTIONS_KEY + namespace.getNamespace(), Integer.class, 1));
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void start() {
+        for (SharedNamespaceEnum namespace : SharedNamespaceEnum.values()) {
+            String topic = SHARE_PREFIX + group + "/" + namespace.getTopicFilter();
+            int count = getConnectionCount(namespace);
+            for (int i = 0; i < count; i++) {
+                MqttPahoMessageDrivenChannelAdapter adapter = createAdapter(namespace, i, topic);
+                adapter.start();
+                adapters.add(adapter);
+            }
+            log.info("Subscribed {} with {} connections.", topic, count);
+        }
+        running = true;
+    }
+
+    private MqttPahoMessageDrivenChannelAdapter createAdapter(SharedNamespaceEnum namespace, int index, String topic) {
+        MqttPahoMessageDrivenChannelAdapter adapter = new MqttPahoMessageDrivenChannelAdapter(
+                namespace.getNamespace() + "-" + index + "-" + UUID.randomUUID(), mqttClientFactory, topic);
+        DefaultPahoMessageConverter converter = new DefaultPahoMessageConverter();
+        // use byte types uniformly
+        converter.setPayloadAsBytes(true);
+        adapter.setConverter(converter);
+        adapter.setQos(1);
+        adapter.setOutputChannel(inboundChannel);
+        adapter.setBeanName("mqttShared-" + namespace.getNamespace() + "-" + index);
+        adapter.setBeanFactory(beanFactory);
+        adapter.afterPropertiesSet();
+        return adapter;
+    }
+
+    @Override
+    public void stop() {
+        adapters.forEach(MqttPahoMessageDrivenChannelAdapter::stop);
+        adapters.clear();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start with the other inbound adapters, after all the handlers are ready.
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE / 2;
+    }
+}
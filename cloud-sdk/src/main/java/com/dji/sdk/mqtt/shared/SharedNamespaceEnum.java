@@ -0,0 +1,66 @@
+package com.dji.sdk.mqtt.shared;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static com.dji.sdk.mqtt.TopicConst.*;
+
+/**
+ * The topic namespaces that are consumed with shared subscriptions.
+ * Each namespace has its own pool of inbound connections.
+ *
+ * The status topic is not shared. The gateways are registered in {@link com.dji.sdk.common.SDKManager} of each node
+ * when their status messages are handled, and the other namespaces need them on whichever node receives the message.
+ * The debouncing of the status messages also needs all the messages of a gateway on the same node.
+ * The state topic is not shared either. Each state message overwrites the changed properties of the device,
+ * e.g. the firmware version and the control source, so a later state must not be overtaken by an earlier one
+ * that another node is slower to handle.
+ *
+ * The messages of one device in the shared namespaces are spread over the connections and the nodes,
+ * so they are handled out of order. The osd is replaced by the next one, and the events and the requests
+ * are identified by their tid and bid.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public enum SharedNamespaceEnum {
+
+    OSD("osd", THING_MODEL_PRE + PRODUCT, OSD_SUF),
+
+    EVENTS("events", THING_MODEL_PRE + PRODUCT, EVENTS_SUF),
+
+    REQUESTS("requests", THING_MODEL_PRE + PRODUCT, REQUESTS_SUF);
+
+    private final String namespace;
+
+    private final String topicFilter;
+
+    private final Pattern pattern;
+
+    SharedNamespaceEnum(String namespace, String prefix, String suffix) {
+        this.namespace = namespace;
+        this.topicFilter = prefix + "+" + suffix;
+        this.pattern = Pattern.compile("^" + prefix + "(" + REGEX_SN + "|\\+)" + suffix + "$");
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * @return the wildcard topic of all devices.
+     */
+    public String getTopicFilter() {
+        return topicFilter;
+    }
+
+    /**
+     * @param topic the topic of a device, or the wildcard topic.
+     * @return the namespace that the topic belongs to.
+     */
+    public static Optional<SharedNamespaceEnum> find(String topic) {
+        return Arrays.stream(SharedNamespaceEnum.values()).filter(namespace -> namespace.pattern.matcher(topic).matches()).findAny();
+    }
+}
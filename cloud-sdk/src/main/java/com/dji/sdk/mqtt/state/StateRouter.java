@@ -25,7 +25,9 @@ import com.dji.sdk.common.SDKManager;
 import com.dji.sdk.exception.CloudSDKErrorEnum;
 import com.dji.sdk.exception.CloudSDKException;
 import com.dji.sdk.mqtt.ChannelName;
+import com.dji.sdk.mqtt.CloudApiTopicEnum;
 import com.dji.sdk.mqtt.MqttGatewayPublish;
+import com.dji.sdk.mqtt.MqttMetrics;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 /**
@@ -40,17 +42,23 @@ public class StateRouter {
     @Resource
     private MqttGatewayPublish gatewayPublish;
 
+    @Resource
+    private MqttMetrics mqttMetrics;
+
     @Bean
     public IntegrationFlow stateDataRouterFlow() {
         return IntegrationFlows
                 .from(ChannelName.INBOUND_STATE)
                 .transform(Message.class, source -> {
                     try {
+                        long start = mqttMetrics.start();
                         TopicStateRequest response = Common.getObjectMapper().readValue((byte[]) source.getPayload(), new TypeReference<TopicStateRequest>() {});
                         String topic = String.valueOf(source.getHeaders().get(MqttHeaders.RECEIVED_TOPIC));
                         String from = topic.substring((THING_MODEL_PRE + PRODUCT).length(), topic.indexOf(STATE_SUF));
-                        return response.setFrom(from)
+                        response.setFrom(from)
                                 .setData(Common.getObjectMapper().convertValue(response.getData(), getTypeReference(response.getGateway(), response.getData())));
+                        mqttMetrics.recordDecode(CloudApiTopicEnum.STATE, response.getGateway(), null, start);
+                        return response;
                     } catch (IOException e) {
                         throw new CloudSDKException(e);
                     }
@@ -0,0 +1,290 @@
+package com.dji.sdk.mqtt.status;
+
+import com.dji.sdk.cloudapi.device.UpdateTopo;
+import com.dji.sdk.cloudapi.device.UpdateTopoSubDevice;
+import com.dji.sdk.common.SpringBeanUtils;
+import com.dji.sdk.mqtt.ChannelName;
+import com.dji.sdk.mqtt.MqttGatewayPublish;
+import com.dji.sdk.mqtt.MqttReply;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Debounce the topology updates of each gateway, so a flapping network doesn't repeat the whole online and offline handling.
+ *
+ * Each status message is replied at once and held as the pending topology of its gateway.
+ * A newer message replaces the pending one, and the window restarts, up to {@link #MAX_DELAY_WINDOWS} windows.
+ * When the window ends, the pending topology is handled only if it differs from the last handled one.
+ * The last handled topology is forgotten when the device goes offline without a status message, see {@link #forget(String)},
+ * and the state of a gateway is removed once it is forgotten and has nothing pending.
+ * At most cloud-sdk.mqtt.status.max-apply-rate topologies are handled per second,
+ * on cloud-sdk.mqtt.status.apply-concurrency threads, and the rest wait for the next ticks.
+ * A window of 0 handles every message at once, without debouncing.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Component
+public class StatusDebouncer {
+
+    private static final Logger log = LoggerFactory.getLogger(StatusDebouncer.class);
+
+    /**
+     * The header of the route decided by the status router.
+     */
+    public static final String OFFLINE = "cloud_sdk_status_offline";
+
+    /**
+     * The header of the messages that have been replied when they were received.
+     */
+    public static final String REPLIED = "cloud_sdk_status_replied";
+
+    public static final String RECEIVED = "cloud_sdk.mqtt.status.received";
+
+    public static final String COALESCED = "cloud_sdk.mqtt.status.coalesced";
+
+    public static final String APPLIED = "cloud_sdk.mqtt.status.applied";
+
+    private static final int MAX_DELAY_WINDOWS = 5;
+
+    private static final String OFFLINE_TOPOLOGY = "offline";
+
+    @Value("${cloud-sdk.mqtt.status.debounce-window:2s}")
+    private Duration window;
+
+    @Value("${cloud-sdk.mqtt.status.max-apply-rate:50}")
+    private int maxApplyRate;
+
+    @Value("${cloud-sdk.mqtt.status.apply-concurrency:4}")
+    private int applyConcurrency;
+
+    @Resource
+    private MqttGatewayPublish gatewayPublish;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, GatewayState> states = new ConcurrentHashMap<>();
+
+    private ExecutorService applyExecutor;
+
+    private Counter received;
+
+    private Counter coalesced;
+
+    private Counter applied;
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    @PostConstruct
+    private void init() {
+        AtomicInteger index = new AtomicInteger();
+        applyExecutor = Executors.newFixedThreadPool(applyConcurrency,
+                runnable -> new Thread(runnable, "status-apply-" + index.incrementAndGet()));
+        received = Counter.builder(RECEIVED).description("The status messages received.").register(meterRegistry);
+        coalesced = Counter.builder(COALESCED).description("The status messages replaced or without net change.").register(meterRegistry);
+        applied = Counter.builder(APPLIED).description("The topology changes handled.").register(meterRegistry);
+        lastRefillNanos = System.nanoTime();
+    }
+
+    @PreDestroy
+    private void destroy() {
+        applyExecutor.shutdown();
+    }
+
+    /**
+     * @param message the status message with the {@link #OFFLINE} header.
+     * @return true if the message should be handled now, false if it is held by the debouncer.
+     */
+    public boolean accept(Message<?> message) {
+        return accept(message, System.nanoTime());
+    }
+
+    @SuppressWarnings("unchecked")
+    boolean accept(Message<?> message, long now) {
+        if (window.isZero()) {
+            return true;
+        }
+        TopicStatusRequest<UpdateTopo> request = (TopicStatusRequest<UpdateTopo>) message.getPayload();
+        received.increment();
+        gatewayPublish.publishReply(new TopicStatusResponse<MqttReply>()
+                .setTid(request.getTid())
+                .setBid(request.getBid())
+                .setMethod(request.getMethod())
+                .setData(MqttReply.success())
+                .setTimestamp(System.currentTimeMillis()), message.getHeaders());
+
+        // Computed in the map, so the state can't be removed between getting it and setting the pending message.
+        states.compute(request.getFrom(), (gatewaySn, state) -> {
+            GatewayState current = state == null ? new GatewayState() : state;
+            synchronized (current) {
+                if (current.pending != null) {
+                    coalesced.increment();
+                } else {
+                    current.firstPendingNanos = now;
+                }
+                current.pending = message;
+                current.deadlineNanos = Math.min(now + window.toNanos(),
+                        current.firstPendingNanos + MAX_DELAY_WINDOWS * window.toNanos());
+            }
+            return current;
+        });
+        return false;
+    }
+
+    @Scheduled(initialDelay = 100, fixedDelay = 100, timeUnit = TimeUnit.MILLISECONDS)
+    public void flush() {
+        flush(System.nanoTime());
+    }
+
+    void flush(long now) {
+        if (window.isZero()) {
+            return;
+        }
+        tokens = Math.min(maxApplyRate, tokens + maxApplyRate * (now - lastRefillNanos) / 1e9);
+        lastRefillNanos = now;
+        for (Map.Entry<String, GatewayState> entry : states.entrySet()) {
+            GatewayState state = entry.getValue();
+            Message<?> message;
+            synchronized (state) {
+                if (state.isForgotten()) {
+                    message = null;
+                } else if (state.pending == null || state.applying || now < state.deadlineNanos) {
+                    continue;
+                } else {
+                    String topology = topology(state.pending);
+                    if (topology.equals(state.appliedTopology)) {
+                        state.pending = null;
+                        coalesced.increment();
+                        continue;
+                    }
+                    if (tokens < 1) {
+                        return;
+                    }
+                    tokens--;
+                    message = state.pending;
+                    state.pending = null;
+                    state.applying = true;
+                    state.appliedTopology = topology;
+                }
+            }
+            if (message == null) {
+                removeIfForgotten(entry.getKey());
+                continue;
+            }
+            applyExecutor.execute(() -> apply(state, message));
+        }
+    }
+
+    /**
+     * Forget the last handled topology of the gateway, so its next status message is handled even if nothing changed.
+     * Call it when the gateway or its sub device is set offline by other means, e.g. the online cache expires.
+     * @param gatewaySn
+     */
+    public void forget(String gatewaySn) {
+        GatewayState state = gatewaySn == null ? null : states.get(gatewaySn);
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            state.appliedTopology = null;
+        }
+        removeIfForgotten(gatewaySn);
+    }
+
+    int size() {
+        return states.size();
+    }
+
+    /**
+     * Remove the state of the gateway if it has been forgotten and has nothing pending.
+     * Otherwise it is removed by a later flush if it's still forgotten then.
+     */
+    private void removeIfForgotten(String gatewaySn) {
+        states.computeIfPresent(gatewaySn, (key, state) -> {
+            synchronized (state) {
+                return state.isForgotten() ? null : state;
+            }
+        });
+    }
+
+    private void apply(GatewayState state, Message<?> message) {
+        try {
+            boolean offline = Boolean.TRUE.equals(message.getHeaders().get(OFFLINE));
+            MessageChannel channel = (MessageChannel) SpringBeanUtils.getBean(
+                    offline ? ChannelName.INBOUND_STATUS_OFFLINE : ChannelName.INBOUND_STATUS_ONLINE);
+            channel.send(MessageBuilder.fromMessage(message).setHeader(REPLIED, true).build());
+            applied.increment();
+        } catch (RuntimeException e) {
+            log.error("Failed to handle the topology update. {}", message.getPayload(), e);
+            synchronized (state) {
+                // Handle the next message of the gateway even if it's the same topology.
+                state.appliedTopology = null;
+            }
+        } finally {
+            synchronized (state) {
+                state.applying = false;
+            }
+        }
+    }
+
+    /**
+     * The topology that the message leads to. The messages with the same topology make no net change.
+     */
+    @SuppressWarnings("unchecked")
+    private static String topology(Message<?> message) {
+        if (Boolean.TRUE.equals(message.getHeaders().get(OFFLINE))) {
+            return OFFLINE_TOPOLOGY;
+        }
+        UpdateTopo data = ((TopicStatusRequest<UpdateTopo>) message.getPayload()).getData();
+        if (data == null || CollectionUtils.isEmpty(data.getSubDevices())) {
+            return OFFLINE_TOPOLOGY;
+        }
+        return data.getSubDevices().stream()
+                .sorted(Comparator.comparing(UpdateTopoSubDevice::getSn, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .map(subDevice -> subDevice.getSn() + "@" + subDevice.getThingVersion())
+                .collect(Collectors.joining(",", data.getThingVersion() + ":", ""));
+    }
+
+    private static class GatewayState {
+
+        private Message<?> pending;
+
+        private long firstPendingNanos;
+
+        private long deadlineNanos;
+
+        private boolean applying;
+
+        private String appliedTopology;
+
+        private boolean isForgotten() {
+            return pending == null && !applying && appliedTopology == null;
+        }
+    }
+}
@@ -4,7 +4,9 @@ import com.dji.sdk.cloudapi.device.*;
 import com.dji.sdk.common.Common;
 import com.dji.sdk.exception.CloudSDKException;
 import com.dji.sdk.mqtt.ChannelName;
+import com.dji.sdk.mqtt.CloudApiTopicEnum;
 import com.dji.sdk.mqtt.MqttGatewayPublish;
+import com.dji.sdk.mqtt.MqttMetrics;
 import com.fasterxml.jackson.core.type.TypeReference;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -35,21 +37,34 @@ public class StatusRouter {
     @Resource
     private MqttGatewayPublish gatewayPublish;
 
+    @Resource
+    private MqttMetrics mqttMetrics;
+
+    @Resource
+    private StatusDebouncer statusDebouncer;
+
     @Bean
+    @SuppressWarnings("unchecked")
     public IntegrationFlow statusRouterFlow() {
         return IntegrationFlows
                 .from(ChannelName.INBOUND_STATUS)
                 .transform(Message.class, source -> {
                     try {
+                        long start = mqttMetrics.start();
                         TopicStatusRequest<UpdateTopo> response = Common.getObjectMapper().readValue((byte[]) source.getPayload(), new TypeReference<TopicStatusRequest<UpdateTopo>>() {});
                         String topic = String.valueOf(source.getHeaders().get(MqttHeaders.RECEIVED_TOPIC));
-                        return response.setFrom(topic.substring((BASIC_PRE + PRODUCT).length(), topic.indexOf(STATUS_SUF)));
+                        response.setFrom(topic.substring((BASIC_PRE + PRODUCT).length(), topic.indexOf(STATUS_SUF)));
+                        mqttMetrics.recordDecode(CloudApiTopicEnum.STATUS, response.getFrom(), null, start);
+                        return response;
                     } catch (IOException e) {
                         throw new CloudSDKException(e);
                     }
                 }, null)
-                .<TopicStatusRequest<UpdateTopo>, Boolean>route(
-                        response -> determineDeviceStatusRoute(response),
+                .enrichHeaders(headers -> headers.headerFunction(StatusDebouncer.OFFLINE,
+                        message -> determineDeviceStatusRoute((TopicStatusRequest<UpdateTopo>) message.getPayload())))
+                .filter(Message.class, statusDebouncer::accept)
+                .<Message, Boolean>route(Message.class,
+                        message -> (Boolean) message.getHeaders().get(StatusDebouncer.OFFLINE),
                         mapping -> mapping.channelMapping(true, ChannelName.INBOUND_STATUS_OFFLINE)
                                 .channelMapping(false, ChannelName.INBOUND_STATUS_ONLINE))
                 .get();
@@ -131,7 +146,8 @@ public class StatusRouter {
     }
 
     private TopicStatusResponse publish(TopicStatusResponse request, MessageHeaders headers) {
-        if (Objects.isNull(request)) {
+        // The debounced messages have been replied when they were received.
+        if (Objects.isNull(request) || headers.containsKey(StatusDebouncer.REPLIED)) {
             return null;
         }
         gatewayPublish.publishReply(request, headers);
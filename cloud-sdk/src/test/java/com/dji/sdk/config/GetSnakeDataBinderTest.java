@@ -0,0 +1,127 @@
+package com.dji.sdk.config;
+
+import com.dji.sdk.cloudapi.device.DeviceEnum;
+import com.dji.sdk.cloudapi.wayline.ActionTypeEnum;
+import com.dji.sdk.cloudapi.wayline.GetWaylineListRequest;
+import com.dji.sdk.cloudapi.wayline.WaylineTypeEnum;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The wayline list of pilot is the representative query, polled constantly with snake_case parameters.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+class GetSnakeDataBinderTest {
+
+    private static final Logger log = LoggerFactory.getLogger(GetSnakeDataBinderTest.class);
+
+    private final WaylineController controller = new WaylineController();
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+            .setCustomArgumentResolvers(new GetSnakeArgumentProcessor(true))
+            .build();
+
+    @Test
+    void bindsTheSnakeCaseParameters() throws Exception {
+        mockMvc.perform(query()).andExpect(status().isOk());
+
+        GetWaylineListRequest request = controller.request;
+        assertFalse(request.getFavorited());
+        assertEquals("update_time", request.getOrderBy().getColumn().getColumn());
+        assertTrue(request.getOrderBy().isDesc());
+        assertEquals(2, request.getPage());
+        assertEquals(20, request.getPageSize());
+        assertEquals(List.of(WaylineTypeEnum.WAYPOINT, WaylineTypeEnum.MAPPING_2D), request.getTemplateType());
+        assertEquals(ActionTypeEnum.SPOT_CHECK, request.getActionType());
+        assertEquals(List.of(DeviceEnum.M30, DeviceEnum.M30T), request.getDroneModelKeys());
+        assertEquals(List.of(DeviceEnum.H20), request.getPayloadModelKey());
+        assertEquals("waypoint", request.getKey());
+    }
+
+    @Test
+    void measuresTheBindingOfAWaylineListQuery() throws Exception {
+        int requests = 20_000;
+        RequestBuilder query = query();
+        MockHttpServletRequest servletRequest = query.buildRequest(new MockServletContext());
+
+        long mvcNanos = Long.MAX_VALUE;
+        long bindNanos = Long.MAX_VALUE;
+        long cachedNanos = Long.MAX_VALUE;
+        long reflectionNanos = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                mockMvc.perform(query);
+            }
+            mvcNanos = Math.min(mvcNanos, (System.nanoTime() - start) / requests);
+
+            start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                new GetSnakeDataBinder(new GetWaylineListRequest(), "request").bind(servletRequest);
+            }
+            bindNanos = Math.min(bindNanos, (System.nanoTime() - start) / requests);
+
+            start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                GetSnakeBindingPlan.of(GetWaylineListRequest.class);
+            }
+            cachedNanos = Math.min(cachedNanos, (System.nanoTime() - start) / requests);
+
+            // The fields, the aliases and the enum creators, which were looked up for each request before.
+            start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                new GetSnakeBindingPlan(GetWaylineListRequest.class);
+            }
+            reflectionNanos = Math.min(reflectionNanos, (System.nanoTime() - start) / requests);
+        }
+
+        log.info("A wayline list query takes {} ns through mvc and {} ns in the binder. " +
+                        "Its binding plan takes {} ns from the cache and {} ns by reflection.",
+                mvcNanos, bindNanos, cachedNanos, reflectionNanos);
+        assertTrue(cachedNanos * 10 < reflectionNanos, "The cached plan takes " + cachedNanos + " ns.");
+    }
+
+    private static RequestBuilder query() {
+        return get("/waylines")
+                .param("favorited", "false")
+                .param("order_by", "update_time desc")
+                .param("page", "2")
+                .param("page_size", "20")
+                .param("template_type", "0", "1")
+                .param("action_type", "1")
+                .param("drone_model_keys", DeviceEnum.M30.getDevice() + "," + DeviceEnum.M30T.getDevice())
+                .param("payload_model_key", DeviceEnum.H20.getDevice())
+                .param("key", "waypoint");
+    }
+
+    @RestController
+    static class WaylineController {
+
+        private GetWaylineListRequest request;
+
+        @GetMapping("/waylines")
+        public String getWaylines(GetWaylineListRequest request) {
+            this.request = request;
+            return "";
+        }
+    }
+}
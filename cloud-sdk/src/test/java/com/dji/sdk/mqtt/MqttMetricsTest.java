@@ -0,0 +1,137 @@
+package com.dji.sdk.mqtt;
+
+import com.dji.sdk.cloudapi.device.DeviceTypeEnum;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.integration.support.context.NamedComponent;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.GenericMessage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+class MqttMetricsTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MqttMetricsTest.class);
+
+    private static final String CHANNEL = "inboundStatusUpdateTopo";
+
+    /**
+     * The metrics of an inbound message may take this much of the handling.
+     */
+    private static final long BUDGET_NANOS = 2000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void recordsTheStagesOfTheSameTagsOnOneTimer() {
+        MqttMetrics metrics = new MqttMetrics(registry);
+        for (int i = 0; i < 3; i++) {
+            metrics.recordDecode(CloudApiTopicEnum.OSD, DeviceTypeEnum.DOCK3, null, metrics.start());
+            metrics.recordDecode(CloudApiTopicEnum.OSD, DeviceTypeEnum.M4D, null, metrics.start());
+        }
+
+        Timer dock = registry.get(MqttMetrics.DECODE).tags("topic", CloudApiTopicEnum.OSD.name(),
+                "device_type", DeviceTypeEnum.DOCK3.name(), "method", "unknown").timer();
+        assertEquals(3, dock.count());
+        assertEquals(3, registry.get(MqttMetrics.DECODE).tags("topic", CloudApiTopicEnum.OSD.name(),
+                "device_type", DeviceTypeEnum.M4D.name(), "method", "unknown").timer().count());
+    }
+
+    @Test
+    void mergesTheTagsBeyondTheLimitIntoOther() {
+        MqttMetrics metrics = new MqttMetrics(registry);
+        for (int i = 0; i < MqttMetrics.MAX_TAG_COMBINATIONS + 10; i++) {
+            metrics.recordHandle(CHANNEL + i, metrics.start());
+        }
+        metrics.recordHandle(CHANNEL + 0, metrics.start());
+
+        assertEquals(2, registry.get(MqttMetrics.HANDLE).tags("channel", CHANNEL + 0).timer().count());
+        assertEquals(10, registry.get(MqttMetrics.HANDLE).tags("channel", "other").timer().count());
+    }
+
+    @Test
+    void returnsTheExecutorAsItIsWhenDisabled() {
+        Executor executor = Runnable::run;
+        assertSame(executor, new MqttMetrics(registry, false).monitorQueue(executor, CHANNEL));
+    }
+
+    @Test
+    void measuresTheOverheadOfAnInboundMessage() {
+        // The stages recorded for each inbound message: the route, the decode, the queue and the handle.
+        int messages = 1_000_000;
+        long disabled = Long.MAX_VALUE;
+        long enabled = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            disabled = Math.min(disabled, inbound(new MqttMetrics(registry, false), messages));
+            enabled = Math.min(enabled, inbound(new MqttMetrics(new SimpleMeterRegistry()), messages));
+        }
+
+        long overhead = Math.max(0, enabled - disabled) / messages;
+        log.info("The metrics of {} inbound messages take {} ns per message, {} ns without the metrics.",
+                messages, enabled / messages, disabled / messages);
+        assertTrue(overhead < BUDGET_NANOS, "The metrics take " + overhead + " ns per message.");
+    }
+
+    /**
+     * @return the nanoseconds to pass the messages through the stages.
+     */
+    private static long inbound(MqttMetrics metrics, int messages) {
+        MqttHandleMetricsInterceptor interceptor = new MqttHandleMetricsInterceptor();
+        ReflectionTestUtils.setField(interceptor, "mqttMetrics", metrics);
+        MessageChannel channel = new NamedChannel(CHANNEL);
+        Message<String> message = new GenericMessage<>("");
+        Executor executor = metrics.monitorQueue(Runnable::run, ChannelName.INBOUND_STATUS);
+        Runnable handle = () -> {
+            interceptor.preSend(message, channel);
+            interceptor.afterSendCompletion(message, channel, true, null);
+        };
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            long start = metrics.start();
+            metrics.recordRoute(CloudApiTopicEnum.STATUS, start);
+            start = metrics.start();
+            metrics.recordDecode(CloudApiTopicEnum.STATUS, DeviceTypeEnum.DOCK3, null, start);
+            executor.execute(handle);
+        }
+        return System.nanoTime() - begin;
+    }
+
+    private static class NamedChannel implements MessageChannel, NamedComponent {
+
+        private final String name;
+
+        NamedChannel(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean send(Message<?> message, long timeout) {
+            return true;
+        }
+
+        @Override
+        public String getComponentName() {
+            return name;
+        }
+
+        @Override
+        public String getComponentType() {
+            return "channel";
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.dji.sdk.mqtt.capture;
+
+import com.dji.sdk.common.SpringBeanUtils;
+import com.dji.sdk.mqtt.ChannelName;
+import com.dji.sdk.mqtt.TopicConst;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.integration.mqtt.support.MqttHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The captured traffic of the docks is replayed into channels that take a fixed time to handle each message,
+ * as the decoding and the handlers of the osd and the state do.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+class MqttReplayDriverTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MqttReplayDriverTest.class);
+
+    private static final int DOCKS = 100;
+
+    /**
+     * Each dock reports its osd nine times for each state.
+     */
+    private static final int MESSAGES_PER_DOCK = 50;
+
+    private static final long HANDLING_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * Small enough that the capture is rotated over several files.
+     */
+    private static final long MAX_FILE_SIZE = 1024 * 1024;
+
+    private final MqttReplayDriver driver = new MqttReplayDriver();
+
+    /**
+     * The sequence numbers handled for each device, in the order they are handled.
+     */
+    private final Map<String, List<Integer>> handled = new ConcurrentHashMap<>();
+
+    private Path dir;
+
+    private byte[] osd;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("mqtt-capture");
+        try (InputStream in = getClass().getResourceAsStream("/osd/dock3.json")) {
+            osd = in.readAllBytes();
+        }
+
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.getBeanFactory().registerSingleton(ChannelName.INBOUND_OSD_DECODE, channel());
+        context.getBeanFactory().registerSingleton(ChannelName.INBOUND_STATE, channel());
+        context.refresh();
+        new SpringBeanUtils().setApplicationContext(context);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void readsBackTheCapturedMessagesInOrder() throws IOException {
+        capture(0);
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertTrue(files.count() > 1, "The capture is not rotated.");
+        }
+        int total = 0;
+        long lastArrival = 0;
+        try (MqttCaptureReader reader = new MqttCaptureReader(dir)) {
+            while (reader.hasNext()) {
+                MqttCaptureRecord record = reader.next();
+                assertEquals(topic(total), record.getTopic());
+                assertArrayEquals(payload(total), record.getPayload());
+                assertTrue(record.getArrivalNanos() >= lastArrival);
+                lastArrival = record.getArrivalNanos();
+                total++;
+            }
+        }
+        assertEquals(DOCKS * MESSAGES_PER_DOCK, total);
+    }
+
+    @Test
+    void measuresTheThroughputOfEachNumberOfLanes() throws Exception {
+        capture(0);
+        int total = DOCKS * MESSAGES_PER_DOCK;
+
+        Map<String, List<Integer>> expected = null;
+        long oneLaneNanos = 0;
+        for (int lanes : new int[]{1, 4, 16}) {
+            handled.clear();
+            long start = System.nanoTime();
+            long succeeded = driver.replay(dir, 0, lanes);
+            long nanos = System.nanoTime() - start;
+
+            log.info("{} captured messages are replayed in {} ms on {} lanes, {} msg/s.", total,
+                    TimeUnit.NANOSECONDS.toMillis(nanos), lanes, total * TimeUnit.SECONDS.toNanos(1) / nanos);
+            assertEquals(total, succeeded);
+            // The messages of each device are handled in the order they were captured, on any number of lanes.
+            Map<String, List<Integer>> replayed = Map.copyOf(handled);
+            assertEquals(DOCKS, replayed.size());
+            replayed.values().forEach(sequence -> assertEquals(sequence.stream().sorted().collect(Collectors.toList()), sequence));
+            if (null == expected) {
+                expected = replayed;
+                oneLaneNanos = nanos;
+                continue;
+            }
+            assertEquals(expected, replayed);
+            assertTrue(nanos * 2 < oneLaneNanos, "The replay on " + lanes + " lanes takes " + nanos + " ns.");
+        }
+    }
+
+    @Test
+    void keepsTheCapturedIntervals() throws Exception {
+        long interval = TimeUnit.MICROSECONDS.toNanos(100);
+        capture(interval);
+        long firstArrival = 0;
+        long lastArrival = 0;
+        try (MqttCaptureReader reader = new MqttCaptureReader(dir)) {
+            while (reader.hasNext()) {
+                lastArrival = reader.next().getArrivalNanos();
+                firstArrival = 0 == firstArrival ? lastArrival : firstArrival;
+            }
+        }
+        long captured = lastArrival - firstArrival;
+        assertTrue(captured >= interval * (DOCKS * MESSAGES_PER_DOCK - 1));
+
+        for (double speed : new double[]{1, 2}) {
+            long start = System.nanoTime();
+            driver.replay(dir, speed, 4);
+            long nanos = System.nanoTime() - start;
+
+            log.info("The capture of {} ms is replayed in {} ms at the speed of {}.", TimeUnit.NANOSECONDS.toMillis(captured),
+                    TimeUnit.NANOSECONDS.toMillis(nanos), speed);
+            assertTrue(nanos >= captured / speed, "The replay at the speed of " + speed + " takes " + nanos + " ns.");
+        }
+    }
+
+    /**
+     * The docks report one after another, each message is delayed by the interval.
+     */
+    private void capture(long interval) throws IOException {
+        try (MqttCaptureWriter writer = new MqttCaptureWriter(dir, MAX_FILE_SIZE)) {
+            for (int i = 0; i < DOCKS * MESSAGES_PER_DOCK; i++) {
+                long due = System.nanoTime() + interval;
+                writer.write(topic(i), payload(i));
+                long wait;
+                while (interval > 0 && (wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+        }
+    }
+
+    private static String topic(int sequence) {
+        return TopicConst.THING_MODEL_PRE + TopicConst.PRODUCT + "dock" + sequence % DOCKS +
+                (sequence / DOCKS % 10 == 9 ? TopicConst.STATE_SUF : TopicConst.OSD_SUF);
+    }
+
+    /**
+     * The osd of the fixture, or a state, with the sequence number in front.
+     */
+    private byte[] payload(int sequence) {
+        String body = sequence / DOCKS % 10 == 9 ? "{\"data\":{\"firmware_version\":\"10.01.0001\"}}"
+                : new String(osd, StandardCharsets.UTF_8);
+        return ("{\"seq\":" + sequence + "," + body.substring(1)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private MessageChannel channel() {
+        return (message, timeout) -> {
+            LockSupport.parkNanos(HANDLING_NANOS);
+            String topic = String.valueOf(message.getHeaders().get(MqttHeaders.RECEIVED_TOPIC));
+            handled.computeIfAbsent(topic.split("/")[2], sn -> new ArrayList<>()).add(sequence(message));
+            return true;
+        };
+    }
+
+    private static int sequence(Message<?> message) {
+        String payload = new String((byte[]) message.getPayload(), StandardCharsets.UTF_8);
+        return Integer.parseInt(payload.substring("{\"seq\":".length(), payload.indexOf(',')));
+    }
+}
@@ -0,0 +1,156 @@
+package com.dji.sdk.mqtt.drc;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Simulates the drc link of a dock: every copy of a command is lost at a fixed rate,
+ * and each copy that gets through is replied by the device.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+class DrcLinkMonitorTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DrcLinkMonitorTest.class);
+
+    private static final String GATEWAY_SN = "dock";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final DrcLinkMonitor monitor = new DrcLinkMonitor();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(monitor, "meterRegistry", registry);
+        ReflectionTestUtils.invokeMethod(monitor, "init");
+    }
+
+    @Test
+    void dedupesTheRepliesOfTheCopies() {
+        monitor.sent(GATEWAY_SN, 1);
+        monitor.sent(GATEWAY_SN, 2);
+        assertTrue(monitor.replied(GATEWAY_SN, 2));
+        assertFalse(monitor.replied(GATEWAY_SN, 2));
+        assertTrue(monitor.replied(GATEWAY_SN, 1));
+        assertFalse(monitor.replied(GATEWAY_SN, 1));
+        // A command that is no longer pending is only accepted if it's newer than the last one.
+        assertFalse(monitor.replied(GATEWAY_SN, 0));
+        assertTrue(monitor.replied(GATEWAY_SN, 3));
+    }
+
+    @Test
+    void sendsTheMostCopiesUntilTheLossIsMeasured() {
+        assertEquals(DrcLinkMonitor.MAX_PUBLISH_COUNT, monitor.sent(GATEWAY_SN, 1));
+    }
+
+    @Test
+    void sendsOneCopyOnLosslessLink() {
+        int copies = simulate(0, 1000);
+        assertEquals(DrcLinkMonitor.MIN_PUBLISH_COUNT, copies);
+        assertTrue(monitor.getLossRate(GATEWAY_SN) < DrcLinkMonitor.TARGET_LOSS);
+    }
+
+    @Test
+    void sendsTheMostCopiesOnLossyLink() {
+        int copies = simulate(0.4, 3000);
+        assertEquals(DrcLinkMonitor.MAX_PUBLISH_COUNT, copies);
+    }
+
+    @Test
+    void estimatesTheLossRate() {
+        double loss = 0.05;
+        simulate(loss, 1000);
+        double sum = 0;
+        int[] copies = new int[DrcLinkMonitor.MAX_PUBLISH_COUNT + 1];
+        int count = 5000;
+        Random random = new Random(3);
+        for (int seq = 1000; seq < 1000 + count; seq++) {
+            copies[send(seq, loss, random)]++;
+            sum += monitor.getLossRate(GATEWAY_SN);
+        }
+        double mean = sum / count;
+        assertTrue(Math.abs(mean - loss) < 0.015, "The estimated loss rate is " + mean);
+        // 3 copies keep the chance of losing all of them at about 1 in 8000.
+        for (int i = 0; i < copies.length; i++) {
+            assertTrue(i == 3 || copies[i] < copies[3], copies[i] + " commands are sent " + i + " times.");
+        }
+    }
+
+    @Test
+    void reportsTheRoundTripTime() throws InterruptedException {
+        // 200 commands per second for 2 seconds, each copy takes 5 to 30 ms each way.
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+        Random random = new Random(5);
+        int commands = 400;
+        CountDownLatch done = new CountDownLatch(commands);
+        try {
+            for (int i = 0; i < commands; i++) {
+                long seq = i;
+                int copies = monitor.sent(GATEWAY_SN, seq);
+                long lastDelay = 0;
+                for (int copy = 0; copy < copies; copy++) {
+                    if (random.nextDouble() < 0.2) {
+                        continue;
+                    }
+                    long delay = 10 + random.nextInt(26) + random.nextInt(26);
+                    lastDelay = Math.max(lastDelay, delay);
+                    scheduler.schedule(() -> monitor.replied(GATEWAY_SN, seq), delay, TimeUnit.MILLISECONDS);
+                }
+                scheduler.schedule(done::countDown, lastDelay, TimeUnit.MILLISECONDS);
+                TimeUnit.MILLISECONDS.sleep(5);
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            scheduler.shutdownNow();
+        }
+
+        Timer rtt = registry.get(DrcLinkMonitor.RTT).timer();
+        assertTrue(rtt.count() > commands * 0.98, rtt.count() + " commands are replied.");
+        for (ValueAtPercentile percentile : rtt.takeSnapshot().percentileValues()) {
+            double millis = percentile.value(TimeUnit.MILLISECONDS);
+            log.info("The p{} round trip time is {} ms.", (int) (percentile.percentile() * 100), millis);
+            assertTrue(millis >= 5 && millis < 500, "The p" + percentile.percentile() + " is " + millis + " ms.");
+        }
+    }
+
+    /**
+     * Send the commands over a link that loses each copy at the rate.
+     * @return the number of copies of the last command.
+     */
+    private int simulate(double loss, int commands) {
+        Random random = new Random(1);
+        int copies = 0;
+        for (int seq = 0; seq < commands; seq++) {
+            copies = send(seq, loss, random);
+        }
+        return copies;
+    }
+
+    private int send(long seq, double loss, Random random) {
+        int copies = monitor.sent(GATEWAY_SN, seq);
+        for (int copy = 0; copy < copies; copy++) {
+            if (random.nextDouble() >= loss) {
+                monitor.replied(GATEWAY_SN, seq);
+            }
+        }
+        return copies;
+    }
+}
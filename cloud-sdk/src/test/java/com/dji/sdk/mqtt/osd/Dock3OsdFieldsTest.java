@@ -0,0 +1,101 @@
+package com.dji.sdk.mqtt.osd;
+
+import com.dji.sdk.cloudapi.device.BatteryIndexEnum;
+import com.dji.sdk.cloudapi.device.DockMaintainStatus;
+import com.dji.sdk.cloudapi.device.DroneBatteryMaintenanceInfo;
+import com.dji.sdk.cloudapi.device.DroneMaintainStatus;
+import com.dji.sdk.cloudapi.device.HeatStateEnum;
+import com.dji.sdk.cloudapi.device.MaintainTypeEnum;
+import com.dji.sdk.cloudapi.device.MaintenanceStateEnum;
+import com.dji.sdk.cloudapi.device.OsdDock;
+import com.dji.sdk.cloudapi.device.OsdDockDrone;
+import com.dji.sdk.common.Common;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+class Dock3OsdFieldsTest {
+
+    private static final ObjectMapper MAPPER = Common.getObjectMapper();
+
+    @Test
+    void failsToDecodeTheDockWithoutNormalizing() throws IOException {
+        ObjectNode data = data("/osd/dock3.json");
+        assertThrows(JsonMappingException.class, () -> MAPPER.treeToValue(data, OsdDock.class));
+    }
+
+    @Test
+    void decodesTheDock() throws IOException {
+        ObjectNode data = data("/osd/dock3.json");
+        Dock3OsdFields.normalize(OsdDeviceTypeEnum.DOCK, data);
+        OsdDock dock = MAPPER.treeToValue(data, OsdDock.class);
+
+        assertEquals("1581F8HGX253K00A0C2H", dock.getSubDevice().getDeviceSn());
+        List<DockMaintainStatus> statuses = dock.getMaintainStatus().getMaintainStatusArray();
+        assertEquals(3, statuses.size());
+        assertEquals(MaintainTypeEnum.DOCK_ROUTINE, statuses.get(0).getLastMaintainType());
+        assertEquals(0, statuses.get(0).getLastMaintainFlightSorties());
+        assertFalse(statuses.get(0).getState());
+        assertEquals(MaintainTypeEnum.DOCK_DEEP, statuses.get(1).getLastMaintainType());
+        assertEquals(128, statuses.get(1).getLastMaintainFlightSorties());
+        assertEquals(1755187200L, statuses.get(1).getLastMaintainTime());
+        assertTrue(statuses.get(1).getState());
+        // The type unknown to the standard model is left out instead of failing the message.
+        assertNull(statuses.get(2).getLastMaintainType());
+
+        DroneBatteryMaintenanceInfo maintenance = dock.getDroneBatteryMaintenanceInfo();
+        assertEquals(MaintenanceStateEnum.NO_NEED_TO_MAINTENANCE, maintenance.getMaintenanceState());
+        assertEquals(HeatStateEnum.DISABLED, maintenance.getHeatState());
+        assertEquals(BatteryIndexEnum.LEFT, maintenance.getBatteries().get(0).getIndex());
+        assertEquals(96, maintenance.getBatteries().get(0).getCapacityPercent());
+    }
+
+    @Test
+    void decodesTheDrone() throws IOException {
+        ObjectNode data = data("/osd/dock3-drone.json");
+        Dock3OsdFields.normalize(OsdDeviceTypeEnum.DOCK_DRONE, data);
+        OsdDockDrone drone = MAPPER.treeToValue(data, OsdDockDrone.class);
+
+        assertEquals(1, drone.getPayloads().size());
+        assertEquals("99-0-0", drone.getPayloads().get(0).getPayloadIndex().toString());
+        DroneMaintainStatus status = drone.getMaintainStatus().getMaintainStatusArray().get(0);
+        assertEquals(MaintainTypeEnum.DRONE_BASIC, status.getLastMaintainType());
+        assertEquals(12, status.getLastMaintainFlightSorties());
+        assertFalse(status.getState());
+    }
+
+    @Test
+    void removesTheUnknownCodes() throws IOException {
+        ObjectNode data = (ObjectNode) MAPPER.readTree("{\"drone_battery_maintenance_info\": "
+                + "{\"maintenance_state\": 7, \"heat_state\": 9, \"batteries\": [{\"index\": 4, \"voltage\": 17215}]}}");
+        Dock3OsdFields.normalize(OsdDeviceTypeEnum.DOCK, data);
+        DroneBatteryMaintenanceInfo maintenance = MAPPER.treeToValue(data, OsdDock.class).getDroneBatteryMaintenanceInfo();
+
+        assertNull(maintenance.getMaintenanceState());
+        assertNull(maintenance.getHeatState());
+        assertNull(maintenance.getBatteries().get(0).getIndex());
+        assertEquals(17215, maintenance.getBatteries().get(0).getVoltage());
+    }
+
+    private ObjectNode data(String resource) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(resource)) {
+            return (ObjectNode) MAPPER.readTree(in).get("data");
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.dji.sdk.mqtt.osd;
+
+import com.dji.sdk.cloudapi.device.OsdDock;
+import com.dji.sdk.cloudapi.device.OsdDockDrone;
+import com.dji.sdk.cloudapi.device.PayloadModelConst;
+import com.dji.sdk.common.Common;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The captured osd of a Dock 3 and its drone are decoded as the router did before, and as it does now.
+ * The fixtures are normalized first, so they are decoded as the osd of a Dock 2.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+class OsdDecodeTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OsdDecodeTest.class);
+
+    private static final ObjectMapper MAPPER = Common.getObjectMapper();
+
+    private static final ObjectReader REQUEST_READER = MAPPER.readerFor(new TypeReference<TopicOsdRequest<JsonNode>>() {});
+
+    private static final Set<String> PAYLOAD_INDEXES = PayloadModelConst.getAllIndexWithPosition();
+
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void measuresTheDecodingOfTheDock() throws IOException {
+        measure(OsdDeviceTypeEnum.DOCK, OsdDock.class, capture("/osd/dock3.json", OsdDeviceTypeEnum.DOCK));
+    }
+
+    @Test
+    void measuresTheDecodingOfTheDrone() throws IOException {
+        measure(OsdDeviceTypeEnum.DOCK_DRONE, OsdDockDrone.class, capture("/osd/dock3-drone.json", OsdDeviceTypeEnum.DOCK_DRONE));
+    }
+
+    private void measure(OsdDeviceTypeEnum type, Class<?> model, byte[] message) throws IOException {
+        ObjectReader dataReader = MAPPER.readerFor(type.getClassType());
+        Object expected = decodeAsBefore(OsdDecodeTest::legacyMapper, type, message);
+        Object actual = decode(dataReader, type, message);
+        assertEquals(model, actual.getClass());
+        assertEquals(MAPPER.valueToTree(expected), MAPPER.<JsonNode>valueToTree(actual));
+        assertEquals(MAPPER.valueToTree(expected), MAPPER.<JsonNode>valueToTree(decodeAsBefore(() -> MAPPER, type, message)));
+
+        long[] before = sample(100, () -> decodeAsBefore(OsdDecodeTest::legacyMapper, type, message));
+        long[] shared = sample(20_000, () -> decodeAsBefore(() -> MAPPER, type, message));
+        long[] onePass = sample(20_000, () -> decode(dataReader, type, message));
+
+        log.info("The osd of the {} ({} bytes) is decoded at {} msg/s allocating {} KB with a new mapper for each call, " +
+                        "{} msg/s allocating {} KB with the shared mapper through a map, and {} msg/s allocating {} KB in one pass.",
+                model.getSimpleName(), message.length, perSecond(before), before[1] / 1024,
+                perSecond(shared), shared[1] / 1024, perSecond(onePass), onePass[1] / 1024);
+        assertTrue(onePass[0] * 10 < before[0], "A decoding in one pass takes " + onePass[0] + " ns.");
+        assertTrue(onePass[0] < shared[0], "A decoding in one pass takes " + onePass[0] + " ns.");
+        assertTrue(onePass[1] < shared[1], "A decoding in one pass allocates " + onePass[1] + " bytes.");
+    }
+
+    /**
+     * @return the best nanoseconds and the fewest bytes allocated for each message.
+     */
+    private long[] sample(int messages, Decoder decoder) throws IOException {
+        long threadId = Thread.currentThread().getId();
+        long nanos = Long.MAX_VALUE;
+        long bytes = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long allocated = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            for (int i = 0; i < messages; i++) {
+                decoder.decode();
+            }
+            nanos = Math.min(nanos, (System.nanoTime() - start) / messages);
+            bytes = Math.min(bytes, (threads.getThreadAllocatedBytes(threadId) - allocated) / messages);
+        }
+        return new long[]{nanos, bytes};
+    }
+
+    private static long perSecond(long[] measured) {
+        return TimeUnit.SECONDS.toNanos(1) / measured[0];
+    }
+
+    /**
+     * As the router decodes it now: the envelope with the data as a tree, then the tree bound to the model.
+     */
+    private static Object decode(ObjectReader dataReader, OsdDeviceTypeEnum type, byte[] message) throws IOException {
+        TopicOsdRequest<JsonNode> response = REQUEST_READER.readValue(message);
+        ObjectNode data = (ObjectNode) response.getData();
+        if (!type.isGateway()) {
+            JsonNode payload = data.get(PayloadModelConst.PAYLOAD_KEY);
+            ArrayNode payloadData = payload instanceof ArrayNode ? (ArrayNode) payload : data.arrayNode();
+            PAYLOAD_INDEXES.stream().filter(data::has).map(data::get).forEach(payloadData::add);
+            data.set(PayloadModelConst.PAYLOAD_KEY, payloadData);
+        }
+        return dataReader.readValue(data);
+    }
+
+    /**
+     * As the router decoded it before: the envelope with the data as a map, then the map converted to the model.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object decodeAsBefore(Supplier<ObjectMapper> mapper, OsdDeviceTypeEnum type, byte[] message) throws IOException {
+        TopicOsdRequest<Object> response = mapper.get().readValue(message, new TypeReference<TopicOsdRequest<Object>>() {});
+        Map<String, Object> data = (Map<String, Object>) response.getData();
+        if (!type.isGateway()) {
+            List<Object> payloadData = (List<Object>) data.getOrDefault(PayloadModelConst.PAYLOAD_KEY, new ArrayList<>());
+            PayloadModelConst.getAllIndexWithPosition().stream().filter(data::containsKey)
+                    .map(data::get).forEach(payloadData::add);
+            data.put(PayloadModelConst.PAYLOAD_KEY, payloadData);
+        }
+        return mapper.get().convertValue(data, type.getClassType());
+    }
+
+    private byte[] capture(String resource, OsdDeviceTypeEnum type) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(resource)) {
+            JsonNode message = MAPPER.readTree(in);
+            Dock3OsdFields.normalize(type, (ObjectNode) message.get("data"));
+            return MAPPER.writeValueAsBytes(message);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Decoder {
+
+        Object decode() throws IOException;
+    }
+
+    /**
+     * The mapper that {@link Common#getObjectMapper()} built for each call before, with the settings that apply to the osd.
+     */
+    private static ObjectMapper legacyMapper() {
+        return JsonMapper.builder()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .serializationInclusion(JsonInclude.Include.NON_ABSENT)
+                .addModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true)
+                .configure(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT, true)
+                .build();
+    }
+}
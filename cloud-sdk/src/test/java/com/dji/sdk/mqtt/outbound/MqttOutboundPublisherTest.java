@@ -0,0 +1,203 @@
+package com.dji.sdk.mqtt.outbound;
+
+import com.dji.sdk.mqtt.MqttMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.paho.client.mqttv3.IMqttActionListener;
+import org.eclipse.paho.client.mqttv3.IMqttAsyncClient;
+import org.eclipse.paho.client.mqttv3.IMqttToken;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.integration.mqtt.core.MqttPahoClientFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The broker is simulated by a paho client that acknowledges each message on a callback thread after a delay.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+class MqttOutboundPublisherTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MqttOutboundPublisherTest.class);
+
+    private static final String TOPIC = "thing/product/dock/services";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ScheduledExecutorService callbacks = Executors.newScheduledThreadPool(2);
+
+    private final List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+
+    private final AtomicInteger acknowledged = new AtomicInteger();
+
+    /**
+     * The broker rejects the delivered messages matching it.
+     */
+    private Predicate<String> rejected = message -> false;
+
+    private long ackDelayMicros;
+
+    private MqttOutboundPublisher publisher;
+
+    @AfterEach
+    void tearDown() {
+        publisher.stop();
+        callbacks.shutdownNow();
+    }
+
+    @Test
+    void retriesTheFailedMessageAheadOfTheLaterOnes() {
+        publisher = publisher(1, 2);
+        AtomicInteger failures = new AtomicInteger();
+        rejected = message -> message.equals("a") && failures.getAndIncrement() == 0;
+        for (String message : List.of("a", "b", "c")) {
+            publisher.publish(TOPIC + "/" + message, new byte[0], 1);
+        }
+
+        await(() -> acknowledged.get() == 3);
+        assertEquals(List.of("a", "a", "b", "c"), delivered);
+    }
+
+    @Test
+    void failsTheMessageAfterTheMaxRetries() {
+        publisher = publisher(4, 2);
+        rejected = message -> message.equals("a");
+        publisher.publish(TOPIC + "/a", new byte[0], 1);
+        publisher.publish(TOPIC + "/b", new byte[0], 1);
+
+        await(() -> {
+            Counter failed = registry.find(MqttMetrics.PUBLISH_FAILED).counter();
+            return failed != null && failed.count() == 1 && acknowledged.get() == 1;
+        });
+        assertEquals(3, Collections.frequency(delivered, "a"));
+        assertEquals(0.0, registry.get(MqttMetrics.OUTBOUND_IN_FLIGHT).gauge().value());
+    }
+
+    @Test
+    void publishesMoreMessagesPerSecondWithALargerWindow() {
+        // The broker acknowledges each message 1 ms after it's published.
+        ackDelayMicros = 1000;
+        double previous = 0;
+        for (int window : new int[]{1, 8, 64}) {
+            publisher = publisher(window, 2);
+            acknowledged.set(0);
+            int messages = 500 * window;
+            long start = System.nanoTime();
+            for (int i = 0; i < messages; i++) {
+                publisher.publish(TOPIC, new byte[0], 1);
+            }
+            await(() -> acknowledged.get() == messages);
+            double rate = messages / ((System.nanoTime() - start) / 1e9);
+            publisher.stop();
+
+            log.info("{} messages are published at {} per second in a window of {}.",
+                    messages, String.format("%.0f", rate), window);
+            assertTrue(rate > previous, "The window of " + window + " publishes " + rate + " messages per second.");
+            previous = rate;
+        }
+        publisher = publisher(1, 2);
+    }
+
+    private MqttOutboundPublisher publisher(int maxInFlight, int maxRetries) {
+        MqttOutboundPublisher publisher = new MqttOutboundPublisher();
+        ReflectionTestUtils.setField(publisher, "maxInFlight", maxInFlight);
+        ReflectionTestUtils.setField(publisher, "queueCapacity", 4096);
+        ReflectionTestUtils.setField(publisher, "enqueueTimeout", Duration.ofSeconds(3));
+        ReflectionTestUtils.setField(publisher, "maxRetries", maxRetries);
+        ReflectionTestUtils.setField(publisher, "environment", new StandardEnvironment());
+        ReflectionTestUtils.setField(publisher, "mqttClientFactory", clientFactory());
+        ReflectionTestUtils.setField(publisher, "mqttMetrics", new MqttMetrics(registry));
+        ReflectionTestUtils.invokeMethod(publisher, "init");
+        publisher.start();
+        return publisher;
+    }
+
+    private MqttPahoClientFactory clientFactory() {
+        IMqttAsyncClient client = proxy(IMqttAsyncClient.class, (method, args) -> {
+            switch (method) {
+                case "isConnected":
+                    return true;
+                case "publish":
+                    deliver((String) args[0], args[4], (IMqttActionListener) args[5]);
+                    return null;
+                case "connect":
+                case "disconnect":
+                    return token(null);
+                default:
+                    return null;
+            }
+        });
+        return proxy(MqttPahoClientFactory.class, (method, args) -> {
+            switch (method) {
+                case "getConnectionOptions":
+                    return new MqttConnectOptions();
+                case "getAsyncClientInstance":
+                    return client;
+                default:
+                    throw new UnsupportedOperationException(method);
+            }
+        });
+    }
+
+    private void deliver(String topic, Object context, IMqttActionListener listener) {
+        String message = topic.substring(topic.lastIndexOf('/') + 1);
+        delivered.add(message);
+        callbacks.schedule(() -> {
+            if (rejected.test(message)) {
+                listener.onFailure(token(context), new MqttException(MqttException.REASON_CODE_CLIENT_TIMEOUT));
+                return;
+            }
+            acknowledged.incrementAndGet();
+            listener.onSuccess(token(context));
+        }, ackDelayMicros, TimeUnit.MICROSECONDS);
+    }
+
+    private static IMqttToken token(Object context) {
+        return proxy(IMqttToken.class, (method, args) -> "getUserContext".equals(method) ? context : null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type},
+                (proxy, method, args) -> handler.invoke(method.getName(), args));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out.");
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+}
@@ -0,0 +1,142 @@
+package com.dji.sdk.mqtt.shared;
+
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The scaling is measured against the broker of -Dmqtt.broker, tcp://localhost:1883 by default,
+ * and skipped if no broker is running there.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+class MqttSharedInboundPoolTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MqttSharedInboundPoolTest.class);
+
+    private static final String BROKER = System.getProperty("mqtt.broker", "tcp://localhost:1883");
+
+    private static final String GROUP = "cloud-api-scaling";
+
+    private static final int MESSAGES = 5000;
+
+    /**
+     * The messages published but not yet received, below the queue limit of the broker for each client.
+     */
+    private static final int MAX_PENDING = 500;
+
+    /**
+     * A connection handles its messages one by one on the callback thread of paho.
+     */
+    private static final long HANDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    @Test
+    void keepsTheStatusAndTheStateUnshared() {
+        assertEquals(Optional.empty(), SharedNamespaceEnum.find("sys/product/+/status"));
+        assertEquals(Optional.empty(), SharedNamespaceEnum.find("thing/product/dock/state"));
+        assertEquals(Optional.of(SharedNamespaceEnum.OSD), SharedNamespaceEnum.find("thing/product/dock/osd"));
+        assertEquals(Optional.of(SharedNamespaceEnum.OSD), SharedNamespaceEnum.find(SharedNamespaceEnum.OSD.getTopicFilter()));
+    }
+
+    @Test
+    void scalesTheIngestWithTheConnections() throws MqttException {
+        assumeTrue(isBrokerRunning(), "No mqtt broker is running at " + BROKER);
+        // The connections, the publisher and the broker each need a core.
+        assumeTrue(Runtime.getRuntime().availableProcessors() >= 6);
+
+        double single = 0;
+        double rate = 0;
+        for (int connections = 1; connections <= 4; connections++) {
+            rate = ingest(connections);
+            single = connections == 1 ? rate : single;
+            log.info("{} osd messages are received at {} per second on {} connections, {} times of one connection.",
+                    MESSAGES, String.format("%.0f", rate), connections, String.format("%.2f", rate / single));
+        }
+        assertTrue(rate > 3 * single, "4 connections receive " + rate / single + " times of one connection.");
+    }
+
+    /**
+     * @return the messages received per second by the connections of the group.
+     */
+    private static double ingest(int connections) throws MqttException {
+        String topic = "thing/product/scaling" + connections + "/osd";
+        byte[] payload = "{\"data\":{}}".getBytes(StandardCharsets.UTF_8);
+        AtomicInteger received = new AtomicInteger();
+        List<MqttClient> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < connections; i++) {
+                MqttClient client = connect();
+                clients.add(client);
+                client.subscribe("$share/" + GROUP + "/" + SharedNamespaceEnum.OSD.getTopicFilter(), 0, (t, message) -> {
+                    long end = System.nanoTime() + HANDLE_NANOS;
+                    while (System.nanoTime() < end) {
+                        Thread.onSpinWait();
+                    }
+                    received.incrementAndGet();
+                });
+            }
+            MqttClient publisher = connect();
+            clients.add(publisher);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < MESSAGES; i++) {
+                while (i - received.get() >= MAX_PENDING) {
+                    Thread.onSpinWait();
+                }
+                publisher.publish(topic, payload, 0, false);
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            while (received.get() < MESSAGES) {
+                assertTrue(System.nanoTime() < deadline, received.get() + " of " + MESSAGES + " messages are received.");
+                Thread.onSpinWait();
+            }
+            return MESSAGES / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            for (MqttClient client : clients) {
+                client.disconnect();
+                client.close();
+            }
+        }
+    }
+
+    private static MqttClient connect() throws MqttException {
+        MqttClient client = new MqttClient(BROKER, "scaling-" + UUID.randomUUID(), new MemoryPersistence());
+        MqttConnectOptions options = new MqttConnectOptions();
+        options.setCleanSession(true);
+        options.setMaxInflight(MAX_PENDING);
+        client.connect(options);
+        return client;
+    }
+
+    private static boolean isBrokerRunning() {
+        URI uri = URI.create(BROKER);
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(uri.getHost(), uri.getPort()), 500);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.dji.sdk.mqtt.status;
+
+import com.dji.sdk.cloudapi.device.UpdateTopo;
+import com.dji.sdk.cloudapi.device.UpdateTopoSubDevice;
+import com.dji.sdk.common.SpringBeanUtils;
+import com.dji.sdk.mqtt.ChannelName;
+import com.dji.sdk.mqtt.CommonTopicResponse;
+import com.dji.sdk.mqtt.MqttGatewayPublish;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+class StatusDebouncerTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StatusDebouncerTest.class);
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+    private static final int MAX_APPLY_RATE = 2;
+
+    private final StatusDebouncer debouncer = new StatusDebouncer();
+
+    private final List<CommonTopicResponse> replies = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<Message<?>> online = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<Message<?>> offline = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<Message<?>> handled = Collections.synchronizedList(new ArrayList<>());
+
+    private boolean failing;
+
+    private long start;
+
+    @BeforeEach
+    void setUp() {
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.getBeanFactory().registerSingleton(ChannelName.INBOUND_STATUS_ONLINE, channel(online));
+        context.getBeanFactory().registerSingleton(ChannelName.INBOUND_STATUS_OFFLINE, channel(offline));
+        context.refresh();
+        new SpringBeanUtils().setApplicationContext(context);
+
+        ReflectionTestUtils.setField(debouncer, "window", Duration.ofNanos(WINDOW));
+        ReflectionTestUtils.setField(debouncer, "maxApplyRate", MAX_APPLY_RATE);
+        ReflectionTestUtils.setField(debouncer, "applyConcurrency", 1);
+        ReflectionTestUtils.setField(debouncer, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(debouncer, "gatewayPublish", new MqttGatewayPublish() {
+            @Override
+            public void publishReply(CommonTopicResponse response, MessageHeaders headers) {
+                replies.add(response);
+            }
+        });
+        ReflectionTestUtils.invokeMethod(debouncer, "init");
+        start = (long) ReflectionTestUtils.getField(debouncer, "lastRefillNanos");
+    }
+
+    @Test
+    void repliesAtOnceAndHandlesTheLastMessageWhenTheWindowEnds() throws Exception {
+        assertFalse(debouncer.accept(online("dock", "drone"), at(0)));
+        assertFalse(debouncer.accept(offline("dock"), at(500)));
+        assertEquals(2, replies.size());
+
+        flush(1200);
+        assertTrue(online.isEmpty() && offline.isEmpty());
+
+        flush(1500);
+        assertEquals(0, online.size());
+        assertEquals(1, offline.size());
+        assertEquals(true, offline.get(0).getHeaders().get(StatusDebouncer.REPLIED));
+    }
+
+    @Test
+    void handlesFlappingGatewayAfterTheMaxDelay() throws Exception {
+        for (int millis = 0; millis <= 8000; millis += 500) {
+            debouncer.accept(millis % 1000 == 0 ? online("dock", "drone") : offline("dock"), at(millis));
+            flush(millis + 100);
+            assertEquals(millis < 5000 ? 0 : 1, online.size() + offline.size(), "Handled at " + millis + " ms.");
+        }
+    }
+
+    @Test
+    void dropsTopologyWithoutNetChange() throws Exception {
+        debouncer.accept(online("dock", "drone"), at(0));
+        flush(1000);
+        assertEquals(1, online.size());
+
+        debouncer.accept(offline("dock"), at(2000));
+        debouncer.accept(online("dock", "drone"), at(2500));
+        flush(3500);
+        // A long time later, the same topology is still not handled again.
+        debouncer.accept(online("dock", "drone"), at(60_000));
+        flush(61_000);
+        assertEquals(1, online.size());
+        assertEquals(0, offline.size());
+
+        debouncer.accept(online("dock", "another drone"), at(62_000));
+        flush(63_000);
+        assertEquals(2, online.size());
+    }
+
+    @Test
+    void handlesTheSameTopologyAfterForgetting() throws Exception {
+        debouncer.accept(online("dock", "drone"), at(0));
+        flush(1000);
+        debouncer.forget("dock");
+        debouncer.accept(online("dock", "drone"), at(2000));
+        flush(3000);
+        assertEquals(2, online.size());
+    }
+
+    @Test
+    void limitsTheApplyRate() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            debouncer.accept(online("dock" + i, "drone" + i), at(0));
+        }
+        flush(1000);
+        assertEquals(MAX_APPLY_RATE, online.size());
+        flush(1100);
+        assertEquals(MAX_APPLY_RATE, online.size());
+        flush(1500);
+        assertEquals(MAX_APPLY_RATE + 1, online.size());
+        flush(3000);
+        assertEquals(5, online.size());
+    }
+
+    @Test
+    void removesTheForgottenGateways() throws Exception {
+        debouncer.accept(online("dock", "drone"), at(0));
+        flush(1000);
+        debouncer.accept(online("another dock", "drone"), at(0));
+        assertEquals(2, debouncer.size());
+
+        debouncer.forget("dock");
+        assertEquals(1, debouncer.size());
+        // The pending message is kept.
+        debouncer.forget("another dock");
+        assertEquals(1, debouncer.size());
+        flush(2000);
+        assertEquals(2, online.size());
+        assertEquals(1, debouncer.size());
+    }
+
+    @Test
+    void removesTheGatewayFailedToHandle() throws Exception {
+        failing = true;
+        debouncer.accept(online("dock", "drone"), at(0));
+        flush(1000);
+        assertEquals(1, debouncer.size());
+        flush(1100);
+        assertEquals(0, debouncer.size());
+
+        failing = false;
+        debouncer.accept(online("dock", "drone"), at(2000));
+        flush(3000);
+        assertEquals(1, online.size());
+    }
+
+    @Test
+    void simulatesFlappingDocks() throws Exception {
+        // 500 docks come online in the first 5 seconds and repeat their status twice,
+        // and 100 of them flap between online and offline every 200 to 800 ms.
+        int maxApplyRate = 50;
+        ReflectionTestUtils.setField(debouncer, "maxApplyRate", maxApplyRate);
+        Random random = new Random(9);
+        List<long[]> events = new ArrayList<>();
+        for (int dock = 0; dock < 500; dock++) {
+            long millis = random.nextInt(5000);
+            int count = dock < 100 ? 20 : 3;
+            for (int i = 0; i < count; i++) {
+                events.add(new long[]{millis, dock, dock < 100 ? i % 2 : 0});
+                millis += dock < 100 ? 200 + random.nextInt(600) : random.nextInt(10_000);
+            }
+        }
+        events.sort(Comparator.comparingLong(event -> event[0]));
+
+        Map<String, Boolean> last = new HashMap<>();
+        int next = 0;
+        int[] perSecond = new int[60];
+        for (long millis = 0; millis < 60_000; millis += 100) {
+            for (; next < events.size() && events.get(next)[0] < millis; next++) {
+                long[] event = events.get(next);
+                String gatewaySn = "dock" + event[1];
+                debouncer.accept(event[2] == 1 ? offline(gatewaySn) : online(gatewaySn, "drone" + event[1]), at(event[0]));
+                last.put(gatewaySn, event[2] == 1);
+            }
+            int before = handled.size();
+            flush(millis);
+            perSecond[(int) (millis / 1000)] += handled.size() - before;
+        }
+        int maxPerSecond = Arrays.stream(perSecond).max().orElse(0);
+        log.info("{} status messages of {} docks are handled as {} topology changes, at most {} per second.",
+                events.size(), last.size(), handled.size(), maxPerSecond);
+
+        assertEquals(events.size(), replies.size());
+        assertTrue(handled.size() < events.size() / 2, handled.size() + " messages are handled.");
+        // The bucket is full at the start of the second, and refilled during it.
+        assertTrue(maxPerSecond <= maxApplyRate * 2, maxPerSecond + " messages are handled per second.");
+        Map<String, Boolean> lastHandled = new HashMap<>();
+        for (Message<?> message : handled) {
+            lastHandled.put(((TopicStatusRequest<?>) message.getPayload()).getFrom(),
+                    (Boolean) message.getHeaders().get(StatusDebouncer.OFFLINE));
+        }
+        assertEquals(last, lastHandled);
+    }
+
+    private MessageChannel channel(List<Message<?>> messages) {
+        return (message, timeout) -> {
+            if (failing) {
+                throw new IllegalStateException("The handler failed.");
+            }
+            handled.add(message);
+            return messages.add(message);
+        };
+    }
+
+    private long at(long millis) {
+        return start + TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Flush at the time, and wait until the handling is done.
+     */
+    private void flush(long millis) throws ExecutionException, InterruptedException {
+        debouncer.flush(at(millis));
+        ExecutorService applyExecutor = (ExecutorService) ReflectionTestUtils.getField(debouncer, "applyExecutor");
+        applyExecutor.submit(() -> { }).get();
+    }
+
+    private static Message<TopicStatusRequest<UpdateTopo>> online(String gatewaySn, String droneSn) {
+        return message(gatewaySn, List.of(new UpdateTopoSubDevice().setSn(droneSn).setThingVersion("1.0")), false);
+    }
+
+    private static Message<TopicStatusRequest<UpdateTopo>> offline(String gatewaySn) {
+        return message(gatewaySn, List.of(), true);
+    }
+
+    private static Message<TopicStatusRequest<UpdateTopo>> message(String gatewaySn, List<UpdateTopoSubDevice> subDevices,
+                                                                  boolean offline) {
+        TopicStatusRequest<UpdateTopo> request = new TopicStatusRequest<UpdateTopo>()
+                .setTid("tid")
+                .setBid("bid")
+                .setMethod("update_topo")
+                .setData(new UpdateTopo().setThingVersion("1.0").setSubDevices(subDevices))
+                .setFrom(gatewaySn);
+        return MessageBuilder.withPayload(request).setHeader(StatusDebouncer.OFFLINE, offline).build();
+    }
+}
@@ -7,11 +7,27 @@ import com.dji.sample.manage.service.IDeviceRedisService;
 import com.dji.sample.manage.service.IDeviceService;
 import com.dji.sdk.cloudapi.device.DeviceDomainEnum;
 import com.dji.sdk.common.SDKManager;
+import com.dji.sdk.config.version.GatewayManager;
+import com.dji.sdk.mqtt.IMqttTopicService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * @author sean.zhou
@@ -19,6 +35,7 @@ import java.util.Optional;
  * @version 0.1
  */
 @Component
+@Slf4j
 public class ApplicationBootInitial implements CommandLineRunner {
 
     @Autowired
@@ -27,26 +44,84 @@ public class ApplicationBootInitial implements CommandLineRunner {
     @Autowired
     private IDeviceRedisService deviceRedisService;
 
+    @Autowired
+    private IMqttTopicService topicService;
+
+    @Value("${warm-start.batch-size: 200}")
+    private int batchSize;
+
+    @Value("${warm-start.parallelism: 8}")
+    private int parallelism;
+
     /**
      * Subscribe to the devices that exist in the redis when the program starts,
      * to prevent the data from being different from the pilot side due to program interruptions.
+     *
+     * The online devices are scanned in batches, each batch is loaded with one MGET and subscribed with one request,
+     * and at most warm-start.parallelism batches are in progress at the same time.
+     * The runners finish before the application is ready, so the readiness state turns to ACCEPTING_TRAFFIC
+     * only after the resync completes.
      * @param args
      * @throws Exception
      */
     @Override
     public void run(String... args) throws Exception {
+        long begin = System.currentTimeMillis();
+        int count = resubscribeOnline(batches ->
+                RedisOpsUtils.scan(RedisConst.DEVICE_ONLINE_PREFIX + "*", batchSize, batches));
+        log.info("Resubscribed the topics of {} online gateways in {} ms.", count, System.currentTimeMillis() - begin);
+    }
+
+    /**
+     * @param scan hands over the keys of the online devices in batches.
+     * @return the number of gateways subscribed.
+     */
+    int resubscribeOnline(Consumer<Consumer<List<String>>> scan) throws InterruptedException, ExecutionException {
         int start = RedisConst.DEVICE_ONLINE_PREFIX.length();
+        AtomicInteger index = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                runnable -> new Thread(runnable, "warm-start-" + index.incrementAndGet()));
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            scan.accept(keys -> {
+                List<String> sns = keys.stream().map(key -> key.substring(start)).collect(Collectors.toList());
+                futures.add(executor.submit(() -> resubscribe(sns)));
+            });
+            int count = 0;
+            for (Future<Integer> future : futures) {
+                count += future.get();
+            }
+            return count;
+        } finally {
+            executor.shutdown();
+        }
+    }
 
-        RedisOpsUtils.getAllKeys(RedisConst.DEVICE_ONLINE_PREFIX + "*")
-                .stream()
-                .map(key -> key.substring(start))
-                .map(deviceRedisService::getDeviceOnline)
-                .map(Optional::get)
+    /**
+     * @param sns a batch of the online devices.
+     * @return the number of gateways subscribed.
+     */
+    private int resubscribe(List<String> sns) {
+        Map<String, DeviceDTO> devices = deviceRedisService.getDevicesOnline(sns);
+        List<DeviceDTO> gateways = devices.values().stream()
                 .filter(device -> DeviceDomainEnum.DRONE != device.getDomain())
-                .forEach(device -> deviceService.subDeviceOnlineSubscribeTopic(
-                        SDKManager.registerDevice(device.getDeviceSn(), device.getChildDeviceSn(), device.getDomain(),
-                                device.getType(), device.getSubType(), device.getThingVersion(),
-                                deviceRedisService.getDeviceOnline(device.getChildDeviceSn()).map(DeviceDTO::getThingVersion).orElse(null))));
+                .collect(Collectors.toList());
+        // The sub devices are usually in the same batch, the others are loaded together.
+        Set<String> otherChildSns = gateways.stream()
+                .map(DeviceDTO::getChildDeviceSn)
+                .filter(StringUtils::hasText)
+                .filter(sn -> !devices.containsKey(sn))
+                .collect(Collectors.toSet());
+        if (!otherChildSns.isEmpty()) {
+            devices.putAll(deviceRedisService.getDevicesOnline(otherChildSns));
+        }
 
+        topicService.subscribeInBatch(() -> gateways.forEach(device -> {
+            GatewayManager gateway = SDKManager.registerDevice(device.getDeviceSn(), device.getChildDeviceSn(),
+                    device.getDomain(), device.getType(), device.getSubType(), device.getThingVersion(),
+                    Optional.ofNullable(device.getChildDeviceSn()).map(devices::get).map(DeviceDTO::getThingVersion).orElse(null));
+            deviceService.subDeviceOnlineSubscribeTopic(gateway);
+        }));
+        return gateways.size();
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.dji.sample.component.mqtt.config;
 
 import com.dji.sdk.mqtt.ChannelName;
+import com.dji.sdk.mqtt.MqttMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,9 +23,12 @@ public class MqttMessageChannel {
     @Autowired
     private Executor threadPool;
 
+    @Autowired
+    private MqttMetrics mqttMetrics;
+
     @Bean(name = ChannelName.INBOUND)
     public MessageChannel inboundChannel() {
-        return new ExecutorChannel(threadPool);
+        return new ExecutorChannel(mqttMetrics.monitorQueue(threadPool, ChannelName.INBOUND));
     }
 
     @Bean(name = ChannelName.DEFAULT)
@@ -49,7 +53,7 @@ public class MqttMessageChannel {
 
     @Bean(name = ChannelName.INBOUND_OSD)
     public MessageChannel osdChannel() {
-        return new ExecutorChannel(threadPool);
+        return new ExecutorChannel(mqttMetrics.monitorQueue(threadPool, ChannelName.INBOUND_OSD));
     }
 
     @Bean(name = ChannelName.INBOUND_REQUESTS)
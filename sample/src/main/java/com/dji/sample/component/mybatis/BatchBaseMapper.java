@@ -0,0 +1,23 @@
+package com.dji.sample.component.mybatis;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+import java.util.List;
+
+/**
+ * The mapper supports inserting multiple rows with one statement.
+ * Use {@link BatchInsertExecutor} instead of calling the method directly, it will split the data into chunks.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public interface BatchBaseMapper<T> extends BaseMapper<T> {
+
+    /**
+     * Insert all entities with one multi-values statement. The null fields will use the default value of the column.
+     * @param entityList
+     * @return the number of rows inserted.
+     */
+    int insertBatch(List<T> entityList);
+}
@@ -0,0 +1,75 @@
+package com.dji.sample.component.mybatis;
+
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Insert multiple rows in chunks instead of one statement per row.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Component
+public class BatchInsertExecutor {
+
+    private static final Log log = LogFactory.getLog(BatchInsertExecutor.class);
+
+    @Value("${mybatis-plus.batch.mode:MULTI_VALUES}")
+    private BatchInsertModeEnum mode;
+
+    @Value("${mybatis-plus.batch.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Insert the entities with the configured mode and chunk size.
+     * @param mapper
+     * @param entities
+     * @return the number of rows inserted.
+     */
+    public <T> int insert(BatchBaseMapper<T> mapper, Collection<T> entities) {
+        return this.insert(mapper, entities, chunkSize);
+    }
+
+    public <T> int insert(BatchBaseMapper<T> mapper, Collection<T> entities, int chunkSize) {
+        if (CollectionUtils.isEmpty(entities)) {
+            return 0;
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be greater than 0.");
+        }
+        if (BatchInsertModeEnum.JDBC_BATCH == mode) {
+            return this.executeBatch(entities, chunkSize);
+        }
+
+        List<T> list = entities instanceof List ? (List<T>) entities : new ArrayList<>(entities);
+        int count = 0;
+        for (int i = 0; i < list.size(); i += chunkSize) {
+            count += mapper.insertBatch(list.subList(i, Math.min(i + chunkSize, list.size())));
+        }
+        return count;
+    }
+
+    private <T> int executeBatch(Collection<T> entities, int chunkSize) {
+        Class<?> entityClass = entities.iterator().next().getClass();
+        TableInfo tableInfo = Objects.requireNonNull(TableInfoHelper.getTableInfo(entityClass),
+                "The entity is not a table: " + entityClass.getName());
+        String statement = tableInfo.getCurrentNamespace() + "." + SqlMethod.INSERT_ONE.getMethod();
+        // The driver doesn't report the row count of the batch reliably, the failure will throw an exception.
+        SqlHelper.executeBatch(entityClass, log, entities, chunkSize,
+                (sqlSession, entity) -> sqlSession.insert(statement, entity));
+        return entities.size();
+    }
+}
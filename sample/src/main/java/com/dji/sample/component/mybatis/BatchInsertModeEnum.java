@@ -0,0 +1,21 @@
+package com.dji.sample.component.mybatis;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public enum BatchInsertModeEnum {
+
+    /**
+     * One INSERT statement with multiple VALUES for each chunk.
+     */
+    MULTI_VALUES,
+
+    /**
+     * The single INSERT statement is executed by the jdbc batch, flushed for each chunk.
+     * Used when the database doesn't support the multi-values statement.
+     */
+    JDBC_BATCH
+
+}
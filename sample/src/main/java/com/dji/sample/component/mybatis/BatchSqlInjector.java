@@ -0,0 +1,25 @@
+package com.dji.sample.component.mybatis;
+
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.injector.DefaultSqlInjector;
+
+import java.util.List;
+
+/**
+ * Add the batch insert method to the mappers that extend {@link BatchBaseMapper}.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public class BatchSqlInjector extends DefaultSqlInjector {
+
+    @Override
+    public List<AbstractMethod> getMethodList(Class<?> mapperClass) {
+        List<AbstractMethod> methodList = super.getMethodList(mapperClass);
+        if (BatchBaseMapper.class.isAssignableFrom(mapperClass)) {
+            methodList.add(new InsertBatchMethod());
+        }
+        return methodList;
+    }
+}
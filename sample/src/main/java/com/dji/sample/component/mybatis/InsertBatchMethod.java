@@ -0,0 +1,69 @@
+package com.dji.sample.component.mybatis;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import java.util.StringJoiner;
+
+/**
+ * Injected sql of {@link BatchBaseMapper#insertBatch(java.util.List)}.
+ * <br/>
+ * INSERT INTO table (columns) VALUES (...), (...)
+ * <br/>
+ * The same as the single insert, the null fields are not written, so it uses DEFAULT instead of the value.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public class InsertBatchMethod extends AbstractMethod {
+
+    static final String METHOD = "insertBatch";
+
+    private static final String ITEM = "et";
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        KeyGenerator keyGenerator = NoKeyGenerator.INSTANCE;
+        String keyProperty = null;
+        String keyColumn = null;
+
+        StringJoiner columns = new StringJoiner(",", "(", ")");
+        StringJoiner values = new StringJoiner(",", "(", ")");
+        if (tableInfo.havePK()) {
+            if (IdType.AUTO == tableInfo.getIdType()) {
+                keyGenerator = Jdbc3KeyGenerator.INSTANCE;
+                keyProperty = tableInfo.getKeyProperty();
+                keyColumn = tableInfo.getKeyColumn();
+            } else {
+                columns.add(tableInfo.getKeyColumn());
+                values.add("#{" + ITEM + "." + tableInfo.getKeyProperty() + "}");
+            }
+        }
+
+        for (TableFieldInfo field : tableInfo.getFieldList()) {
+            columns.add(field.getColumn());
+            String param = "#{" + ITEM + "." + field.getEl() + "}";
+            // The fill value is set after the sql is built, so it can't be tested.
+            if (field.isWithInsertFill()) {
+                values.add(param);
+                continue;
+            }
+            values.add("<choose><when test=\"" + ITEM + "." + field.getProperty() + " != null\">" + param +
+                    "</when><otherwise>DEFAULT</otherwise></choose>");
+        }
+
+        String sql = String.format("<script>\nINSERT INTO %s %s VALUES %s\n</script>",
+                tableInfo.getTableName(), columns,
+                "<foreach collection=\"list\" item=\"" + ITEM + "\" separator=\",\">" + values + "</foreach>");
+        SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+        return this.addInsertMappedStatement(mapperClass, modelClass, METHOD, sqlSource, keyGenerator, keyProperty, keyColumn);
+    }
+}
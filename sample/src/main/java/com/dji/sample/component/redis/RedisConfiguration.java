@@ -5,15 +5,18 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.LocalDateTime;
@@ -28,12 +31,59 @@ import java.time.format.DateTimeFormatter;
 @EnableRedisRepositories
 public class RedisConfiguration {
 
+    public static final String MEMBER_TEMPLATE = "redisMemberTemplate";
+
+    @Value("${spring.redis.value-format:JSON}")
+    private RedisValueFormatEnum valueFormat;
+
     @Bean
+    @Primary
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory factory) {
+        return this.createTemplate(factory, this.valueCodec(valueFormat));
+    }
+
+    /**
+     * The members of the sorted sets and lists are looked up by their bytes, e.g. ZSCORE and ZREM,
+     * so they are always written as json, whatever the value format is. Any format can still be read.
+     * @param factory
+     * @return
+     */
+    @Bean(MEMBER_TEMPLATE)
+    public RedisTemplate<String, Object> redisMemberTemplate(RedisConnectionFactory factory) {
+        return this.createTemplate(factory, this.valueCodec(RedisValueFormatEnum.JSON));
+    }
+
+    private RedisTemplate<String, Object> createTemplate(RedisConnectionFactory factory, RedisValueCodec valueCodec) {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
         redisTemplate.setConnectionFactory(factory);
 
-        ObjectMapper objectMapper = new ObjectMapper();
+        StringRedisSerializer serializer = new StringRedisSerializer();
+        redisTemplate.setKeySerializer(serializer);
+        redisTemplate.setHashKeySerializer(serializer);
+
+        redisTemplate.setValueSerializer(valueCodec);
+        redisTemplate.setHashValueSerializer(valueCodec);
+        redisTemplate.afterPropertiesSet();
+        return redisTemplate;
+    }
+
+    private RedisValueCodec valueCodec(RedisValueFormatEnum format) {
+        ObjectMapper jsonMapper = configureMapper(new ObjectMapper());
+        jsonMapper.activateDefaultTyping(jsonMapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+
+        // Class names repeat a lot in the generic values, so they are shared as back references.
+        ObjectMapper genericMapper = configureMapper(new ObjectMapper(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build()));
+        genericMapper.activateDefaultTyping(genericMapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+
+        ObjectMapper typedMapper = configureMapper(new ObjectMapper(new SmileFactory()));
+
+        return new RedisValueCodec(format, jsonMapper, genericMapper, typedMapper);
+    }
+
+    private ObjectMapper configureMapper(ObjectMapper objectMapper) {
         JavaTimeModule timeModule = new JavaTimeModule();
         timeModule.addDeserializer(LocalDateTime.class,
                 new LocalDateTimeDeserializer(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
@@ -41,23 +91,10 @@ public class RedisConfiguration {
                 new LocalDateTimeSerializer(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
         objectMapper.disable(MapperFeature.IGNORE_DUPLICATE_MODULE_REGISTRATIONS);
         objectMapper.registerModules(timeModule);
-        objectMapper.activateDefaultTyping(objectMapper.getPolymorphicTypeValidator(),
-                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
 
         objectMapper.setPropertyNamingStrategy(PropertyNamingStrategy.SNAKE_CASE);
         objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
         objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-
-
-        StringRedisSerializer serializer = new StringRedisSerializer();
-        redisTemplate.setKeySerializer(serializer);
-        redisTemplate.setHashKeySerializer(serializer);
-
-        GenericJackson2JsonRedisSerializer jsonRedisSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
-        redisTemplate.setValueSerializer(jsonRedisSerializer);
-        redisTemplate.setHashValueSerializer(jsonRedisSerializer);
-        redisTemplate.afterPropertiesSet();
-        return redisTemplate;
-
+        return objectMapper;
     }
 }
@@ -62,4 +62,16 @@ public final class RedisConst {
     public static final String FILE_UPLOADING_PREFIX = "file_uploading" + DELIMITER;
 
     public static final String DRONE_CONTROL_PREFiX = "control_source" + DELIMITER;
+
+    public static final String FLIGHT_AREA_SYNC_PREFIX = "flight_area_sync" + DELIMITER;
+
+    public static final String FLIGHT_AREA_SYNC_DEVICE_PREFIX = "flight_area_sync_device" + DELIMITER;
+
+    public static final Integer FLIGHT_AREA_SYNC_ALIVE_SECOND = 3600;
+
+    public static final String FLIGHT_AREA_VERSION_PREFIX = "flight_area_version" + DELIMITER;
+
+    public static final String WAYLINE_TRACK_PREFIX = "wayline_track" + DELIMITER;
+
+    public static final Integer WAYLINE_TRACK_ALIVE_SECOND = 60 * 60 * 24;
 }
\ No newline at end of file
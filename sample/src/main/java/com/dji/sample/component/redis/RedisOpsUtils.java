@@ -1,13 +1,27 @@
 package com.dji.sample.component.redis;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * @author sean
@@ -17,13 +31,32 @@ import java.util.concurrent.TimeUnit;
 @Component
 public class RedisOpsUtils {
 
+    /**
+     * KEYS[1]: the hash. ARGV[1]: the field. ARGV[2]: the new value. ARGV[3..n]: the expected values.
+     */
+    private static final byte[] HASH_REPLACE_SCRIPT = ("local current = redis.call('HGET', KEYS[1], ARGV[1]) " +
+            "for i = 3, #ARGV do " +
+            "  if current == ARGV[i] then redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) return 1 end " +
+            "end " +
+            "return 0").getBytes(StandardCharsets.UTF_8);
+
     private static RedisTemplate<String, Object> redisTemplate;
 
+    /**
+     * Used for the members of the sorted sets and lists, which are always json.
+     */
+    private static RedisTemplate<String, Object> memberTemplate;
+
     @Autowired
     public void setRedisTemplate(RedisTemplate<String, Object> redisTemplate) {
         RedisOpsUtils.redisTemplate = redisTemplate;
     }
 
+    @Autowired
+    public void setMemberTemplate(@Qualifier(RedisConfiguration.MEMBER_TEMPLATE) RedisTemplate<String, Object> memberTemplate) {
+        RedisOpsUtils.memberTemplate = memberTemplate;
+    }
+
     /**
      * HSET
      * @param key
@@ -34,6 +67,34 @@ public class RedisOpsUtils {
         redisTemplate.opsForHash().put(key, field, value);
     }
 
+    /**
+     * HSET only if the current value of the field is one of the expected values, in one atomic script.
+     * @param key
+     * @param field
+     * @param value
+     * @param expected
+     * @return true if the value is set.
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean hashReplace(String key, String field, Object value, Object... expected) {
+        if (expected.length == 0) {
+            return false;
+        }
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        RedisSerializer<String> hashKeySerializer = (RedisSerializer<String>) redisTemplate.getHashKeySerializer();
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+        byte[][] keysAndArgs = new byte[expected.length + 3][];
+        keysAndArgs[0] = keySerializer.serialize(key);
+        keysAndArgs[1] = hashKeySerializer.serialize(field);
+        keysAndArgs[2] = valueSerializer.serialize(value);
+        for (int i = 0; i < expected.length; i++) {
+            keysAndArgs[i + 3] = valueSerializer.serialize(expected[i]);
+        }
+        Boolean replaced = redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.eval(HASH_REPLACE_SCRIPT, ReturnType.BOOLEAN, 1, keysAndArgs));
+        return Boolean.TRUE.equals(replaced);
+    }
+
     /**
      * HGET
      * @param key
@@ -44,6 +105,28 @@ public class RedisOpsUtils {
         return redisTemplate.opsForHash().get(key, field);
     }
 
+    /**
+     * HMGET
+     * @param key
+     * @param fields
+     * @return The values in the same order as the fields, null if the field doesn't exist.
+     */
+    public static List<Object> hashMultiGet(String key, Collection<String> fields) {
+        if (CollectionUtils.isEmpty(fields)) {
+            return new ArrayList<>();
+        }
+        return redisTemplate.opsForHash().multiGet(key, new ArrayList<>(fields));
+    }
+
+    /**
+     * HGETALL
+     * @param key
+     * @return
+     */
+    public static Map<Object, Object> hashGetAll(String key) {
+        return redisTemplate.opsForHash().entries(key);
+    }
+
     /**
      * HKEYS
      * @param key
@@ -110,6 +193,18 @@ public class RedisOpsUtils {
         return redisTemplate.opsForValue().get(key);
     }
 
+    /**
+     * MGET
+     * @param keys
+     * @return The values in the same order as the keys, null if the key doesn't exist.
+     */
+    public static List<Object> multiGet(Collection<String> keys) {
+        if (CollectionUtils.isEmpty(keys)) {
+            return new ArrayList<>();
+        }
+        return redisTemplate.opsForValue().multiGet(keys);
+    }
+
     /**
      * SETEX
      * @param key
@@ -120,6 +215,19 @@ public class RedisOpsUtils {
         redisTemplate.opsForValue().set(key, value, expire, TimeUnit.SECONDS);
     }
 
+    /**
+     * GETSET and EXPIRE
+     * @param key
+     * @param value
+     * @param expire
+     * @return The old value, null if the key doesn't exist.
+     */
+    public static Object getAndSetWithExpire(String key, Object value, long expire) {
+        Object old = redisTemplate.opsForValue().getAndSet(key, value);
+        redisTemplate.expire(key, expire, TimeUnit.SECONDS);
+        return old;
+    }
+
     /**
      * TTL
      * @param key
@@ -129,6 +237,39 @@ public class RedisOpsUtils {
         return redisTemplate.getExpire(key, TimeUnit.SECONDS);
     }
 
+    /**
+     * TTL of all keys in one pipeline.
+     * @param keys
+     * @return The ttl in the same order as the keys. -2 if the key doesn't exist, -1 if the key has no expiration.
+     */
+    public static List<Long> getExpires(Collection<String> keys) {
+        if (CollectionUtils.isEmpty(keys)) {
+            return new ArrayList<>();
+        }
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            keys.forEach(key -> connection.ttl(keySerializer.serialize(key), TimeUnit.SECONDS));
+            return null;
+        });
+        return results.stream().map(ttl -> null == ttl ? -2L : (Long) ttl).collect(Collectors.toList());
+    }
+
+    /**
+     * Send all the operations in one pipeline. The results are deserialized by the template.
+     * @param operations the operations to send, their return values are discarded.
+     * @return The results in the same order as the operations.
+     */
+    public static List<Object> pipelined(Consumer<RedisOperations<String, Object>> operations) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> ops) {
+                operations.accept((RedisOperations<String, Object>) ops);
+                return null;
+            }
+        });
+    }
+
     /**
      * EXISTS
      * @param key
@@ -156,6 +297,40 @@ public class RedisOpsUtils {
         return redisTemplate.keys(pattern);
     }
 
+    /**
+     * SCAN
+     * Iterate the keys without blocking the server, and hand them to the consumer in batches.
+     * @param pattern
+     * @param batchSize
+     * @param consumer
+     */
+    public static void scan(String pattern, int batchSize, Consumer<List<String>> consumer) {
+        Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(batchSize).build());
+        try {
+            List<String> batch = new ArrayList<>(batchSize);
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= batchSize) {
+                    consumer.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+            }
+        } finally {
+            closeCursor(cursor);
+        }
+    }
+
+    private static void closeCursor(Cursor<?> cursor) {
+        try {
+            cursor.close();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * RPUSH
      * @param key
@@ -166,7 +341,7 @@ public class RedisOpsUtils {
             return;
         }
         for (Object val : value) {
-            redisTemplate.opsForList().rightPush(key, val);
+            memberTemplate.opsForList().rightPush(key, val);
         }
     }
 
@@ -178,7 +353,7 @@ public class RedisOpsUtils {
      * @return
      */
     public static List<Object> listGet(String key, long start, long end) {
-        return redisTemplate.opsForList().range(key, start, end);
+        return memberTemplate.opsForList().range(key, start, end);
     }
 
     /**
@@ -187,7 +362,7 @@ public class RedisOpsUtils {
      * @return
      */
     public static List<Object> listGetAll(String key) {
-        return redisTemplate.opsForList().range(key, 0, -1);
+        return memberTemplate.opsForList().range(key, 0, -1);
     }
 
     /**
@@ -196,7 +371,7 @@ public class RedisOpsUtils {
      * @return
      */
     public static Long listLen(String key) {
-        return redisTemplate.opsForList().size(key);
+        return memberTemplate.opsForList().size(key);
     }
 
     /**
@@ -206,7 +381,7 @@ public class RedisOpsUtils {
      * @param score
      */
     public static Boolean zAdd(String key, Object value, double score) {
-        return redisTemplate.opsForZSet().add(key, value, score);
+        return memberTemplate.opsForZSet().add(key, value, score);
     }
 
     /**
@@ -215,7 +390,7 @@ public class RedisOpsUtils {
      * @param value
      */
     public static Boolean zRemove(String key, Object... value) {
-        return redisTemplate.opsForZSet().remove(key, value) > 0;
+        return memberTemplate.opsForZSet().remove(key, value) > 0;
     }
     /**
      * ZRANGE
@@ -225,7 +400,7 @@ public class RedisOpsUtils {
      * @return
      */
     public static Set<Object> zRange(String key, long start, long end) {
-        return redisTemplate.opsForZSet().range(key, start, end);
+        return memberTemplate.opsForZSet().range(key, start, end);
     }
 
     /**
@@ -248,7 +423,7 @@ public class RedisOpsUtils {
      * @return
      */
     public static Double zScore(String key, Object value) {
-        return redisTemplate.opsForZSet().score(key, value);
+        return memberTemplate.opsForZSet().score(key, value);
     }
 
     /**
@@ -258,6 +433,6 @@ public class RedisOpsUtils {
      * @param delta
      */
     public static Double zIncrement(String key, Object value, double delta) {
-        return redisTemplate.opsForZSet().incrementScore(key, value, delta);
+        return memberTemplate.opsForZSet().incrementScore(key, value, delta);
     }
 }
@@ -0,0 +1,123 @@
+package com.dji.sample.component.redis;
+
+import com.dji.sample.manage.model.dto.DeviceDTO;
+import com.dji.sdk.cloudapi.device.OsdDock;
+import com.dji.sdk.cloudapi.device.OsdDockDrone;
+import com.dji.sdk.cloudapi.device.OsdRcDrone;
+import com.dji.sdk.cloudapi.device.OsdRemoteControl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The value serializer of redis.
+ *
+ * The compact value layout is: magic byte, schema version, type tag, smile payload.
+ * The registered types are written without class names, and the others keep the class names of the json format.
+ * The magic byte is never the first byte of a json text, so values written by the earlier versions are still readable.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public class RedisValueCodec implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xD7;
+
+    static final byte SCHEMA_VERSION = 1;
+
+    private static final int HEADER_LENGTH = 3;
+
+    private static final byte GENERIC_TAG = 0;
+
+    /**
+     * Tags must never be reused or renumbered, because they are stored with the values.
+     */
+    private static final Map<Class<?>, Byte> TYPE_TAGS = Map.of(
+            DeviceDTO.class, (byte) 1,
+            OsdDock.class, (byte) 2,
+            OsdDockDrone.class, (byte) 3,
+            OsdRcDrone.class, (byte) 4,
+            OsdRemoteControl.class, (byte) 5);
+
+    private static final Class<?>[] TAG_TYPES = new Class<?>[Byte.MAX_VALUE + 1];
+
+    static {
+        TYPE_TAGS.forEach((type, tag) -> TAG_TYPES[tag] = type);
+    }
+
+    private final RedisValueFormatEnum format;
+
+    private final GenericJackson2JsonRedisSerializer jsonSerializer;
+
+    /**
+     * Keep the class names, used for the values of unregistered types.
+     */
+    private final ObjectMapper genericMapper;
+
+    /**
+     * Without class names, used for the values of registered types.
+     */
+    private final ObjectMapper typedMapper;
+
+    public RedisValueCodec(RedisValueFormatEnum format, ObjectMapper jsonMapper,
+                           ObjectMapper genericMapper, ObjectMapper typedMapper) {
+        this.format = Objects.requireNonNull(format);
+        this.jsonSerializer = new GenericJackson2JsonRedisSerializer(jsonMapper);
+        this.genericMapper = genericMapper;
+        this.typedMapper = typedMapper;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null || RedisValueFormatEnum.JSON == format) {
+            return jsonSerializer.serialize(value);
+        }
+        Byte tag = TYPE_TAGS.get(value.getClass());
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(MAGIC);
+        out.write(SCHEMA_VERSION);
+        out.write(tag == null ? GENERIC_TAG : tag);
+        try {
+            (tag == null ? genericMapper : typedMapper).writeValue(out, value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write redis value: " + e.getMessage(), e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return jsonSerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH) {
+            throw new SerializationException("The redis value is truncated.");
+        }
+        if (bytes[1] != SCHEMA_VERSION) {
+            throw new SerializationException("Unsupported redis value version: " + bytes[1]);
+        }
+        byte tag = bytes[2];
+        try {
+            if (GENERIC_TAG == tag) {
+                return genericMapper.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, Object.class);
+            }
+            Class<?> type = tag > 0 ? TAG_TYPES[tag] : null;
+            if (type == null) {
+                throw new SerializationException("Unknown redis value type tag: " + tag);
+            }
+            return typedMapper.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, type);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read redis value: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.dji.sample.component.redis;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public enum RedisValueFormatEnum {
+
+    /**
+     * The json text with the class name of each object. It's the format of the earlier versions.
+     */
+    JSON,
+
+    /**
+     * The binary json with a type tag and a schema version in front.
+     * The registered types are written without class names.
+     */
+    SMILE
+
+}
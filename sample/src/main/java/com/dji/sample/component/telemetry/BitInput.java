@@ -0,0 +1,49 @@
+package com.dji.sample.component.telemetry;
+
+/**
+ * Read the bits written by {@link BitOutput}.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+final class BitInput {
+
+    private final byte[] data;
+
+    private final int offset;
+
+    private final long bitLength;
+
+    private long position;
+
+    BitInput(byte[] data, int offset, int length) {
+        this.data = data;
+        this.offset = offset;
+        this.bitLength = (long) length << 3;
+    }
+
+    boolean readBit() {
+        return readBits(1) == 1;
+    }
+
+    /**
+     * @param count 0 to 64.
+     * @return the bits in the low bits of the value.
+     */
+    long readBits(int count) {
+        if (position + count > bitLength) {
+            throw new IllegalStateException("Read beyond the end of the telemetry block.");
+        }
+        long value = 0;
+        while (count > 0) {
+            int available = 8 - (int) (position & 7);
+            int take = Math.min(available, count);
+            int b = data[offset + (int) (position >>> 3)] & 0xFF;
+            value = (value << take) | ((b >>> (available - take)) & ((1 << take) - 1));
+            position += take;
+            count -= take;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,63 @@
+package com.dji.sample.component.telemetry;
+
+import java.util.Arrays;
+
+/**
+ * A growable buffer of bits, written from the most significant bit.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+final class BitOutput {
+
+    private long[] words;
+
+    private long length;
+
+    BitOutput() {
+        this.words = new long[16];
+    }
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    /**
+     * Write the low bits of the value.
+     * @param value
+     * @param count 0 to 64.
+     */
+    void writeBits(long value, int count) {
+        if (count == 0) {
+            return;
+        }
+        if (count < Long.SIZE) {
+            value &= (1L << count) - 1;
+        }
+        int index = (int) (length >>> 6);
+        int free = Long.SIZE - (int) (length & 63);
+        if (index + 2 > words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+        if (count <= free) {
+            words[index] |= value << (free - count);
+        } else {
+            words[index] |= value >>> (count - free);
+            words[index + 1] = value << (Long.SIZE - count + free);
+        }
+        length += count;
+    }
+
+    int byteLength() {
+        return (int) ((length + 7) >>> 3);
+    }
+
+    byte[] toByteArray() {
+        byte[] bytes = new byte[byteLength()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> (56 - ((i & 7) << 3)));
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,191 @@
+package com.dji.sample.component.telemetry;
+
+/**
+ * The compression of a column of the telemetry segments.
+ *
+ * The timestamps are stored as the delta of their deltas, which is 0 for the frames reported at a steady rate:
+ * '0' for 0, '10' + 7 bits, '110' + 9 bits, '1110' + 12 bits for the small ones, and '1111' + 64 bits for the rest.
+ * The values are stored as the xor with the previous value: '0' if it's the same value,
+ * '10' + the meaningful bits if they fit in the window of the previous value,
+ * otherwise '11' + 5 bits of leading zeros + 6 bits of the meaningful length + the meaningful bits.
+ * The first timestamp and the first value are stored in 64 bits.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+final class TelemetryCodec {
+
+    private TelemetryCodec() {
+    }
+
+    static final class TimestampEncoder {
+
+        private final BitOutput out;
+
+        private long previous;
+
+        private long previousDelta;
+
+        private boolean started;
+
+        TimestampEncoder() {
+            this.out = new BitOutput();
+        }
+
+        void write(long timestamp) {
+            if (!started) {
+                out.writeBits(timestamp, Long.SIZE);
+                started = true;
+            } else {
+                long delta = timestamp - previous;
+                long deltaOfDelta = delta - previousDelta;
+                if (deltaOfDelta == 0) {
+                    out.writeBit(false);
+                } else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+                    out.writeBits(0b10, 2);
+                    out.writeBits(deltaOfDelta + 63, 7);
+                } else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+                    out.writeBits(0b110, 3);
+                    out.writeBits(deltaOfDelta + 255, 9);
+                } else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+                    out.writeBits(0b1110, 4);
+                    out.writeBits(deltaOfDelta + 2047, 12);
+                } else {
+                    out.writeBits(0b1111, 4);
+                    out.writeBits(deltaOfDelta, Long.SIZE);
+                }
+                previousDelta = delta;
+            }
+            previous = timestamp;
+        }
+
+        BitOutput output() {
+            return out;
+        }
+
+    }
+
+    static final class TimestampDecoder {
+
+        private final BitInput in;
+
+        private long previous;
+
+        private long previousDelta;
+
+        private boolean started;
+
+        TimestampDecoder(BitInput in) {
+            this.in = in;
+        }
+
+        long next() {
+            if (!started) {
+                started = true;
+                previous = in.readBits(Long.SIZE);
+                return previous;
+            }
+            long deltaOfDelta;
+            if (!in.readBit()) {
+                deltaOfDelta = 0;
+            } else if (!in.readBit()) {
+                deltaOfDelta = in.readBits(7) - 63;
+            } else if (!in.readBit()) {
+                deltaOfDelta = in.readBits(9) - 255;
+            } else if (!in.readBit()) {
+                deltaOfDelta = in.readBits(12) - 2047;
+            } else {
+                deltaOfDelta = in.readBits(Long.SIZE);
+            }
+            previousDelta += deltaOfDelta;
+            previous += previousDelta;
+            return previous;
+        }
+    }
+
+    static final class ValueEncoder {
+
+        private final BitOutput out;
+
+        private long previous;
+
+        private int previousLeading = -1;
+
+        private int previousTrailing;
+
+        private boolean started;
+
+        ValueEncoder() {
+            this.out = new BitOutput();
+        }
+
+        void write(double value) {
+            long bits = Double.doubleToLongBits(value);
+            if (!started) {
+                out.writeBits(bits, Long.SIZE);
+                started = true;
+            } else {
+                long xor = bits ^ previous;
+                if (xor == 0) {
+                    out.writeBit(false);
+                } else {
+                    out.writeBit(true);
+                    int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+                    int trailing = Long.numberOfTrailingZeros(xor);
+                    if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                        out.writeBit(false);
+                        out.writeBits(xor >>> previousTrailing, Long.SIZE - previousLeading - previousTrailing);
+                    } else {
+                        int meaningful = Long.SIZE - leading - trailing;
+                        out.writeBit(true);
+                        out.writeBits(leading, 5);
+                        out.writeBits(meaningful - 1, 6);
+                        out.writeBits(xor >>> trailing, meaningful);
+                        previousLeading = leading;
+                        previousTrailing = trailing;
+                    }
+                }
+            }
+            previous = bits;
+        }
+
+        BitOutput output() {
+            return out;
+        }
+
+    }
+
+    static final class ValueDecoder {
+
+        private final BitInput in;
+
+        private long previous;
+
+        private int previousLeading;
+
+        private int previousTrailing;
+
+        private boolean started;
+
+        ValueDecoder(BitInput in) {
+            this.in = in;
+        }
+
+        double next() {
+            if (!started) {
+                started = true;
+                previous = in.readBits(Long.SIZE);
+            } else if (in.readBit()) {
+                if (in.readBit()) {
+                    previousLeading = (int) in.readBits(5);
+                    int meaningful = (int) in.readBits(6) + 1;
+                    previousTrailing = Long.SIZE - previousLeading - meaningful;
+                }
+                int meaningful = Long.SIZE - previousLeading - previousTrailing;
+                previous ^= in.readBits(meaningful) << previousTrailing;
+            }
+            return Double.longBitsToDouble(previous);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.dji.sample.component.telemetry;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The columns of the telemetry segments. The order is the order of the columns in the stored segments,
+ * so the new fields can only be appended.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public enum TelemetryFieldEnum {
+
+    LONGITUDE("longitude"),
+
+    LATITUDE("latitude"),
+
+    HEIGHT("height"),
+
+    ELEVATION("elevation"),
+
+    HORIZONTAL_SPEED("horizontal_speed"),
+
+    VERTICAL_SPEED("vertical_speed"),
+
+    ATTITUDE_HEAD("attitude_head", true),
+
+    CAPACITY_PERCENT("capacity_percent"),
+
+    WIND_SPEED("wind_speed"),
+
+    TEMPERATURE("temperature"),
+
+    ENVIRONMENT_TEMPERATURE("environment_temperature"),
+
+    HUMIDITY("humidity"),
+
+    ;
+
+    private final String field;
+
+    /**
+     * Degrees that wrap around at ±180, averaged on the circle.
+     */
+    private final boolean angle;
+
+    TelemetryFieldEnum(String field) {
+        this(field, false);
+    }
+
+    TelemetryFieldEnum(String field, boolean angle) {
+        this.field = field;
+        this.angle = angle;
+    }
+
+    @JsonValue
+    public String getField() {
+        return field;
+    }
+
+    public boolean isAngle() {
+        return angle;
+    }
+
+    public static Optional<TelemetryFieldEnum> find(String field) {
+        return Arrays.stream(values()).filter(value -> value.field.equals(field)).findAny();
+    }
+}
@@ -0,0 +1,138 @@
+package com.dji.sample.component.telemetry;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+/**
+ * The frames of a device in a period, stored by column.
+ * A segment is appended in memory until it's sealed, then it's written to the store as the payload:
+ * the timestamp column, then each value column in the order of {@link TelemetryFieldEnum},
+ * each column is its length (4 bytes) followed by its bits.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+final class TelemetrySegment {
+
+    static final int COLUMNS = TelemetryFieldEnum.values().length;
+
+    /**
+     * The size of a frame without compression: the timestamp and a double for each column.
+     */
+    static final int RAW_FRAME_BYTES = Long.BYTES * (COLUMNS + 1);
+
+    private final TelemetryCodec.TimestampEncoder timestamps;
+
+    private final TelemetryCodec.ValueEncoder[] columns;
+
+    private long start = Long.MAX_VALUE;
+
+    private long end = Long.MIN_VALUE;
+
+    private int count;
+
+    TelemetrySegment() {
+        timestamps = new TelemetryCodec.TimestampEncoder();
+        columns = new TelemetryCodec.ValueEncoder[COLUMNS];
+        for (int i = 0; i < COLUMNS; i++) {
+            columns[i] = new TelemetryCodec.ValueEncoder();
+        }
+    }
+
+
+    /**
+     * @param timestamp
+     * @param values indexed by the ordinal of {@link TelemetryFieldEnum}, NaN if the field is not reported.
+     */
+    void append(long timestamp, double[] values) {
+        timestamps.write(timestamp);
+        for (int i = 0; i < COLUMNS; i++) {
+            columns[i].write(values[i]);
+        }
+        start = Math.min(start, timestamp);
+        end = Math.max(end, timestamp);
+        count++;
+    }
+
+    long getStart() {
+        return start;
+    }
+
+    long getEnd() {
+        return end;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+
+    byte[] toPayload() {
+        int length = Integer.BYTES + timestamps.output().byteLength();
+        for (TelemetryCodec.ValueEncoder column : columns) {
+            length += Integer.BYTES + column.output().byteLength();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        putColumn(buffer, timestamps.output());
+        for (TelemetryCodec.ValueEncoder column : columns) {
+            putColumn(buffer, column.output());
+        }
+        return buffer.array();
+    }
+
+    private static void putColumn(ByteBuffer buffer, BitOutput column) {
+        byte[] bytes = column.toByteArray();
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Decode the frames within the time range. Only the columns of the fields are decoded.
+     * @param payload
+     * @param count
+     * @param begin
+     * @param end
+     * @param fields
+     * @param builder
+     */
+    static void decode(byte[] payload, int count, long begin, long end, Set<TelemetryFieldEnum> fields,
+                       TelemetrySeries.Builder builder) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        long[] times = new long[count];
+        TelemetryCodec.TimestampDecoder timestampDecoder = new TelemetryCodec.TimestampDecoder(column(buffer));
+        for (int i = 0; i < count; i++) {
+            times[i] = timestampDecoder.next();
+        }
+        double[][] values = new double[COLUMNS][];
+        for (TelemetryFieldEnum field : TelemetryFieldEnum.values()) {
+            if (!buffer.hasRemaining()) {
+                // The segments written before the field was added.
+                break;
+            }
+            BitInput in = column(buffer);
+            if (!fields.contains(field)) {
+                continue;
+            }
+            TelemetryCodec.ValueDecoder decoder = new TelemetryCodec.ValueDecoder(in);
+            double[] column = new double[count];
+            for (int i = 0; i < count; i++) {
+                column[i] = decoder.next();
+            }
+            values[field.ordinal()] = column;
+        }
+        for (int i = 0; i < count; i++) {
+            if (times[i] >= begin && times[i] <= end) {
+                builder.add(times[i], values, i);
+            }
+        }
+        builder.scannedSegment(count, payload.length);
+    }
+
+    private static BitInput column(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        BitInput in = new BitInput(buffer.array(), buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        return in;
+    }
+}
@@ -0,0 +1,215 @@
+package com.dji.sample.component.telemetry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * The frames of a device returned by a query, in the order of their timestamps.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public final class TelemetrySeries {
+
+    private final long[] timestamps;
+
+    /**
+     * NaN if the field is not reported in the frame.
+     */
+    private final Map<TelemetryFieldEnum, double[]> values;
+
+    private final long rawBytes;
+
+    private final long encodedBytes;
+
+    private TelemetrySeries(long[] timestamps, Map<TelemetryFieldEnum, double[]> values, long rawBytes, long encodedBytes) {
+        this.timestamps = timestamps;
+        this.values = values;
+        this.rawBytes = rawBytes;
+        this.encodedBytes = encodedBytes;
+    }
+
+    public int size() {
+        return timestamps.length;
+    }
+
+    public long[] getTimestamps() {
+        return timestamps;
+    }
+
+    public Map<TelemetryFieldEnum, double[]> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * @return the size of the scanned frames without compression divided by their stored size, 0 if nothing is scanned.
+     */
+    public double getCompressionRatio() {
+        return encodedBytes == 0 ? 0 : (double) rawBytes / encodedBytes;
+    }
+
+    /**
+     * @param begin milliseconds, the begin of the queried range.
+     * @param end milliseconds, the end of the queried range.
+     * @param maxPoints at least 2, the intervals are aligned to the epoch so one interval can't always cover the range.
+     * @return the shortest interval to downsample the frames into at most maxPoints frames, 0 if there are not more.
+     */
+    public long minInterval(long begin, long end, int maxPoints) {
+        if (timestamps.length <= maxPoints) {
+            return 0;
+        }
+        // The intervals are aligned to the epoch, so the range can touch one more interval than it spans.
+        return (end - begin) / Math.max(1, maxPoints - 1) + 1;
+    }
+
+    /**
+     * Average the frames in each interval, the intervals are aligned to the epoch.
+     * The angles are averaged on the circle, so the headings of 179 and -179 average to 180 instead of 0.
+     * @param interval milliseconds, the frames are returned as they are if it's not positive.
+     * @return a frame for each interval that has frames, at the start of the interval.
+     */
+    public TelemetrySeries downsample(long interval) {
+        if (interval <= 0 || timestamps.length == 0) {
+            return this;
+        }
+        Builder builder = new Builder(values.keySet());
+        double[] sums = new double[TelemetrySegment.COLUMNS];
+        // The sums of the sines of the angles, the sums of their cosines are in sums.
+        double[] sines = new double[TelemetrySegment.COLUMNS];
+        int[] counts = new int[TelemetrySegment.COLUMNS];
+        long bucket = Math.floorDiv(timestamps[0], interval) * interval;
+        for (int i = 0; i < timestamps.length; i++) {
+            long current = Math.floorDiv(timestamps[i], interval) * interval;
+            if (current != bucket) {
+                builder.addAverage(bucket, sums, sines, counts);
+                bucket = current;
+            }
+            for (Map.Entry<TelemetryFieldEnum, double[]> entry : values.entrySet()) {
+                double value = entry.getValue()[i];
+                if (Double.isNaN(value)) {
+                    continue;
+                }
+                int column = entry.getKey().ordinal();
+                if (entry.getKey().isAngle()) {
+                    double radians = Math.toRadians(value);
+                    sums[column] += Math.cos(radians);
+                    sines[column] += Math.sin(radians);
+                } else {
+                    sums[column] += value;
+                }
+                counts[column]++;
+            }
+        }
+        builder.addAverage(bucket, sums, sines, counts);
+        builder.scanned(rawBytes, encodedBytes);
+        return builder.build();
+    }
+
+    static final class Builder {
+
+        private final Set<TelemetryFieldEnum> fields;
+
+        private long[] timestamps = new long[256];
+
+        private final double[][] values = new double[TelemetrySegment.COLUMNS][];
+
+        private int size;
+
+        private boolean sorted = true;
+
+        private long rawBytes;
+
+        private long encodedBytes;
+
+        Builder(Set<TelemetryFieldEnum> fields) {
+            this.fields = fields;
+            fields.forEach(field -> values[field.ordinal()] = new double[timestamps.length]);
+        }
+
+        /**
+         * @param timestamp
+         * @param columns indexed by the ordinal of the field, null if the column is not decoded.
+         * @param index
+         */
+        void add(long timestamp, double[][] columns, int index) {
+            grow();
+            sorted &= size == 0 || timestamps[size - 1] <= timestamp;
+            timestamps[size] = timestamp;
+            for (TelemetryFieldEnum field : fields) {
+                double[] column = columns[field.ordinal()];
+                values[field.ordinal()][size] = column == null ? Double.NaN : column[index];
+            }
+            size++;
+        }
+
+        private void addAverage(long timestamp, double[] sums, double[] sines, int[] counts) {
+            grow();
+            timestamps[size] = timestamp;
+            for (TelemetryFieldEnum field : fields) {
+                int i = field.ordinal();
+                if (counts[i] == 0) {
+                    values[i][size] = Double.NaN;
+                } else {
+                    values[i][size] = field.isAngle() ? Math.toDegrees(Math.atan2(sines[i], sums[i])) : sums[i] / counts[i];
+                }
+                sums[i] = 0;
+                sines[i] = 0;
+                counts[i] = 0;
+            }
+            size++;
+        }
+
+        void scanned(long rawBytes, long encodedBytes) {
+            this.rawBytes += rawBytes;
+            this.encodedBytes += encodedBytes;
+        }
+
+        void scannedSegment(int frames, int encodedBytes) {
+            scanned((long) frames * TelemetrySegment.RAW_FRAME_BYTES, (long) encodedBytes);
+        }
+
+        private void grow() {
+            if (size < timestamps.length) {
+                return;
+            }
+            timestamps = Arrays.copyOf(timestamps, size * 2);
+            for (TelemetryFieldEnum field : fields) {
+                values[field.ordinal()] = Arrays.copyOf(values[field.ordinal()], size * 2);
+            }
+        }
+
+        TelemetrySeries build() {
+            int[] order = sorted ? null : IntStream.range(0, size).boxed()
+                    .sorted(Comparator.comparingLong(i -> timestamps[i]))
+                    .mapToInt(Integer::intValue).toArray();
+            Map<TelemetryFieldEnum, double[]> result = new EnumMap<>(TelemetryFieldEnum.class);
+            for (TelemetryFieldEnum field : fields) {
+                result.put(field, reorder(values[field.ordinal()], order));
+            }
+            long[] times = Arrays.copyOf(timestamps, size);
+            if (order != null) {
+                for (int i = 0; i < size; i++) {
+                    times[i] = timestamps[order[i]];
+                }
+            }
+            return new TelemetrySeries(times, result, rawBytes, encodedBytes);
+        }
+
+        private double[] reorder(double[] column, int[] order) {
+            if (order == null) {
+                return Arrays.copyOf(column, size);
+            }
+            double[] result = new double[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = column[order[i]];
+            }
+            return result;
+        }
+    }
+}
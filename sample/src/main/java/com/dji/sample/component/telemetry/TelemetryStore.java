@@ -0,0 +1,552 @@
+package com.dji.sample.component.telemetry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An embedded, append-only store of the telemetry frames of the devices.
+ *
+ * The frames are put into a bounded queue and appended by a single writer thread, so the mqtt threads never wait
+ * for the store. The frames are dropped and counted when the queue is full.
+ * Each device appends to an open segment in memory, which is sealed once it has telemetry.segment-frames frames
+ * or has been open for telemetry.segment-duration, so a crash loses at most telemetry.segment-duration of frames.
+ * The sealed segments are appended to the file of the day and forced to the disk, and only their locations are
+ * kept in memory.
+ *
+ * File layout: the records until the end of the file.
+ * Record layout: magic (4 bytes), sn length (2 bytes), sn in utf-8, start time and end time (8 bytes each),
+ * frame count (4 bytes), payload length (4 bytes), payload. @see TelemetrySegment
+ * The files older than telemetry.retention are deleted.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Component
+@Slf4j
+public class TelemetryStore {
+
+    public static final String ACCEPTED = "telemetry.frames.accepted";
+
+    public static final String DROPPED = "telemetry.frames.dropped";
+
+    public static final String QUEUE = "telemetry.queue";
+
+    public static final String COMPRESSION_RATIO = "telemetry.compression_ratio";
+
+    public static final String QUERY = "telemetry.query";
+
+    private static final int MAGIC = 0x44544C4D;
+
+    private static final String FILE_PREFIX = "telemetry-";
+
+    private static final String FILE_SUFFIX = ".tsd";
+
+    private static final DateTimeFormatter FILE_DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+
+    /**
+     * The header length without the sn.
+     */
+    private static final int HEADER_LENGTH = Integer.BYTES + Short.BYTES + Long.BYTES * 2 + Integer.BYTES * 2;
+
+    private static final int DRAIN_BATCH = 1024;
+
+    private static final long SEAL_CHECK_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    @Value("${telemetry.enabled: false}")
+    private boolean enabled;
+
+    @Value("${telemetry.dir: telemetry}")
+    private String dir;
+
+    @Value("${telemetry.queue-capacity: 65536}")
+    private int queueCapacity;
+
+    @Value("${telemetry.segment-frames: 3600}")
+    private int segmentFrames;
+
+    @Value("${telemetry.segment-duration: 5m}")
+    private Duration segmentDuration;
+
+    @Value("${telemetry.retention: 7d}")
+    private Duration retention;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, DeviceSeries> devices = new ConcurrentHashMap<>();
+
+    private final AtomicLong rawBytes = new AtomicLong();
+
+    private final AtomicLong encodedBytes = new AtomicLong();
+
+    private BlockingQueue<Frame> queue;
+
+    private Path path;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    /**
+     * The file of the day, only used by the writer thread.
+     */
+    private FileChannel channel;
+
+    private String channelDay;
+
+    /**
+     * Whether the file of the day has been written since it was last forced, only used by the writer thread.
+     */
+    private boolean dirty;
+
+    private Counter accepted;
+
+    private Counter dropped;
+
+    private Timer queryTimer;
+
+    @PostConstruct
+    private void init() {
+        queryTimer = Timer.builder(QUERY).description("The time to query the telemetry of a device.")
+                .register(meterRegistry);
+        if (!enabled) {
+            return;
+        }
+        try {
+            path = Files.createDirectories(Paths.get(dir)).toAbsolutePath();
+            if (!Paths.get(dir).isAbsolute()) {
+                log.warn("The telemetry is stored in {}, which depends on the working directory. " +
+                        "Configure an absolute telemetry.dir instead.", path);
+            }
+            load();
+            removeExpired();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load the telemetry store in " + dir, e);
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        accepted = Counter.builder(ACCEPTED).description("The telemetry frames put into the queue.")
+                .register(meterRegistry);
+        dropped = Counter.builder(DROPPED).description("The telemetry frames dropped because the queue is full.")
+                .register(meterRegistry);
+        Gauge.builder(QUEUE, queue::size).description("The telemetry frames waiting to be appended.").register(meterRegistry);
+        Gauge.builder(COMPRESSION_RATIO, () -> encodedBytes.get() == 0 ? 0 : (double) rawBytes.get() / encodedBytes.get())
+                .description("The size of the sealed frames without compression divided by their stored size.")
+                .register(meterRegistry);
+        running = true;
+        writer = new Thread(this::write, "telemetry-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    private void destroy() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * @return false if telemetry.enabled is false, then nothing is recorded and the queries return no frames.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Put the frame into the queue without waiting.
+     * @param sn
+     * @param timestamp
+     * @param values indexed by the ordinal of {@link TelemetryFieldEnum}, NaN if the field is not reported.
+     */
+    public void append(String sn, long timestamp, double[] values) {
+        if (!running) {
+            return;
+        }
+        if (queue.offer(new Frame(sn, timestamp, values))) {
+            accepted.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * @param sn
+     * @param begin milliseconds, inclusive.
+     * @param end milliseconds, inclusive.
+     * @param fields
+     * @return the frames of the device within the time range, including the ones not sealed yet.
+     */
+    public TelemetrySeries query(String sn, long begin, long end, Set<TelemetryFieldEnum> fields) {
+        long start = System.nanoTime();
+        try {
+            TelemetrySeries.Builder builder = new TelemetrySeries.Builder(fields);
+            DeviceSeries series = devices.get(sn);
+            if (series == null) {
+                return builder.build();
+            }
+            List<SegmentRef> refs;
+            byte[] openPayload = null;
+            int openCount = 0;
+            synchronized (series) {
+                refs = series.sealed.stream()
+                        .filter(ref -> ref.end >= begin && ref.start <= end)
+                        .collect(Collectors.toList());
+                if (series.open != null && series.open.getEnd() >= begin && series.open.getStart() <= end) {
+                    openPayload = series.open.toPayload();
+                    openCount = series.open.getCount();
+                }
+            }
+            for (Map.Entry<Path, List<SegmentRef>> file : refs.stream()
+                    .collect(Collectors.groupingBy(ref -> ref.file, LinkedHashMap::new, Collectors.toList())).entrySet()) {
+                try (FileChannel reader = FileChannel.open(file.getKey(), StandardOpenOption.READ)) {
+                    for (SegmentRef ref : file.getValue()) {
+                        ByteBuffer payload = ByteBuffer.allocate(ref.length);
+                        if (!read(reader, payload, ref.offset)) {
+                            throw new IOException("The telemetry segment is incomplete.");
+                        }
+                        TelemetrySegment.decode(payload.array(), ref.count, begin, end, fields, builder);
+                    }
+                } catch (NoSuchFileException e) {
+                    log.debug("The telemetry file {} has expired.", file.getKey());
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to read the telemetry file " + file.getKey(), e);
+                }
+            }
+            if (openPayload != null) {
+                TelemetrySegment.decode(openPayload, openCount, begin, end, fields, builder);
+            }
+            return builder.build();
+        } finally {
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void write() {
+        List<Frame> batch = new ArrayList<>(DRAIN_BATCH);
+        long lastSealCheck = System.currentTimeMillis();
+        while (running || !queue.isEmpty()) {
+            try {
+                Frame frame = queue.poll(1, TimeUnit.SECONDS);
+                if (frame != null) {
+                    batch.add(frame);
+                    queue.drainTo(batch, DRAIN_BATCH - 1);
+                    batch.forEach(this::appendFrame);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Failed to append the telemetry frames.", e);
+                batch.clear();
+            }
+            long now = System.currentTimeMillis();
+            if (now - lastSealCheck >= SEAL_CHECK_MILLIS) {
+                lastSealCheck = now;
+                sealExpired(now);
+            }
+            force();
+        }
+        devices.values().forEach(series -> {
+            synchronized (series) {
+                seal(series);
+            }
+        });
+        force();
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to close the telemetry file. {}", e.getMessage());
+        }
+    }
+
+    private void appendFrame(Frame frame) {
+        DeviceSeries series = devices.computeIfAbsent(frame.sn, DeviceSeries::new);
+        synchronized (series) {
+            if (series.open != null && frame.timestamp - series.open.getStart() >= segmentDuration.toMillis()) {
+                seal(series);
+            }
+            if (series.open == null) {
+                series.open = new TelemetrySegment();
+                series.openMillis = System.currentTimeMillis();
+            }
+            series.open.append(frame.timestamp, frame.values);
+            if (series.open.getCount() >= segmentFrames) {
+                seal(series);
+            }
+        }
+    }
+
+    /**
+     * Seal the segments which have been open for telemetry.segment-duration, whether the device still reports or not.
+     */
+    private void sealExpired(long now) {
+        for (DeviceSeries series : devices.values()) {
+            synchronized (series) {
+                if (series.open != null && now - series.openMillis >= segmentDuration.toMillis()) {
+                    seal(series);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the open segment of the device to the file. The caller holds the lock of the series.
+     */
+    private void seal(DeviceSeries series) {
+        TelemetrySegment segment = series.open;
+        series.open = null;
+        if (segment == null || segment.getCount() == 0) {
+            return;
+        }
+        byte[] payload = segment.toPayload();
+        byte[] sn = series.sn.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_LENGTH + sn.length + payload.length)
+                .putInt(MAGIC)
+                .putShort((short) sn.length)
+                .put(sn)
+                .putLong(segment.getStart())
+                .putLong(segment.getEnd())
+                .putInt(segment.getCount())
+                .putInt(payload.length)
+                .put(payload)
+                .flip();
+        try {
+            FileChannel file = channel();
+            long offset = file.size();
+            while (record.hasRemaining()) {
+                file.write(record);
+            }
+            dirty = true;
+            series.sealed.add(new SegmentRef(path.resolve(fileName(channelDay)), offset + HEADER_LENGTH + sn.length,
+                    payload.length, segment.getStart(), segment.getEnd(), segment.getCount()));
+            rawBytes.addAndGet((long) segment.getCount() * TelemetrySegment.RAW_FRAME_BYTES);
+            encodedBytes.addAndGet(payload.length);
+        } catch (IOException e) {
+            log.error("Failed to write the telemetry segment of {}, {} frames are lost.", series.sn, segment.getCount(), e);
+        }
+    }
+
+    /**
+     * Force the sealed segments to the disk, so they survive a crash of the system and not only of the process.
+     */
+    private void force() {
+        if (!dirty) {
+            return;
+        }
+        try {
+            channel.force(false);
+            dirty = false;
+        } catch (IOException e) {
+            log.warn("Failed to force the telemetry file to the disk. {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The file of the day. The expired files are deleted when the day changes.
+     */
+    private FileChannel channel() throws IOException {
+        String day = FILE_DAY_FORMAT.format(Instant.now());
+        if (!day.equals(channelDay)) {
+            if (channel != null) {
+                force();
+                channel.close();
+            }
+            channel = FileChannel.open(path.resolve(fileName(day)),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            channelDay = day;
+            removeExpired();
+        }
+        return channel;
+    }
+
+    /**
+     * Index the segments in the files. The incomplete record at the end of a file is cut off.
+     */
+    private void load() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(path)) {
+            files = list.filter(TelemetryStore::isTelemetryFile).sorted().collect(Collectors.toList());
+        }
+        int count = 0;
+        for (Path file : files) {
+            try (FileChannel reader = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = reader.size();
+                long position = 0;
+                while (position < size) {
+                    ByteBuffer head = ByteBuffer.allocate(Integer.BYTES + Short.BYTES);
+                    if (!read(reader, head, position) || head.getInt() != MAGIC) {
+                        break;
+                    }
+                    byte[] sn = new byte[head.getShort() & 0xFFFF];
+                    ByteBuffer rest = ByteBuffer.allocate(sn.length + HEADER_LENGTH - head.capacity());
+                    if (!read(reader, rest, position + head.capacity())) {
+                        break;
+                    }
+                    rest.get(sn);
+                    long start = rest.getLong();
+                    long end = rest.getLong();
+                    int frames = rest.getInt();
+                    int length = rest.getInt();
+                    long offset = position + HEADER_LENGTH + sn.length;
+                    if (offset + length > size) {
+                        break;
+                    }
+                    devices.computeIfAbsent(new String(sn, StandardCharsets.UTF_8), DeviceSeries::new)
+                            .sealed.add(new SegmentRef(file, offset, length, start, end, frames));
+                    position = offset + length;
+                    count++;
+                }
+                if (position < size) {
+                    log.warn("Cut off the incomplete telemetry record at {} of {}.", position, file);
+                    reader.truncate(position);
+                }
+            }
+        }
+        log.info("Loaded {} telemetry segments of {} devices.", count, devices.size());
+    }
+
+    private void removeExpired() throws IOException {
+        String oldest = FILE_DAY_FORMAT.format(Instant.now().minus(retention));
+        Set<Path> expired;
+        try (Stream<Path> list = Files.list(path)) {
+            expired = list.filter(TelemetryStore::isTelemetryFile)
+                    .filter(file -> fileName(oldest).compareTo(file.getFileName().toString()) > 0)
+                    .collect(Collectors.toSet());
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+        devices.values().forEach(series -> {
+            synchronized (series) {
+                series.sealed.removeIf(ref -> expired.contains(ref.file));
+            }
+        });
+        for (Path file : expired) {
+            Files.deleteIfExists(file);
+        }
+        log.info("Deleted {} expired telemetry files.", expired.size());
+    }
+
+    private static boolean isTelemetryFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+    }
+
+    private static String fileName(String day) {
+        return FILE_PREFIX + day + FILE_SUFFIX;
+    }
+
+    private static boolean read(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+
+    private static class DeviceSeries {
+
+        private final String sn;
+
+        /**
+         * The sealed segments in the order they are written.
+         */
+        private final List<SegmentRef> sealed = new ArrayList<>();
+
+        private TelemetrySegment open;
+
+        /**
+         * When the open segment was created, by the clock of the server.
+         */
+        private long openMillis;
+
+        private DeviceSeries(String sn) {
+            this.sn = sn;
+        }
+    }
+
+    private static class SegmentRef {
+
+        private final Path file;
+
+        /**
+         * The position of the payload in the file.
+         */
+        private final long offset;
+
+        private final int length;
+
+        private final long start;
+
+        private final long end;
+
+        private final int count;
+
+        private SegmentRef(Path file, long offset, int length, long start, long end, int count) {
+            this.file = file;
+            this.offset = offset;
+            this.length = length;
+            this.start = start;
+            this.end = end;
+            this.count = count;
+        }
+    }
+
+    private static class Frame {
+
+        private final String sn;
+
+        private final long timestamp;
+
+        private final double[] values;
+
+        private Frame(String sn, long timestamp, double[] values) {
+            this.sn = sn;
+            this.timestamp = timestamp;
+            this.values = values;
+        }
+    }
+}
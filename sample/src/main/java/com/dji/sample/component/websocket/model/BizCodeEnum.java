@@ -79,6 +79,8 @@ public enum BizCodeEnum {
 
     FLIGHT_AREAS_UPDATE("flight_areas_update"),
 
+    FLIGHT_AREAS_GEOFENCE_ALERT("flight_areas_geofence_alert"),
+
     ;
 
     private String code;
@@ -30,7 +30,9 @@ import com.dji.sdk.cloudapi.device.OsdDockDrone;
 import com.dji.sdk.cloudapi.wayline.FlighttaskProgress;
 import com.dji.sdk.common.HttpResultResponse;
 import com.dji.sdk.common.SDKManager;
+import com.dji.sdk.config.version.GatewayManager;
 import com.dji.sdk.mqtt.TopicConst;
+import com.dji.sdk.mqtt.drc.DrcUpSubscribe;
 import com.dji.sdk.mqtt.services.ServicesReplyData;
 import com.dji.sdk.mqtt.services.TopicServicesResponse;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -84,6 +86,9 @@ public class DrcServiceImpl implements IDrcService {
     @Autowired
     private AbstractControlService abstractControlService;
 
+    @Autowired
+    private DrcUpSubscribe drcUpSubscribe;
+
     @Override
     public void setDrcModeInRedis(String dockSn, String clientId) {
         RedisOpsUtils.setWithExpire(RedisConst.DRC_PREFIX + dockSn, clientId, RedisConst.DRC_MODE_ALIVE_SECOND);
@@ -157,14 +162,18 @@ public class DrcServiceImpl implements IDrcService {
         // If the dock is in drc mode, refresh the permissions directly.
         if (deviceService.checkDockDrcMode(param.getDockSn())
                 && param.getClientId().equals(this.getDrcModeInRedis(param.getDockSn()))) {
+            drcUpSubscribe.subscribe(SDKManager.getDeviceSDK(param.getDockSn()));
             refreshAcl(param.getDockSn(), param.getClientId(), topic, subTopic);
             return JwtAclDTO.builder().sub(List.of(subTopic)).pub(List.of(pubTopic)).build();
         }
 
         checkDrcModeCondition(workspaceId, param.getDockSn());
 
+        // Subscribe before entering, so the first up messages of the dock are not missed.
+        GatewayManager gateway = SDKManager.getDeviceSDK(param.getDockSn());
+        drcUpSubscribe.subscribe(gateway);
         TopicServicesResponse<ServicesReplyData> reply = abstractControlService.drcModeEnter(
-                SDKManager.getDeviceSDK(param.getDockSn()),
+                gateway,
                 new DrcModeEnterRequest()
                         .setMqttBroker(MqttPropertyConfiguration.getMqttBrokerWithDrc(param.getDockSn() + "-" + System.currentTimeMillis(), param.getDockSn(),
                                 RedisConst.DRC_MODE_ALIVE_SECOND.longValue(),
@@ -175,6 +184,7 @@ public class DrcServiceImpl implements IDrcService {
                         .setHsiFrequency(1).setOsdFrequency(10));
 
         if (!reply.getData().getResult().isSuccess()) {
+            drcUpSubscribe.unsubscribe(gateway);
             throw new RuntimeException("SN: " + param.getDockSn() + "; Error:" + reply.getData().getResult() +
                     "; Failed to enter command flight control mode, please try again later!");
         }
@@ -206,6 +216,8 @@ public class DrcServiceImpl implements IDrcService {
                     reply.getData().getResult() + "; Failed to exit command flight control mode, please try again later!");
         }
 
+        drcUpSubscribe.unsubscribe(SDKManager.getDeviceSDK(param.getDockSn()));
+
         String jobId = waylineRedisService.getPausedWaylineJobId(param.getDockSn());
         if (StringUtils.hasText(jobId)) {
             flighttaskService.updateJobStatus(workspaceId, jobId, UpdateJobParam.builder().status(WaylineTaskStatusEnum.RESUME).build());
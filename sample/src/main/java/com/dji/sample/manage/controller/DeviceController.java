@@ -1,8 +1,11 @@
 package com.dji.sample.manage.controller;
 
+import com.dji.sample.component.telemetry.TelemetryFieldEnum;
 import com.dji.sample.manage.model.dto.DeviceDTO;
 import com.dji.sample.manage.model.dto.DeviceFirmwareUpgradeDTO;
+import com.dji.sample.manage.model.dto.DeviceTelemetryDTO;
 import com.dji.sample.manage.service.IDeviceService;
+import com.dji.sample.manage.service.IDeviceTelemetryService;
 import com.dji.sdk.common.HttpResultResponse;
 import com.dji.sdk.common.PaginationData;
 import com.dji.sdk.exception.CloudSDKErrorEnum;
@@ -10,10 +13,15 @@ import com.dji.sdk.mqtt.property.PropertySetReplyResultEnum;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author sean.zhou
@@ -28,6 +36,12 @@ public class DeviceController {
     @Autowired
     private IDeviceService deviceService;
 
+    @Autowired
+    private IDeviceTelemetryService deviceTelemetryService;
+
+    @Value("${telemetry.max-query-range: 1d}")
+    private Duration maxTelemetryRange;
+
     /**
      * Get the topology list of all online devices in one workspace.
      * @param workspaceId
@@ -141,4 +155,47 @@ public class DeviceController {
         return PropertySetReplyResultEnum.SUCCESS.getResult() == result ?
                 HttpResultResponse.success() : HttpResultResponse.error(result, String.valueOf(result));
     }
-}
\ No newline at end of file
+
+    /**
+     * Query the telemetry history of the device. The last 24 hours are returned by default.
+     * The range can be at most telemetry.max-query-range, and at most telemetry.max-points frames are returned.
+     * @param workspaceId
+     * @param deviceSn
+     * @param beginTime
+     * @param endTime
+     * @param fields separated by ",", all the fields by default.
+     * @param interval milliseconds to average the frames in, 0 to return the frames as they are.
+     * @return
+     */
+    @GetMapping("/{workspace_id}/devices/{device_sn}/telemetry")
+    public HttpResultResponse<DeviceTelemetryDTO> getTelemetry(@PathVariable("workspace_id") String workspaceId,
+                                                               @PathVariable("device_sn") String deviceSn,
+                                                               @RequestParam(name = "begin_time", required = false) Long beginTime,
+                                                               @RequestParam(name = "end_time", required = false) Long endTime,
+                                                               @RequestParam(required = false) List<String> fields,
+                                                               @RequestParam(defaultValue = "0") Long interval) {
+        if (!deviceTelemetryService.isEnabled()) {
+            return HttpResultResponse.error("The telemetry is not recorded, because telemetry.enabled is false.");
+        }
+        if (deviceService.getDeviceBySn(deviceSn).filter(device -> workspaceId.equals(device.getWorkspaceId())).isEmpty()) {
+            return HttpResultResponse.error("The device does not exist in the workspace.");
+        }
+        long end = Optional.ofNullable(endTime).orElseGet(System::currentTimeMillis);
+        long begin = Optional.ofNullable(beginTime).orElse(end - TimeUnit.DAYS.toMillis(1));
+        Set<TelemetryFieldEnum> fieldSet = EnumSet.allOf(TelemetryFieldEnum.class);
+        if (fields != null && !fields.isEmpty()) {
+            fieldSet.clear();
+            for (String field : fields) {
+                Optional<TelemetryFieldEnum> fieldOpt = TelemetryFieldEnum.find(field);
+                if (fieldOpt.isEmpty()) {
+                    return HttpResultResponse.error(CloudSDKErrorEnum.INVALID_PARAMETER);
+                }
+                fieldSet.add(fieldOpt.get());
+            }
+        }
+        if (begin > end || end - begin > maxTelemetryRange.toMillis() || interval < 0) {
+            return HttpResultResponse.error(CloudSDKErrorEnum.INVALID_PARAMETER);
+        }
+        return HttpResultResponse.success(deviceTelemetryService.getTelemetry(deviceSn, begin, end, fieldSet, interval));
+    }
+}
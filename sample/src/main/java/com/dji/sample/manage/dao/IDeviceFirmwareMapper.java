@@ -8,6 +8,8 @@ import com.dji.sample.manage.model.entity.DeviceFirmwareEntity;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.List;
+
 /**
  * @author sean
  * @version 1.2
@@ -36,4 +38,7 @@ public interface IDeviceFirmwareMapper extends BaseMapper<DeviceFirmwareEntity>
 
     @Select(sql + " limit 1 </script>")
     DeviceFirmwareEntity selectOne(@Param(Constants.WRAPPER)Wrapper<DeviceFirmwareEntity> wrapper, @Param("device_name") String deviceName);
+
+    @Select(sql + "</script>")
+    List<DeviceFirmwareEntity> selectFirmwareList(@Param(Constants.WRAPPER)Wrapper<DeviceFirmwareEntity> wrapper, @Param("device_name") String deviceName);
 }
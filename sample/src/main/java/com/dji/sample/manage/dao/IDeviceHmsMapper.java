@@ -1,6 +1,6 @@
 package com.dji.sample.manage.dao;
 
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.dji.sample.component.mybatis.BatchBaseMapper;
 import com.dji.sample.manage.model.entity.DeviceHmsEntity;
 
 /**
@@ -8,5 +8,5 @@ import com.dji.sample.manage.model.entity.DeviceHmsEntity;
  * @version 1.1
  * @date 2022/7/6
  */
-public interface IDeviceHmsMapper extends BaseMapper<DeviceHmsEntity> {
+public interface IDeviceHmsMapper extends BatchBaseMapper<DeviceHmsEntity> {
 }
@@ -1,6 +1,6 @@
 package com.dji.sample.manage.dao;
 
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.dji.sample.component.mybatis.BatchBaseMapper;
 import com.dji.sample.manage.model.entity.FirmwareModelEntity;
 
 /**
@@ -8,5 +8,5 @@ import com.dji.sample.manage.model.entity.FirmwareModelEntity;
  * @version 1.3
  * @date 2022/12/21
  */
-public interface IFirmwareModelMapper extends BaseMapper<FirmwareModelEntity> {
+public interface IFirmwareModelMapper extends BatchBaseMapper<FirmwareModelEntity> {
 }
@@ -1,6 +1,6 @@
 package com.dji.sample.manage.dao;
 
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.dji.sample.component.mybatis.BatchBaseMapper;
 import com.dji.sample.manage.model.entity.LogsFileIndexEntity;
 
 /**
@@ -8,5 +8,5 @@ import com.dji.sample.manage.model.entity.LogsFileIndexEntity;
  * @version 1.2
  * @date 2022/9/8
  */
-public interface ILogsFileIndexMapper extends BaseMapper<LogsFileIndexEntity> {
+public interface ILogsFileIndexMapper extends BatchBaseMapper<LogsFileIndexEntity> {
 }
@@ -1,6 +1,6 @@
 package com.dji.sample.manage.dao;
 
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.dji.sample.component.mybatis.BatchBaseMapper;
 import com.dji.sample.manage.model.entity.LogsFileEntity;
 
 /**
@@ -8,5 +8,5 @@ import com.dji.sample.manage.model.entity.LogsFileEntity;
  * @version 1.2
  * @date 2022/9/7
  */
-public interface ILogsFileMapper extends BaseMapper<LogsFileEntity> {
+public interface ILogsFileMapper extends BatchBaseMapper<LogsFileEntity> {
 }
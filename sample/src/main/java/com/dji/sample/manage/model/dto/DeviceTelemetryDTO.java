@@ -0,0 +1,35 @@
+package com.dji.sample.manage.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceTelemetryDTO {
+
+    private String sn;
+
+    private List<Long> timestamps;
+
+    /**
+     * The values of each field, in the order of the timestamps. Null if the field is not reported at the time.
+     */
+    private Map<String, List<Double>> values;
+
+    /**
+     * The size of the scanned frames without compression divided by their stored size.
+     */
+    private Double compressionRatio;
+}
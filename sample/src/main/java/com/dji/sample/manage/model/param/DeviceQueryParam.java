@@ -3,6 +3,7 @@ package com.dji.sample.manage.model.param;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,6 +19,8 @@ public class DeviceQueryParam {
 
     private String deviceSn;
 
+    private Collection<String> deviceSns;
+
     private String workspaceId;
 
     private Integer deviceType;
@@ -21,4 +21,9 @@ public interface IDeviceDictionaryService {
      */
     Optional<DeviceDictionaryDTO> getOneDictionaryInfoByTypeSubType(Integer domain, Integer deviceType, Integer subType);
 
+    /**
+     * Reload the dictionary from the database and replace the cached snapshot.
+     */
+    void refreshDictionary();
+
 }
@@ -84,4 +84,9 @@ public interface IDeviceFirmwareService {
      * @param firmware
      */
     void updateFirmwareInfo(DeviceFirmwareDTO firmware);
+
+    /**
+     * Reload the latest release note of every device model and replace the cached snapshot.
+     */
+    void refreshLatestFirmwareReleaseNotes();
 }
@@ -7,6 +7,7 @@ import com.dji.sdk.cloudapi.device.PayloadFirmwareVersion;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author sean.zhou
@@ -43,6 +44,13 @@ public interface IDevicePayloadService {
      */
     List<DevicePayloadDTO> getDevicePayloadEntitiesByDeviceSn(String deviceSn);
 
+    /**
+     * Query all payload data on these devices with one query.
+     * @param deviceSns
+     * @return key: device sn
+     */
+    Map<String, List<DevicePayloadDTO>> getDevicePayloadEntitiesByDeviceSns(Collection<String> deviceSns);
+
     /**
      * Delete all payload data on these devices based on the collection of device sns.
      * @param deviceSns
@@ -1,9 +1,13 @@
 package com.dji.sample.manage.service;
 
 import com.dji.sample.component.mqtt.model.EventsReceiver;
+import com.dji.sample.manage.model.dto.CapacityCameraDTO;
 import com.dji.sample.manage.model.dto.DeviceDTO;
 import com.dji.sdk.cloudapi.firmware.OtaProgress;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -21,6 +25,13 @@ public interface IDeviceRedisService {
      */
     Boolean checkDeviceOnline(String sn);
 
+    /**
+     * Determine if the devices are online with one request.
+     * @param sns
+     * @return key: device sn, value: online status
+     */
+    Map<String, Boolean> checkDevicesOnline(Collection<String> sns);
+
     /**
      * Query the basic information of the device in redis.
      * @param sn
@@ -28,6 +39,20 @@ public interface IDeviceRedisService {
      */
     Optional<DeviceDTO> getDeviceOnline(String sn);
 
+    /**
+     * Query the basic information of the devices in redis with one request.
+     * @param sns
+     * @return key: device sn. Only contains the online devices.
+     */
+    Map<String, DeviceDTO> getDevicesOnline(Collection<String> sns);
+
+    /**
+     * Query the live capacity of the devices in redis with one request.
+     * @param sns
+     * @return key: device sn. Only contains the devices that have reported the live capacity.
+     */
+    Map<String, List<CapacityCameraDTO>> getCapacities(Collection<String> sns);
+
     /**
      * Save the basic information of the device in redis.
      * @param device
@@ -78,6 +103,13 @@ public interface IDeviceRedisService {
      */
     Optional<EventsReceiver<OtaProgress>> getFirmwareUpgradingProgress(String sn);
 
+    /**
+     * Query the firmware update progress of the devices in redis with one request.
+     * @param sns
+     * @return key: device sn. Only contains the devices that are updating firmware.
+     */
+    Map<String, EventsReceiver<OtaProgress>> getFirmwareUpgradingProgress(Collection<String> sns);
+
     /**
      * Delete the firmware update progress of the device in redis.
      * @param sn
@@ -88,6 +88,14 @@ public interface IDeviceService {
      */
     TopologyDeviceDTO deviceConvertToTopologyDTO(DeviceDTO device);
 
+    /**
+     * Convert individual device information into topology objects with the known online status.
+     * @param device
+     * @param online
+     * @return
+     */
+    TopologyDeviceDTO deviceConvertToTopologyDTO(DeviceDTO device, Boolean online);
+
     /**
      * When the server receives the request of any device online, offline and topology update in the same workspace,
      * it also broadcasts a push of device online, offline and topology update to PILOT via websocket,
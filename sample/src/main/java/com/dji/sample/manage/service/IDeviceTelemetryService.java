@@ -0,0 +1,49 @@
+package com.dji.sample.manage.service;
+
+import com.dji.sample.component.telemetry.TelemetryFieldEnum;
+import com.dji.sample.manage.model.dto.DeviceTelemetryDTO;
+import com.dji.sdk.cloudapi.device.OsdDock;
+import com.dji.sdk.cloudapi.device.OsdDockDrone;
+
+import java.util.Set;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public interface IDeviceTelemetryService {
+
+    /**
+     * Save the telemetry of the dock osd into the history.
+     * @param sn
+     * @param timestamp
+     * @param osd
+     */
+    void saveDockOsd(String sn, Long timestamp, OsdDock osd);
+
+    /**
+     * Save the telemetry of the drone osd into the history.
+     * @param sn
+     * @param timestamp
+     * @param osd
+     */
+    void saveDroneOsd(String sn, Long timestamp, OsdDockDrone osd);
+
+    /**
+     * @return false if telemetry.enabled is false, then nothing is recorded.
+     */
+    boolean isEnabled();
+
+    /**
+     * Query the telemetry history of the device.
+     * If there are more frames than telemetry.max-points, the interval is widened to return at most that many.
+     * @param sn
+     * @param beginTime
+     * @param endTime
+     * @param fields
+     * @param interval milliseconds to average the frames in, 0 to return the frames as they are.
+     * @return
+     */
+    DeviceTelemetryDTO getTelemetry(String sn, long beginTime, long endTime, Set<TelemetryFieldEnum> fields, long interval);
+}
@@ -2,9 +2,10 @@ package com.dji.sample.manage.service;
 
 import com.dji.sample.manage.model.dto.LogsFileDTO;
 import com.dji.sample.manage.model.dto.LogsFileUploadDTO;
-import com.dji.sdk.cloudapi.log.LogFileIndex;
+import com.dji.sdk.cloudapi.log.FileUploadStartFile;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -15,14 +16,11 @@ import java.util.Optional;
 public interface ILogsFileIndexService {
 
     /**
-     * Insert the index of the device logs.
-     * @param file
-     * @param deviceSn
-     * @param domain
-     * @param fileId
+     * Insert the indexes of all the device logs files.
+     * @param files key: file id
      * @return
      */
-    Boolean insertFileIndex(LogFileIndex file, String deviceSn, Integer domain, String fileId);
+    Boolean insertFileIndex(Map<String, FileUploadStartFile> files);
 
     /**
      * Query logs file upload information based on the file id.
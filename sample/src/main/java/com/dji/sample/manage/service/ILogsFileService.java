@@ -30,12 +30,12 @@ public interface ILogsFileService {
     List<LogsFileUploadDTO> getLogsFileByLogsId(String logsId);
 
     /**
-     * Added logs file.
-     * @param file
+     * Added logs files.
+     * @param files
      * @param logsId
      * @return
      */
-    Boolean insertFile(FileUploadStartFile file, String logsId);
+    Boolean insertFiles(List<FileUploadStartFile> files, String logsId);
 
     /**
      * Delete logs files.
@@ -21,4 +21,9 @@ public interface IWorkspaceService {
      */
     Optional<WorkspaceDTO> getWorkspaceNameByBindCode(String bindCode);
 
+    /**
+     * Reload all workspaces from the database and replace the cached snapshot.
+     */
+    void refreshWorkspaces();
+
 }
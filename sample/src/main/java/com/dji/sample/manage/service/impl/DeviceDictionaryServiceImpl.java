@@ -6,10 +6,16 @@ import com.dji.sample.manage.model.dto.DeviceDictionaryDTO;
 import com.dji.sample.manage.model.entity.DeviceDictionaryEntity;
 import com.dji.sample.manage.service.IDeviceDictionaryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  *
@@ -24,19 +30,39 @@ public class DeviceDictionaryServiceImpl implements IDeviceDictionaryService {
     @Autowired
     private IDeviceDictionaryMapper mapper;
 
+    /**
+     * The dictionary only changes with the sql script, so it is loaded once and looked up in memory.
+     * key: domain-type-subType
+     */
+    private volatile Map<String, DeviceDictionaryDTO> dictionaryMap = Collections.emptyMap();
+
+    @PostConstruct
+    private void init() {
+        this.refreshDictionary();
+    }
+
     @Override
     public Optional<DeviceDictionaryDTO> getOneDictionaryInfoByTypeSubType(Integer domain, Integer deviceType, Integer subType) {
         if (domain == null || deviceType == null || subType == null) {
             return Optional.empty();
         }
-        return Optional.ofNullable(
-                entityConvertToDTO(
-                        mapper.selectOne(
-                                new LambdaQueryWrapper<DeviceDictionaryEntity>()
-                                        .eq(DeviceDictionaryEntity::getDomain, domain)
-                                        .eq(DeviceDictionaryEntity::getDeviceType, deviceType)
-                                        .eq(DeviceDictionaryEntity::getSubType, subType)
-                                        .last(" limit 1 "))));
+        return Optional.ofNullable(dictionaryMap.get(dictionaryKey(domain, deviceType, subType)))
+                .or(() -> Optional.of(entityConvertToDTO(null)));
+    }
+
+    @Override
+    @Scheduled(initialDelay = 5, fixedRate = 5, timeUnit = TimeUnit.MINUTES)
+    public void refreshDictionary() {
+        Map<String, DeviceDictionaryDTO> map = new HashMap<>();
+        mapper.selectList(new LambdaQueryWrapper<DeviceDictionaryEntity>().orderByAsc(DeviceDictionaryEntity::getId))
+                .forEach(entity -> map.putIfAbsent(
+                        dictionaryKey(entity.getDomain(), entity.getDeviceType(), entity.getSubType()),
+                        entityConvertToDTO(entity)));
+        this.dictionaryMap = Collections.unmodifiableMap(map);
+    }
+
+    private String dictionaryKey(Integer domain, Integer deviceType, Integer subType) {
+        return domain + "-" + deviceType + "-" + subType;
     }
 
     /**
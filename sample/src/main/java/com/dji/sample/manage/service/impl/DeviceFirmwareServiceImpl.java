@@ -35,11 +35,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.MessageHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.DigestUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.annotation.PostConstruct;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -49,6 +51,7 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -80,6 +83,16 @@ public class DeviceFirmwareServiceImpl extends AbstractFirmwareService implement
     @Autowired
     private IDeviceRedisService deviceRedisService;
 
+    /**
+     * key: device name
+     */
+    private volatile Map<String, DeviceFirmwareNoteDTO> latestReleaseNoteMap = Collections.emptyMap();
+
+    @PostConstruct
+    private void init() {
+        this.refreshLatestFirmwareReleaseNotes();
+    }
+
     @Override
     public Optional<DeviceFirmwareDTO> getFirmware(String workspaceId, String deviceName, String version) {
         return Optional.ofNullable(entity2Dto(mapper.selectOne(
@@ -92,18 +105,44 @@ public class DeviceFirmwareServiceImpl extends AbstractFirmwareService implement
 
     @Override
     public Optional<DeviceFirmwareNoteDTO> getLatestFirmwareReleaseNote(String deviceName) {
-        return Optional.ofNullable(entity2NoteDto(mapper.selectOne(
+        if (!StringUtils.hasText(deviceName)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(latestReleaseNoteMap.get(deviceName));
+    }
+
+    @Override
+    @Scheduled(initialDelay = 5, fixedRate = 5, timeUnit = TimeUnit.MINUTES)
+    public void refreshLatestFirmwareReleaseNotes() {
+        List<DeviceFirmwareEntity> firmwares = mapper.selectFirmwareList(
                 Wrappers.lambdaQuery(DeviceFirmwareEntity.class)
                         .eq(DeviceFirmwareEntity::getStatus, true)
                         .orderByDesc(DeviceFirmwareEntity::getReleaseDate, DeviceFirmwareEntity::getFirmwareVersion),
-                deviceName)));
+                null);
+        Map<String, DeviceFirmwareNoteDTO> noteMap = new HashMap<>();
+        // The firmwares are sorted from newest to oldest, so the first one of each device model wins.
+        for (DeviceFirmwareEntity firmware : firmwares) {
+            if (!StringUtils.hasText(firmware.getDeviceName())) {
+                continue;
+            }
+            for (String deviceName : firmware.getDeviceName().split(",")) {
+                noteMap.computeIfAbsent(deviceName, name -> {
+                    DeviceFirmwareNoteDTO note = entity2NoteDto(firmware);
+                    note.setDeviceName(name);
+                    return note;
+                });
+            }
+        }
+        this.latestReleaseNoteMap = Collections.unmodifiableMap(noteMap);
     }
 
     @Override
     public List<OtaCreateDevice> getDeviceOtaFirmware(String workspaceId, List<DeviceFirmwareUpgradeDTO> upgradeDTOS) {
         List<OtaCreateDevice> deviceOtaList = new ArrayList<>();
+        Map<String, Boolean> onlineMap = deviceRedisService.checkDevicesOnline(
+                upgradeDTOS.stream().map(DeviceFirmwareUpgradeDTO::getSn).collect(Collectors.toList()));
         upgradeDTOS.forEach(upgradeDevice -> {
-            boolean exist = deviceRedisService.checkDeviceOnline(upgradeDevice.getSn());
+            boolean exist = onlineMap.get(upgradeDevice.getSn());
             if (!exist) {
                 throw new IllegalArgumentException("Device is offline.");
             }
@@ -244,6 +283,7 @@ public class DeviceFirmwareServiceImpl extends AbstractFirmwareService implement
         mapper.insert(entity);
         firmwareModelService.saveFirmwareDeviceName(
                 FirmwareModelDTO.builder().firmwareId(entity.getFirmwareId()).deviceNames(deviceNames).build());
+        this.refreshLatestFirmwareReleaseNotes();
     }
 
     @Override
@@ -251,6 +291,7 @@ public class DeviceFirmwareServiceImpl extends AbstractFirmwareService implement
         mapper.update(dto2Entity(firmware),
                 new LambdaUpdateWrapper<DeviceFirmwareEntity>()
                         .eq(DeviceFirmwareEntity::getFirmwareId, firmware.getFirmwareId()));
+        this.refreshLatestFirmwareReleaseNotes();
     }
 
     /**
@@ -3,6 +3,7 @@ package com.dji.sample.manage.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.dji.sample.component.mybatis.BatchInsertExecutor;
 import com.dji.sample.component.websocket.model.BizCodeEnum;
 import com.dji.sample.component.websocket.service.IWebSocketMessageService;
 import com.dji.sample.manage.dao.IDeviceHmsMapper;
@@ -60,6 +61,9 @@ public class DeviceHmsServiceImpl extends AbstractHmsService implements IDeviceH
     @Autowired
     private IDeviceRedisService deviceRedisService;
 
+    @Autowired
+    private BatchInsertExecutor batchInsertExecutor;
+
     private static final Pattern PATTERN_KEY = Pattern.compile(
                     "(" +
                     Arrays.stream(HmsFormatKeyEnum.values())
@@ -81,6 +85,7 @@ public class DeviceHmsServiceImpl extends AbstractHmsService implements IDeviceH
         Set<String> hmsMap = deviceRedisService.getAllHmsKeys(sn);
 
         List<DeviceHmsDTO> unReadList = new ArrayList<>();
+        List<DeviceHmsEntity> hmsList = new ArrayList<>();
         response.getData().getList()
                 .forEach(hmsReceiver -> {
                     final DeviceHmsEntity hms = entity.clone();
@@ -91,12 +96,13 @@ public class DeviceHmsServiceImpl extends AbstractHmsService implements IDeviceH
                     }
                     this.fillMessage(hms, hmsReceiver.getArgs());
                     unReadList.add(entity2Dto(hms));
-                    mapper.insert(hms);
+                    hmsList.add(hms);
                 });
 
         if (unReadList.isEmpty()) {
             return;
         }
+        batchInsertExecutor.insert(mapper, hmsList);
         deviceRedisService.addEndHmsKeys(sn, unReadList.stream().map(DeviceHmsDTO::getKey).toArray(String[]::new));
         // push to the web
         Optional<DeviceDTO> deviceOpt = deviceRedisService.getDeviceOnline(sn);
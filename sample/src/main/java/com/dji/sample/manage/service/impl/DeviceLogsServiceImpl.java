@@ -134,11 +134,9 @@ public class DeviceLogsServiceImpl extends AbstractLogService implements IDevice
         if (!insert) {
             return "";
         }
-        for (FileUploadStartFile file : param.getFiles()) {
-            insert = logsFileService.insertFile(file, entity.getLogsId());
-            if (!insert) {
-                return "";
-            }
+        insert = logsFileService.insertFiles(param.getFiles(), entity.getLogsId());
+        if (!insert) {
+            return "";
         }
 
         return bid;
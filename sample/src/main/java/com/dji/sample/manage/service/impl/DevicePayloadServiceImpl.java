@@ -113,6 +113,19 @@ public class DevicePayloadServiceImpl implements IDevicePayloadService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Map<String, List<DevicePayloadDTO>> getDevicePayloadEntitiesByDeviceSns(Collection<String> deviceSns) {
+        if (CollectionUtils.isEmpty(deviceSns)) {
+            return new HashMap<>();
+        }
+        return mapper.selectList(
+                new LambdaQueryWrapper<DevicePayloadEntity>()
+                        .in(DevicePayloadEntity::getDeviceSn, deviceSns))
+                .stream()
+                .collect(Collectors.groupingBy(DevicePayloadEntity::getDeviceSn,
+                        Collectors.mapping(this::payloadEntityConvertToDTO, Collectors.toList())));
+    }
+
     @Override
     public void deletePayloadsByDeviceSn(List<String> deviceSns) {
         deviceSns.forEach(deviceSn -> {
@@ -3,6 +3,7 @@ package com.dji.sample.manage.service.impl;
 import com.dji.sample.component.mqtt.model.EventsReceiver;
 import com.dji.sample.component.redis.RedisConst;
 import com.dji.sample.component.redis.RedisOpsUtils;
+import com.dji.sample.manage.model.dto.CapacityCameraDTO;
 import com.dji.sample.manage.model.dto.DeviceDTO;
 import com.dji.sample.manage.service.ICapacityCameraService;
 import com.dji.sample.manage.service.IDeviceRedisService;
@@ -10,8 +11,7 @@ import com.dji.sdk.cloudapi.firmware.OtaProgress;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -27,8 +27,20 @@ public class DeviceRedisServiceImpl implements IDeviceRedisService {
 
     @Override
     public Boolean checkDeviceOnline(String sn) {
-        String key = RedisConst.DEVICE_ONLINE_PREFIX + sn;
-        return RedisOpsUtils.checkExist(key) && RedisOpsUtils.getExpire(key) > 0;
+        // The ttl of a key that does not exist is -2, so there is no need to check whether the key exists.
+        return RedisOpsUtils.getExpire(RedisConst.DEVICE_ONLINE_PREFIX + sn) > 0;
+    }
+
+    @Override
+    public Map<String, Boolean> checkDevicesOnline(Collection<String> sns) {
+        List<String> snList = sns.stream().distinct().collect(Collectors.toList());
+        List<Long> expires = RedisOpsUtils.getExpires(snList.stream()
+                .map(sn -> RedisConst.DEVICE_ONLINE_PREFIX + sn).collect(Collectors.toList()));
+        Map<String, Boolean> onlineMap = new HashMap<>(snList.size() * 2);
+        for (int i = 0; i < snList.size(); i++) {
+            onlineMap.put(snList.get(i), expires.get(i) > 0);
+        }
+        return onlineMap;
     }
 
     @Override
@@ -36,6 +48,33 @@ public class DeviceRedisServiceImpl implements IDeviceRedisService {
         return Optional.ofNullable((DeviceDTO) RedisOpsUtils.get(RedisConst.DEVICE_ONLINE_PREFIX + sn));
     }
 
+    @Override
+    public Map<String, DeviceDTO> getDevicesOnline(Collection<String> sns) {
+        List<String> snList = sns.stream().distinct().collect(Collectors.toList());
+        List<Object> devices = RedisOpsUtils.multiGet(snList.stream()
+                .map(sn -> RedisConst.DEVICE_ONLINE_PREFIX + sn).collect(Collectors.toList()));
+        Map<String, DeviceDTO> deviceMap = new HashMap<>(snList.size() * 2);
+        for (int i = 0; i < snList.size(); i++) {
+            if (null != devices.get(i)) {
+                deviceMap.put(snList.get(i), (DeviceDTO) devices.get(i));
+            }
+        }
+        return deviceMap;
+    }
+
+    @Override
+    public Map<String, List<CapacityCameraDTO>> getCapacities(Collection<String> sns) {
+        List<String> snList = sns.stream().distinct().collect(Collectors.toList());
+        List<Object> capacities = RedisOpsUtils.hashMultiGet(RedisConst.LIVE_CAPACITY, snList);
+        Map<String, List<CapacityCameraDTO>> capacityMap = new HashMap<>(snList.size() * 2);
+        for (int i = 0; i < snList.size(); i++) {
+            if (null != capacities.get(i)) {
+                capacityMap.put(snList.get(i), (List<CapacityCameraDTO>) capacities.get(i));
+            }
+        }
+        return capacityMap;
+    }
+
     @Override
     public void setDeviceOnline(DeviceDTO device) {
         RedisOpsUtils.setWithExpire(RedisConst.DEVICE_ONLINE_PREFIX + device.getDeviceSn(), device, RedisConst.DEVICE_ALIVE_SECOND);
@@ -71,6 +110,20 @@ public class DeviceRedisServiceImpl implements IDeviceRedisService {
         return Optional.ofNullable((EventsReceiver<OtaProgress>) RedisOpsUtils.get(RedisConst.FIRMWARE_UPGRADING_PREFIX + sn));
     }
 
+    @Override
+    public Map<String, EventsReceiver<OtaProgress>> getFirmwareUpgradingProgress(Collection<String> sns) {
+        List<String> snList = sns.stream().distinct().collect(Collectors.toList());
+        List<Object> progressList = RedisOpsUtils.multiGet(snList.stream()
+                .map(sn -> RedisConst.FIRMWARE_UPGRADING_PREFIX + sn).collect(Collectors.toList()));
+        Map<String, EventsReceiver<OtaProgress>> progressMap = new HashMap<>();
+        for (int i = 0; i < snList.size(); i++) {
+            if (null != progressList.get(i)) {
+                progressMap.put(snList.get(i), (EventsReceiver<OtaProgress>) progressList.get(i));
+            }
+        }
+        return progressMap;
+    }
+
     @Override
     public Boolean delFirmwareUpgrading(String sn) {
         return RedisOpsUtils.del(RedisConst.FIRMWARE_UPGRADING_PREFIX + sn);
@@ -37,6 +37,7 @@ import com.dji.sdk.mqtt.services.ServicesReplyData;
 import com.dji.sdk.mqtt.services.ServicesSubscribe;
 import com.dji.sdk.mqtt.services.TopicServicesResponse;
 import com.dji.sdk.mqtt.state.StateSubscribe;
+import com.dji.sdk.mqtt.status.StatusDebouncer;
 import com.dji.sdk.mqtt.status.StatusSubscribe;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -50,8 +51,8 @@ import org.springframework.util.StringUtils;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -125,6 +126,9 @@ public class DeviceServiceImpl implements IDeviceService {
     @Autowired
     private AbstractFirmwareService abstractFirmwareService;
 
+    @Autowired
+    private StatusDebouncer statusDebouncer;
+
     @Override
     public void subDeviceOffline(String deviceSn) {
         // If no information about this device exists in the cache, the drone is considered to be offline.
@@ -139,6 +143,7 @@ public class DeviceServiceImpl implements IDeviceService {
             log.debug("The gateway is already offline.", e);
         }
         deviceRedisService.subDeviceOffline(deviceSn);
+        statusDebouncer.forget(deviceOpt.get().getParentSn());
         // Publish the latest device topology information in the current workspace.
         pushDeviceOfflineTopo(deviceOpt.get().getWorkspaceId(), deviceSn);
         log.debug("{} offline.", deviceSn);
@@ -155,6 +160,7 @@ public class DeviceServiceImpl implements IDeviceService {
 
         deviceRedisService.subDeviceOffline(deviceOpt.get().getChildDeviceSn());
         deviceRedisService.gatewayOffline(gatewaySn);
+        statusDebouncer.forget(gatewaySn);
         try {
             offlineUnsubscribeTopic(SDKManager.getDeviceSDK(gatewaySn));
         } catch (CloudSDKException e) {
@@ -200,10 +206,12 @@ public class DeviceServiceImpl implements IDeviceService {
 
     @Override
     public List<DeviceDTO> getDevicesByParams(DeviceQueryParam param) {
-        return mapper.selectList(
+        return this.deviceEntitiesConvertToDTO(mapper.selectList(
                 new LambdaQueryWrapper<DeviceEntity>()
                         .eq(StringUtils.hasText(param.getDeviceSn()),
                                 DeviceEntity::getDeviceSn, param.getDeviceSn())
+                        .in(!CollectionUtils.isEmpty(param.getDeviceSns()),
+                                DeviceEntity::getDeviceSn, param.getDeviceSns())
                         .eq(param.getDeviceType() != null,
                                 DeviceEntity::getDeviceType, param.getDeviceType())
                         .eq(param.getSubType() != null,
@@ -219,10 +227,7 @@ public class DeviceServiceImpl implements IDeviceService {
                                 DeviceEntity::getWorkspaceId, param.getWorkspaceId())
                         .eq(param.getBoundStatus() != null, DeviceEntity::getBoundStatus, param.getBoundStatus())
                         .orderBy(param.isOrderBy(),
-                                param.isAsc(), DeviceEntity::getId))
-                .stream()
-                .map(this::deviceEntityConvertToDTO)
-                .collect(Collectors.toList());
+                                param.isAsc(), DeviceEntity::getId)));
     }
 
     @Override
@@ -233,30 +238,72 @@ public class DeviceServiceImpl implements IDeviceService {
                         .domains(List.of(DeviceDomainEnum.REMOTER_CONTROL.getDomain(), DeviceDomainEnum.DOCK.getDomain()))
                         .build());
 
-        devicesList.stream()
+        Map<String, Boolean> onlineMap = this.checkTopoOnline(devicesList);
+        this.spliceDevicesTopo(devicesList.stream()
                 .filter(gateway -> DeviceDomainEnum.DOCK == gateway.getDomain() ||
-                        deviceRedisService.checkDeviceOnline(gateway.getDeviceSn()))
-                .forEach(this::spliceDeviceTopo);
+                        onlineMap.getOrDefault(gateway.getDeviceSn(), false))
+                .collect(Collectors.toList()), onlineMap, true);
 
         return devicesList;
     }
 
     @Override
     public void spliceDeviceTopo(DeviceDTO gateway) {
+        List<DeviceDTO> gateways = List.of(gateway);
+        this.spliceDevicesTopo(gateways, this.checkTopoOnline(gateways), true);
+    }
 
-        gateway.setStatus(deviceRedisService.checkDeviceOnline(gateway.getDeviceSn()));
-
-        // sub device
-        if (!StringUtils.hasText(gateway.getChildDeviceSn())) {
-            return;
+    /**
+     * Query the online status of the gateways and their sub devices with one redis request.
+     * @param gateways
+     * @return key: device sn
+     */
+    private Map<String, Boolean> checkTopoOnline(List<DeviceDTO> gateways) {
+        List<String> sns = new ArrayList<>(gateways.size() * 2);
+        for (DeviceDTO gateway : gateways) {
+            sns.add(gateway.getDeviceSn());
+            if (StringUtils.hasText(gateway.getChildDeviceSn())) {
+                sns.add(gateway.getChildDeviceSn());
+            }
         }
+        return deviceRedisService.checkDevicesOnline(sns);
+    }
 
-        DeviceDTO subDevice = getDevicesByParams(DeviceQueryParam.builder().deviceSn(gateway.getChildDeviceSn()).build()).get(0);
-        subDevice.setStatus(deviceRedisService.checkDeviceOnline(subDevice.getDeviceSn()));
-        gateway.setChildren(subDevice);
+    /**
+     * Set the sub device and its payloads of all gateways. The sub devices and the payloads are queried only once.
+     * @param gateways
+     * @param onlineMap the online status of the gateways and sub devices.
+     * @param withPayloads
+     */
+    private void spliceDevicesTopo(List<DeviceDTO> gateways, Map<String, Boolean> onlineMap, boolean withPayloads) {
+        List<String> childSns = gateways.stream()
+                .map(DeviceDTO::getChildDeviceSn)
+                .filter(StringUtils::hasText)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<String, DeviceDTO> subDeviceMap = childSns.isEmpty() ? Collections.emptyMap() :
+                this.getDevicesByParams(DeviceQueryParam.builder().deviceSns(childSns).build())
+                        .stream()
+                        .collect(Collectors.toMap(DeviceDTO::getDeviceSn, Function.identity(), (a, b) -> a));
+        Map<String, List<DevicePayloadDTO>> payloadMap = withPayloads ?
+                payloadService.getDevicePayloadEntitiesByDeviceSns(subDeviceMap.keySet()) : Collections.emptyMap();
+
+        for (DeviceDTO gateway : gateways) {
+            gateway.setStatus(onlineMap.getOrDefault(gateway.getDeviceSn(), false));
+
+            // sub device
+            DeviceDTO subDevice = subDeviceMap.get(gateway.getChildDeviceSn());
+            if (null == subDevice) {
+                continue;
+            }
+            subDevice.setStatus(onlineMap.getOrDefault(subDevice.getDeviceSn(), false));
+            gateway.setChildren(subDevice);
 
-        // payloads
-        subDevice.setPayloadsList(payloadService.getDevicePayloadEntitiesByDeviceSn(gateway.getChildDeviceSn()));
+            // payloads
+            if (withPayloads) {
+                subDevice.setPayloadsList(payloadMap.getOrDefault(subDevice.getDeviceSn(), new ArrayList<>()));
+            }
+        }
     }
 
     @Override
@@ -279,6 +326,14 @@ public class DeviceServiceImpl implements IDeviceService {
 
     @Override
     public TopologyDeviceDTO deviceConvertToTopologyDTO(DeviceDTO device) {
+        if (device == null) {
+            return null;
+        }
+        return this.deviceConvertToTopologyDTO(device, deviceRedisService.checkDeviceOnline(device.getDeviceSn()));
+    }
+
+    @Override
+    public TopologyDeviceDTO deviceConvertToTopologyDTO(DeviceDTO device, Boolean online) {
         if (device == null) {
             return null;
         }
@@ -291,7 +346,7 @@ public class DeviceServiceImpl implements IDeviceService {
                             .setType(device.getType())
                             .setDeviceModelKey(DeviceEnum.find(device.getDomain(), device.getType(), device.getSubType())))
                     .setIconUrls(device.getIconUrl())
-                    .setOnlineStatus(deviceRedisService.checkDeviceOnline(device.getDeviceSn()))
+                    .setOnlineStatus(online)
                     .setUserCallsign(device.getNickname())
                     .setBoundStatus(device.getBoundStatus())
                     .setModel(device.getDeviceName())
@@ -366,12 +421,40 @@ public class DeviceServiceImpl implements IDeviceService {
         return mapper.insert(entity) > 0 ? entity.getId() : -1;
     }
 
+    /**
+     * Convert database entity objects into device data transfer objects.
+     * The workspace, the latest firmware and the upgrading progress are queried once for all entities.
+     * @param entities
+     * @return
+     */
+    private List<DeviceDTO> deviceEntitiesConvertToDTO(List<DeviceEntity> entities) {
+        if (CollectionUtils.isEmpty(entities)) {
+            return new ArrayList<>();
+        }
+        Map<String, String> workspaceNameMap = new HashMap<>();
+        Map<String, Optional<DeviceFirmwareNoteDTO>> releaseNoteMap = new HashMap<>();
+        Map<String, EventsReceiver<OtaProgress>> progressMap = deviceRedisService.getFirmwareUpgradingProgress(
+                entities.stream()
+                        .filter(entity -> StringUtils.hasText(entity.getFirmwareVersion()))
+                        .map(DeviceEntity::getDeviceSn)
+                        .collect(Collectors.toList()));
+
+        return entities.stream()
+                .map(entity -> this.deviceEntityConvertToDTO(entity, workspaceNameMap, releaseNoteMap, progressMap))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Convert database entity object into device data transfer object.
      * @param entity
+     * @param workspaceNameMap  the workspace names already queried, key: workspace id
+     * @param releaseNoteMap    the latest firmware already queried, key: device name
+     * @param progressMap       the upgrading progress of the devices, key: device sn
      * @return
      */
-    private DeviceDTO deviceEntityConvertToDTO(DeviceEntity entity) {
+    private DeviceDTO deviceEntityConvertToDTO(DeviceEntity entity, Map<String, String> workspaceNameMap,
+                                               Map<String, Optional<DeviceFirmwareNoteDTO>> releaseNoteMap,
+                                               Map<String, EventsReceiver<OtaProgress>> progressMap) {
         if (entity == null) {
             return null;
         }
@@ -400,24 +483,27 @@ public class DeviceServiceImpl implements IDeviceService {
                     .nickname(entity.getNickname())
                     .firmwareVersion(entity.getFirmwareVersion())
                     .workspaceName(entity.getWorkspaceId() != null ?
-                            workspaceService.getWorkspaceByWorkspaceId(entity.getWorkspaceId())
-                                    .map(WorkspaceDTO::getWorkspaceName).orElse("") : "")
+                            workspaceNameMap.computeIfAbsent(entity.getWorkspaceId(),
+                                    id -> workspaceService.getWorkspaceByWorkspaceId(id)
+                                            .map(WorkspaceDTO::getWorkspaceName).orElse("")) : "")
                     .firmwareStatus(DeviceFirmwareStatusEnum.NOT_UPGRADE)
                     .thingVersion(entity.getVersion()).build();
         } catch (CloudSDKException e) {
             log.error(e.getLocalizedMessage() + "Entity: {}", entity);
         }
         DeviceDTO deviceDTO = builder.build();
-        addFirmwareStatus(deviceDTO, entity);
+        addFirmwareStatus(deviceDTO, entity, releaseNoteMap, progressMap);
         return deviceDTO;
     }
 
-    private void addFirmwareStatus(DeviceDTO deviceDTO, DeviceEntity entity) {
+    private void addFirmwareStatus(DeviceDTO deviceDTO, DeviceEntity entity,
+                                   Map<String, Optional<DeviceFirmwareNoteDTO>> releaseNoteMap,
+                                   Map<String, EventsReceiver<OtaProgress>> progressMap) {
         if (!StringUtils.hasText(entity.getFirmwareVersion())) {
             return;
         }
         // Query whether the device is updating firmware.
-        Optional<EventsReceiver<OtaProgress>> progressOpt = deviceRedisService.getFirmwareUpgradingProgress(entity.getDeviceSn());
+        Optional<EventsReceiver<OtaProgress>> progressOpt = Optional.ofNullable(progressMap.get(entity.getDeviceSn()));
         if (progressOpt.isPresent()) {
             deviceDTO.setFirmwareStatus(DeviceFirmwareStatusEnum.UPGRADING);
             deviceDTO.setFirmwareProgress(progressOpt.map(EventsReceiver::getOutput)
@@ -429,7 +515,8 @@ public class DeviceServiceImpl implements IDeviceService {
 
         // First query the latest firmware version of the device model and compare it with the current firmware version
         // to see if it needs to be upgraded.
-        Optional<DeviceFirmwareNoteDTO> firmwareReleaseNoteOpt = deviceFirmwareService.getLatestFirmwareReleaseNote(entity.getDeviceName());
+        Optional<DeviceFirmwareNoteDTO> firmwareReleaseNoteOpt = releaseNoteMap.computeIfAbsent(entity.getDeviceName(),
+                deviceFirmwareService::getLatestFirmwareReleaseNote);
         if (firmwareReleaseNoteOpt.isEmpty()) {
             deviceDTO.setFirmwareStatus(DeviceFirmwareStatusEnum.NOT_UPGRADE);
             return;
@@ -492,19 +579,11 @@ public class DeviceServiceImpl implements IDeviceService {
                         .eq(DeviceEntity::getDomain, domain)
                         .eq(DeviceEntity::getWorkspaceId, workspaceId)
                         .eq(DeviceEntity::getBoundStatus, true));
-        List<DeviceDTO> devicesList = pagination.getRecords().stream().map(this::deviceEntityConvertToDTO)
-                .peek(device -> {
-                    device.setStatus(deviceRedisService.checkDeviceOnline(device.getDeviceSn()));
-                    if (StringUtils.hasText(device.getChildDeviceSn())) {
-                        Optional<DeviceDTO> childOpt = this.getDeviceBySn(device.getChildDeviceSn());
-                        childOpt.ifPresent(child -> {
-                            child.setStatus(deviceRedisService.checkDeviceOnline(child.getDeviceSn()));
-                            child.setWorkspaceName(device.getWorkspaceName());
-                            device.setChildren(child);
-                        });
-                    }
-                })
-                .collect(Collectors.toList());
+        List<DeviceDTO> devicesList = this.deviceEntitiesConvertToDTO(pagination.getRecords());
+        this.spliceDevicesTopo(devicesList, this.checkTopoOnline(devicesList), false);
+        devicesList.stream()
+                .filter(device -> null != device.getChildren())
+                .forEach(device -> device.getChildren().setWorkspaceName(device.getWorkspaceName()));
         return new PaginationData<DeviceDTO>(devicesList, new Pagination(pagination.getCurrent(), pagination.getSize(), pagination.getTotal()));
     }
 
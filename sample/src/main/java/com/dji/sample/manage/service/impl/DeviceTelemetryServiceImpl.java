@@ -0,0 +1,102 @@
+package com.dji.sample.manage.service.impl;
+
+import com.dji.sample.component.telemetry.TelemetryFieldEnum;
+import com.dji.sample.component.telemetry.TelemetrySeries;
+import com.dji.sample.component.telemetry.TelemetryStore;
+import com.dji.sample.manage.model.dto.DeviceTelemetryDTO;
+import com.dji.sample.manage.service.IDeviceTelemetryService;
+import com.dji.sdk.cloudapi.device.DroneBattery;
+import com.dji.sdk.cloudapi.device.OsdDock;
+import com.dji.sdk.cloudapi.device.OsdDockDrone;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Service
+@Slf4j
+public class DeviceTelemetryServiceImpl implements IDeviceTelemetryService {
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    @Value("${telemetry.max-points: 2000}")
+    private int maxPoints;
+
+    @Override
+    public void saveDockOsd(String sn, Long timestamp, OsdDock osd) {
+        double[] values = emptyFrame();
+        put(values, TelemetryFieldEnum.LONGITUDE, osd.getLongitude());
+        put(values, TelemetryFieldEnum.LATITUDE, osd.getLatitude());
+        put(values, TelemetryFieldEnum.HEIGHT, osd.getHeight());
+        put(values, TelemetryFieldEnum.WIND_SPEED, osd.getWindSpeed());
+        put(values, TelemetryFieldEnum.TEMPERATURE, osd.getTemperature());
+        put(values, TelemetryFieldEnum.ENVIRONMENT_TEMPERATURE, osd.getEnvironmentTemperature());
+        put(values, TelemetryFieldEnum.HUMIDITY, osd.getHumidity());
+        telemetryStore.append(sn, Objects.requireNonNullElseGet(timestamp, System::currentTimeMillis), values);
+    }
+
+    @Override
+    public void saveDroneOsd(String sn, Long timestamp, OsdDockDrone osd) {
+        double[] values = emptyFrame();
+        put(values, TelemetryFieldEnum.LONGITUDE, osd.getLongitude());
+        put(values, TelemetryFieldEnum.LATITUDE, osd.getLatitude());
+        put(values, TelemetryFieldEnum.HEIGHT, osd.getHeight());
+        put(values, TelemetryFieldEnum.ELEVATION, osd.getElevation());
+        put(values, TelemetryFieldEnum.HORIZONTAL_SPEED, osd.getHorizontalSpeed());
+        put(values, TelemetryFieldEnum.VERTICAL_SPEED, osd.getVerticalSpeed());
+        put(values, TelemetryFieldEnum.ATTITUDE_HEAD, osd.getAttitudeHead());
+        put(values, TelemetryFieldEnum.CAPACITY_PERCENT,
+                Optional.ofNullable(osd.getBattery()).map(DroneBattery::getCapacityPercent).orElse(null));
+        put(values, TelemetryFieldEnum.WIND_SPEED, osd.getWindSpeed());
+        telemetryStore.append(sn, Objects.requireNonNullElseGet(timestamp, System::currentTimeMillis), values);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return telemetryStore.isEnabled();
+    }
+
+    @Override
+    public DeviceTelemetryDTO getTelemetry(String sn, long beginTime, long endTime, Set<TelemetryFieldEnum> fields, long interval) {
+        TelemetrySeries series = telemetryStore.query(sn, beginTime, endTime, fields);
+        double compressionRatio = series.getCompressionRatio();
+        series = series.downsample(Math.max(interval, series.minInterval(beginTime, endTime, maxPoints)));
+
+        Map<String, List<Double>> values = new HashMap<>();
+        series.getValues().forEach((field, column) -> values.put(field.getField(),
+                Arrays.stream(column).mapToObj(value -> Double.isNaN(value) ? null : value).collect(Collectors.toList())));
+        return DeviceTelemetryDTO.builder()
+                .sn(sn)
+                .timestamps(Arrays.stream(series.getTimestamps()).boxed().collect(Collectors.toList()))
+                .values(values)
+                .compressionRatio(compressionRatio)
+                .build();
+    }
+
+    private static double[] emptyFrame() {
+        double[] values = new double[TelemetryFieldEnum.values().length];
+        Arrays.fill(values, Double.NaN);
+        return values;
+    }
+
+    private static void put(double[] values, TelemetryFieldEnum field, Number value) {
+        if (Objects.nonNull(value)) {
+            values[field.ordinal()] = value.doubleValue();
+        }
+    }
+}
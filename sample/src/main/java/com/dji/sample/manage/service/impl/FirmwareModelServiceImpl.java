@@ -1,5 +1,6 @@
 package com.dji.sample.manage.service.impl;
 
+import com.dji.sample.component.mybatis.BatchInsertExecutor;
 import com.dji.sample.manage.dao.IFirmwareModelMapper;
 import com.dji.sample.manage.model.dto.FirmwareModelDTO;
 import com.dji.sample.manage.model.entity.FirmwareModelEntity;
@@ -26,9 +27,12 @@ public class FirmwareModelServiceImpl implements IFirmwareModelService {
     @Autowired
     private IFirmwareModelMapper mapper;
 
+    @Autowired
+    private BatchInsertExecutor batchInsertExecutor;
+
     @Override
     public void saveFirmwareDeviceName(FirmwareModelDTO firmwareModel) {
-        dto2Entity(firmwareModel).forEach(entity -> mapper.insert(entity));
+        batchInsertExecutor.insert(mapper, dto2Entity(firmwareModel));
     }
 
     private List<FirmwareModelEntity> dto2Entity(FirmwareModelDTO dto) {
@@ -16,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -29,9 +30,6 @@ import java.util.stream.Collectors;
 @Transactional
 public class LiveStreamServiceImpl implements ILiveStreamService {
 
-    @Autowired
-    private ICapacityCameraService capacityCameraService;
-
     @Autowired
     private IDeviceService deviceService;
 
@@ -54,13 +52,20 @@ public class LiveStreamServiceImpl implements ILiveStreamService {
                         .domains(List.of(DeviceDomainEnum.DRONE.getDomain(), DeviceDomainEnum.DOCK.getDomain()))
                         .build());
 
-        // Query the live capability of each drone.
-        return devicesList.stream()
-                .filter(device -> deviceRedisService.checkDeviceOnline(device.getDeviceSn()))
+        List<String> sns = devicesList.stream().map(DeviceDTO::getDeviceSn).collect(Collectors.toList());
+        Map<String, Boolean> onlineMap = deviceRedisService.checkDevicesOnline(sns);
+        List<DeviceDTO> onlineList = devicesList.stream()
+                .filter(device -> onlineMap.get(device.getDeviceSn()))
+                .collect(Collectors.toList());
+
+        // Query the live capability of all online drones.
+        Map<String, List<CapacityCameraDTO>> capacityMap = deviceRedisService.getCapacities(
+                onlineList.stream().map(DeviceDTO::getDeviceSn).collect(Collectors.toList()));
+        return onlineList.stream()
                 .map(device -> CapacityDeviceDTO.builder()
                         .name(Objects.requireNonNullElse(device.getNickname(), device.getDeviceName()))
                         .sn(device.getDeviceSn())
-                        .camerasList(capacityCameraService.getCapacityCameraByDeviceSn(device.getDeviceSn()))
+                        .camerasList(capacityMap.get(device.getDeviceSn()))
                         .build())
                 .collect(Collectors.toList());
     }
@@ -2,11 +2,13 @@ package com.dji.sample.manage.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.dji.sample.component.mybatis.BatchInsertExecutor;
 import com.dji.sample.manage.dao.ILogsFileIndexMapper;
 import com.dji.sample.manage.model.dto.LogsFileDTO;
 import com.dji.sample.manage.model.dto.LogsFileUploadDTO;
 import com.dji.sample.manage.model.entity.LogsFileIndexEntity;
 import com.dji.sample.manage.service.ILogsFileIndexService;
+import com.dji.sdk.cloudapi.log.FileUploadStartFile;
 import com.dji.sdk.cloudapi.log.LogFileIndex;
 import com.dji.sdk.cloudapi.log.LogModuleEnum;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +18,7 @@ import org.springframework.util.CollectionUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -32,17 +35,27 @@ public class LogsFileIndexServiceImpl implements ILogsFileIndexService {
     @Autowired
     private ILogsFileIndexMapper mapper;
 
+    @Autowired
+    private BatchInsertExecutor batchInsertExecutor;
+
     @Override
-    public Boolean insertFileIndex(LogFileIndex file, String deviceSn, Integer domain, String fileId) {
-        LogsFileIndexEntity entity = this.logsFile2Entity(file);
-        if (Objects.isNull(entity)) {
-            return false;
+    public Boolean insertFileIndex(Map<String, FileUploadStartFile> files) {
+        List<LogsFileIndexEntity> entities = new ArrayList<>();
+        for (Map.Entry<String, FileUploadStartFile> file : files.entrySet()) {
+            Integer domain = Integer.valueOf(file.getValue().getModule().getDomain());
+            for (LogFileIndex index : file.getValue().getList()) {
+                LogsFileIndexEntity entity = this.logsFile2Entity(index);
+                if (Objects.isNull(entity)) {
+                    return false;
+                }
+                entity.setDomain(domain);
+                entity.setDeviceSn(file.getValue().getDeviceSn());
+                entity.setFileId(file.getKey());
+                entities.add(entity);
+            }
         }
-        entity.setDomain(domain);
-        entity.setDeviceSn(deviceSn);
-        entity.setFileId(fileId);
 
-        return mapper.insert(entity) > 0;
+        return batchInsertExecutor.insert(mapper, entities) == entities.size();
     }
 
     @Override
@@ -2,6 +2,7 @@ package com.dji.sample.manage.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.dji.sample.component.mybatis.BatchInsertExecutor;
 import com.dji.sample.component.oss.model.OssConfiguration;
 import com.dji.sample.component.oss.service.impl.OssServiceContext;
 import com.dji.sample.manage.dao.ILogsFileMapper;
@@ -13,17 +14,13 @@ import com.dji.sample.manage.service.ILogsFileService;
 import com.dji.sdk.cloudapi.log.FileUploadProgressFile;
 import com.dji.sdk.cloudapi.log.FileUploadStartFile;
 import com.dji.sdk.cloudapi.log.FileUploadStatusEnum;
-import com.dji.sdk.cloudapi.log.LogFileIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -47,6 +44,9 @@ public class LogsFileServiceImpl implements ILogsFileService {
     @Autowired
     private OssServiceContext ossServiceContext;
 
+    @Autowired
+    private BatchInsertExecutor batchInsertExecutor;
+
     @Override
     public List<LogsFileDTO> getLogsFileInfoByLogsId(String logsId) {
         return mapper.selectList(
@@ -81,25 +81,25 @@ public class LogsFileServiceImpl implements ILogsFileService {
     }
 
     @Override
-    public Boolean insertFile(FileUploadStartFile file, String logsId) {
-        LogsFileEntity entity = LogsFileEntity.builder()
-                .logsId(logsId)
-                .fileId(UUID.randomUUID().toString())
-                .objectKey(file.getObjectKey())
-                .status(false)
-                .deviceSn(file.getDeviceSn())
-                .build();
-        boolean insert = mapper.insert(entity) > 0;
+    public Boolean insertFiles(List<FileUploadStartFile> files, String logsId) {
+        Map<String, FileUploadStartFile> fileMap = new LinkedHashMap<>();
+        List<LogsFileEntity> entities = new ArrayList<>();
+        for (FileUploadStartFile file : files) {
+            LogsFileEntity entity = LogsFileEntity.builder()
+                    .logsId(logsId)
+                    .fileId(UUID.randomUUID().toString())
+                    .objectKey(file.getObjectKey())
+                    .status(false)
+                    .deviceSn(file.getDeviceSn())
+                    .build();
+            entities.add(entity);
+            fileMap.put(entity.getFileId(), file);
+        }
+        boolean insert = batchInsertExecutor.insert(mapper, entities) == entities.size();
         if (!insert) {
             return false;
         }
-        for (LogFileIndex logsFile : file.getList()) {
-            insert = logsFileIndexService.insertFileIndex(logsFile, file.getDeviceSn(), Integer.valueOf(file.getModule().getDomain()), entity.getFileId());
-            if (!insert) {
-                return false;
-            }
-        }
-        return true;
+        return logsFileIndexService.insertFileIndex(fileMap);
     }
 
     @Override
@@ -10,13 +10,15 @@ import com.dji.sample.manage.service.IDeviceDictionaryService;
 import com.dji.sample.manage.service.IDevicePayloadService;
 import com.dji.sample.manage.service.IDeviceRedisService;
 import com.dji.sample.manage.service.IDeviceService;
+import com.dji.sample.manage.service.IDeviceTelemetryService;
+import com.dji.sample.map.service.IFlightAreaGeofenceService;
 import com.dji.sdk.cloudapi.device.*;
 import com.dji.sdk.cloudapi.device.api.AbstractDeviceService;
 import com.dji.sdk.cloudapi.property.*;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.dji.sdk.cloudapi.tsa.DeviceIconUrl;
 import com.dji.sdk.cloudapi.tsa.IconUrlEnum;
 import com.dji.sdk.config.version.GatewayManager;
+import com.dji.sdk.config.version.GatewayTypeEnum;
 import com.dji.sdk.common.SDKManager;
 import com.dji.sdk.mqtt.MqttReply;
 import com.dji.sdk.mqtt.osd.TopicOsdRequest;
@@ -61,7 +63,10 @@ public class SDKDeviceService extends AbstractDeviceService {
     private IDevicePayloadService devicePayloadService;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private IFlightAreaGeofenceService flightAreaGeofenceService;
+
+    @Autowired
+    private IDeviceTelemetryService deviceTelemetryService;
 
     @Override
     public TopicStatusResponse<MqttReply> updateTopoOnline(TopicStatusRequest<UpdateTopo> request, MessageHeaders headers) {
@@ -140,136 +145,74 @@ public class SDKDeviceService extends AbstractDeviceService {
 
     @Override
     public void osdDock(TopicOsdRequest<OsdDock> request, MessageHeaders headers) {
-        String from = request.getFrom();
+        // The Dock 3 data has been bound to the standard model by the osd router.
+        boolean isDock3 = SDKManager.findDeviceSDK(request.getGateway())
+                .map(GatewayManager::getType)
+                .filter(GatewayTypeEnum.DOCK3::equals)
+                .isPresent();
+        // Dock 3 reports the drone online status in sub_device instead of the topology update.
+        if (isDock3 && request.getData().getSubDevice() != null) {
+            dock3SubDeviceStatus(request.getFrom(), request.getData().getSubDevice());
+        }
+        processDockOsd(request, headers);
+    }
 
-        // Check if this might be a Dock 3 device by looking at the type first
-        Optional<DeviceDTO> deviceOpt = deviceService.getDeviceBySn(from);
-        boolean isPotentialDock3 = deviceOpt.isPresent() &&
-                                 DeviceDomainEnum.DOCK == deviceOpt.get().getDomain() &&
-                                 DeviceTypeEnum.DOCK3 == deviceOpt.get().getType();
+    /**
+     * Handle both online and offline status of the Dock 3 drone.
+     */
+    private void dock3SubDeviceStatus(String from, DockSubDevice subDevice) {
+        String droneSn = subDevice.getDeviceSn();
+        Boolean droneOnlineStatus = subDevice.getDeviceOnlineStatus();
+        if (!StringUtils.hasText(droneSn) || droneOnlineStatus == null) {
+            return;
+        }
+        boolean wasDroneOffline = deviceRedisService.getDeviceOnline(droneSn).isEmpty();
+        if (!droneOnlineStatus && wasDroneOffline) {
+            log.debug("Dock 3 {} - drone {} was already offline, no action needed", from, droneSn);
+            return;
+        }
+        Optional<DeviceDTO> droneOpt = deviceService.getDeviceBySn(droneSn);
+        if (droneOpt.isEmpty()) {
+            log.warn("Drone {} not found in database, cannot process status change", droneSn);
+            return;
+        }
+        DeviceDTO drone = droneOpt.get();
 
-        // If this is a Dock 3 device, try to handle snake_case format
-        if (isPotentialDock3) {
-            log.debug("Potential Dock 3 device detected: {}, attempting special JSON handling", from);
+        if (!droneOnlineStatus) {
+            log.info("Dock 3 {} reports drone {} is offline via sub_device data", from, droneSn);
+            drone.setStatus(false);
+            deviceRedisService.setDeviceOnline(drone);
             try {
-                // Get the raw payload as string to check the format
-                String rawPayload = objectMapper.writeValueAsString(request.getData());
-                log.debug("Raw payload for potential Dock 3 {}: {}", from, rawPayload);
-
-                // Check if this is snake_case format (Dock 3)
-                boolean isSnakeCaseFormat = rawPayload.contains("\"network_state\"") ||
-                                          rawPayload.contains("\"drone_in_dock\"") ||
-                                          rawPayload.contains("\"environment_temperature\"") ||
-                                          rawPayload.contains("\"drone_charge_state\"");
-
-                if (isSnakeCaseFormat) {
-                    log.info("Detected Dock 3 snake_case format for device: {}, performing custom deserialization", from);
-
-                    // Parse the raw JSON using Dock 3 specific class
-                    OsdDock3 dock3Osd = objectMapper.readValue(rawPayload, OsdDock3.class);
-                    OsdDock standardDock = dock3Osd.toStandardOsdDock();
-
-                    log.debug("Successfully converted Dock 3 OSD to standard format for: {}", from);
-                    log.debug("Converted data: networkState={}, droneInDock={}, temperature={}",
-                        standardDock.getNetworkState(), standardDock.getDroneInDock(), standardDock.getTemperature());
-
-                    // CRITICAL FIX: Handle Dock 3 sub-device online status from sub_device field
-                    if (dock3Osd.getSubDevice() != null) {
-                        String droneSn = dock3Osd.getSubDevice().getDeviceSn();
-                        Boolean droneOnlineStatus = dock3Osd.getSubDevice().getDeviceOnlineStatus();
-
-                        // CRITICAL FIX: Handle both online AND offline status for Dock 3 drones
-                        if (StringUtils.hasText(droneSn)) {
-                            Optional<DeviceDTO> droneOpt = deviceService.getDeviceBySn(droneSn);
-                            if (droneOpt.isPresent()) {
-                                DeviceDTO drone = droneOpt.get();
-
-                                // Check if drone was previously offline to trigger subscription/unsubscription
-                                Optional<DeviceDTO> existingDroneOpt = deviceRedisService.getDeviceOnline(droneSn);
-                                boolean wasDroneOffline = existingDroneOpt.isEmpty();
-
-                                if (Boolean.TRUE.equals(droneOnlineStatus)) {
-                                    // Drone is ONLINE
-                                    log.info("Dock 3 {} reports drone {} is online via sub_device data", from, droneSn);
-
-                                    drone.setStatus(true);
-                                    drone.setParentSn(from);
-
-                                    // Ensure drone has workspace ID from parent dock
-                                    if (!StringUtils.hasText(drone.getWorkspaceId()) && StringUtils.hasText(deviceOpt.get().getWorkspaceId())) {
-                                        drone.setWorkspaceId(deviceOpt.get().getWorkspaceId());
-                                    }
-
-                                    deviceRedisService.setDeviceOnline(drone);
-                                    log.info("Marked drone {} as online in Redis with parent Dock 3 {} (wasOffline: {})", droneSn, from, wasDroneOffline);
-
-                                    // CRITICAL FIX: Force sub-device subscription for Dock 3 drones regardless of previous state
-                                    // This ensures MQTT topics are subscribed to even when drone is already marked online in Redis
-                                    if (StringUtils.hasText(drone.getWorkspaceId())) {
-                                        try {
-                                            // Get the SDK GatewayManager for this dock
-                                            GatewayManager gatewayManager = SDKManager.getDeviceSDK(from);
-                                            if (gatewayManager != null) {
-                                                log.info("Dock 3 {} - FORCING sub-device subscription for drone: {} (wasOffline: {})", from, droneSn, wasDroneOffline);
-                                                log.info("Dock 3 {} - GatewayManager found: {}, subscribing to MQTT topics for drone: {}", from, gatewayManager.getClass().getSimpleName(), droneSn);
-                                                deviceService.subDeviceOnlineSubscribeTopic(gatewayManager);
-                                                log.info("Dock 3 {} - successfully subscribed to drone MQTT topics for: {} - expecting messages on thing/product/{}/osd", from, droneSn, droneSn);
-                                            } else {
-                                                log.warn("Dock 3 {} - GatewayManager not found, cannot subscribe to sub-device topics for drone: {}", from, droneSn);
-                                            }
-                                        } catch (Exception e) {
-                                            log.error("Dock 3 {} - Failed to subscribe to sub-device topics for drone {}: {}", from, droneSn, e.getMessage(), e);
-                                        }
-                                    } else {
-                                        log.warn("Dock 3 {} - drone {} has no workspace ID, cannot subscribe to MQTT topics", from, droneSn);
-                                    }
-                                } else if (Boolean.FALSE.equals(droneOnlineStatus)) {
-                                    // Drone is OFFLINE
-                                    log.info("Dock 3 {} reports drone {} is offline via sub_device data", from, droneSn);
-
-                                    // Only process offline if drone was previously online
-                                    if (!wasDroneOffline) {
-                                        drone.setStatus(false);
-                                        deviceRedisService.setDeviceOnline(drone);
-
-                                        // Unsubscribe from drone topics to match Dock 1/2 behavior
-                                        try {
-                                            log.info("Dock 3 {} - marking drone {} as offline and unsubscribing from topics", from, droneSn);
-                                            deviceService.subDeviceOffline(droneSn);
-                                            log.info("Dock 3 {} - successfully unsubscribed from drone topics for: {}", from, droneSn);
-                                        } catch (Exception e) {
-                                            log.error("Dock 3 {} - Failed to unsubscribe from sub-device topics for drone {}: {}", from, droneSn, e.getMessage(), e);
-                                        }
-                                    } else {
-                                        log.debug("Dock 3 {} - drone {} was already offline, no action needed", from, droneSn);
-                                    }
-                                }
-                            } else {
-                                log.warn("Drone {} not found in database, cannot process status change", droneSn);
-                            }
-                        }
-                    }
-
-                    // Create a new request with the properly deserialized data
-                    TopicOsdRequest<OsdDock> correctedRequest = new TopicOsdRequest<OsdDock>()
-                            .setGateway(request.getGateway())
-                            .setFrom(request.getFrom())
-                            .setData(standardDock)
-                            .setBid(request.getBid())
-                            .setTid(request.getTid())
-                            .setTimestamp(request.getTimestamp());
-
-                    // Process the corrected request
-                    processDockOsd(correctedRequest, headers);
-                    return;
-                }
+                deviceService.subDeviceOffline(droneSn);
             } catch (Exception e) {
-                log.warn("Failed to process as Dock 3 format for device {}, falling back to standard processing: {}", from, e.getMessage());
+                log.error("Dock 3 {} - Failed to unsubscribe from sub-device topics for drone {}: {}", from, droneSn, e.getMessage(), e);
             }
+            return;
         }
 
-        // Standard processing for Dock 1/2 or if Dock 3 processing failed
-        processDockOsd(request, headers);
+        drone.setStatus(true);
+        drone.setParentSn(from);
+        if (!StringUtils.hasText(drone.getWorkspaceId())) {
+            deviceRedisService.getDeviceOnline(from).or(() -> deviceService.getDeviceBySn(from))
+                    .map(DeviceDTO::getWorkspaceId)
+                    .ifPresent(drone::setWorkspaceId);
+        }
+        deviceRedisService.setDeviceOnline(drone);
+        if (wasDroneOffline) {
+            log.info("Dock 3 {} reports drone {} is online via sub_device data", from, droneSn);
+        }
+
+        // Subscribe regardless of the previous state, so the topics are subscribed even if the drone is already online in redis.
+        if (!StringUtils.hasText(drone.getWorkspaceId())) {
+            log.warn("Dock 3 {} - drone {} has no workspace ID, cannot subscribe to MQTT topics", from, droneSn);
+            return;
+        }
+        try {
+            SDKManager.findDeviceSDK(from).ifPresentOrElse(deviceService::subDeviceOnlineSubscribeTopic,
+                    () -> log.warn("Dock 3 {} - GatewayManager not found, cannot subscribe to sub-device topics for drone: {}", from, droneSn));
+        } catch (Exception e) {
+            log.error("Dock 3 {} - Failed to subscribe to sub-device topics for drone {}: {}", from, droneSn, e.getMessage(), e);
+        }
     }
 
     /**
@@ -324,6 +267,7 @@ public class SDKDeviceService extends AbstractDeviceService {
         // Mark device as online and store OSD data
         deviceRedisService.setDeviceOnline(device);
         fillDockOsd(from, request.getData());
+        deviceTelemetryService.saveDockOsd(from, request.getTimestamp(), request.getData());
 
         // Always send DOCK_OSD WebSocket event for real-time monitoring
         if (StringUtils.hasText(device.getWorkspaceId())) {
@@ -377,65 +321,7 @@ public class SDKDeviceService extends AbstractDeviceService {
   
     @Override
     public void osdDockDrone(TopicOsdRequest<OsdDockDrone> request, MessageHeaders headers) {
-        String from = request.getFrom();
-
-        // Check if this drone might belong to a Dock 3 by checking its parent
-        Optional<DeviceDTO> deviceOpt = deviceService.getDeviceBySn(from);
-        boolean isPotentialDock3Drone = false;
-
-        if (deviceOpt.isPresent() && StringUtils.hasText(deviceOpt.get().getParentSn())) {
-            Optional<DeviceDTO> parentOpt = deviceService.getDeviceBySn(deviceOpt.get().getParentSn());
-            isPotentialDock3Drone = parentOpt.isPresent() &&
-                                   DeviceDomainEnum.DOCK == parentOpt.get().getDomain() &&
-                                   DeviceTypeEnum.DOCK3 == parentOpt.get().getType();
-        }
-
-        // If this drone might belong to a Dock 3, try to handle snake_case format
-        if (isPotentialDock3Drone) {
-            log.debug("Potential Dock 3 drone detected: {}, attempting special JSON handling", from);
-            try {
-                // Get the raw payload as string to check the format
-                String rawPayload = objectMapper.writeValueAsString(request.getData());
-                log.debug("Raw payload for potential Dock 3 drone {}: {}", from, rawPayload);
-
-                // Check if this is snake_case format (Dock 3)
-                // Look for actual snake_case patterns that Dock 3 sends
-                boolean isSnakeCaseFormat = rawPayload.contains("\"position_state\"") &&
-                                          rawPayload.contains("\"total_flight_distance\"") &&
-                                          rawPayload.contains("\"horizontal_speed\"") &&
-                                          rawPayload.contains("\"vertical_speed\"") &&
-                                          (rawPayload.contains("\"payload_bindings\"") || rawPayload.contains("\"elevation\""));
-
-                if (isSnakeCaseFormat) {
-                    log.info("Detected Dock 3 snake_case format for drone: {}, performing custom deserialization", from);
-
-                    // Parse the raw JSON using Dock 3 specific class
-                    OsdDockDrone3 dock3DroneOsd = objectMapper.readValue(rawPayload, OsdDockDrone3.class);
-                    OsdDockDrone standardDrone = dock3DroneOsd.toStandardOsdDockDrone();
-
-                    log.debug("Successfully converted Dock 3 drone OSD to standard format for: {}", from);
-                    log.debug("Converted data: attitudeHead={}, positionState={}, modeCode={}",
-                        standardDrone.getAttitudeHead(), standardDrone.getPositionState(), standardDrone.getModeCode());
-
-                    // Create a new request with the properly deserialized data
-                    TopicOsdRequest<OsdDockDrone> correctedRequest = new TopicOsdRequest<OsdDockDrone>()
-                            .setGateway(request.getGateway())
-                            .setFrom(request.getFrom())
-                            .setData(standardDrone)
-                            .setBid(request.getBid())
-                            .setTid(request.getTid())
-                            .setTimestamp(request.getTimestamp());
-
-                    // Process the corrected request
-                    processDroneOsd(correctedRequest, headers);
-                    return;
-                }
-            } catch (Exception e) {
-                log.warn("Failed to process as Dock 3 drone format for device {}, falling back to standard processing: {}", from, e.getMessage());
-            }
-        }
-
-        // Standard processing for non-Dock 3 drones or if Dock 3 processing failed
+        // The Dock 3 data has been bound to the standard model by the osd router.
         processDroneOsd(request, headers);
     }
 
@@ -472,6 +358,7 @@ public class SDKDeviceService extends AbstractDeviceService {
         device.setStatus(true);
         deviceRedisService.setDeviceOnline(device);
         deviceRedisService.setDeviceOsd(from, request.getData());
+        deviceTelemetryService.saveDroneOsd(from, request.getTimestamp(), request.getData());
 
         // Always send DEVICE_OSD WebSocket event for real-time monitoring
         if (StringUtils.hasText(device.getWorkspaceId())) {
@@ -480,6 +367,8 @@ public class SDKDeviceService extends AbstractDeviceService {
                 from, device.getParentSn(),
                 request.getData().getModeCode(),
                 request.getData().getHeight());
+            flightAreaGeofenceService.evaluate(device.getWorkspaceId(), from,
+                    request.getData().getLongitude(), request.getData().getLatitude());
         } else {
             log.warn("❌ Cannot send DEVICE_OSD WebSocket event for drone: {} - no workspace ID configured", from);
         }
@@ -566,6 +455,7 @@ public class SDKDeviceService extends AbstractDeviceService {
                         .setHorizontalSpeed(data.getHorizontalSpeed())
                         .setVerticalSpeed(data.getVerticalSpeed()));
         deviceService.pushOsdDataToWeb(device.getWorkspaceId(), BizCodeEnum.DEVICE_OSD, from, data);
+        flightAreaGeofenceService.evaluate(device.getWorkspaceId(), from, data.getLongitude(), data.getLatitude());
     }
 
     @Override
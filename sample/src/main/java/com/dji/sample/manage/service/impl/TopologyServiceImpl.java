@@ -3,6 +3,7 @@ package com.dji.sample.manage.service.impl;
 import com.dji.sample.manage.model.dto.DeviceDTO;
 import com.dji.sample.manage.model.dto.TopologyDeviceDTO;
 import com.dji.sample.manage.model.param.DeviceQueryParam;
+import com.dji.sample.manage.service.IDeviceRedisService;
 import com.dji.sample.manage.service.IDeviceService;
 import com.dji.sample.manage.service.ITopologyService;
 import com.dji.sdk.cloudapi.device.DeviceDomainEnum;
@@ -10,10 +11,11 @@ import com.dji.sdk.cloudapi.tsa.DeviceTopology;
 import com.dji.sdk.cloudapi.tsa.TopologyList;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * @author sean
@@ -26,6 +28,9 @@ public class TopologyServiceImpl implements ITopologyService {
     @Autowired
     private IDeviceService deviceService;
 
+    @Autowired
+    private IDeviceRedisService deviceRedisService;
+
     @Override
     public List<TopologyList> getDeviceTopology(String workspaceId) {
         // Query the information of all gateway devices in the workspace.
@@ -35,10 +40,32 @@ public class TopologyServiceImpl implements ITopologyService {
                         .domains(List.of(DeviceDomainEnum.REMOTER_CONTROL.getDomain()))
                         .build());
 
+        // Query the drones of all gateways at once.
+        List<String> childSns = gatewayList.stream()
+                .map(DeviceDTO::getChildDeviceSn)
+                .filter(StringUtils::hasText)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<String, DeviceDTO> droneMap = childSns.isEmpty() ? Collections.emptyMap() :
+                deviceService.getDevicesByParams(DeviceQueryParam.builder().deviceSns(childSns).build())
+                        .stream()
+                        .collect(Collectors.toMap(DeviceDTO::getDeviceSn, Function.identity(), (a, b) -> a));
+
+        List<String> sns = gatewayList.stream().map(DeviceDTO::getDeviceSn).collect(Collectors.toList());
+        sns.addAll(droneMap.keySet());
+        Map<String, Boolean> onlineMap = deviceRedisService.checkDevicesOnline(sns);
+
         List<TopologyList> topologyList = new ArrayList<>();
+        for (DeviceDTO device : gatewayList) {
+            List<DeviceTopology> parents = new ArrayList<>();
+            parents.add(deviceService.deviceConvertToTopologyDTO(device, onlineMap.get(device.getDeviceSn())));
 
-        gatewayList.forEach(device -> this.getDeviceTopologyByGatewaySn(device.getDeviceSn())
-                .ifPresent(topologyList::add));
+            List<DeviceTopology> deviceTopoList = new ArrayList<>();
+            Optional.ofNullable(droneMap.get(device.getChildDeviceSn()))
+                    .map(drone -> deviceService.deviceConvertToTopologyDTO(drone, onlineMap.get(drone.getDeviceSn())))
+                    .ifPresent(deviceTopoList::add);
+            topologyList.add(new TopologyList().setParents(parents).setHosts(deviceTopoList));
+        }
 
         return topologyList;
     }
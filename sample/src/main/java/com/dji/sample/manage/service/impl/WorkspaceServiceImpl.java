@@ -7,10 +7,14 @@ import com.dji.sample.manage.model.entity.WorkspaceEntity;
 import com.dji.sample.manage.service.IWorkspaceService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -22,18 +26,51 @@ public class WorkspaceServiceImpl implements IWorkspaceService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    private volatile WorkspaceSnapshot snapshot = new WorkspaceSnapshot(Collections.emptyList());
+
+    @PostConstruct
+    private void init() {
+        this.refreshWorkspaces();
+    }
+
     @Override
     public Optional<WorkspaceDTO> getWorkspaceByWorkspaceId(String workspaceId) {
-        return Optional.ofNullable(entityConvertToDto(
-                mapper.selectOne(
-                        new LambdaQueryWrapper<WorkspaceEntity>()
-                                .eq(WorkspaceEntity::getWorkspaceId, workspaceId))));
+        WorkspaceDTO workspace = snapshot.byWorkspaceId.get(workspaceId);
+        if (workspace != null) {
+            return Optional.of(workspace);
+        }
+        return loadAndRefresh(new LambdaQueryWrapper<WorkspaceEntity>()
+                .eq(WorkspaceEntity::getWorkspaceId, workspaceId));
     }
 
     @Override
     public Optional<WorkspaceDTO> getWorkspaceNameByBindCode(String bindCode) {
-        return Optional.ofNullable(entityConvertToDto(
-                mapper.selectOne(new LambdaQueryWrapper<WorkspaceEntity>().eq(WorkspaceEntity::getBindCode, bindCode))));
+        WorkspaceDTO workspace = snapshot.byBindCode.get(bindCode);
+        if (workspace != null) {
+            return Optional.of(workspace);
+        }
+        return loadAndRefresh(new LambdaQueryWrapper<WorkspaceEntity>().eq(WorkspaceEntity::getBindCode, bindCode));
+    }
+
+    @Override
+    @Scheduled(initialDelay = 5, fixedRate = 5, timeUnit = TimeUnit.MINUTES)
+    public void refreshWorkspaces() {
+        List<WorkspaceDTO> workspaces = mapper.selectList(null).stream()
+                .map(this::entityConvertToDto)
+                .collect(Collectors.toList());
+        this.snapshot = new WorkspaceSnapshot(workspaces);
+    }
+
+    /**
+     * The workspace table is maintained outside of this service, so a workspace that is missing
+     * from the snapshot is looked up in the database and the snapshot is rebuilt once it is found.
+     * @param wrapper
+     * @return
+     */
+    private Optional<WorkspaceDTO> loadAndRefresh(LambdaQueryWrapper<WorkspaceEntity> wrapper) {
+        Optional<WorkspaceDTO> workspaceOpt = Optional.ofNullable(entityConvertToDto(mapper.selectOne(wrapper)));
+        workspaceOpt.ifPresent(workspace -> this.refreshWorkspaces());
+        return workspaceOpt;
     }
 
     /**
@@ -54,4 +91,24 @@ public class WorkspaceServiceImpl implements IWorkspaceService {
                 .bindCode(entity.getBindCode())
                 .build();
     }
+
+    private static final class WorkspaceSnapshot {
+
+        private final Map<String, WorkspaceDTO> byWorkspaceId;
+
+        private final Map<String, WorkspaceDTO> byBindCode;
+
+        private WorkspaceSnapshot(List<WorkspaceDTO> workspaces) {
+            Map<String, WorkspaceDTO> idMap = new HashMap<>();
+            Map<String, WorkspaceDTO> codeMap = new HashMap<>();
+            for (WorkspaceDTO workspace : workspaces) {
+                idMap.put(workspace.getWorkspaceId(), workspace);
+                if (workspace.getBindCode() != null) {
+                    codeMap.put(workspace.getBindCode(), workspace);
+                }
+            }
+            this.byWorkspaceId = Collections.unmodifiableMap(idMap);
+            this.byBindCode = Collections.unmodifiableMap(codeMap);
+        }
+    }
 }
@@ -2,6 +2,8 @@ package com.dji.sample.map.controller;
 
 import com.dji.sample.common.model.CustomClaim;
 import com.dji.sample.map.model.dto.FlightAreaDTO;
+import com.dji.sample.map.model.dto.FlightAreaSyncJobDTO;
+import com.dji.sample.map.model.dto.NearbyFlightAreaDTO;
 import com.dji.sample.map.model.param.PostFlightAreaParam;
 import com.dji.sample.map.model.param.PutFlightAreaParam;
 import com.dji.sample.map.model.param.SyncFlightAreaParam;
@@ -33,6 +35,26 @@ public class FlightAreaController {
         return HttpResultResponse.success(flightAreaService.getFlightAreaList(workspaceId));
     }
 
+    @GetMapping("/{workspace_id}/flight-areas/box")
+    public HttpResultResponse<List<FlightAreaDTO>> getFlightAreasInBox(@PathVariable(name = "workspace_id") String workspaceId,
+                                                                       @RequestParam(name = "min_longitude") Double minLongitude,
+                                                                       @RequestParam(name = "min_latitude") Double minLatitude,
+                                                                       @RequestParam(name = "max_longitude") Double maxLongitude,
+                                                                       @RequestParam(name = "max_latitude") Double maxLatitude) {
+        return HttpResultResponse.success(flightAreaService.getFlightAreasInBox(workspaceId, minLongitude, minLatitude, maxLongitude, maxLatitude));
+    }
+
+    /**
+     * @param radius meters
+     */
+    @GetMapping("/{workspace_id}/flight-areas/nearby")
+    public HttpResultResponse<List<NearbyFlightAreaDTO>> getFlightAreasNearby(@PathVariable(name = "workspace_id") String workspaceId,
+                                                                              @RequestParam Double longitude,
+                                                                              @RequestParam Double latitude,
+                                                                              @RequestParam(defaultValue = "1000") Double radius) {
+        return HttpResultResponse.success(flightAreaService.getFlightAreasNearby(workspaceId, longitude, latitude, radius));
+    }
+
     @PostMapping("/{workspace_id}/flight-area")
     public HttpResultResponse createFlightArea(@PathVariable(name = "workspace_id") String workspaceId,
                                                @Valid @RequestBody PostFlightAreaParam param, HttpServletRequest req) {
@@ -57,10 +79,17 @@ public class FlightAreaController {
     }
 
     @PostMapping("/{workspace_id}/flight-area/sync")
-    public HttpResultResponse syncFlightArea(@PathVariable(name = "workspace_id") String workspaceId,
-                                             @RequestBody @Valid SyncFlightAreaParam param) {
-        flightAreaService.syncFlightArea(workspaceId, param.getDeviceSns());
-        return HttpResultResponse.success();
+    public HttpResultResponse<FlightAreaSyncJobDTO> syncFlightArea(@PathVariable(name = "workspace_id") String workspaceId,
+                                                                   @RequestBody @Valid SyncFlightAreaParam param) {
+        return HttpResultResponse.success(flightAreaService.syncFlightArea(workspaceId, param.getDeviceSns()));
+    }
+
+    @GetMapping("/{workspace_id}/flight-area/sync/{job_id}")
+    public HttpResultResponse<FlightAreaSyncJobDTO> getSyncJob(@PathVariable(name = "workspace_id") String workspaceId,
+                                                               @PathVariable(name = "job_id") String jobId) {
+        return flightAreaService.getSyncJob(workspaceId, jobId)
+                .map(HttpResultResponse::success)
+                .orElse(HttpResultResponse.error("The sync job does not exist or has expired."));
     }
 
 }
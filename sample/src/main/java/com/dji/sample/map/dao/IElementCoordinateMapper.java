@@ -1,6 +1,6 @@
 package com.dji.sample.map.dao;
 
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.dji.sample.component.mybatis.BatchBaseMapper;
 import com.dji.sample.map.model.entity.ElementCoordinateEntity;
 
 /**
@@ -8,5 +8,5 @@ import com.dji.sample.map.model.entity.ElementCoordinateEntity;
  * @version 0.2
  * @date 2021/11/29
  */
-public interface IElementCoordinateMapper extends BaseMapper<ElementCoordinateEntity> {
+public interface IElementCoordinateMapper extends BatchBaseMapper<ElementCoordinateEntity> {
 }
@@ -0,0 +1,34 @@
+package com.dji.sample.map.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * The progress of syncing the flight areas to a group of devices.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightAreaSyncJobDTO {
+
+    private String jobId;
+
+    /**
+     * The sync status of each device, the same as the status in flight_areas_sync_progress.
+     */
+    private Map<String, String> devices;
+
+    /**
+     * Whether all the devices have synchronized or failed.
+     */
+    private Boolean finished;
+}
@@ -0,0 +1,41 @@
+package com.dji.sample.map.model.dto;
+
+import com.dji.sample.map.model.enums.GeofenceActionEnum;
+import com.dji.sdk.cloudapi.flightarea.GeofenceTypeEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeofenceAlertDTO {
+
+    private String sn;
+
+    private String areaId;
+
+    private String name;
+
+    private GeofenceTypeEnum type;
+
+    private GeofenceActionEnum action;
+
+    /**
+     * The distance in meters from the drone to the boundary of the area, 0 if the drone is inside.
+     */
+    private Double distance;
+
+    private Float longitude;
+
+    private Float latitude;
+
+    private Long timestamp;
+}
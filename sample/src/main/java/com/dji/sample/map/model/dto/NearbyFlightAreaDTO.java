@@ -0,0 +1,25 @@
+package com.dji.sample.map.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyFlightAreaDTO {
+
+    private FlightAreaDTO area;
+
+    /**
+     * The distance in meters from the position to the boundary of the area, 0 if the position is inside.
+     */
+    private Double distance;
+}
@@ -0,0 +1,39 @@
+package com.dji.sample.map.model.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public enum GeofenceActionEnum {
+
+    /**
+     * The drone is inside the area.
+     */
+    ENTER("enter"),
+
+    /**
+     * The drone is within the approach distance of the area.
+     */
+    APPROACH("approach"),
+
+    /**
+     * The drone has left the inside of the area.
+     */
+    EXIT("exit"),
+
+    ;
+
+    private final String action;
+
+    GeofenceActionEnum(String action) {
+        this.action = action;
+    }
+
+    @JsonValue
+    public String getAction() {
+        return action;
+    }
+}
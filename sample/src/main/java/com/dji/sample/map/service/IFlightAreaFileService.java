@@ -19,6 +19,8 @@ public interface IFlightAreaFileService {
 
     Integer setNonLatestByWorkspaceId(String workspaceId);
 
+    Integer setNonLatestByFileId(String fileId);
+
     Optional<FlightAreaFileDTO> getLatestByWorkspaceId(String workspaceId);
 
     FlightAreaFileDTO packageFlightAreaFile(String workspaceId, List<FlightAreaDTO> flightAreas);
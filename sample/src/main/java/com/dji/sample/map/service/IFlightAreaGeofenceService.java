@@ -0,0 +1,19 @@
+package com.dji.sample.map.service;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public interface IFlightAreaGeofenceService {
+
+    /**
+     * Evaluate the position of the drone against the flight areas of the workspace,
+     * and notify the web when the drone enters, approaches or exits an area.
+     * @param workspaceId
+     * @param droneSn
+     * @param longitude
+     * @param latitude
+     */
+    void evaluate(String workspaceId, String droneSn, Float longitude, Float latitude);
+}
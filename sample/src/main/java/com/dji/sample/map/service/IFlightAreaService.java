@@ -2,8 +2,11 @@ package com.dji.sample.map.service;
 
 import com.dji.sample.map.model.dto.FlightAreaDTO;
 import com.dji.sample.map.model.dto.FlightAreaFileDTO;
+import com.dji.sample.map.model.dto.FlightAreaSyncJobDTO;
+import com.dji.sample.map.model.dto.NearbyFlightAreaDTO;
 import com.dji.sample.map.model.param.PostFlightAreaParam;
 import com.dji.sample.map.model.param.PutFlightAreaParam;
+import com.dji.sample.map.util.SpatialIndex;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,10 +24,45 @@ public interface IFlightAreaService {
 
     void createFlightArea(String workspaceId, String username, PostFlightAreaParam param);
 
-    void syncFlightArea(String workspaceId, List<String> deviceSns);
+    /**
+     * Start syncing the flight areas to the devices. The devices are notified in the background.
+     * @param workspaceId
+     * @param deviceSns
+     * @return the progress of the sync.
+     */
+    FlightAreaSyncJobDTO syncFlightArea(String workspaceId, List<String> deviceSns);
+
+    Optional<FlightAreaSyncJobDTO> getSyncJob(String workspaceId, String jobId);
 
     FlightAreaFileDTO packageFlightArea(String workspaceId);
 
+    /**
+     * The index of all the flight areas of the workspace. It's rebuilt after the flight areas change.
+     * @param workspaceId
+     * @return
+     */
+    SpatialIndex<FlightAreaDTO> getFlightAreaIndex(String workspaceId);
+
+    /**
+     * The index of the flight areas of the workspace without waiting for it, which can be one refresh out of date.
+     * The refresh runs in the background when it's due, so it never builds the index on the calling thread.
+     * @param workspaceId
+     * @return empty until the first index of the workspace is built.
+     */
+    Optional<SpatialIndex<FlightAreaDTO>> findFlightAreaIndex(String workspaceId);
+
+    /**
+     * @return the flight areas whose bounding box intersects the box.
+     */
+    List<FlightAreaDTO> getFlightAreasInBox(String workspaceId, double minLongitude, double minLatitude,
+                                            double maxLongitude, double maxLatitude);
+
+    /**
+     * @param radius meters
+     * @return the flight areas within the radius of the position, the nearest first.
+     */
+    List<NearbyFlightAreaDTO> getFlightAreasNearby(String workspaceId, double longitude, double latitude, double radius);
+
     void deleteFlightArea(String workspaceId, String areaId);
 
     void updateFlightArea(String workspaceId, String areaId, PutFlightAreaParam param);
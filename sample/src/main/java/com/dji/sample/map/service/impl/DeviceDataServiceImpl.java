@@ -15,6 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -43,11 +44,13 @@ public class DeviceDataServiceImpl implements IDeviceDataService {
         if (CollectionUtils.isEmpty(devices)) {
             throw new RuntimeException(CommonErrorEnum.ILLEGAL_ARGUMENT.getMessage());
         }
+        Map<String, Boolean> onlineMap = deviceRedisService.checkDevicesOnline(
+                devices.stream().map(DeviceDTO::getDeviceSn).collect(Collectors.toList()));
         return devices.stream().map(device -> DeviceDataStatusDTO.builder()
                         .deviceName(device.getDeviceName())
                         .deviceSn(device.getDeviceSn())
                         .nickname(device.getNickname())
-                        .online(deviceRedisService.checkDeviceOnline(device.getDeviceSn()))
+                        .online(onlineMap.get(device.getDeviceSn()))
                         .flightAreaStatus(getDeviceStatus(workspaceId, device.getDeviceSn()).orElse(null))
                         .build())
                 .filter(device -> Objects.nonNull(device.getFlightAreaStatus()))
@@ -2,6 +2,7 @@ package com.dji.sample.map.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.dji.sample.component.mybatis.BatchInsertExecutor;
 import com.dji.sample.map.dao.IElementCoordinateMapper;
 import com.dji.sample.map.model.entity.ElementCoordinateEntity;
 import com.dji.sample.map.service.IElementCoordinateService;
@@ -10,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,6 +27,9 @@ public class ElementCoordinateServiceImpl implements IElementCoordinateService {
     @Autowired
     private IElementCoordinateMapper mapper;
 
+    @Autowired
+    private BatchInsertExecutor batchInsertExecutor;
+
     @Override
     public List<ElementCoordinate> getCoordinateByElementId(String elementId) {
         return mapper.selectList(
@@ -37,16 +42,13 @@ public class ElementCoordinateServiceImpl implements IElementCoordinateService {
 
     @Override
     public Boolean saveCoordinate(List<ElementCoordinate> coordinateList, String elementId) {
+        List<ElementCoordinateEntity> entities = new ArrayList<>(coordinateList.size());
         for (ElementCoordinate coordinate : coordinateList) {
             ElementCoordinateEntity entity = this.dtoConvertToEntity(coordinate);
             entity.setElementId(elementId);
-
-            int insert = mapper.insert(entity);
-            if (insert <= 0) {
-                return false;
-            }
+            entities.add(entity);
         }
-        return true;
+        return batchInsertExecutor.insert(mapper, entities) == entities.size();
     }
 
     @Override
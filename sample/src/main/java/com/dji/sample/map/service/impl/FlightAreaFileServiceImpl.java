@@ -16,19 +16,20 @@ import com.dji.sdk.cloudapi.map.ElementCircleGeometry;
 import com.dji.sdk.cloudapi.map.ElementPointGeometry;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author sean
@@ -57,6 +58,11 @@ public class FlightAreaFileServiceImpl implements IFlightAreaFileService {
     @Autowired
     private IFlightAreaPropertyServices flightAreaPropertyServices;
 
+    /**
+     * The serialized features of each workspace, keyed by the area id.
+     */
+    private final Map<String, Map<String, FeatureFragment>> fragments = new ConcurrentHashMap<>();
+
     @Override
     public Optional<FlightAreaFileDTO> getFlightAreaFileByFileId(String fileId) {
         return Optional.ofNullable(mapper.selectOne(Wrappers.lambdaQuery(FlightAreaFileEntity.class)
@@ -71,7 +77,11 @@ public class FlightAreaFileServiceImpl implements IFlightAreaFileService {
         return id > 0 ? entity.getId() : id;
     }
 
+    /**
+     * It's called after the commit of the flight area changes, when joining that transaction would not commit it.
+     */
     @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public Integer setNonLatestByWorkspaceId(String workspaceId) {
         return mapper.update(FlightAreaFileEntity.builder().latest(false).build(),
                 Wrappers.lambdaUpdate(FlightAreaFileEntity.class)
@@ -79,6 +89,14 @@ public class FlightAreaFileServiceImpl implements IFlightAreaFileService {
                         .eq(FlightAreaFileEntity::getLatest, true));
     }
 
+    @Override
+    public Integer setNonLatestByFileId(String fileId) {
+        return mapper.update(FlightAreaFileEntity.builder().latest(false).build(),
+                Wrappers.lambdaUpdate(FlightAreaFileEntity.class)
+                        .eq(FlightAreaFileEntity::getFileId, fileId)
+                        .eq(FlightAreaFileEntity::getLatest, true));
+    }
+
     @Override
     public Optional<FlightAreaFileDTO> getLatestByWorkspaceId(String workspaceId) {
         return Optional.ofNullable(mapper.selectOne(Wrappers.lambdaQuery(FlightAreaFileEntity.class)
@@ -103,34 +121,61 @@ public class FlightAreaFileServiceImpl implements IFlightAreaFileService {
         return file;
     }
 
+    /**
+     * The features are written one by one from the cached fragments, through both digests in one pass.
+     * The upload is skipped if a file with the same content has been uploaded.
+     */
     private FlightAreaFileDTO generateFlightAreaFile(String workspaceId, List<FlightAreaDTO> flightAreas) {
-
-        FlightAreaJson flightAreaJson = new FlightAreaJson()
-                .setFeatures(flightAreas.stream()
-                        .map(this::generateFlightAreaFeature)
-                        .collect(Collectors.toList()));
-        try (ByteArrayOutputStream os = new ByteArrayOutputStream(64);
-             JsonGenerator generator = objectMapper.createGenerator(os);) {
-            generator.writePOJO(flightAreaJson);
-            try (ByteArrayInputStream is = new ByteArrayInputStream(os.toByteArray())) {
-                String name = String.format("geofence_%s.json", org.springframework.util.DigestUtils.md5DigestAsHex(is));
-                is.reset();
-                String objectKey = OssConfiguration.objectDirPrefix + "/" + name;
-                ossServiceContext.putObject(OssConfiguration.bucket, objectKey, is);
-                return FlightAreaFileDTO.builder()
-                        .name(name)
-                        .objectKey(objectKey)
-                        .fileId(UUID.randomUUID().toString())
-                        .size(os.size())
-                        .workspaceId(workspaceId)
-                        .sign(DigestUtils.sha256Hex(os.toByteArray()))
-                        .latest(true)
-                        .build();
+        Map<String, FeatureFragment> cached = fragments.getOrDefault(workspaceId, Collections.emptyMap());
+        Map<String, FeatureFragment> current = new HashMap<>();
+
+        MessageDigest md5 = DigestUtils.getMd5Digest();
+        MessageDigest sha256 = DigestUtils.getSha256Digest();
+        ByteArrayOutputStream os = new ByteArrayOutputStream(64);
+        try (JsonGenerator generator = objectMapper.createGenerator(
+                new DigestOutputStream(new DigestOutputStream(os, md5), sha256))) {
+            generator.writeStartObject();
+            generator.writeStringField("type", new FlightAreaJson().getType());
+            generator.writeArrayFieldStart("features");
+            for (FlightAreaDTO area : flightAreas) {
+                String stamp = area.getUpdateTime() + ":" + area.getType() + ":" + area.getStatus();
+                FeatureFragment fragment = cached.get(area.getAreaId());
+                if (Objects.isNull(fragment) || !fragment.stamp.equals(stamp)) {
+                    fragment = new FeatureFragment(stamp, objectMapper.writeValueAsString(generateFlightAreaFeature(area)));
+                }
+                current.put(area.getAreaId(), fragment);
+                generator.writeRawValue(fragment.json);
             }
+            generator.writeEndArray();
+            generator.writeEndObject();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
-
+        // The fragments of the deleted areas are dropped.
+        fragments.put(workspaceId, current);
+
+        String name = String.format("geofence_%s.json", Hex.encodeHexString(md5.digest()));
+        String sign = Hex.encodeHexString(sha256.digest());
+        String objectKey = OssConfiguration.objectDirPrefix + "/" + name;
+        boolean uploaded = mapper.selectCount(Wrappers.lambdaQuery(FlightAreaFileEntity.class)
+                .eq(FlightAreaFileEntity::getObjectKey, objectKey)
+                .eq(FlightAreaFileEntity::getSign, sign)) > 0;
+        if (!uploaded) {
+            try (ByteArrayInputStream is = new ByteArrayInputStream(os.toByteArray())) {
+                ossServiceContext.putObject(OssConfiguration.bucket, objectKey, is);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return FlightAreaFileDTO.builder()
+                .name(name)
+                .objectKey(objectKey)
+                .fileId(UUID.randomUUID().toString())
+                .size(os.size())
+                .workspaceId(workspaceId)
+                .sign(sign)
+                .latest(true)
+                .build();
     }
 
     private FlightAreaFeature generateFlightAreaFeature(FlightAreaDTO area) {
@@ -181,4 +226,19 @@ public class FlightAreaFileServiceImpl implements IFlightAreaFileService {
                 .latest(dto.getLatest())
                 .build();
     }
+
+    /**
+     * The serialized feature of an area. It's reused until the stamp of the area changes.
+     */
+    private static class FeatureFragment {
+
+        private final String stamp;
+
+        private final String json;
+
+        private FeatureFragment(String stamp, String json) {
+            this.stamp = stamp;
+            this.json = json;
+        }
+    }
 }
@@ -0,0 +1,255 @@
+package com.dji.sample.map.service.impl;
+
+import com.dji.sample.component.websocket.model.BizCodeEnum;
+import com.dji.sample.component.websocket.service.IWebSocketMessageService;
+import com.dji.sample.map.model.dto.FlightAreaDTO;
+import com.dji.sample.map.model.dto.GeofenceAlertDTO;
+import com.dji.sample.map.model.enums.GeofenceActionEnum;
+import com.dji.sample.map.service.IFlightAreaGeofenceService;
+import com.dji.sample.map.service.IFlightAreaService;
+import com.dji.sample.map.util.GeoShape;
+import com.dji.sample.map.util.SpatialIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluate the positions of the drones against the flight areas of their workspaces.
+ *
+ * Each fix is answered by the spatial index of the workspace, only the areas within
+ * flight-area.geofence.approach-distance + flight-area.geofence.search-margin are checked.
+ * After a fix, the drone has to move at least the distance to the nearest boundary or approach line
+ * before it can cross one, so the fixes closer than that to the last evaluated one are skipped
+ * without looking up the index, which is checked for changes once a second at most.
+ * The index is never built on the thread of the fix, the fix is evaluated against the current index
+ * while the new one is built in the background.
+ * Only the changes are pushed to the web: entering an area, approaching it, and leaving its inside.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Service
+@Slf4j
+public class FlightAreaGeofenceServiceImpl implements IFlightAreaGeofenceService {
+
+    public static final String EVALUATE = "flight_area.geofence.evaluate";
+
+    public static final String SKIPPED = "flight_area.geofence.skipped";
+
+    private static final long IDLE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * How often a drone that has not moved far enough checks whether the flight areas have changed.
+     */
+    private static final long INDEX_CHECK_MILLIS = 1000;
+
+    @Value("${flight-area.geofence.enabled: true}")
+    private boolean enabled;
+
+    @Value("${flight-area.geofence.approach-distance: 100}")
+    private double approachDistance;
+
+    @Value("${flight-area.geofence.search-margin: 500}")
+    private double searchMargin;
+
+    @Autowired
+    private IFlightAreaService flightAreaService;
+
+    @Autowired
+    private IWebSocketMessageService webSocketMessageService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, DroneState> states = new ConcurrentHashMap<>();
+
+    private Timer evaluateTimer;
+
+    private Counter skipped;
+
+    @PostConstruct
+    private void init() {
+        evaluateTimer = Timer.builder(EVALUATE).description("The time to evaluate a position against the flight areas.")
+                .register(meterRegistry);
+        skipped = Counter.builder(SKIPPED).description("The positions skipped because no boundary can be crossed.")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void evaluate(String workspaceId, String droneSn, Float longitude, Float latitude) {
+        evaluate(workspaceId, droneSn, longitude, latitude, System.currentTimeMillis());
+    }
+
+    void evaluate(String workspaceId, String droneSn, Float longitude, Float latitude, long now) {
+        if (!enabled || Objects.isNull(workspaceId) || Objects.isNull(longitude) || Objects.isNull(latitude)
+                || (longitude == 0 && latitude == 0)) {
+            return;
+        }
+        DroneState state = states.computeIfAbsent(droneSn, key -> new DroneState());
+        List<GeofenceAlertDTO> alerts;
+        synchronized (state) {
+            state.lastFixMillis = now;
+            if (!workspaceId.equals(state.workspaceId)) {
+                state.workspaceId = workspaceId;
+                state.index = null;
+                state.areas = Map.of();
+                state.longitude = Double.NaN;
+                state.latitude = Double.NaN;
+            }
+            boolean near = moved(state, longitude, latitude) < state.skipDistance;
+            if (near && now - state.indexCheckedMillis < INDEX_CHECK_MILLIS) {
+                skipped.increment();
+                return;
+            }
+            // Never waits for the index, the positions before the first index of the workspace are not evaluated.
+            Optional<SpatialIndex<FlightAreaDTO>> index = flightAreaService.findFlightAreaIndex(workspaceId);
+            if (index.isEmpty()) {
+                return;
+            }
+            state.indexCheckedMillis = now;
+            if (near && index.get() == state.index) {
+                skipped.increment();
+                return;
+            }
+            long start = System.nanoTime();
+            alerts = evaluate(state, index.get(), droneSn, longitude, latitude);
+            evaluateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        alerts.forEach(alert -> webSocketMessageService.sendBatch(workspaceId,
+                BizCodeEnum.FLIGHT_AREAS_GEOFENCE_ALERT.getCode(), alert));
+    }
+
+    private List<GeofenceAlertDTO> evaluate(DroneState state, SpatialIndex<FlightAreaDTO> index,
+                                            String droneSn, float longitude, float latitude) {
+        List<GeofenceAlertDTO> alerts = new ArrayList<>();
+        Map<String, AreaState> areas = new HashMap<>();
+        Map<String, Double> distances = new HashMap<>();
+        double skipDistance = searchMargin;
+        for (SpatialIndex.Neighbor<FlightAreaDTO> neighbor : index.nearby(longitude, latitude, approachDistance + searchMargin)) {
+            FlightAreaDTO area = neighbor.getValue();
+            if (!Boolean.TRUE.equals(area.getStatus())) {
+                continue;
+            }
+            double signedDistance = neighbor.getSignedDistance();
+            skipDistance = Math.min(skipDistance,
+                    Math.min(Math.abs(signedDistance), Math.abs(signedDistance - approachDistance)));
+            distances.put(area.getAreaId(), neighbor.getDistance());
+            if (signedDistance > approachDistance) {
+                continue;
+            }
+            boolean inside = signedDistance <= 0;
+            AreaState last = state.areas.get(area.getAreaId());
+            if (inside && (Objects.isNull(last) || !last.inside)) {
+                alerts.add(alert(area, GeofenceActionEnum.ENTER, neighbor.getDistance(), droneSn, longitude, latitude));
+            } else if (!inside && Objects.isNull(last)) {
+                alerts.add(alert(area, GeofenceActionEnum.APPROACH, neighbor.getDistance(), droneSn, longitude, latitude));
+            }
+            areas.put(area.getAreaId(), new AreaState(area, inside));
+        }
+        for (Map.Entry<String, AreaState> last : state.areas.entrySet()) {
+            AreaState current = areas.get(last.getKey());
+            if (last.getValue().inside && (Objects.isNull(current) || !current.inside)) {
+                alerts.add(alert(last.getValue().area, GeofenceActionEnum.EXIT,
+                        distances.get(last.getKey()), droneSn, longitude, latitude));
+            }
+        }
+
+        state.index = index;
+        state.areas = areas;
+        state.longitude = longitude;
+        state.latitude = latitude;
+        state.skipDistance = skipDistance;
+        return alerts;
+    }
+
+    /**
+     * @return the meters moved from the last evaluated position.
+     */
+    private static double moved(DroneState state, float longitude, float latitude) {
+        if (Double.isNaN(state.longitude)) {
+            return Double.MAX_VALUE;
+        }
+        return Math.hypot((longitude - state.longitude) * GeoShape.longitudeMeters(latitude),
+                (latitude - state.latitude) * GeoShape.METERS_PER_DEGREE_LATITUDE);
+    }
+
+    private static GeofenceAlertDTO alert(FlightAreaDTO area, GeofenceActionEnum action, Double distance,
+                                          String droneSn, float longitude, float latitude) {
+        return GeofenceAlertDTO.builder()
+                .sn(droneSn)
+                .areaId(area.getAreaId())
+                .name(area.getName())
+                .type(area.getType())
+                .action(action)
+                .distance(distance)
+                .longitude(longitude)
+                .latitude(latitude)
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    /**
+     * Forget the drones that have not reported their positions for a while.
+     */
+    @Scheduled(initialDelay = 1, fixedRate = 1, timeUnit = TimeUnit.MINUTES)
+    public void removeIdleStates() {
+        long now = System.currentTimeMillis();
+        states.values().removeIf(state -> now - state.lastFixMillis > IDLE_MILLIS);
+    }
+
+    private static class DroneState {
+
+        private String workspaceId;
+
+        /**
+         * The index that the last position was evaluated against. A new index is evaluated again at once.
+         */
+        private SpatialIndex<FlightAreaDTO> index;
+
+        private long indexCheckedMillis;
+
+        private double longitude = Double.NaN;
+
+        private double latitude = Double.NaN;
+
+        /**
+         * The distance that the drone can move without crossing any boundary or approach line.
+         */
+        private double skipDistance;
+
+        /**
+         * The areas within the approach distance at the last evaluated position.
+         */
+        private Map<String, AreaState> areas = Map.of();
+
+        private volatile long lastFixMillis;
+    }
+
+    private static class AreaState {
+
+        private final FlightAreaDTO area;
+
+        private final boolean inside;
+
+        private AreaState(FlightAreaDTO area, boolean inside) {
+            this.area = area;
+            this.inside = inside;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.dji.sample.map.service.impl;
 
 import com.dji.sample.common.error.CommonErrorEnum;
+import com.dji.sample.component.redis.RedisConst;
+import com.dji.sample.component.redis.RedisOpsUtils;
 import com.dji.sample.component.oss.model.OssConfiguration;
 import com.dji.sample.component.oss.service.impl.OssServiceContext;
 import com.dji.sample.component.websocket.model.BizCodeEnum;
@@ -14,6 +16,8 @@ import com.dji.sample.map.model.enums.FlightAreaOpertaionEnum;
 import com.dji.sample.map.model.param.PostFlightAreaParam;
 import com.dji.sample.map.model.param.PutFlightAreaParam;
 import com.dji.sample.map.service.*;
+import com.dji.sample.map.util.GeoShape;
+import com.dji.sample.map.util.SpatialIndex;
 import com.dji.sdk.cloudapi.flightarea.*;
 import com.dji.sdk.cloudapi.flightarea.api.AbstractFlightAreaService;
 import com.dji.sdk.cloudapi.map.*;
@@ -29,12 +33,25 @@ import com.dji.sdk.mqtt.services.TopicServicesResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.CollectionUtils;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -77,6 +94,52 @@ public class FlightAreaServiceImpl extends AbstractFlightAreaService implements
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Value("${flight-area.sync.parallelism: 16}")
+    private int syncParallelism;
+
+    @Value("${flight-area.sync.max-retries: 2}")
+    private int syncMaxRetries;
+
+    @Value("${flight-area.sync.retry-backoff: 2s}")
+    private Duration syncRetryBackoff;
+
+    @Value("${flight-area.file.debounce: 3s}")
+    private Duration packageDebounce;
+
+    private ScheduledExecutorService syncExecutor;
+
+    private final Map<String, ScheduledFuture<?>> packageTasks = new ConcurrentHashMap<>();
+
+    /**
+     * The statuses of a device whose sync has not ended.
+     */
+    private static final Object[] SYNC_IN_PROGRESS = Arrays.stream(FlightAreaSyncStatusEnum.values())
+            .filter(status -> !status.isEnd()).map(FlightAreaSyncStatusEnum::getStatus).toArray();
+
+    /**
+     * How often the index checks the version in redis.
+     */
+    private static final long INDEX_CHECK_INTERVAL_MILLIS = 1000;
+
+    private final Map<String, FlightAreaIndexHolder> flightAreaIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * The running refresh of the index of each workspace, the other callers wait for it instead of building another one.
+     */
+    private final Map<String, CompletableFuture<SpatialIndex<FlightAreaDTO>>> indexRefreshes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    private void init() {
+        AtomicInteger index = new AtomicInteger();
+        syncExecutor = Executors.newScheduledThreadPool(syncParallelism,
+                runnable -> new Thread(runnable, "flight-area-sync-" + index.incrementAndGet()));
+    }
+
+    @PreDestroy
+    private void destroy() {
+        syncExecutor.shutdown();
+    }
+
     @Override
     public Optional<FlightAreaDTO> getFlightAreaByAreaId(String areaId) {
         List<FlightAreaPropertyDTO> properties = flightAreaPropertyServices.getPropertyByElementIds(List.of(areaId));
@@ -139,7 +202,7 @@ public class FlightAreaServiceImpl extends AbstractFlightAreaService implements
         if (id <= 0) {
             throw new RuntimeException("Failed to save flight area properties.");
         }
-        flightAreaFileService.setNonLatestByWorkspaceId(workspaceId);
+        flightAreasChanged(workspaceId);
 
         webSocketMessageService.sendBatch(workspaceId, BizCodeEnum.FLIGHT_AREAS_UPDATE.getCode(),
                 FlightAreaWs.builder()
@@ -156,24 +219,236 @@ public class FlightAreaServiceImpl extends AbstractFlightAreaService implements
     }
 
     @Override
-    public void syncFlightArea(String workspaceId, List<String> deviceSns) {
-        for (String deviceSn : deviceSns) {
-            Optional<DeviceDTO> deviceOpt = deviceRedisService.getDeviceOnline(deviceSn);
-            if (deviceOpt.isEmpty() || !workspaceId.equals(deviceOpt.get().getWorkspaceId())) {
-                throw new RuntimeException(CommonErrorEnum.ILLEGAL_ARGUMENT.getMessage());
+    public FlightAreaSyncJobDTO syncFlightArea(String workspaceId, List<String> deviceSns) {
+        Map<String, DeviceDTO> devices = deviceRedisService.getDevicesOnline(deviceSns);
+        if (devices.size() != new HashSet<>(deviceSns).size()
+                || devices.values().stream().anyMatch(device -> !workspaceId.equals(device.getWorkspaceId()))) {
+            throw new RuntimeException(CommonErrorEnum.ILLEGAL_ARGUMENT.getMessage());
+        }
+        // Package once before the devices come to get the file.
+        packageFlightArea(workspaceId);
+
+        // The progress is kept in redis, because the progress events may be received by another instance.
+        String jobId = UUID.randomUUID().toString();
+        String jobKey = workspaceId + RedisConst.DELIMITER + jobId;
+        String key = RedisConst.FLIGHT_AREA_SYNC_PREFIX + jobKey;
+        Map<String, String> progress = new HashMap<>();
+        devices.keySet().forEach(deviceSn -> {
+            progress.put(deviceSn, FlightAreaSyncStatusEnum.WAIT_SYNC.getStatus());
+            RedisOpsUtils.hashSet(key, deviceSn, FlightAreaSyncStatusEnum.WAIT_SYNC.getStatus());
+            Object previousJobKey = RedisOpsUtils.getAndSetWithExpire(RedisConst.FLIGHT_AREA_SYNC_DEVICE_PREFIX + deviceSn,
+                    jobKey, RedisConst.FLIGHT_AREA_SYNC_ALIVE_SECOND);
+            if (Objects.nonNull(previousJobKey)) {
+                supersedeSyncJob(String.valueOf(previousJobKey), deviceSn, jobId);
             }
+        });
+        RedisOpsUtils.expireKey(key, RedisConst.FLIGHT_AREA_SYNC_ALIVE_SECOND);
+
+        notifyFlightAreasUpdate(key, devices.keySet());
+        return FlightAreaSyncJobDTO.builder().jobId(jobId).devices(progress).finished(false).build();
+    }
+
+    /**
+     * The progress events of a device only complete its latest job, so the device is failed in its previous job,
+     * unless the previous job has already ended for it. The new job syncs the latest file to the device.
+     */
+    private void supersedeSyncJob(String previousJobKey, String deviceSn, String jobId) {
+        if (RedisOpsUtils.hashReplace(RedisConst.FLIGHT_AREA_SYNC_PREFIX + previousJobKey, deviceSn,
+                FlightAreaSyncStatusEnum.FAIL.getStatus(), SYNC_IN_PROGRESS)) {
+            log.info("The flight area sync of {} in the job {} is superseded by the job {}.", deviceSn, previousJobKey, jobId);
+        }
+    }
+
+    /**
+     * Notify the devices in parallel on the sync executor.
+     */
+    void notifyFlightAreasUpdate(String key, Collection<String> deviceSns) {
+        deviceSns.forEach(deviceSn -> syncExecutor.execute(() -> notifyFlightAreasUpdate(key, deviceSn, 0)));
+    }
+
+    /**
+     * Notify the device to get the flight area file. The failed notification is sent again after the backoff.
+     */
+    private void notifyFlightAreasUpdate(String key, String deviceSn, int attempt) {
+        String message;
+        try {
             TopicServicesResponse<ServicesReplyData> response = abstractFlightAreaService.flightAreasUpdate(SDKManager.getDeviceSDK(deviceSn));
-            if (!response.getData().getResult().isSuccess()) {
-                throw new RuntimeException(response.getData().getResult().getMessage());
+            if (response.getData().getResult().isSuccess()) {
+                return;
             }
+            message = response.getData().getResult().getMessage();
+        } catch (RuntimeException e) {
+            message = e.getMessage();
         }
-        packageFlightArea(workspaceId);
+        if (attempt < syncMaxRetries) {
+            long delay = syncRetryBackoff.toMillis() << attempt;
+            log.warn("Failed to notify {} to sync the flight areas, retry in {} ms. {}", deviceSn, delay, message);
+            syncExecutor.schedule(() -> notifyFlightAreasUpdate(key, deviceSn, attempt + 1), delay, TimeUnit.MILLISECONDS);
+            return;
+        }
+        log.error("Failed to notify {} to sync the flight areas after {} attempts. {}", deviceSn, attempt + 1, message);
+        // The progress events may have ended the sync in the meantime, then the end status is kept.
+        RedisOpsUtils.hashReplace(key, deviceSn, FlightAreaSyncStatusEnum.FAIL.getStatus(), SYNC_IN_PROGRESS);
     }
 
+    @Override
+    public Optional<FlightAreaSyncJobDTO> getSyncJob(String workspaceId, String jobId) {
+        String key = RedisConst.FLIGHT_AREA_SYNC_PREFIX + workspaceId + RedisConst.DELIMITER + jobId;
+        Map<String, String> devices = new HashMap<>();
+        RedisOpsUtils.hashGetAll(key).forEach((deviceSn, status) -> devices.put(String.valueOf(deviceSn), String.valueOf(status)));
+        if (devices.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(FlightAreaSyncJobDTO.builder()
+                .jobId(jobId)
+                .devices(devices)
+                .finished(devices.values().stream().map(FlightAreaSyncStatusEnum::find).allMatch(FlightAreaSyncStatusEnum::isEnd))
+                .build());
+    }
+
+    /**
+     * The version is read before the flight areas and again after the file is saved as the latest one.
+     * A change of the areas sets the version before it sets the latest file non-latest, so a file packaged from
+     * the areas older than the change is either set non-latest by the change or discarded here.
+     * The discarded file is still returned, the change packages the new one.
+     */
     @Override
     public FlightAreaFileDTO packageFlightArea(String workspaceId) {
+        Object version = getFlightAreaVersion(workspaceId);
         List<FlightAreaDTO> flightAreas = getFlightAreaList(workspaceId);
-        return flightAreaFileService.packageFlightAreaFile(workspaceId, flightAreas);
+        FlightAreaFileDTO file = flightAreaFileService.packageFlightAreaFile(workspaceId, flightAreas);
+        if (!Objects.equals(version, getFlightAreaVersion(workspaceId))) {
+            log.info("The flight areas of the workspace {} changed while packaging, the file {} is discarded.",
+                    workspaceId, file.getFileId());
+            flightAreaFileService.setNonLatestByFileId(file.getFileId());
+            file.setLatest(false);
+        }
+        return file;
+    }
+
+    /**
+     * The version is changed by the instance that edits the flight areas, after the edit is committed.
+     */
+    Object getFlightAreaVersion(String workspaceId) {
+        return RedisOpsUtils.get(RedisConst.FLIGHT_AREA_VERSION_PREFIX + workspaceId);
+    }
+
+    @Override
+    public SpatialIndex<FlightAreaDTO> getFlightAreaIndex(String workspaceId) {
+        FlightAreaIndexHolder holder = flightAreaIndexes.get(workspaceId);
+        if (Objects.nonNull(holder) && System.currentTimeMillis() - holder.checkedAt < INDEX_CHECK_INTERVAL_MILLIS) {
+            return holder.index;
+        }
+        CompletableFuture<SpatialIndex<FlightAreaDTO>> refresh = new CompletableFuture<>();
+        CompletableFuture<SpatialIndex<FlightAreaDTO>> running = indexRefreshes.putIfAbsent(workspaceId, refresh);
+        if (Objects.nonNull(running)) {
+            return running.join();
+        }
+        refreshIndex(workspaceId, refresh);
+        return refresh.join();
+    }
+
+    @Override
+    public Optional<SpatialIndex<FlightAreaDTO>> findFlightAreaIndex(String workspaceId) {
+        FlightAreaIndexHolder holder = flightAreaIndexes.get(workspaceId);
+        if (Objects.isNull(holder) || System.currentTimeMillis() - holder.checkedAt >= INDEX_CHECK_INTERVAL_MILLIS) {
+            CompletableFuture<SpatialIndex<FlightAreaDTO>> refresh = new CompletableFuture<>();
+            if (Objects.isNull(indexRefreshes.putIfAbsent(workspaceId, refresh))) {
+                refresh.exceptionally(e -> {
+                    log.error("Failed to refresh the flight area index of the workspace {}.", workspaceId, e);
+                    return null;
+                });
+                syncExecutor.execute(() -> refreshIndex(workspaceId, refresh));
+            }
+        }
+        return Optional.ofNullable(holder).map(current -> current.index);
+    }
+
+    private void refreshIndex(String workspaceId, CompletableFuture<SpatialIndex<FlightAreaDTO>> refresh) {
+        try {
+            refresh.complete(loadIndex(workspaceId));
+        } catch (RuntimeException e) {
+            refresh.completeExceptionally(e);
+        } finally {
+            indexRefreshes.remove(workspaceId, refresh);
+        }
+    }
+
+    /**
+     * The version is read before the flight areas, so an index built from the areas older than the version is rebuilt.
+     */
+    private SpatialIndex<FlightAreaDTO> loadIndex(String workspaceId) {
+        long now = System.currentTimeMillis();
+        Object version = getFlightAreaVersion(workspaceId);
+        FlightAreaIndexHolder holder = flightAreaIndexes.get(workspaceId);
+        if (Objects.nonNull(holder) && Objects.equals(version, holder.version)) {
+            holder.checkedAt = now;
+            return holder.index;
+        }
+        List<SpatialIndex.Entry<FlightAreaDTO>> entries = new ArrayList<>();
+        getFlightAreaList(workspaceId).forEach(area -> GeoShape.of(area.getContent().getGeometry())
+                .ifPresent(shape -> entries.add(new SpatialIndex.Entry<>(area, shape))));
+        SpatialIndex<FlightAreaDTO> index = new SpatialIndex<>(entries);
+        flightAreaIndexes.put(workspaceId, new FlightAreaIndexHolder(version, now, index));
+        return index;
+    }
+
+    @Override
+    public List<FlightAreaDTO> getFlightAreasInBox(String workspaceId, double minLongitude, double minLatitude,
+                                                   double maxLongitude, double maxLatitude) {
+        return getFlightAreaIndex(workspaceId).search(minLongitude, minLatitude, maxLongitude, maxLatitude);
+    }
+
+    @Override
+    public List<NearbyFlightAreaDTO> getFlightAreasNearby(String workspaceId, double longitude, double latitude, double radius) {
+        return getFlightAreaIndex(workspaceId).nearby(longitude, latitude, radius).stream()
+                .map(neighbor -> NearbyFlightAreaDTO.builder().area(neighbor.getValue()).distance(neighbor.getDistance()).build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The packaged file and the indexes are out of date after the flight areas of the workspace change.
+     * The version is changed after the commit, so the indexes and the files are not rebuilt from the old data,
+     * and before the latest file is set non-latest, see {@link #packageFlightArea(String)}.
+     */
+    private void flightAreasChanged(String workspaceId) {
+        Runnable changeVersion = () -> {
+            RedisOpsUtils.set(RedisConst.FLIGHT_AREA_VERSION_PREFIX + workspaceId, UUID.randomUUID().toString());
+            // The old index is still served without waiting until the new one is built.
+            Optional.ofNullable(flightAreaIndexes.get(workspaceId)).ifPresent(holder -> holder.checkedAt = 0);
+            flightAreaFileService.setNonLatestByWorkspaceId(workspaceId);
+            schedulePackage(workspaceId);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changeVersion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changeVersion.run();
+            }
+        });
+    }
+
+    /**
+     * Package the file after the edits have stopped for flight-area.file.debounce, so a burst of edits is packaged once
+     * and the devices don't wait for the packaging.
+     */
+    private void schedulePackage(String workspaceId) {
+        packageTasks.compute(workspaceId, (key, task) -> {
+            if (Objects.nonNull(task)) {
+                task.cancel(false);
+            }
+            return syncExecutor.schedule(() -> {
+                packageTasks.remove(workspaceId);
+                try {
+                    packageFlightArea(workspaceId);
+                } catch (RuntimeException e) {
+                    log.error("Failed to package the flight area file of the workspace {}.", workspaceId, e);
+                }
+            }, packageDebounce.toMillis(), TimeUnit.MILLISECONDS);
+        });
     }
 
     @Override
@@ -186,7 +461,7 @@ public class FlightAreaServiceImpl extends AbstractFlightAreaService implements
         if (id <= 0) {
             throw new RuntimeException("Failed to delete the flight area property.");
         }
-        flightAreaFileService.setNonLatestByWorkspaceId(workspaceId);
+        flightAreasChanged(workspaceId);
         webSocketMessageService.sendBatch(workspaceId, BizCodeEnum.FLIGHT_AREAS_UPDATE.getCode(),
                 FlightAreaWs.builder()
                         .operation(FlightAreaOpertaionEnum.DELETE)
@@ -222,7 +497,7 @@ public class FlightAreaServiceImpl extends AbstractFlightAreaService implements
         if (id <= 0) {
             throw new RuntimeException("Failed to update flight area properties.");
         }
-        flightAreaFileService.setNonLatestByWorkspaceId(workspaceId);
+        flightAreasChanged(workspaceId);
         Optional<FlightAreaDTO> areaOpt = getFlightAreaByAreaId(areaId);
         areaOpt.ifPresent(area -> webSocketMessageService.sendBatch(workspaceId,
                 BizCodeEnum.FLIGHT_AREAS_UPDATE.getCode(),
@@ -258,6 +533,10 @@ public class FlightAreaServiceImpl extends AbstractFlightAreaService implements
                 .syncCode(data.getReason())
                 .build();
         deviceFlightAreaService.updateOrSaveDeviceFile(deviceFlightArea);
+        Object jobKey = RedisOpsUtils.get(RedisConst.FLIGHT_AREA_SYNC_DEVICE_PREFIX + request.getGateway());
+        if (Objects.nonNull(jobKey)) {
+            RedisOpsUtils.hashSet(RedisConst.FLIGHT_AREA_SYNC_PREFIX + jobKey, request.getGateway(), data.getStatus().getStatus());
+        }
         webSocketMessageService.sendBatch(workspaceId, BizCodeEnum.FLIGHT_AREAS_SYNC_PROGRESS.getCode(),
                 FlightAreaNotifyDTO.builder()
                         .sn(request.getGateway())
@@ -332,4 +611,19 @@ public class FlightAreaServiceImpl extends AbstractFlightAreaService implements
         }
         return flightArea;
     }
+
+    private static class FlightAreaIndexHolder {
+
+        private final Object version;
+
+        private volatile long checkedAt;
+
+        private final SpatialIndex<FlightAreaDTO> index;
+
+        private FlightAreaIndexHolder(Object version, long checkedAt, SpatialIndex<FlightAreaDTO> index) {
+            this.version = version;
+            this.checkedAt = checkedAt;
+            this.index = index;
+        }
+    }
 }
@@ -0,0 +1,222 @@
+package com.dji.sample.map.util;
+
+import com.dji.sdk.cloudapi.map.ElementCircleGeometry;
+import com.dji.sdk.cloudapi.map.ElementGeometryType;
+import com.dji.sdk.cloudapi.map.ElementLineStringGeometry;
+import com.dji.sdk.cloudapi.map.ElementPointGeometry;
+import com.dji.sdk.cloudapi.map.ElementPolygonGeometry;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The geometry of an element in a form that answers the bounding box and the distance from a position quickly.
+ * The distance is computed on a local plane around the position, which is accurate enough within tens of kilometers.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public final class GeoShape {
+
+    public static final double METERS_PER_DEGREE_LATITUDE = 110_574;
+
+    public static final double METERS_PER_DEGREE_LONGITUDE = 111_320;
+
+    /**
+     * [ring][point][longitude, latitude]. A point has one ring of one point, a line has one open ring.
+     */
+    private final double[][][] rings;
+
+    private final boolean polygon;
+
+    /**
+     * The radius of the circle in meters, 0 for the other shapes.
+     */
+    private final double radius;
+
+    private final double minLongitude;
+
+    private final double minLatitude;
+
+    private final double maxLongitude;
+
+    private final double maxLatitude;
+
+    private GeoShape(double[][][] rings, boolean polygon, double radius) {
+        this.rings = rings;
+        this.polygon = polygon;
+        this.radius = radius;
+        double minLon = Double.MAX_VALUE, minLat = Double.MAX_VALUE, maxLon = -Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+        for (double[][] ring : rings) {
+            for (double[] point : ring) {
+                minLon = Math.min(minLon, point[0]);
+                minLat = Math.min(minLat, point[1]);
+                maxLon = Math.max(maxLon, point[0]);
+                maxLat = Math.max(maxLat, point[1]);
+            }
+        }
+        double latitudeDelta = radius / METERS_PER_DEGREE_LATITUDE;
+        double longitudeDelta = radius / longitudeMeters((minLat + maxLat) / 2);
+        this.minLongitude = minLon - longitudeDelta;
+        this.minLatitude = minLat - latitudeDelta;
+        this.maxLongitude = maxLon + longitudeDelta;
+        this.maxLatitude = maxLat + latitudeDelta;
+    }
+
+    /**
+     * @param geometry
+     * @return empty if the geometry has no coordinates.
+     */
+    public static Optional<GeoShape> of(ElementGeometryType geometry) {
+        if (geometry instanceof ElementCircleGeometry) {
+            ElementCircleGeometry circle = (ElementCircleGeometry) geometry;
+            return point(circle.getCoordinates())
+                    .map(point -> new GeoShape(new double[][][]{{point}}, false, Objects.requireNonNullElse(circle.getRadius(), 0f)));
+        }
+        if (geometry instanceof ElementPointGeometry) {
+            return point(((ElementPointGeometry) geometry).getCoordinates())
+                    .map(point -> new GeoShape(new double[][][]{{point}}, false, 0));
+        }
+        if (geometry instanceof ElementLineStringGeometry) {
+            return ring(((ElementLineStringGeometry) geometry).getCoordinates())
+                    .map(ring -> new GeoShape(new double[][][]{ring}, false, 0));
+        }
+        if (geometry instanceof ElementPolygonGeometry) {
+            Double[][][] coordinates = ((ElementPolygonGeometry) geometry).getCoordinates();
+            if (Objects.isNull(coordinates) || coordinates.length == 0) {
+                return Optional.empty();
+            }
+            double[][][] rings = new double[coordinates.length][][];
+            for (int i = 0; i < coordinates.length; i++) {
+                Optional<double[][]> ring = ring(coordinates[i]);
+                if (ring.isEmpty()) {
+                    return Optional.empty();
+                }
+                rings[i] = ring.get();
+            }
+            return Optional.of(new GeoShape(rings, true, 0));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param longitude
+     * @param latitude
+     * @return the distance in meters from the position to the shape, 0 if the position is inside the shape.
+     */
+    public double distance(double longitude, double latitude) {
+        return Math.max(0, signedDistance(longitude, latitude));
+    }
+
+    /**
+     * @param longitude
+     * @param latitude
+     * @return the distance in meters from the position to the boundary of the shape, negative if the position is inside.
+     */
+    public double signedDistance(double longitude, double latitude) {
+        double kx = longitudeMeters(latitude);
+        double ky = METERS_PER_DEGREE_LATITUDE;
+        double min = Double.MAX_VALUE;
+        for (double[][] ring : rings) {
+            if (ring.length == 1) {
+                min = Math.min(min, Math.hypot((ring[0][0] - longitude) * kx, (ring[0][1] - latitude) * ky));
+                continue;
+            }
+            // The ring of the polygon is closed by joining the last point to the first.
+            for (int i = polygon ? 0 : 1; i < ring.length; i++) {
+                double[] previous = ring[i == 0 ? ring.length - 1 : i - 1];
+                min = Math.min(min, segmentDistance(
+                        (previous[0] - longitude) * kx, (previous[1] - latitude) * ky,
+                        (ring[i][0] - longitude) * kx, (ring[i][1] - latitude) * ky));
+            }
+        }
+        if (polygon) {
+            return contains(longitude, latitude) ? -min : min;
+        }
+        return min - radius;
+    }
+
+    /**
+     * Whether the position is inside the outer ring and outside the holes.
+     */
+    private boolean contains(double longitude, double latitude) {
+        if (longitude < minLongitude || longitude > maxLongitude || latitude < minLatitude || latitude > maxLatitude) {
+            return false;
+        }
+        boolean inside = false;
+        for (double[][] ring : rings) {
+            if (crosses(ring, longitude, latitude)) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Ray casting. The ring is closed by joining the last point to the first.
+     */
+    private static boolean crosses(double[][] ring, double x, double y) {
+        boolean odd = false;
+        for (int i = 0, j = ring.length - 1; i < ring.length; j = i++) {
+            if ((ring[i][1] > y) != (ring[j][1] > y)
+                    && x < (ring[j][0] - ring[i][0]) * (y - ring[i][1]) / (ring[j][1] - ring[i][1]) + ring[i][0]) {
+                odd = !odd;
+            }
+        }
+        return odd;
+    }
+
+    /**
+     * The distance from the origin to the segment.
+     */
+    private static double segmentDistance(double x1, double y1, double x2, double y2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, -(x1 * dx + y1 * dy) / lengthSquared));
+        return Math.hypot(x1 + t * dx, y1 + t * dy);
+    }
+
+    public static double longitudeMeters(double latitude) {
+        return METERS_PER_DEGREE_LONGITUDE * Math.max(Math.cos(Math.toRadians(latitude)), 1e-6);
+    }
+
+    private static Optional<double[]> point(Double[] coordinates) {
+        if (Objects.isNull(coordinates) || coordinates.length < 2 || Objects.isNull(coordinates[0]) || Objects.isNull(coordinates[1])) {
+            return Optional.empty();
+        }
+        return Optional.of(new double[]{coordinates[0], coordinates[1]});
+    }
+
+    private static Optional<double[][]> ring(Double[][] coordinates) {
+        if (Objects.isNull(coordinates) || coordinates.length == 0) {
+            return Optional.empty();
+        }
+        double[][] ring = new double[coordinates.length][];
+        for (int i = 0; i < coordinates.length; i++) {
+            Optional<double[]> point = point(coordinates[i]);
+            if (point.isEmpty()) {
+                return Optional.empty();
+            }
+            ring[i] = point.get();
+        }
+        return Optional.of(ring);
+    }
+
+    public double getMinLongitude() {
+        return minLongitude;
+    }
+
+    public double getMinLatitude() {
+        return minLatitude;
+    }
+
+    public double getMaxLongitude() {
+        return maxLongitude;
+    }
+
+    public double getMaxLatitude() {
+        return maxLatitude;
+    }
+}
@@ -0,0 +1,206 @@
+package com.dji.sample.map.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An immutable R-tree of the shapes, packed by Sort-Tile-Recursive when it is built.
+ * It's rebuilt instead of updated when the shapes change, which takes about 100 ms for 50k shapes.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public final class SpatialIndex<T> {
+
+    private static final int NODE_CAPACITY = 16;
+
+    private final Node root;
+
+    private final int size;
+
+    public SpatialIndex(List<Entry<T>> entries) {
+        this.size = entries.size();
+        List<Node> nodes = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            nodes.add(new Node(entry));
+        }
+        while (nodes.size() > 1) {
+            nodes = pack(nodes);
+        }
+        this.root = nodes.isEmpty() ? null : nodes.get(0);
+    }
+
+    public static <T> SpatialIndex<T> empty() {
+        return new SpatialIndex<>(List.of());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the values whose bounding box intersects the box.
+     */
+    public List<T> search(double minLongitude, double minLatitude, double maxLongitude, double maxLatitude) {
+        List<T> result = new ArrayList<>();
+        SpatialIndex.<T>search(root, minLongitude, minLatitude, maxLongitude, maxLatitude, entry -> result.add(entry.value));
+        return result;
+    }
+
+    /**
+     * @param longitude
+     * @param latitude
+     * @param radius meters
+     * @return the values within the radius of the position, the nearest first.
+     */
+    public List<Neighbor<T>> nearby(double longitude, double latitude, double radius) {
+        double latitudeDelta = radius / GeoShape.METERS_PER_DEGREE_LATITUDE;
+        double longitudeDelta = radius / GeoShape.longitudeMeters(latitude);
+        List<Neighbor<T>> result = new ArrayList<>();
+        SpatialIndex.<T>search(root, longitude - longitudeDelta, latitude - latitudeDelta, longitude + longitudeDelta, latitude + latitudeDelta,
+                entry -> {
+                    double signedDistance = entry.shape.signedDistance(longitude, latitude);
+                    if (signedDistance <= radius) {
+                        result.add(new Neighbor<>(entry.value, signedDistance));
+                    }
+                });
+        result.sort(Comparator.comparingDouble(Neighbor::getSignedDistance));
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void search(Node node, double minLongitude, double minLatitude, double maxLongitude, double maxLatitude,
+                                   Consumer<Entry<T>> consumer) {
+        if (node == null || node.minLongitude > maxLongitude || node.maxLongitude < minLongitude
+                || node.minLatitude > maxLatitude || node.maxLatitude < minLatitude) {
+            return;
+        }
+        if (node.entry != null) {
+            consumer.accept((Entry<T>) node.entry);
+            return;
+        }
+        for (Node child : node.children) {
+            search(child, minLongitude, minLatitude, maxLongitude, maxLatitude, consumer);
+        }
+    }
+
+    /**
+     * Sort the nodes into vertical slices by longitude, then each slice by latitude, and group every NODE_CAPACITY nodes.
+     */
+    private static List<Node> pack(List<Node> nodes) {
+        int parentCount = (nodes.size() + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int sliceCount = (int) Math.ceil(Math.sqrt(parentCount));
+        int sliceSize = sliceCount * NODE_CAPACITY;
+        nodes.sort(Comparator.comparingDouble(Node::centerLongitude));
+        List<Node> parents = new ArrayList<>(parentCount);
+        for (int i = 0; i < nodes.size(); i += sliceSize) {
+            List<Node> slice = new ArrayList<>(nodes.subList(i, Math.min(i + sliceSize, nodes.size())));
+            slice.sort(Comparator.comparingDouble(Node::centerLatitude));
+            for (int j = 0; j < slice.size(); j += NODE_CAPACITY) {
+                parents.add(new Node(slice.subList(j, Math.min(j + NODE_CAPACITY, slice.size())).toArray(new Node[0])));
+            }
+        }
+        return parents;
+    }
+
+    private static class Node {
+
+        private final double minLongitude;
+
+        private final double minLatitude;
+
+        private final double maxLongitude;
+
+        private final double maxLatitude;
+
+        private final Entry<?> entry;
+
+        private final Node[] children;
+
+        private Node(Entry<?> entry) {
+            this.entry = entry;
+            this.children = null;
+            this.minLongitude = entry.shape.getMinLongitude();
+            this.minLatitude = entry.shape.getMinLatitude();
+            this.maxLongitude = entry.shape.getMaxLongitude();
+            this.maxLatitude = entry.shape.getMaxLatitude();
+        }
+
+        private Node(Node[] children) {
+            this.entry = null;
+            this.children = children;
+            double minLon = Double.MAX_VALUE, minLat = Double.MAX_VALUE, maxLon = -Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+            for (Node child : children) {
+                minLon = Math.min(minLon, child.minLongitude);
+                minLat = Math.min(minLat, child.minLatitude);
+                maxLon = Math.max(maxLon, child.maxLongitude);
+                maxLat = Math.max(maxLat, child.maxLatitude);
+            }
+            this.minLongitude = minLon;
+            this.minLatitude = minLat;
+            this.maxLongitude = maxLon;
+            this.maxLatitude = maxLat;
+        }
+
+        private double centerLongitude() {
+            return (minLongitude + maxLongitude) / 2;
+        }
+
+        private double centerLatitude() {
+            return (minLatitude + maxLatitude) / 2;
+        }
+    }
+
+    public static class Entry<T> {
+
+        private final T value;
+
+        private final GeoShape shape;
+
+        public Entry(T value, GeoShape shape) {
+            this.value = value;
+            this.shape = shape;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public GeoShape getShape() {
+            return shape;
+        }
+    }
+
+    public static class Neighbor<T> {
+
+        private final T value;
+
+        private final double signedDistance;
+
+        public Neighbor(T value, double signedDistance) {
+            this.value = value;
+            this.signedDistance = signedDistance;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * @return meters, 0 if the position is inside.
+         */
+        public double getDistance() {
+            return Math.max(0, signedDistance);
+        }
+
+        /**
+         * @return meters to the boundary, negative if the position is inside.
+         */
+        public double getSignedDistance() {
+            return signedDistance;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.dji.sample.map.util;
+
+import java.util.Arrays;
+
+/**
+ * Simplify a track with the Ramer-Douglas-Peucker algorithm.
+ * The positions are projected on a local plane around the first position, like {@link GeoShape}.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public final class TrackSimplifier {
+
+    private TrackSimplifier() {
+    }
+
+    /**
+     * @param longitudes
+     * @param latitudes
+     * @param tolerance meters, the simplified track is within this distance of every position.
+     * @return the indexes of the positions kept, in ascending order. The first and the last positions are always kept.
+     */
+    public static int[] simplify(double[] longitudes, double[] latitudes, double tolerance) {
+        int length = longitudes.length;
+        if (length <= 2 || tolerance <= 0) {
+            int[] all = new int[length];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+        double longitudeMeters = GeoShape.longitudeMeters(latitudes[0]);
+        double[] x = new double[length];
+        double[] y = new double[length];
+        for (int i = 0; i < length; i++) {
+            x[i] = (longitudes[i] - longitudes[0]) * longitudeMeters;
+            y[i] = (latitudes[i] - latitudes[0]) * GeoShape.METERS_PER_DEGREE_LATITUDE;
+        }
+
+        boolean[] keep = new boolean[length];
+        keep[0] = true;
+        keep[length - 1] = true;
+        int kept = 2;
+        double toleranceSquared = tolerance * tolerance;
+        // The ranges to simplify, as pairs of the first and the last index.
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = length - 1;
+        while (top > 0) {
+            int last = stack[--top];
+            int first = stack[--top];
+            int farthest = -1;
+            double farthestSquared = toleranceSquared;
+            for (int i = first + 1; i < last; i++) {
+                double distanceSquared = segmentDistanceSquared(x[i], y[i], x[first], y[first], x[last], y[last]);
+                if (distanceSquared > farthestSquared) {
+                    farthestSquared = distanceSquared;
+                    farthest = i;
+                }
+            }
+            if (farthest < 0) {
+                continue;
+            }
+            keep[farthest] = true;
+            kept++;
+            if (top + 4 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[top++] = first;
+            stack[top++] = farthest;
+            stack[top++] = farthest;
+            stack[top++] = last;
+        }
+
+        int[] indexes = new int[kept];
+        for (int i = 0, j = 0; i < length; i++) {
+            if (keep[i]) {
+                indexes[j++] = i;
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * The distance to the segment instead of the line, so a track that returns to its start is not collapsed.
+     */
+    private static double segmentDistanceSquared(double px, double py, double x1, double y1, double x2, double y2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, ((px - x1) * dx + (py - y1) * dy) / lengthSquared));
+        double ex = px - x1 - t * dx;
+        double ey = py - y1 - t * dy;
+        return ex * ex + ey * ey;
+    }
+}
@@ -1,6 +1,6 @@
 package com.dji.sample.media.dao;
 
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.dji.sample.component.mybatis.BatchBaseMapper;
 import com.dji.sample.media.model.MediaFileEntity;
 
 /**
@@ -8,5 +8,5 @@ import com.dji.sample.media.model.MediaFileEntity;
  * @version 0.2
  * @date 2021/12/9
  */
-public interface IFileMapper extends BaseMapper<MediaFileEntity> {
+public interface IFileMapper extends BatchBaseMapper<MediaFileEntity> {
 }
@@ -5,7 +5,9 @@ import com.dji.sdk.cloudapi.media.MediaUploadCallbackRequest;
 import com.dji.sdk.common.PaginationData;
 
 import java.net.URL;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * @author sean
@@ -30,6 +32,21 @@ public interface IFileService {
      */
     Integer saveFile(String workspaceId, MediaUploadCallbackRequest file);
 
+    /**
+     * Save the basic information of the files to the database with one statement.
+     * @param workspaceId
+     * @param files
+     * @return the number of rows inserted.
+     */
+    Integer saveFiles(String workspaceId, List<MediaUploadCallbackRequest> files);
+
+    /**
+     * @param workspaceId
+     * @param objectKeys
+     * @return the object keys of the files that are already saved in the workspace.
+     */
+    Set<String> getExistObjectKeys(String workspaceId, Collection<String> objectKeys);
+
     /**
      * Query information about all files in this workspace based on the workspace id.
      * @param workspaceId
@@ -2,6 +2,9 @@ package com.dji.sample.media.service;
 
 import com.dji.sample.media.model.MediaFileCountDTO;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * @author sean
  * @version 0.2
@@ -15,6 +18,24 @@ public interface IMediaRedisService {
 
     boolean delMediaCount(String gatewaySn, String jobId);
 
+    /**
+     * Get the counts of the jobs with one HMGET.
+     * @param gatewaySn
+     * @param jobIds
+     * @return the counts by job id, the jobs without a count are absent.
+     */
+    Map<String, MediaFileCountDTO> getMediaCounts(String gatewaySn, Collection<String> jobIds);
+
+    /**
+     * Apply the changes of the counts in one transaction, sent in one pipeline.
+     * @param gatewaySn
+     * @param uploadingCounts the counts to save by job id.
+     * @param uploadedJobIds the jobs whose files have all been uploaded, their counts are deleted.
+     * @param delHighestPriority whether to delete the highest priority of the gateway.
+     */
+    void updateMediaCounts(String gatewaySn, Map<String, MediaFileCountDTO> uploadingCounts,
+                           Collection<String> uploadedJobIds, boolean delHighestPriority);
+
     boolean detMediaCountByDeviceSn(String gatewaySn);
 
     void setMediaHighestPriority(String gatewaySn, MediaFileCountDTO mediaFile);
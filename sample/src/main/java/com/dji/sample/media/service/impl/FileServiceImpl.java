@@ -2,6 +2,7 @@ package com.dji.sample.media.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.dji.sample.component.mybatis.BatchInsertExecutor;
 import com.dji.sample.component.oss.model.OssConfiguration;
 import com.dji.sample.component.oss.service.impl.OssServiceContext;
 import com.dji.sample.manage.model.dto.DeviceDictionaryDTO;
@@ -18,13 +19,16 @@ import com.dji.sdk.common.PaginationData;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
 
 import java.net.URL;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -46,6 +50,9 @@ public class FileServiceImpl implements IFileService {
     @Autowired
     private OssServiceContext ossService;
 
+    @Autowired
+    private BatchInsertExecutor batchInsertExecutor;
+
     private Optional<MediaFileEntity> getMediaByFingerprint(String workspaceId, String fingerprint) {
         MediaFileEntity fileEntity = mapper.selectOne(new LambdaQueryWrapper<MediaFileEntity>()
                 .eq(MediaFileEntity::getWorkspaceId, workspaceId)
@@ -73,6 +80,32 @@ public class FileServiceImpl implements IFileService {
         return mapper.insert(fileEntity);
     }
 
+    @Override
+    public Integer saveFiles(String workspaceId, List<MediaUploadCallbackRequest> files) {
+        List<MediaFileEntity> entities = files.stream()
+                .map(this::fileUploadConvertToEntity)
+                .peek(entity -> {
+                    entity.setWorkspaceId(workspaceId);
+                    entity.setFileId(UUID.randomUUID().toString());
+                })
+                .collect(Collectors.toList());
+        return batchInsertExecutor.insert(mapper, entities);
+    }
+
+    @Override
+    public Set<String> getExistObjectKeys(String workspaceId, Collection<String> objectKeys) {
+        if (CollectionUtils.isEmpty(objectKeys)) {
+            return Set.of();
+        }
+        return mapper.selectList(new LambdaQueryWrapper<MediaFileEntity>()
+                        .select(MediaFileEntity::getObjectKey)
+                        .eq(MediaFileEntity::getWorkspaceId, workspaceId)
+                        .in(MediaFileEntity::getObjectKey, objectKeys))
+                .stream()
+                .map(MediaFileEntity::getObjectKey)
+                .collect(Collectors.toSet());
+    }
+
     @Override
     public List<MediaFileDTO> getAllFilesByWorkspaceId(String workspaceId) {
         return mapper.selectList(new LambdaQueryWrapper<MediaFileEntity>()
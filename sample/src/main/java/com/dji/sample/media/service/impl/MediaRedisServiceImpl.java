@@ -7,6 +7,12 @@ import com.dji.sample.media.service.IMediaRedisService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author sean
  * @version 0.2
@@ -32,6 +38,38 @@ public class MediaRedisServiceImpl implements IMediaRedisService {
         return RedisOpsUtils.hashDel(RedisConst.MEDIA_FILE_PREFIX + gatewaySn, new String[]{jobId});
     }
 
+    @Override
+    public Map<String, MediaFileCountDTO> getMediaCounts(String gatewaySn, Collection<String> jobIds) {
+        List<String> fields = new ArrayList<>(jobIds);
+        List<Object> values = RedisOpsUtils.hashMultiGet(RedisConst.MEDIA_FILE_PREFIX + gatewaySn, fields);
+        Map<String, MediaFileCountDTO> counts = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) != null) {
+                counts.put(fields.get(i), (MediaFileCountDTO) values.get(i));
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public void updateMediaCounts(String gatewaySn, Map<String, MediaFileCountDTO> uploadingCounts,
+                                  Collection<String> uploadedJobIds, boolean delHighestPriority) {
+        String key = RedisConst.MEDIA_FILE_PREFIX + gatewaySn;
+        RedisOpsUtils.pipelined(ops -> {
+            ops.multi();
+            if (!uploadingCounts.isEmpty()) {
+                ops.opsForHash().putAll(key, uploadingCounts);
+            }
+            if (!uploadedJobIds.isEmpty()) {
+                ops.opsForHash().delete(key, uploadedJobIds.toArray());
+            }
+            if (delHighestPriority) {
+                ops.delete(RedisConst.MEDIA_HIGHEST_PRIORITY_PREFIX + gatewaySn);
+            }
+            ops.exec();
+        });
+    }
+
     @Override
     public boolean detMediaCountByDeviceSn(String gatewaySn) {
         return RedisOpsUtils.del(RedisConst.MEDIA_FILE_PREFIX + gatewaySn);
@@ -15,19 +15,36 @@ import com.dji.sample.media.service.IMediaService;
 import com.dji.sample.wayline.service.IWaylineJobService;
 import com.dji.sdk.cloudapi.media.*;
 import com.dji.sdk.cloudapi.media.api.AbstractMediaService;
+import com.dji.sdk.mqtt.MqttGatewayPublish;
 import com.dji.sdk.mqtt.MqttReply;
 import com.dji.sdk.mqtt.events.TopicEventsRequest;
 import com.dji.sdk.mqtt.events.TopicEventsResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.MessageHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -60,6 +77,32 @@ public class MediaServiceImpl extends AbstractMediaService implements IMediaServ
     @Autowired
     private IMediaRedisService mediaRedisService;
 
+    @Autowired
+    private MqttGatewayPublish gatewayPublish;
+
+    @Value("${media.upload-callback.batch-window: 200ms}")
+    private Duration batchWindow;
+
+    @Value("${media.upload-callback.max-batch-size: 500}")
+    private int maxBatchSize;
+
+    @Value("${media.upload-callback.flush-parallelism: 2}")
+    private int flushParallelism;
+
+    private final Map<String, PendingUploads> pendingUploads = new ConcurrentHashMap<>();
+
+    /**
+     * Saves the batches, so neither the inbound mqtt threads nor the scheduler wait for the database.
+     */
+    private ExecutorService flushExecutor;
+
+    @PostConstruct
+    private void init() {
+        AtomicInteger index = new AtomicInteger();
+        flushExecutor = Executors.newFixedThreadPool(flushParallelism,
+                runnable -> new Thread(runnable, "media-upload-flush-" + index.incrementAndGet()));
+    }
+
     @Override
     public Boolean fastUpload(String workspaceId, String fingerprint) {
         return fileService.checkExist(workspaceId, fingerprint);
@@ -88,6 +131,16 @@ public class MediaServiceImpl extends AbstractMediaService implements IMediaServ
 
     }
 
+    /**
+     * The callbacks of a dock are collected for media.upload-callback.batch-window and saved together
+     * on the flush threads: the files are inserted with one statement, the counts are updated in one redis transaction,
+     * and the web is notified once for each job in the batch. The notification stays one message per job,
+     * because the web takes the count of one job in each FILE_UPLOAD_CALLBACK message.
+     *
+     * The callbacks are replied after their files are saved. The callbacks of a batch that failed to save
+     * are not replied, so the dock sends them again. The files already saved by a batch that was not replied
+     * are skipped by their object keys, so the callbacks sent again don't insert or count them twice.
+     */
     @Override
     public TopicEventsResponse<MqttReply> fileUploadCallback(TopicEventsRequest<FileUploadCallback> request, MessageHeaders headers) {
         FileUploadCallback callback = request.getData();
@@ -97,26 +150,142 @@ public class MediaServiceImpl extends AbstractMediaService implements IMediaServ
             return null;
         }
 
-        String jobId = callback.getFile().getExt().getFlightId();
+        PendingUploads pending = pendingUploads.computeIfAbsent(request.getGateway(), key -> new PendingUploads());
+        boolean full;
+        synchronized (pending) {
+            if (pending.requests.isEmpty()) {
+                pending.deadlineNanos = System.nanoTime() + batchWindow.toNanos();
+            }
+            pending.requests.add(new PendingUpload(request, headers));
+            full = pending.requests.size() >= maxBatchSize || batchWindow.isZero();
+        }
+        if (full) {
+            scheduleFlush(request.getGateway(), pending);
+        }
+        return null;
+    }
 
-        Optional<DeviceDTO> deviceOpt = deviceRedisService.getDeviceOnline(request.getGateway());
-        MediaFileCountDTO mediaFileCount = mediaRedisService.getMediaCount(request.getGateway(), jobId);
-        // duplicate data
-        if (deviceOpt.isEmpty()
-                || (Objects.nonNull(mediaFileCount) && request.getBid().equals(mediaFileCount.getBid())
-                && request.getTid().equals(mediaFileCount.getTid()))) {
-            return new TopicEventsResponse<MqttReply>().setData(MqttReply.success());
+    @Scheduled(initialDelay = 100, fixedDelay = 100, timeUnit = TimeUnit.MILLISECONDS)
+    public void flushUploads() {
+        flushUploads(System.nanoTime());
+    }
+
+    void flushUploads(long now) {
+        pendingUploads.forEach((gatewaySn, pending) -> {
+            synchronized (pending) {
+                if (pending.requests.isEmpty() || now < pending.deadlineNanos) {
+                    return;
+                }
+            }
+            scheduleFlush(gatewaySn, pending);
+        });
+    }
+
+    /**
+     * Save the callbacks collected before the shutdown. Their replies may not be published any more,
+     * then the dock sends them again.
+     */
+    @PreDestroy
+    private void destroy() throws InterruptedException {
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        pendingUploads.forEach(this::flushUploads);
+    }
+
+    /**
+     * A dock has one flush queued at most, the callbacks that arrive before it runs are saved by it.
+     */
+    private void scheduleFlush(String gatewaySn, PendingUploads pending) {
+        synchronized (pending) {
+            if (pending.flushQueued) {
+                return;
+            }
+            pending.flushQueued = true;
+        }
+        flushExecutor.execute(() -> flushUploads(gatewaySn, pending));
+    }
+
+    private void flushUploads(String gatewaySn, PendingUploads pending) {
+        // The batches of a dock are saved one by one, so the counts are not updated concurrently.
+        synchronized (pending.flushLock) {
+            List<PendingUpload> batch;
+            synchronized (pending) {
+                pending.flushQueued = false;
+                if (pending.requests.isEmpty()) {
+                    return;
+                }
+                batch = pending.requests;
+                pending.requests = new ArrayList<>();
+            }
+            try {
+                if (!saveUploadedFiles(gatewaySn,
+                        batch.stream().map(upload -> upload.request).collect(Collectors.toList()))) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to save the {} files uploaded by {} to the database, they are not replied.",
+                        batch.size(), gatewaySn, e);
+                return;
+            }
+            batch.forEach(this::replyUpload);
         }
+    }
 
+    /**
+     * @return false if the files are not saved because the dock is offline.
+     */
+    private boolean saveUploadedFiles(String gatewaySn, List<TopicEventsRequest<FileUploadCallback>> batch) {
+        Optional<DeviceDTO> deviceOpt = deviceRedisService.getDeviceOnline(gatewaySn);
+        if (deviceOpt.isEmpty()) {
+            return false;
+        }
         DeviceDTO device = deviceOpt.get();
-        boolean isSave = parseMediaFile(callback, device);
-        if (!isSave) {
-            log.error("Failed to save the file to the database, please check the data manually.");
-            return null;
+        Map<String, MediaFileCountDTO> mediaFileCounts = mediaRedisService.getMediaCounts(gatewaySn,
+                batch.stream().map(MediaServiceImpl::jobId).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        // duplicate data
+        Set<String> messageIds = new HashSet<>();
+        List<TopicEventsRequest<FileUploadCallback>> requests = batch.stream()
+                .filter(request -> messageIds.add(request.getBid() + request.getTid()))
+                .filter(request -> Optional.ofNullable(jobId(request)).map(mediaFileCounts::get)
+                        .filter(count -> request.getBid().equals(count.getBid()) && request.getTid().equals(count.getTid()))
+                        .isEmpty())
+                .collect(Collectors.toList());
+        if (requests.isEmpty()) {
+            return true;
+        }
+        Set<String> savedObjectKeys = fileService.getExistObjectKeys(device.getWorkspaceId(), requests.stream()
+                .map(MediaServiceImpl::objectKey).filter(Objects::nonNull).collect(Collectors.toList()));
+        requests = requests.stream()
+                .filter(request -> !savedObjectKeys.contains(objectKey(request)))
+                .collect(Collectors.toList());
+        if (requests.isEmpty()) {
+            return true;
         }
 
-        notifyUploadedCount(mediaFileCount, request, jobId, device);
-        return new TopicEventsResponse<MqttReply>().setData(MqttReply.success());
+        fileService.saveFiles(device.getWorkspaceId(), requests.stream()
+                .map(request -> parseMediaFile(request.getData(), device))
+                .collect(Collectors.toList()));
+        try {
+            notifyUploadedCount(mediaFileCounts, requests, gatewaySn, device);
+        } catch (RuntimeException e) {
+            // The files are saved, so the callbacks are still replied instead of being sent again.
+            log.error("Failed to update the upload counts of the {} files uploaded by {}.", requests.size(), gatewaySn, e);
+        }
+        return true;
+    }
+
+    private void replyUpload(PendingUpload upload) {
+        TopicEventsRequest<FileUploadCallback> request = upload.request;
+        if (!request.isNeedReply()) {
+            return;
+        }
+        gatewayPublish.publishReply(new TopicEventsResponse<MqttReply>()
+                .setTid(request.getTid())
+                .setBid(request.getBid())
+                .setMethod(request.getMethod())
+                .setTimestamp(System.currentTimeMillis())
+                .setData(MqttReply.success()), upload.headers);
     }
 
     @Override
@@ -149,7 +318,7 @@ public class MediaServiceImpl extends AbstractMediaService implements IMediaServ
         return new TopicEventsResponse<MqttReply>().setData(MqttReply.success());
     }
 
-    private Boolean parseMediaFile(FileUploadCallback callback, DeviceDTO device) {
+    private MediaUploadCallbackRequest parseMediaFile(FileUploadCallback callback, DeviceDTO device) {
         MediaUploadCallbackRequest file = convert2callbackRequest(callback.getFile());
         // Set the drone sn that shoots the media
         file.getExt().setSn(device.getChildDeviceSn());
@@ -159,34 +328,59 @@ public class MediaServiceImpl extends AbstractMediaService implements IMediaServ
         file.setPath(objectKey.substring(Optional.of(objectKey.indexOf(OssConfiguration.objectDirPrefix))
                 .filter(index -> index > 0).map(index -> index++).orElse(0),
                 objectKey.lastIndexOf("/")));
-
-        return fileService.saveFile(device.getWorkspaceId(), file) > 0;
+        return file;
     }
 
-    private void notifyUploadedCount(MediaFileCountDTO mediaFileCount, TopicEventsRequest<FileUploadCallback> request, String jobId, DeviceDTO dock) {
+    private void notifyUploadedCount(Map<String, MediaFileCountDTO> mediaFileCounts,
+                                     List<TopicEventsRequest<FileUploadCallback>> requests, String gatewaySn, DeviceDTO dock) {
         // Do not notify when files that do not belong to the route are uploaded.
-        if (Objects.isNull(mediaFileCount)) {
+        Map<String, MediaFileCountDTO> changedCounts = new LinkedHashMap<>();
+        for (TopicEventsRequest<FileUploadCallback> request : requests) {
+            String jobId = jobId(request);
+            MediaFileCountDTO mediaFileCount = Objects.isNull(jobId) ? null : mediaFileCounts.get(jobId);
+            if (Objects.isNull(mediaFileCount)) {
+                continue;
+            }
+            mediaFileCount.setBid(request.getBid());
+            mediaFileCount.setTid(request.getTid());
+            mediaFileCount.setUploadedCount(mediaFileCount.getUploadedCount() + 1);
+            changedCounts.put(jobId, mediaFileCount);
+        }
+        if (changedCounts.isEmpty()) {
             return;
         }
-        mediaFileCount.setBid(request.getBid());
-        mediaFileCount.setTid(request.getTid());
-        mediaFileCount.setUploadedCount(mediaFileCount.getUploadedCount() + 1);
 
         // After all the files of the job are uploaded, delete the media file key.
-        if (mediaFileCount.getUploadedCount() >= mediaFileCount.getMediaCount()) {
-            mediaRedisService.delMediaCount(request.getGateway(), jobId);
-
-            // After uploading, delete the key with the highest priority.
-            MediaFileCountDTO fileCount = mediaRedisService.getMediaHighestPriority(request.getGateway());
-            if (Objects.nonNull(fileCount) && jobId.equals(fileCount.getJobId())) {
-                mediaRedisService.delMediaHighestPriority(request.getGateway());
+        Map<String, MediaFileCountDTO> uploadingCounts = new HashMap<>();
+        Set<String> uploadedJobIds = new HashSet<>();
+        changedCounts.forEach((jobId, count) -> {
+            if (count.getUploadedCount() >= count.getMediaCount()) {
+                uploadedJobIds.add(jobId);
+            } else {
+                uploadingCounts.put(jobId, count);
             }
-        } else {
-            mediaRedisService.setMediaCount(request.getGateway(), jobId, mediaFileCount);
-        }
+        });
+        // After uploading, delete the key with the highest priority.
+        boolean delHighestPriority = !uploadedJobIds.isEmpty() &&
+                Optional.ofNullable(mediaRedisService.getMediaHighestPriority(gatewaySn))
+                        .map(MediaFileCountDTO::getJobId).filter(uploadedJobIds::contains).isPresent();
+        mediaRedisService.updateMediaCounts(gatewaySn, uploadingCounts, uploadedJobIds, delHighestPriority);
+
+        changedCounts.values().forEach(count -> webSocketMessageService.sendBatch(dock.getWorkspaceId(),
+                UserTypeEnum.WEB.getVal(), BizCodeEnum.FILE_UPLOAD_CALLBACK.getCode(), count));
+    }
+
+    private static String objectKey(TopicEventsRequest<FileUploadCallback> request) {
+        return Optional.ofNullable(request.getData().getFile())
+                .map(FileUploadCallbackFile::getObjectKey)
+                .orElse(null);
+    }
 
-        webSocketMessageService.sendBatch(dock.getWorkspaceId(), UserTypeEnum.WEB.getVal(),
-                BizCodeEnum.FILE_UPLOAD_CALLBACK.getCode(), mediaFileCount);
+    private static String jobId(TopicEventsRequest<FileUploadCallback> request) {
+        return Optional.ofNullable(request.getData().getFile())
+                .map(FileUploadCallbackFile::getExt)
+                .map(UploadCallbackFileExtension::getFlightId)
+                .orElse(null);
     }
 
     private MediaUploadCallbackRequest convert2callbackRequest(FileUploadCallbackFile file) {
@@ -213,4 +407,27 @@ public class MediaServiceImpl extends AbstractMediaService implements IMediaServ
                 .setObjectKey(file.getObjectKey())
                 .setPath(file.getPath());
     }
+
+    private static class PendingUploads {
+
+        private final Object flushLock = new Object();
+
+        private List<PendingUpload> requests = new ArrayList<>();
+
+        private long deadlineNanos;
+
+        private boolean flushQueued;
+    }
+
+    private static class PendingUpload {
+
+        private final TopicEventsRequest<FileUploadCallback> request;
+
+        private final MessageHeaders headers;
+
+        private PendingUpload(TopicEventsRequest<FileUploadCallback> request, MessageHeaders headers) {
+            this.request = request;
+            this.headers = headers;
+        }
+    }
 }
@@ -0,0 +1,154 @@
+package com.dji.sample.wayline.controller;
+
+import com.dji.sample.manage.service.IDeviceService;
+import com.dji.sample.wayline.model.dto.FlightTrackDTO;
+import com.dji.sample.wayline.service.IFlightTrackService;
+import com.dji.sdk.common.HttpResultResponse;
+import com.dji.sdk.exception.CloudSDKErrorEnum;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * The tracks are returned in json by default, or in the binary format with format=binary.
+ * The binary track is written to the response as it is encoded, without a content length.
+ * The tracks are read from the telemetry store, so the endpoints return an error, 503 for the binary ones,
+ * if telemetry.enabled is false.
+ * @see com.dji.sample.wayline.service.impl.FlightTrackServiceImpl
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@RequestMapping("${url.wayline.prefix}${url.wayline.version}/workspaces")
+@RestController
+public class FlightTrackController {
+
+    private static final String BINARY = "format=binary";
+
+    private static final String DISABLED = "The tracks are not recorded, because telemetry.enabled is false.";
+
+    @Autowired
+    private IFlightTrackService flightTrackService;
+
+    @Autowired
+    private IDeviceService deviceService;
+
+    @Value("${telemetry.max-query-range: 1d}")
+    private Duration maxRange;
+
+    /**
+     * Get the path of the drone during the job.
+     * @param workspaceId
+     * @param jobId
+     * @param tolerance pixels on the map.
+     * @param zoom the zoom level of the map.
+     * @return
+     */
+    @GetMapping("/{workspace_id}/jobs/{job_id}/track")
+    public HttpResultResponse<FlightTrackDTO> getJobTrack(@PathVariable(name = "workspace_id") String workspaceId,
+                                                          @PathVariable(name = "job_id") String jobId,
+                                                          @RequestParam(defaultValue = "1") Double tolerance,
+                                                          @RequestParam(defaultValue = "16") Integer zoom) {
+        if (!flightTrackService.isEnabled()) {
+            return HttpResultResponse.error(DISABLED);
+        }
+        Optional<FlightTrackDTO> trackOpt = flightTrackService.getJobTrack(workspaceId, jobId, tolerance, zoom);
+        return trackOpt.isEmpty() ? HttpResultResponse.error("The job does not exist.") : HttpResultResponse.success(trackOpt.get());
+    }
+
+    @GetMapping(value = "/{workspace_id}/jobs/{job_id}/track", params = BINARY)
+    public void getJobTrackBinary(@PathVariable(name = "workspace_id") String workspaceId,
+                                  @PathVariable(name = "job_id") String jobId,
+                                  @RequestParam(defaultValue = "1") Double tolerance,
+                                  @RequestParam(defaultValue = "16") Integer zoom,
+                                  HttpServletResponse response) throws IOException {
+        if (!flightTrackService.isEnabled()) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, DISABLED);
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        OutputStream out = new BufferedOutputStream(response.getOutputStream());
+        if (!flightTrackService.writeJobTrack(workspaceId, jobId, tolerance, zoom, out)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "The job does not exist.");
+            return;
+        }
+        out.flush();
+    }
+
+    /**
+     * Get the path of the drone within the time range.
+     * @param workspaceId
+     * @param deviceSn
+     * @param beginTime
+     * @param endTime
+     * @param tolerance pixels on the map.
+     * @param zoom the zoom level of the map.
+     * @return
+     */
+    @GetMapping("/{workspace_id}/devices/{device_sn}/track")
+    public HttpResultResponse<FlightTrackDTO> getDeviceTrack(@PathVariable(name = "workspace_id") String workspaceId,
+                                                             @PathVariable(name = "device_sn") String deviceSn,
+                                                             @RequestParam(name = "begin_time") Long beginTime,
+                                                             @RequestParam(name = "end_time") Long endTime,
+                                                             @RequestParam(defaultValue = "1") Double tolerance,
+                                                             @RequestParam(defaultValue = "16") Integer zoom) {
+        if (!flightTrackService.isEnabled()) {
+            return HttpResultResponse.error(DISABLED);
+        }
+        if (!isInWorkspace(workspaceId, deviceSn)) {
+            return HttpResultResponse.error("The device does not exist in the workspace.");
+        }
+        if (!isValidRange(beginTime, endTime)) {
+            return HttpResultResponse.error(CloudSDKErrorEnum.INVALID_PARAMETER);
+        }
+        return HttpResultResponse.success(flightTrackService.getDeviceTrack(deviceSn, beginTime, endTime, tolerance, zoom));
+    }
+
+    @GetMapping(value = "/{workspace_id}/devices/{device_sn}/track", params = BINARY)
+    public void getDeviceTrackBinary(@PathVariable(name = "workspace_id") String workspaceId,
+                                     @PathVariable(name = "device_sn") String deviceSn,
+                                     @RequestParam(name = "begin_time") Long beginTime,
+                                     @RequestParam(name = "end_time") Long endTime,
+                                     @RequestParam(defaultValue = "1") Double tolerance,
+                                     @RequestParam(defaultValue = "16") Integer zoom,
+                                     HttpServletResponse response) throws IOException {
+        if (!flightTrackService.isEnabled()) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, DISABLED);
+            return;
+        }
+        if (!isInWorkspace(workspaceId, deviceSn)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "The device does not exist in the workspace.");
+            return;
+        }
+        if (!isValidRange(beginTime, endTime)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, CloudSDKErrorEnum.INVALID_PARAMETER.getMessage());
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        OutputStream out = new BufferedOutputStream(response.getOutputStream());
+        flightTrackService.writeDeviceTrack(deviceSn, beginTime, endTime, tolerance, zoom, out);
+        out.flush();
+    }
+
+    private boolean isInWorkspace(String workspaceId, String deviceSn) {
+        return deviceService.getDeviceBySn(deviceSn)
+                .filter(device -> workspaceId.equals(device.getWorkspaceId()))
+                .isPresent();
+    }
+
+    /**
+     * All the frames of the range are read into memory to simplify the track, so the range is bounded.
+     */
+    private boolean isValidRange(long beginTime, long endTime) {
+        return beginTime <= endTime && endTime - beginTime <= maxRange.toMillis();
+    }
+}
@@ -9,6 +9,7 @@ import com.dji.sample.wayline.service.IWaylineJobService;
 import com.dji.sdk.common.HttpResultResponse;
 import com.dji.sdk.common.PaginationData;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
@@ -52,16 +53,23 @@ public class WaylineJobController {
 
     /**
      * Paginate through all jobs in this workspace.
+     * If last_job_id is given, the page after that job is returned and the page number is ignored.
      * @param page
      * @param pageSize
+     * @param lastJobId the last job of the previous page.
+     * @param count whether to count the total, the infinite scroll doesn't need it.
      * @param workspaceId
      * @return
      */
     @GetMapping("/{workspace_id}/jobs")
     public HttpResultResponse<PaginationData<WaylineJobDTO>> getJobs(@RequestParam(defaultValue = "1") Long page,
                                                                      @RequestParam(name = "page_size", defaultValue = "10") Long pageSize,
+                                                                     @RequestParam(name = "last_job_id", required = false) String lastJobId,
+                                                                     @RequestParam(defaultValue = "true") Boolean count,
                                                                      @PathVariable(name = "workspace_id") String workspaceId) {
-        PaginationData<WaylineJobDTO> data = waylineJobService.getJobsByWorkspaceId(workspaceId, page, pageSize);
+        PaginationData<WaylineJobDTO> data = StringUtils.hasText(lastJobId) ?
+                waylineJobService.getJobsByWorkspaceIdAfter(workspaceId, lastJobId, pageSize, count) :
+                waylineJobService.getJobsByWorkspaceId(workspaceId, page, pageSize, count);
         return HttpResultResponse.success(data);
     }
 
@@ -0,0 +1,12 @@
+package com.dji.sample.wayline.dao;
+
+import com.dji.sample.component.mybatis.BatchBaseMapper;
+import com.dji.sample.wayline.model.entity.WaylineFileFilterEntity;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public interface IWaylineFileFilterMapper extends BatchBaseMapper<WaylineFileFilterEntity> {
+}
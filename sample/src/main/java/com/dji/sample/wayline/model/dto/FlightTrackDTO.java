@@ -0,0 +1,48 @@
+package com.dji.sample.wayline.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The simplified path of a drone. The positions are in the order of the timestamps.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightTrackDTO {
+
+    private String sn;
+
+    private String jobId;
+
+    private Long beginTime;
+
+    private Long endTime;
+
+    /**
+     * The tolerance of the simplification in meters.
+     */
+    private Double tolerance;
+
+    /**
+     * The number of the positions recorded before the simplification.
+     */
+    private Integer recordedCount;
+
+    private List<Long> timestamps;
+
+    private List<Double> longitudes;
+
+    private List<Double> latitudes;
+
+    private List<Double> heights;
+}
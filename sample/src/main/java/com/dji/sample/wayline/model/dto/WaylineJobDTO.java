@@ -33,6 +33,11 @@ public class WaylineJobDTO {
 
     private String dockName;
 
+    /**
+     * The drone which flew the job, recorded when the job ends.
+     */
+    private String droneSn;
+
     private String workspaceId;
 
     private WaylineTypeEnum waylineType;
@@ -0,0 +1,46 @@
+package com.dji.sample.wayline.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * A template type or a payload model key of a wayline file.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Data
+@TableName("wayline_file_filter")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WaylineFileFilterEntity implements Serializable {
+
+    @TableId(type = IdType.AUTO)
+    private Integer id;
+
+    @TableField("wayline_id")
+    private String waylineId;
+
+    @TableField("workspace_id")
+    private String workspaceId;
+
+    /**
+     * @see com.dji.sample.wayline.model.enums.WaylineFileFilterTypeEnum
+     */
+    @TableField("filter_type")
+    private Integer filterType;
+
+    @TableField("filter_value")
+    private String filterValue;
+
+}
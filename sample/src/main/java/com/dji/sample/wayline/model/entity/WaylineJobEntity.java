@@ -35,6 +35,9 @@ public class WaylineJobEntity implements Serializable {
     @TableField("dock_sn")
     private String dockSn;
 
+    @TableField("drone_sn")
+    private String droneSn;
+
     @TableField("workspace_id")
     private String workspaceId;
 
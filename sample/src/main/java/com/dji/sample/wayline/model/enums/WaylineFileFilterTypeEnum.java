@@ -0,0 +1,27 @@
+package com.dji.sample.wayline.model.enums;
+
+/**
+ * The values of a wayline file that are searched, each value is a row of wayline_file_filter.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public enum WaylineFileFilterTypeEnum {
+
+    TEMPLATE_TYPE(0),
+
+    PAYLOAD_MODEL_KEY(1),
+
+    ;
+
+    private final int type;
+
+    WaylineFileFilterTypeEnum(int type) {
+        this.type = type;
+    }
+
+    public int getType() {
+        return type;
+    }
+}
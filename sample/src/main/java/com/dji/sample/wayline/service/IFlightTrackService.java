@@ -0,0 +1,79 @@
+package com.dji.sample.wayline.service;
+
+import com.dji.sample.wayline.model.dto.FlightTrackDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+public interface IFlightTrackService {
+
+    /**
+     * The tracks are read from the telemetry store, so no track is recorded if telemetry.enabled is false.
+     * @return whether the tracks are recorded.
+     */
+    boolean isEnabled();
+
+    /**
+     * Get the path of the drone which flew the job.
+     * The track is cached a while after the job has ended, if it has any position.
+     * @param workspaceId
+     * @param jobId
+     * @param tolerance pixels on the map.
+     * @param zoom the zoom level of the map.
+     * @return
+     */
+    Optional<FlightTrackDTO> getJobTrack(String workspaceId, String jobId, double tolerance, int zoom);
+
+    /**
+     * Write the path of the drone which flew the job in the binary format, without building the positions into a dto.
+     * The stream is not flushed or closed.
+     * @param workspaceId
+     * @param jobId
+     * @param tolerance pixels on the map.
+     * @param zoom the zoom level of the map.
+     * @param out
+     * @return false if the job does not exist, then nothing is written.
+     * @throws IOException
+     */
+    boolean writeJobTrack(String workspaceId, String jobId, double tolerance, int zoom, OutputStream out) throws IOException;
+
+    /**
+     * Get the path of the drone within the time range.
+     * The tolerance is clamped to [0, 64] and the zoom to [0, 24].
+     * @param sn
+     * @param beginTime
+     * @param endTime
+     * @param tolerance pixels on the map.
+     * @param zoom the zoom level of the map.
+     * @return
+     */
+    FlightTrackDTO getDeviceTrack(String sn, long beginTime, long endTime, double tolerance, int zoom);
+
+    /**
+     * Write the path of the drone within the time range in the binary format, without building the positions into a dto.
+     * The stream is not flushed or closed.
+     * @param sn
+     * @param beginTime
+     * @param endTime
+     * @param tolerance pixels on the map.
+     * @param zoom the zoom level of the map.
+     * @param out
+     * @throws IOException
+     */
+    void writeDeviceTrack(String sn, long beginTime, long endTime, double tolerance, int zoom, OutputStream out)
+            throws IOException;
+
+    /**
+     * Write the positions of the track in the binary format. The stream is not flushed or closed.
+     * @param track
+     * @param out
+     * @throws IOException
+     */
+    void encode(FlightTrackDTO track, OutputStream out) throws IOException;
+}
@@ -60,13 +60,25 @@ public interface IWaylineJobService {
     Boolean updateJob(WaylineJobDTO dto);
 
     /**
-     * Paginate through all jobs in this workspace.
+     * Paginate through all jobs in this workspace, the newest first.
      * @param workspaceId
      * @param page
      * @param pageSize
+     * @param count whether to count the total. The total is 0 if not counted.
      * @return
      */
-    PaginationData<WaylineJobDTO> getJobsByWorkspaceId(String workspaceId, long page, long pageSize);
+    PaginationData<WaylineJobDTO> getJobsByWorkspaceId(String workspaceId, long page, long pageSize, boolean count);
+
+    /**
+     * Get the page of jobs that follows the last job of the previous page, in the same order as getJobsByWorkspaceId.
+     * The cost doesn't grow with the depth of the page.
+     * @param workspaceId
+     * @param lastJobId the last job of the previous page.
+     * @param pageSize
+     * @param count whether to count the total. The total is 0 if not counted.
+     * @return
+     */
+    PaginationData<WaylineJobDTO> getJobsByWorkspaceIdAfter(String workspaceId, String lastJobId, long pageSize, boolean count);
 
     /**
      * Query the wayline execution status of the dock.
@@ -96,7 +96,11 @@ public class FlightTaskServiceImpl extends AbstractWaylineService implements IFl
         log.info("Check the timed tasks of the wayline. {}", jobIdValue);
         // format: {workspace_id}:{dock_sn}:{job_id}
         String[] jobArr = String.valueOf(jobIdValue).split(RedisConst.DELIMITER);
-        double time = RedisOpsUtils.zScore(RedisConst.WAYLINE_JOB_TIMED_EXECUTE, jobIdValue);
+        Double time = RedisOpsUtils.zScore(RedisConst.WAYLINE_JOB_TIMED_EXECUTE, jobIdValue);
+        if (Objects.isNull(time)) {
+            // It has been removed by another node.
+            return;
+        }
         long now = System.currentTimeMillis();
         int offset = 30_000;
 
@@ -138,7 +142,10 @@ public class FlightTaskServiceImpl extends AbstractWaylineService implements IFl
         ConditionalWaylineJobKey jobKey = jobKeyOpt.get();
         log.info("Check the conditional tasks of the wayline. {}", jobKey.toString());
         // format: {workspace_id}:{dock_sn}:{job_id}
-        double time = waylineRedisService.getConditionalWaylineJobTime(jobKey);
+        Double time = waylineRedisService.getConditionalWaylineJobTime(jobKey);
+        if (Objects.isNull(time)) {
+            return;
+        }
         long now = System.currentTimeMillis();
         // prepare the task one day in advance.
         int offset = 86_400_000;
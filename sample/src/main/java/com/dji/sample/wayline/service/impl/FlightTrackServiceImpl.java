@@ -0,0 +1,346 @@
+package com.dji.sample.wayline.service.impl;
+
+import com.dji.sample.component.redis.RedisConst;
+import com.dji.sample.component.redis.RedisOpsUtils;
+import com.dji.sample.component.telemetry.TelemetryFieldEnum;
+import com.dji.sample.component.telemetry.TelemetrySeries;
+import com.dji.sample.component.telemetry.TelemetryStore;
+import com.dji.sample.manage.model.dto.DeviceDTO;
+import com.dji.sample.manage.service.IDeviceService;
+import com.dji.sample.map.util.TrackSimplifier;
+import com.dji.sample.wayline.model.dto.FlightTrackDTO;
+import com.dji.sample.wayline.model.dto.WaylineJobDTO;
+import com.dji.sample.wayline.service.IFlightTrackService;
+import com.dji.sample.wayline.service.IWaylineJobService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The tracks are read from the telemetry history of the drones, and simplified to the tolerance in pixels
+ * at the zoom level of the map, so the track only has the positions that can be seen on the map.
+ *
+ * Binary format: the number of positions, then the timestamp in milliseconds, the longitude and the latitude
+ * in 1e-7 degrees and the height in centimeters of each position, each as the difference from the previous position.
+ * All the numbers are zigzag varints.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Service
+@Slf4j
+public class FlightTrackServiceImpl implements IFlightTrackService {
+
+    /**
+     * The meters per pixel at the equator at zoom level 0, with 256 pixel tiles.
+     */
+    private static final double EQUATOR_METERS_PER_PIXEL = 156_543.03392;
+
+    private static final double DEGREE_SCALE = 1e7;
+
+    private static final double HEIGHT_SCALE = 100;
+
+    private static final int MAX_ZOOM = 24;
+
+    private static final double MAX_TOLERANCE = 64;
+
+    /**
+     * The tolerance is rounded to this many pixels, so the cached tracks do not differ only by a tiny tolerance.
+     */
+    private static final double TOLERANCE_STEP = 0.1;
+
+    /**
+     * The frames of the end of a job may still wait in the queue of the telemetry store when the job ends,
+     * so the track is only cached after this long.
+     */
+    private static final long CACHE_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final Set<TelemetryFieldEnum> TRACK_FIELDS = EnumSet.of(
+            TelemetryFieldEnum.LONGITUDE, TelemetryFieldEnum.LATITUDE, TelemetryFieldEnum.HEIGHT);
+
+    @Autowired
+    private IWaylineJobService waylineJobService;
+
+    @Autowired
+    private IDeviceService deviceService;
+
+    @Autowired
+    private TelemetryStore telemetryStore;
+
+    @Override
+    public boolean isEnabled() {
+        return telemetryStore.isEnabled();
+    }
+
+    @Override
+    public Optional<FlightTrackDTO> getJobTrack(String workspaceId, String jobId, double tolerance, int zoom) {
+        Optional<WaylineJobDTO> jobOpt = waylineJobService.getJobByJobId(workspaceId, jobId);
+        if (jobOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        WaylineJobDTO job = jobOpt.get();
+        String key = trackKey(jobId, tolerance, zoom);
+        FlightTrackDTO cached = isEnded(job) ? (FlightTrackDTO) RedisOpsUtils.get(key) : null;
+        if (Objects.nonNull(cached)) {
+            return Optional.of(cached);
+        }
+        Track track = getJobTrack(job, tolerance, zoom);
+        FlightTrackDTO result = track.toDTO();
+        result.setJobId(jobId);
+        if (isCacheable(job, track)) {
+            RedisOpsUtils.setWithExpire(key, result, RedisConst.WAYLINE_TRACK_ALIVE_SECOND);
+        }
+        return Optional.of(result);
+    }
+
+    @Override
+    public boolean writeJobTrack(String workspaceId, String jobId, double tolerance, int zoom, OutputStream out)
+            throws IOException {
+        Optional<WaylineJobDTO> jobOpt = waylineJobService.getJobByJobId(workspaceId, jobId);
+        if (jobOpt.isEmpty()) {
+            return false;
+        }
+        WaylineJobDTO job = jobOpt.get();
+        String key = trackKey(jobId, tolerance, zoom);
+        FlightTrackDTO cached = isEnded(job) ? (FlightTrackDTO) RedisOpsUtils.get(key) : null;
+        if (Objects.nonNull(cached)) {
+            encode(cached, out);
+            return true;
+        }
+        Track track = getJobTrack(job, tolerance, zoom);
+        if (isCacheable(job, track)) {
+            FlightTrackDTO result = track.toDTO();
+            result.setJobId(jobId);
+            RedisOpsUtils.setWithExpire(key, result, RedisConst.WAYLINE_TRACK_ALIVE_SECOND);
+        }
+        track.write(out);
+        return true;
+    }
+
+    @Override
+    public FlightTrackDTO getDeviceTrack(String sn, long beginTime, long endTime, double tolerance, int zoom) {
+        return getTrack(sn, beginTime, endTime, tolerance, zoom).toDTO();
+    }
+
+    @Override
+    public void writeDeviceTrack(String sn, long beginTime, long endTime, double tolerance, int zoom, OutputStream out)
+            throws IOException {
+        getTrack(sn, beginTime, endTime, tolerance, zoom).write(out);
+    }
+
+    @Override
+    public void encode(FlightTrackDTO track, OutputStream out) throws IOException {
+        int size = track.getTimestamps().size();
+        TrackEncoder encoder = new TrackEncoder(out, size);
+        for (int i = 0; i < size; i++) {
+            encoder.write(track.getTimestamps().get(i), track.getLongitudes().get(i), track.getLatitudes().get(i),
+                    Objects.requireNonNullElse(track.getHeights().get(i), Double.NaN));
+        }
+    }
+
+    private Track getJobTrack(WaylineJobDTO job, double tolerance, int zoom) {
+        long beginTime = toMillis(Optional.ofNullable(job.getExecuteTime()).orElse(job.getBeginTime()));
+        long endTime = isEnded(job) ? toMillis(job.getCompletedTime()) : System.currentTimeMillis();
+        // The drone in the dock now may not be the one which flew an ended job.
+        Optional<String> droneSnOpt = isEnded(job) ? Optional.ofNullable(job.getDroneSn()).filter(StringUtils::hasText) :
+                deviceService.getDeviceBySn(job.getDockSn()).map(DeviceDTO::getChildDeviceSn).filter(StringUtils::hasText);
+        if (droneSnOpt.isEmpty()) {
+            log.warn("The drone of the job {} is unknown, the track is empty.", job.getJobId());
+        }
+        return droneSnOpt.map(sn -> getTrack(sn, beginTime, endTime, tolerance, zoom))
+                .orElseGet(() -> new Track(null, beginTime, endTime, 0, 0,
+                        new long[0], new double[0], new double[0], new double[0], new int[0]));
+    }
+
+    /**
+     * Only the positions on the track are kept in the arrays, the positions in the result are at the indexes.
+     */
+    private Track getTrack(String sn, long beginTime, long endTime, double tolerance, int zoom) {
+        tolerance = clampTolerance(tolerance);
+        zoom = clampZoom(zoom);
+        TelemetrySeries series = telemetryStore.query(sn, beginTime, endTime, TRACK_FIELDS);
+        long[] timestamps = series.getTimestamps();
+        double[] longitudes = series.getValues().get(TelemetryFieldEnum.LONGITUDE);
+        double[] latitudes = series.getValues().get(TelemetryFieldEnum.LATITUDE);
+        double[] heights = series.getValues().get(TelemetryFieldEnum.HEIGHT);
+
+        // Only the frames with a position are on the track.
+        int length = 0;
+        for (int i = 0; i < timestamps.length; i++) {
+            if (Double.isNaN(longitudes[i]) || Double.isNaN(latitudes[i]) || (longitudes[i] == 0 && latitudes[i] == 0)) {
+                continue;
+            }
+            timestamps[length] = timestamps[i];
+            longitudes[length] = longitudes[i];
+            latitudes[length] = latitudes[i];
+            heights[length] = heights[i];
+            length++;
+        }
+        double[] trackLongitudes = Arrays.copyOf(longitudes, length);
+        double[] trackLatitudes = Arrays.copyOf(latitudes, length);
+        double toleranceMeters = length == 0 ? 0 :
+                tolerance * EQUATOR_METERS_PER_PIXEL * Math.cos(Math.toRadians(trackLatitudes[0])) / Math.pow(2, zoom);
+        int[] indexes = TrackSimplifier.simplify(trackLongitudes, trackLatitudes, toleranceMeters);
+        return new Track(sn, beginTime, endTime, toleranceMeters, length,
+                timestamps, longitudes, latitudes, heights, indexes);
+    }
+
+    /**
+     * An empty track may only mean the store has not got the frames yet.
+     */
+    private static boolean isCacheable(WaylineJobDTO job, Track track) {
+        return isEnded(job) && track.recordedCount > 0
+                && System.currentTimeMillis() - track.endTime >= CACHE_DELAY_MILLIS;
+    }
+
+    private static boolean isEnded(WaylineJobDTO job) {
+        return Objects.nonNull(job.getCompletedTime());
+    }
+
+    private static String trackKey(String jobId, double tolerance, int zoom) {
+        return RedisConst.WAYLINE_TRACK_PREFIX + jobId + RedisConst.DELIMITER + clampZoom(zoom)
+                + RedisConst.DELIMITER + clampTolerance(tolerance);
+    }
+
+    private static void writeVarint(OutputStream out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.write((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.write((int) zigzag);
+    }
+
+    private static int clampZoom(int zoom) {
+        return Math.max(0, Math.min(MAX_ZOOM, zoom));
+    }
+
+    private static double clampTolerance(double tolerance) {
+        if (Double.isNaN(tolerance) || tolerance <= 0) {
+            return 0;
+        }
+        return Math.round(Math.min(MAX_TOLERANCE, tolerance) / TOLERANCE_STEP) * TOLERANCE_STEP;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * The simplified track, written from the arrays of the query without boxing the positions.
+     */
+    private static final class Track {
+
+        private final String sn;
+
+        private final long beginTime;
+
+        private final long endTime;
+
+        private final double toleranceMeters;
+
+        private final int recordedCount;
+
+        private final long[] timestamps;
+
+        private final double[] longitudes;
+
+        private final double[] latitudes;
+
+        private final double[] heights;
+
+        private final int[] indexes;
+
+        Track(String sn, long beginTime, long endTime, double toleranceMeters, int recordedCount, long[] timestamps,
+              double[] longitudes, double[] latitudes, double[] heights, int[] indexes) {
+            this.sn = sn;
+            this.beginTime = beginTime;
+            this.endTime = endTime;
+            this.toleranceMeters = toleranceMeters;
+            this.recordedCount = recordedCount;
+            this.timestamps = timestamps;
+            this.longitudes = longitudes;
+            this.latitudes = latitudes;
+            this.heights = heights;
+            this.indexes = indexes;
+        }
+
+        void write(OutputStream out) throws IOException {
+            TrackEncoder encoder = new TrackEncoder(out, indexes.length);
+            for (int i : indexes) {
+                encoder.write(timestamps[i], longitudes[i], latitudes[i], heights[i]);
+            }
+        }
+
+        FlightTrackDTO toDTO() {
+            List<Long> trackTimestamps = new ArrayList<>(indexes.length);
+            List<Double> resultLongitudes = new ArrayList<>(indexes.length);
+            List<Double> resultLatitudes = new ArrayList<>(indexes.length);
+            List<Double> resultHeights = new ArrayList<>(indexes.length);
+            for (int i : indexes) {
+                trackTimestamps.add(timestamps[i]);
+                resultLongitudes.add(Math.round(longitudes[i] * DEGREE_SCALE) / DEGREE_SCALE);
+                resultLatitudes.add(Math.round(latitudes[i] * DEGREE_SCALE) / DEGREE_SCALE);
+                resultHeights.add(Double.isNaN(heights[i]) ? null : Math.round(heights[i] * HEIGHT_SCALE) / HEIGHT_SCALE);
+            }
+            return FlightTrackDTO.builder()
+                    .sn(sn)
+                    .beginTime(beginTime)
+                    .endTime(endTime)
+                    .tolerance(toleranceMeters)
+                    .recordedCount(recordedCount)
+                    .timestamps(trackTimestamps)
+                    .longitudes(resultLongitudes)
+                    .latitudes(resultLatitudes)
+                    .heights(resultHeights)
+                    .build();
+        }
+    }
+
+    /**
+     * Writes the positions as the differences from the previous one.
+     */
+    private static final class TrackEncoder {
+
+        private final OutputStream out;
+
+        private long timestamp, longitude, latitude, height;
+
+        TrackEncoder(OutputStream out, int size) throws IOException {
+            this.out = out;
+            writeVarint(out, size);
+        }
+
+        /**
+         * @param nextHeight NaN if unknown, then it's the same as the previous one.
+         */
+        void write(long nextTimestamp, double nextLongitude, double nextLatitude, double nextHeight) throws IOException {
+            long longitudeValue = Math.round(nextLongitude * DEGREE_SCALE);
+            long latitudeValue = Math.round(nextLatitude * DEGREE_SCALE);
+            long heightValue = Double.isNaN(nextHeight) ? height : Math.round(nextHeight * HEIGHT_SCALE);
+            writeVarint(out, nextTimestamp - timestamp);
+            writeVarint(out, longitudeValue - longitude);
+            writeVarint(out, latitudeValue - latitude);
+            writeVarint(out, heightValue - height);
+            timestamp = nextTimestamp;
+            longitude = longitudeValue;
+            latitude = latitudeValue;
+            height = heightValue;
+        }
+    }
+}
@@ -95,6 +95,7 @@ public class SDKWaylineService extends AbstractWaylineService {
                     .status(WaylineJobStatusEnum.SUCCESS.getVal())
                     .completedTime(LocalDateTime.now())
                     .mediaCount(output.getExt().getMediaCount())
+                    .droneSn(deviceOpt.get().getChildDeviceSn())
                     .build();
 
             // record the update of the media count.
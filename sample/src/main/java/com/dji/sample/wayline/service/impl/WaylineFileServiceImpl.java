@@ -2,20 +2,27 @@ package com.dji.sample.wayline.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.dji.sample.component.mybatis.BatchInsertExecutor;
 import com.dji.sample.component.oss.model.OssConfiguration;
 import com.dji.sample.component.oss.service.impl.OssServiceContext;
+import com.dji.sample.wayline.dao.IWaylineFileFilterMapper;
 import com.dji.sample.wayline.dao.IWaylineFileMapper;
 import com.dji.sample.wayline.model.dto.KmzFileProperties;
 import com.dji.sample.wayline.model.dto.WaylineFileDTO;
 import com.dji.sample.wayline.model.entity.WaylineFileEntity;
+import com.dji.sample.wayline.model.entity.WaylineFileFilterEntity;
+import com.dji.sample.wayline.model.enums.WaylineFileFilterTypeEnum;
 import com.dji.sample.wayline.service.IWaylineFileService;
 import com.dji.sdk.cloudapi.device.DeviceDomainEnum;
 import com.dji.sdk.cloudapi.device.DeviceEnum;
 import com.dji.sdk.cloudapi.device.DeviceSubTypeEnum;
 import com.dji.sdk.cloudapi.device.DeviceTypeEnum;
+import com.dji.sdk.cloudapi.wayline.GetWaylineListOrderBy;
 import com.dji.sdk.cloudapi.wayline.GetWaylineListRequest;
 import com.dji.sdk.cloudapi.wayline.GetWaylineListResponse;
+import com.dji.sdk.cloudapi.wayline.OrderByColumnEnum;
 import com.dji.sdk.cloudapi.wayline.WaylineTypeEnum;
 import com.dji.sdk.common.Pagination;
 import com.dji.sdk.common.PaginationData;
@@ -26,6 +33,7 @@ import org.dom4j.io.SAXReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.DigestUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
@@ -38,6 +46,8 @@ import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -52,38 +62,46 @@ import static com.dji.sample.wayline.model.dto.KmzFileProperties.WAYLINE_FILE_SU
 @Transactional
 public class WaylineFileServiceImpl implements IWaylineFileService {
 
+    /**
+     * The only columns that the waylines can be ordered by, each one has an index with the workspace id.
+     */
+    private static final Map<OrderByColumnEnum, SFunction<WaylineFileEntity, ?>> ORDER_COLUMNS = Map.of(
+            OrderByColumnEnum.NAME, WaylineFileEntity::getName,
+            OrderByColumnEnum.UPDATE_TIME, WaylineFileEntity::getUpdateTime,
+            OrderByColumnEnum.CREATE_TIME, WaylineFileEntity::getCreateTime);
+
     @Autowired
     private IWaylineFileMapper mapper;
 
+    @Autowired
+    private IWaylineFileFilterMapper filterMapper;
+
+    @Autowired
+    private BatchInsertExecutor batchInsertExecutor;
+
     @Autowired
     private OssServiceContext ossService;
 
     @Override
     public PaginationData<GetWaylineListResponse> getWaylinesByParam(String workspaceId, GetWaylineListRequest param) {
+        LambdaQueryWrapper<WaylineFileEntity> wrapper = new LambdaQueryWrapper<WaylineFileEntity>()
+                .eq(WaylineFileEntity::getWorkspaceId, workspaceId)
+                .eq(Objects.nonNull(param.getFavorited()), WaylineFileEntity::getFavorited, param.getFavorited())
+                .in(!CollectionUtils.isEmpty(param.getDroneModelKeys()), WaylineFileEntity::getDroneModelKey,
+                        Optional.ofNullable(param.getDroneModelKeys()).stream().flatMap(List::stream)
+                                .map(DeviceEnum::getType).collect(Collectors.toList()))
+                .like(Objects.nonNull(param.getKey()), WaylineFileEntity::getName, param.getKey());
+        this.filterBy(wrapper, workspaceId, WaylineFileFilterTypeEnum.TEMPLATE_TYPE,
+                Optional.ofNullable(param.getTemplateType()).stream().flatMap(List::stream)
+                        .map(type -> String.valueOf(type.getValue())).collect(Collectors.toList()));
+        this.filterBy(wrapper, workspaceId, WaylineFileFilterTypeEnum.PAYLOAD_MODEL_KEY,
+                Optional.ofNullable(param.getPayloadModelKey()).stream().flatMap(List::stream)
+                        .map(DeviceEnum::getType).collect(Collectors.toList()));
+        this.orderBy(wrapper, param.getOrderBy());
+
         // Paging Query
         Page<WaylineFileEntity> page = mapper.selectPage(
-                new Page<WaylineFileEntity>(param.getPage(), param.getPageSize()),
-                new LambdaQueryWrapper<WaylineFileEntity>()
-                        .eq(WaylineFileEntity::getWorkspaceId, workspaceId)
-                        .eq(Objects.nonNull(param.getFavorited()), WaylineFileEntity::getFavorited, param.getFavorited())
-                        .and(param.getTemplateType() != null, wrapper ->  {
-                                for (WaylineTypeEnum type : param.getTemplateType()) {
-                                    wrapper.like(WaylineFileEntity::getTemplateTypes, type.getValue()).or();
-                                }
-                        })
-                        .and(param.getPayloadModelKey() != null, wrapper ->  {
-                                for (DeviceEnum type : param.getPayloadModelKey()) {
-                                    wrapper.like(WaylineFileEntity::getPayloadModelKeys, type.getType()).or();
-                                }
-                        })
-                        .and(param.getDroneModelKeys() != null, wrapper ->  {
-                                for (DeviceEnum type : param.getDroneModelKeys()) {
-                                    wrapper.eq(WaylineFileEntity::getDroneModelKey, type.getType()).or();
-                                }
-                        })
-                        .like(Objects.nonNull(param.getKey()), WaylineFileEntity::getName, param.getKey())
-                        // There is a risk of SQL injection
-                        .last(Objects.nonNull(param.getOrderBy()), " order by " + param.getOrderBy().toString()));
+                new Page<WaylineFileEntity>(param.getPage(), param.getPageSize()), wrapper);
 
         // Wrap the results of a paging query into a custom paging object.
         List<GetWaylineListResponse> records = page.getRecords()
@@ -131,7 +149,11 @@ public class WaylineFileServiceImpl implements IWaylineFileService {
             }
         }
         int insertId = mapper.insert(file);
-        return insertId > 0 ? file.getId() : insertId;
+        if (insertId <= 0) {
+            return insertId;
+        }
+        batchInsertExecutor.insert(filterMapper, this.toFilters(file));
+        return file.getId();
     }
 
     @Override
@@ -172,6 +194,8 @@ public class WaylineFileServiceImpl implements IWaylineFileService {
         if (!isDel) {
             return false;
         }
+        filterMapper.delete(new LambdaUpdateWrapper<WaylineFileFilterEntity>()
+                .eq(WaylineFileFilterEntity::getWaylineId, waylineId));
         return ossService.deleteObject(OssConfiguration.bucket, wayline.getObjectKey());
     }
 
@@ -193,6 +217,77 @@ public class WaylineFileServiceImpl implements IWaylineFileService {
         }
     }
 
+    /**
+     * Only keep the waylines that have any of the values, by the index of workspace_filter_INDEX.
+     * The values are bound as parameters.
+     * @param wrapper
+     * @param workspaceId
+     * @param type
+     * @param values
+     */
+    private void filterBy(LambdaQueryWrapper<WaylineFileEntity> wrapper, String workspaceId,
+                          WaylineFileFilterTypeEnum type, List<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        List<Object> params = new ArrayList<>(values.size() + 2);
+        params.add(workspaceId);
+        params.add(type.getType());
+        params.addAll(values);
+        wrapper.apply("wayline_id in (select f.wayline_id from wayline_file_filter f " +
+                        "where f.workspace_id = {0} and f.filter_type = {1} and f.filter_value in (" +
+                        IntStream.range(2, params.size()).mapToObj(i -> "{" + i + "}").collect(Collectors.joining(",")) +
+                        "))",
+                params.toArray());
+    }
+
+    /**
+     * Order by the column of the request, or by the update time if it is not specified.
+     * The id keeps the order of the pages stable when the values are the same.
+     * @param wrapper
+     * @param orderBy
+     */
+    private void orderBy(LambdaQueryWrapper<WaylineFileEntity> wrapper, GetWaylineListOrderBy orderBy) {
+        if (Objects.isNull(orderBy)) {
+            wrapper.orderByDesc(WaylineFileEntity::getUpdateTime, WaylineFileEntity::getId);
+            return;
+        }
+        SFunction<WaylineFileEntity, ?> column = ORDER_COLUMNS.get(orderBy.getColumn());
+        if (Objects.isNull(column)) {
+            throw new RuntimeException("The waylines can't be ordered by " + orderBy.getColumn() + ".");
+        }
+        wrapper.orderBy(true, !orderBy.isDesc(), column)
+                .orderBy(true, !orderBy.isDesc(), WaylineFileEntity::getId);
+    }
+
+    /**
+     * Split the template types and the payload model keys of the wayline file into the filter rows.
+     * @param file
+     * @return
+     */
+    private List<WaylineFileFilterEntity> toFilters(WaylineFileEntity file) {
+        return Stream.concat(
+                        this.splitFilters(file, WaylineFileFilterTypeEnum.TEMPLATE_TYPE, file.getTemplateTypes()),
+                        this.splitFilters(file, WaylineFileFilterTypeEnum.PAYLOAD_MODEL_KEY, file.getPayloadModelKeys()))
+                .collect(Collectors.toList());
+    }
+
+    private Stream<WaylineFileFilterEntity> splitFilters(WaylineFileEntity file, WaylineFileFilterTypeEnum type, String values) {
+        if (!StringUtils.hasText(values)) {
+            return Stream.empty();
+        }
+        return Arrays.stream(values.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .distinct()
+                .map(value -> WaylineFileFilterEntity.builder()
+                        .waylineId(file.getWaylineId())
+                        .workspaceId(file.getWorkspaceId())
+                        .filterType(type.getType())
+                        .filterValue(value)
+                        .build());
+    }
+
     private Optional<WaylineFileDTO> validKmzFile(MultipartFile file) {
         String filename = file.getOriginalFilename();
         if (Objects.nonNull(filename) && !filename.endsWith(WAYLINE_FILE_SUFFIX)) {
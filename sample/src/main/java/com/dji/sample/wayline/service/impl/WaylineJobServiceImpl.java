@@ -50,6 +50,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class WaylineJobServiceImpl implements IWaylineJobService {
 
+    /**
+     * The maximum number of job ids in one IN list.
+     */
+    private static final int IN_LIST_CHUNK_SIZE = 500;
+
+    /**
+     * The maximum number of jobs in one page after a job.
+     */
+    private static final long MAX_PAGE_SIZE = 1000;
+
     @Autowired
     private IWaylineJobMapper mapper;
 
@@ -123,15 +133,23 @@ public class WaylineJobServiceImpl implements IWaylineJobService {
     }
 
     public List<WaylineJobDTO> getJobsByConditions(String workspaceId, Collection<String> jobIds, WaylineJobStatusEnum status) {
-        return mapper.selectList(
-                new LambdaQueryWrapper<WaylineJobEntity>()
-                        .eq(WaylineJobEntity::getWorkspaceId, workspaceId)
-                        .eq(Objects.nonNull(status), WaylineJobEntity::getStatus, status.getVal())
-                        .and(!CollectionUtils.isEmpty(jobIds),
-                                wrapper -> jobIds.forEach(id -> wrapper.eq(WaylineJobEntity::getJobId, id).or())))
-                .stream()
-                .map(this::entity2Dto)
-                .collect(Collectors.toList());
+        Integer statusVal = Optional.ofNullable(status).map(WaylineJobStatusEnum::getVal).orElse(null);
+        if (CollectionUtils.isEmpty(jobIds)) {
+            return this.entities2Dto(mapper.selectList(
+                    new LambdaQueryWrapper<WaylineJobEntity>()
+                            .eq(WaylineJobEntity::getWorkspaceId, workspaceId)
+                            .eq(Objects.nonNull(statusVal), WaylineJobEntity::getStatus, statusVal)));
+        }
+        List<String> ids = new ArrayList<>(jobIds);
+        List<WaylineJobEntity> entities = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += IN_LIST_CHUNK_SIZE) {
+            entities.addAll(mapper.selectList(
+                    new LambdaQueryWrapper<WaylineJobEntity>()
+                            .eq(WaylineJobEntity::getWorkspaceId, workspaceId)
+                            .eq(Objects.nonNull(statusVal), WaylineJobEntity::getStatus, statusVal)
+                            .in(WaylineJobEntity::getJobId, ids.subList(i, Math.min(i + IN_LIST_CHUNK_SIZE, ids.size())))));
+        }
+        return this.entities2Dto(entities);
     }
 
     @Override
@@ -151,20 +169,46 @@ public class WaylineJobServiceImpl implements IWaylineJobService {
     }
 
     @Override
-    public PaginationData<WaylineJobDTO> getJobsByWorkspaceId(String workspaceId, long page, long pageSize) {
+    public PaginationData<WaylineJobDTO> getJobsByWorkspaceId(String workspaceId, long page, long pageSize, boolean count) {
         Page<WaylineJobEntity> pageData = mapper.selectPage(
-                new Page<WaylineJobEntity>(page, pageSize),
+                new Page<WaylineJobEntity>(page, pageSize, count),
                 new LambdaQueryWrapper<WaylineJobEntity>()
                         .eq(WaylineJobEntity::getWorkspaceId, workspaceId)
-                        .orderByDesc(WaylineJobEntity::getId));
-        List<WaylineJobDTO> records = pageData.getRecords()
-                .stream()
-                .map(this::entity2Dto)
-                .collect(Collectors.toList());
+                        .orderByDesc(WaylineJobEntity::getCreateTime, WaylineJobEntity::getId));
+        List<WaylineJobDTO> records = this.entities2Dto(pageData.getRecords());
 
         return new PaginationData<WaylineJobDTO>(records, new Pagination(pageData.getCurrent(), pageData.getSize(), pageData.getTotal()));
     }
 
+    @Override
+    public PaginationData<WaylineJobDTO> getJobsByWorkspaceIdAfter(String workspaceId, String lastJobId, long pageSize, boolean count) {
+        WaylineJobEntity last = mapper.selectOne(
+                new LambdaQueryWrapper<WaylineJobEntity>()
+                        .select(WaylineJobEntity::getCreateTime, WaylineJobEntity::getId)
+                        .eq(WaylineJobEntity::getWorkspaceId, workspaceId)
+                        .eq(WaylineJobEntity::getJobId, lastJobId));
+        if (Objects.isNull(last)) {
+            throw new RuntimeException("The job " + lastJobId + " does not exist in this workspace.");
+        }
+        pageSize = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+        // Seek past the last job on the (workspace_id, create_time, id) index instead of skipping the previous rows.
+        // The redundant bound on create_time gives the index a range even where the OR is not turned into one.
+        List<WaylineJobEntity> entities = mapper.selectPage(
+                new Page<WaylineJobEntity>(1, pageSize, false),
+                new LambdaQueryWrapper<WaylineJobEntity>()
+                        .eq(WaylineJobEntity::getWorkspaceId, workspaceId)
+                        .le(WaylineJobEntity::getCreateTime, last.getCreateTime())
+                        .and(wrapper -> wrapper.lt(WaylineJobEntity::getCreateTime, last.getCreateTime())
+                                .or().lt(WaylineJobEntity::getId, last.getId()))
+                        .orderByDesc(WaylineJobEntity::getCreateTime, WaylineJobEntity::getId))
+                .getRecords();
+        long total = count ? mapper.selectCount(
+                new LambdaQueryWrapper<WaylineJobEntity>()
+                        .eq(WaylineJobEntity::getWorkspaceId, workspaceId)) : 0;
+
+        return new PaginationData<WaylineJobDTO>(this.entities2Dto(entities), new Pagination(0, pageSize, total));
+    }
+
     private WaylineJobEntity dto2Entity(WaylineJobDTO dto) {
         WaylineJobEntity.WaylineJobEntityBuilder builder = WaylineJobEntity.builder();
         if (dto == null) {
@@ -189,6 +233,7 @@ public class WaylineJobServiceImpl implements IWaylineJobService {
                 .jobId(dto.getJobId())
                 .fileId(dto.getFileId())
                 .dockSn(dto.getDockSn())
+                .droneSn(dto.getDroneSn())
                 .workspaceId(dto.getWorkspaceId())
                 .taskType(Optional.ofNullable(dto.getTaskType()).map(TaskTypeEnum::getType).orElse(null))
                 .waylineType(Optional.ofNullable(dto.getWaylineType()).map(WaylineTypeEnum::getValue).orElse(null))
@@ -225,11 +270,21 @@ public class WaylineJobServiceImpl implements IWaylineJobService {
         return WaylineJobStatusEnum.UNKNOWN;
     }
 
+    private List<WaylineJobDTO> entities2Dto(List<WaylineJobEntity> entities) {
+        JobRedisState redisState = JobRedisState.load(entities);
+        return entities.stream()
+                .map(entity -> this.entity2Dto(entity, redisState))
+                .collect(Collectors.toList());
+    }
+
     private WaylineJobDTO entity2Dto(WaylineJobEntity entity) {
         if (entity == null) {
             return null;
         }
+        return this.entity2Dto(entity, JobRedisState.load(List.of(entity)));
+    }
 
+    private WaylineJobDTO entity2Dto(WaylineJobEntity entity, JobRedisState redisState) {
         WaylineJobDTO.WaylineJobDTOBuilder builder = WaylineJobDTO.builder()
                 .jobId(entity.getJobId())
                 .jobName(entity.getName())
@@ -237,12 +292,13 @@ public class WaylineJobServiceImpl implements IWaylineJobService {
                 .fileName(waylineFileService.getWaylineByWaylineId(entity.getWorkspaceId(), entity.getFileId())
                         .orElse(new GetWaylineListResponse()).getName())
                 .dockSn(entity.getDockSn())
+                .droneSn(entity.getDroneSn())
                 .dockName(deviceService.getDeviceBySn(entity.getDockSn())
                         .orElse(DeviceDTO.builder().build()).getNickname())
                 .username(entity.getUsername())
                 .workspaceId(entity.getWorkspaceId())
                 .status(WaylineJobStatusEnum.IN_PROGRESS.getVal() == entity.getStatus() &&
-                        entity.getJobId().equals(waylineRedisService.getPausedWaylineJobId(entity.getDockSn())) ?
+                        entity.getJobId().equals(redisState.pausedJobIds.get(entity.getDockSn())) ?
                                 WaylineJobStatusEnum.PAUSED.getVal() : entity.getStatus())
                 .code(entity.getErrorCode())
                 .beginTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(entity.getBeginTime()), ZoneId.systemDefault()))
@@ -262,7 +318,7 @@ public class WaylineJobServiceImpl implements IWaylineJobService {
             builder.endTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(entity.getEndTime()), ZoneId.systemDefault()));
         }
         if (WaylineJobStatusEnum.IN_PROGRESS.getVal() == entity.getStatus()) {
-            builder.progress(waylineRedisService.getRunningWaylineJob(entity.getDockSn())
+            builder.progress(Optional.ofNullable(redisState.runningJobs.get(entity.getDockSn()))
                     .map(EventsReceiver::getOutput)
                     .map(FlighttaskProgress::getProgress)
                     .map(FlighttaskProgressData::getPercent)
@@ -274,12 +330,11 @@ public class WaylineJobServiceImpl implements IWaylineJobService {
         }
 
         // sync the number of media files
-        String key = RedisConst.MEDIA_HIGHEST_PRIORITY_PREFIX + entity.getDockSn();
-        String countKey = RedisConst.MEDIA_FILE_PREFIX + entity.getDockSn();
-        Object mediaFileCount = RedisOpsUtils.hashGet(countKey, entity.getJobId());
+        MediaFileCountDTO mediaFileCount = redisState.mediaFileCounts.get(entity.getJobId());
         if (Objects.nonNull(mediaFileCount)) {
-            builder.uploadedCount(((MediaFileCountDTO) mediaFileCount).getUploadedCount())
-                    .uploading(RedisOpsUtils.checkExist(key) && entity.getJobId().equals(((MediaFileCountDTO)RedisOpsUtils.get(key)).getJobId()));
+            MediaFileCountDTO highestPriority = redisState.highestPriorities.get(entity.getDockSn());
+            builder.uploadedCount(mediaFileCount.getUploadedCount())
+                    .uploading(Objects.nonNull(highestPriority) && entity.getJobId().equals(highestPriority.getJobId()));
             return builder.build();
         }
 
@@ -288,11 +343,63 @@ public class WaylineJobServiceImpl implements IWaylineJobService {
         if (uploadedSize >= entity.getMediaCount()) {
             return builder.uploadedCount(uploadedSize).build();
         }
-        RedisOpsUtils.hashSet(countKey, entity.getJobId(),
+        RedisOpsUtils.hashSet(RedisConst.MEDIA_FILE_PREFIX + entity.getDockSn(), entity.getJobId(),
                 MediaFileCountDTO.builder()
                         .jobId(entity.getJobId())
                         .mediaCount(entity.getMediaCount())
                         .uploadedCount(uploadedSize).build());
         return builder.build();
     }
+
+    /**
+     * The redis data needed by a list of jobs. It's read in one pipeline, keyed by the distinct docks and jobs of the list,
+     * instead of several round trips for each job.
+     */
+    private static class JobRedisState {
+
+        private final Map<String, String> pausedJobIds = new HashMap<>();
+
+        private final Map<String, EventsReceiver<FlighttaskProgress>> runningJobs = new HashMap<>();
+
+        private final Map<String, MediaFileCountDTO> highestPriorities = new HashMap<>();
+
+        private final Map<String, MediaFileCountDTO> mediaFileCounts = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        private static JobRedisState load(List<WaylineJobEntity> entities) {
+            JobRedisState state = new JobRedisState();
+            List<String> inProgressDocks = entities.stream()
+                    .filter(entity -> WaylineJobStatusEnum.IN_PROGRESS.getVal() == entity.getStatus())
+                    .map(WaylineJobEntity::getDockSn)
+                    .distinct()
+                    .collect(Collectors.toList());
+            List<WaylineJobEntity> mediaJobs = entities.stream()
+                    .filter(entity -> entity.getMediaCount() != 0)
+                    .collect(Collectors.toList());
+            List<String> mediaDocks = mediaJobs.stream()
+                    .map(WaylineJobEntity::getDockSn)
+                    .distinct()
+                    .collect(Collectors.toList());
+            if (inProgressDocks.isEmpty() && mediaJobs.isEmpty()) {
+                return state;
+            }
+
+            Iterator<Object> results = RedisOpsUtils.pipelined(operations -> {
+                inProgressDocks.forEach(dockSn -> {
+                    operations.opsForValue().get(RedisConst.WAYLINE_JOB_PAUSED_PREFIX + dockSn);
+                    operations.opsForValue().get(RedisConst.WAYLINE_JOB_RUNNING_PREFIX + dockSn);
+                });
+                mediaDocks.forEach(dockSn -> operations.opsForValue().get(RedisConst.MEDIA_HIGHEST_PRIORITY_PREFIX + dockSn));
+                mediaJobs.forEach(entity -> operations.opsForHash().get(RedisConst.MEDIA_FILE_PREFIX + entity.getDockSn(), entity.getJobId()));
+            }).iterator();
+
+            inProgressDocks.forEach(dockSn -> {
+                state.pausedJobIds.put(dockSn, (String) results.next());
+                state.runningJobs.put(dockSn, (EventsReceiver<FlighttaskProgress>) results.next());
+            });
+            mediaDocks.forEach(dockSn -> state.highestPriorities.put(dockSn, (MediaFileCountDTO) results.next()));
+            mediaJobs.forEach(entity -> state.mediaFileCounts.put(entity.getJobId(), (MediaFileCountDTO) results.next()));
+            return state;
+        }
+    }
 }
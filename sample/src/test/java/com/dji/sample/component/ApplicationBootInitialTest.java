@@ -0,0 +1,202 @@
+package com.dji.sample.component;
+
+import com.dji.sample.component.redis.RedisConst;
+import com.dji.sample.manage.model.dto.DeviceDTO;
+import com.dji.sample.manage.service.IDeviceRedisService;
+import com.dji.sample.manage.service.impl.DeviceServiceImpl;
+import com.dji.sdk.cloudapi.device.DeviceDomainEnum;
+import com.dji.sdk.cloudapi.device.DeviceSubTypeEnum;
+import com.dji.sdk.cloudapi.device.DeviceTypeEnum;
+import com.dji.sdk.common.SDKManager;
+import com.dji.sdk.mqtt.IMqttTopicService;
+import com.dji.sdk.mqtt.MqttTopicServiceImpl;
+import com.dji.sdk.mqtt.events.EventsSubscribe;
+import com.dji.sdk.mqtt.osd.OsdSubscribe;
+import com.dji.sdk.mqtt.property.PropertySetSubscribe;
+import com.dji.sdk.mqtt.requests.RequestsSubscribe;
+import com.dji.sdk.mqtt.services.ServicesSubscribe;
+import com.dji.sdk.mqtt.state.StateSubscribe;
+import com.dji.sdk.mqtt.status.StatusSubscribe;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.integration.mqtt.inbound.MqttPahoMessageDrivenChannelAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The redis and the broker are simulated with a fixed delay for each request.
+ * The adapter waits for each SUBACK while it holds its lock, as paho does.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Slf4j
+class ApplicationBootInitialTest {
+
+    /**
+     * Each dock is online with its drone, 2,000 online devices in all.
+     */
+    private static final int DOCKS = 1000;
+
+    private static final long REDIS_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    private static final long SUBACK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<String, DeviceDTO> online = new HashMap<>();
+
+    /**
+     * In the order of SCAN, which doesn't keep a dock next to its drone.
+     */
+    private final List<String> keys = new ArrayList<>();
+
+    private final AtomicInteger redisRequests = new AtomicInteger();
+
+    private final AtomicInteger subscribeRequests = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < DOCKS; i++) {
+            DeviceDTO dock = DeviceDTO.builder()
+                    .deviceSn("dock" + i)
+                    .childDeviceSn("drone" + i)
+                    .domain(DeviceDomainEnum.DOCK)
+                    .type(DeviceTypeEnum.DOCK3)
+                    .subType(DeviceSubTypeEnum.ZERO)
+                    .thingVersion("1.3.0")
+                    .build();
+            DeviceDTO drone = DeviceDTO.builder()
+                    .deviceSn("drone" + i)
+                    .parentSn("dock" + i)
+                    .domain(DeviceDomainEnum.DRONE)
+                    .type(DeviceTypeEnum.M4D)
+                    .subType(DeviceSubTypeEnum.ZERO)
+                    .thingVersion("1.3.0")
+                    .build();
+            for (DeviceDTO device : List.of(dock, drone)) {
+                online.put(device.getDeviceSn(), device);
+                keys.add(RedisConst.DEVICE_ONLINE_PREFIX + device.getDeviceSn());
+            }
+        }
+        Collections.shuffle(keys, new Random(38));
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (int i = 0; i < DOCKS; i++) {
+            SDKManager.logoutDevice("dock" + i);
+        }
+    }
+
+    @Test
+    void resubscribesTheOnlineDevicesInBatches() throws Exception {
+        Set<String> oneByOne = new LinkedHashSet<>();
+        long oneByOneNanos = warmStart(1, 1, oneByOne);
+        Set<String> batched = new LinkedHashSet<>();
+        long batchedNanos = warmStart(200, 8, batched);
+
+        assertEquals(oneByOne, batched);
+        assertTrue(batchedNanos * 10 < oneByOneNanos, "The batched warm start takes " + batchedNanos + " ns.");
+    }
+
+    /**
+     * @return the nanoseconds until all the online gateways are subscribed.
+     */
+    private long warmStart(int batchSize, int parallelism, Set<String> topics) throws Exception {
+        redisRequests.set(0);
+        subscribeRequests.set(0);
+        IMqttTopicService topicService = topicService(topics);
+        ApplicationBootInitial initial = new ApplicationBootInitial();
+        ReflectionTestUtils.setField(initial, "batchSize", batchSize);
+        ReflectionTestUtils.setField(initial, "parallelism", parallelism);
+        ReflectionTestUtils.setField(initial, "deviceRedisService", deviceRedisService());
+        ReflectionTestUtils.setField(initial, "deviceService", deviceService(topicService));
+        ReflectionTestUtils.setField(initial, "topicService", topicService);
+
+        long start = System.nanoTime();
+        int gateways = initial.resubscribeOnline(batches -> {
+            for (int i = 0; i < keys.size(); i += batchSize) {
+                batches.accept(new ArrayList<>(keys.subList(i, Math.min(i + batchSize, keys.size()))));
+            }
+        });
+        long nanos = System.nanoTime() - start;
+
+        log.info("{} online devices are resubscribed in {} ms in batches of {} on {} threads, " +
+                        "with {} redis requests and {} subscriptions of {} topics.",
+                keys.size(), TimeUnit.NANOSECONDS.toMillis(nanos), batchSize, parallelism,
+                redisRequests.get(), subscribeRequests.get(), topics.size());
+        assertEquals(DOCKS, gateways);
+        return nanos;
+    }
+
+    @SuppressWarnings("unchecked")
+    private IDeviceRedisService deviceRedisService() {
+        return (IDeviceRedisService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{IDeviceRedisService.class}, (proxy, method, args) -> {
+                    if (!"getDevicesOnline".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    redisRequests.incrementAndGet();
+                    LockSupport.parkNanos(REDIS_NANOS);
+                    Map<String, DeviceDTO> devices = new HashMap<>();
+                    for (String sn : (Collection<String>) args[0]) {
+                        devices.put(sn, online.get(sn));
+                    }
+                    return devices;
+                });
+    }
+
+    private static DeviceServiceImpl deviceService(IMqttTopicService topicService) {
+        DeviceServiceImpl deviceService = new DeviceServiceImpl();
+        for (Object subscribe : List.of(new StatusSubscribe(), new StateSubscribe(), new OsdSubscribe(),
+                new ServicesSubscribe(), new EventsSubscribe(), new RequestsSubscribe(), new PropertySetSubscribe())) {
+            ReflectionTestUtils.setField(subscribe, "topicService", topicService);
+            String name = subscribe.getClass().getSimpleName();
+            ReflectionTestUtils.setField(deviceService, Character.toLowerCase(name.charAt(0)) + name.substring(1), subscribe);
+        }
+        return deviceService;
+    }
+
+    private IMqttTopicService topicService(Set<String> topics) {
+        MqttTopicServiceImpl topicService = new MqttTopicServiceImpl();
+        ReflectionTestUtils.setField(topicService, "adapter",
+                new MqttPahoMessageDrivenChannelAdapter("tcp://localhost:1883", "warm-start") {
+
+                    @Override
+                    public synchronized void addTopic(String topic, int qos) {
+                        addTopics(new String[]{topic}, new int[]{qos});
+                    }
+
+                    @Override
+                    public synchronized void addTopics(String[] topic, int[] qos) {
+                        subscribeRequests.incrementAndGet();
+                        LockSupport.parkNanos(SUBACK_NANOS);
+                        Collections.addAll(topics, topic);
+                    }
+
+                    @Override
+                    public synchronized String[] getTopic() {
+                        return topics.toArray(String[]::new);
+                    }
+                });
+        return topicService;
+    }
+}
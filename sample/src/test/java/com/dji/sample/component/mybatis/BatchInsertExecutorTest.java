@@ -0,0 +1,223 @@
+package com.dji.sample.component.mybatis;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.config.GlobalConfig;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import com.dji.sample.manage.dao.IDeviceHmsMapper;
+import com.dji.sample.manage.dao.IFirmwareModelMapper;
+import com.dji.sample.manage.dao.ILogsFileIndexMapper;
+import com.dji.sample.manage.dao.ILogsFileMapper;
+import com.dji.sample.manage.model.entity.DeviceHmsEntity;
+import com.dji.sample.manage.model.entity.FirmwareModelEntity;
+import com.dji.sample.manage.model.entity.LogsFileEntity;
+import com.dji.sample.manage.model.entity.LogsFileIndexEntity;
+import com.dji.sample.map.dao.IElementCoordinateMapper;
+import com.dji.sample.map.model.entity.ElementCoordinateEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The inserts run against an in-memory H2 database in the MySQL mode.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Slf4j
+class BatchInsertExecutorTest {
+
+    private static final int ROWS = 2000;
+
+    private static final int CHUNK_SIZE = 500;
+
+    private SqlSession sqlSession;
+
+    @BeforeEach
+    void setUp() throws SQLException, IOException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             InputStream ddl = getClass().getResourceAsStream("/sql/batch_insert.sql")) {
+            for (String sql : new String(ddl.readAllBytes(), StandardCharsets.UTF_8).split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setEnvironment(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        GlobalConfig globalConfig = GlobalConfigUtils.getGlobalConfig(configuration);
+        globalConfig.setBanner(false);
+        globalConfig.setSqlInjector(new BatchSqlInjector());
+        globalConfig.setMetaObjectHandler(new MybatisPlusMetaObjectHandler());
+        for (Class<?> mapper : List.of(IDeviceHmsMapper.class, ILogsFileMapper.class, ILogsFileIndexMapper.class,
+                IFirmwareModelMapper.class, IElementCoordinateMapper.class)) {
+            configuration.addMapper(mapper);
+        }
+        sqlSession = new MybatisSqlSessionFactoryBuilder().build(configuration).openSession(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlSession.close();
+    }
+
+    @Test
+    void writesTheRowsOfEachChunk() {
+        ILogsFileMapper mapper = sqlSession.getMapper(ILogsFileMapper.class);
+        List<LogsFileEntity> files = rows(1234, BatchInsertExecutorTest::logsFile);
+
+        assertEquals(1234, executor(BatchInsertModeEnum.MULTI_VALUES).insert(mapper, files));
+        List<LogsFileEntity> saved = mapper.selectList(null);
+        assertEquals(1234, saved.size());
+        for (LogsFileEntity file : saved) {
+            // The null field is written as the default of the column, and the fill fields are filled.
+            assertEquals("", file.getFingerprint());
+            assertNotNull(file.getCreateTime());
+            assertNotNull(file.getUpdateTime());
+        }
+    }
+
+    @Test
+    void writesTheRowsInJdbcBatches() {
+        ILogsFileIndexMapper mapper = sqlSession.getMapper(ILogsFileIndexMapper.class);
+
+        assertEquals(1234, executor(BatchInsertModeEnum.JDBC_BATCH).insert(mapper,
+                rows(1234, BatchInsertExecutorTest::logsFileIndex)));
+        assertEquals(1234, mapper.selectCount(null).intValue());
+    }
+
+    @Test
+    void measuresTheRowsPerSecondOfEachPath() {
+        measure("hms", IDeviceHmsMapper.class, BatchInsertExecutorTest::hms);
+        measure("logs files", ILogsFileMapper.class, BatchInsertExecutorTest::logsFile);
+        measure("logs file indexes", ILogsFileIndexMapper.class, BatchInsertExecutorTest::logsFileIndex);
+        measure("firmware models", IFirmwareModelMapper.class, BatchInsertExecutorTest::firmwareModel);
+        measure("element coordinates", IElementCoordinateMapper.class, BatchInsertExecutorTest::coordinate);
+    }
+
+    private <T> void measure(String path, Class<? extends BatchBaseMapper<T>> mapperClass, IntFunction<T> row) {
+        BatchBaseMapper<T> mapper = sqlSession.getMapper(mapperClass);
+        double oneByOne = 0;
+        double multiValues = 0;
+        double jdbcBatch = 0;
+        for (int round = 0; round < 3; round++) {
+            List<T> rows = rows(ROWS, row);
+            long start = System.nanoTime();
+            rows.forEach(mapper::insert);
+            oneByOne = Math.max(oneByOne, rowsPerSecond(start));
+
+            rows = rows(ROWS, row);
+            start = System.nanoTime();
+            executor(BatchInsertModeEnum.MULTI_VALUES).insert(mapper, rows);
+            multiValues = Math.max(multiValues, rowsPerSecond(start));
+
+            rows = rows(ROWS, row);
+            start = System.nanoTime();
+            executor(BatchInsertModeEnum.JDBC_BATCH).insert(mapper, rows);
+            jdbcBatch = Math.max(jdbcBatch, rowsPerSecond(start));
+        }
+
+        log.info("{} rows of {} are inserted at {} per second one by one, {} in multi-values statements " +
+                        "and {} in jdbc batches of {}.", ROWS, path, String.format("%.0f", oneByOne),
+                String.format("%.0f", multiValues), String.format("%.0f", jdbcBatch), CHUNK_SIZE);
+        assertEquals(9 * ROWS, mapper.selectCount(null).intValue());
+        assertTrue(multiValues > oneByOne, "The multi-values statements insert " + multiValues + " " + path + " per second.");
+    }
+
+    private static double rowsPerSecond(long start) {
+        return ROWS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static BatchInsertExecutor executor(BatchInsertModeEnum mode) {
+        BatchInsertExecutor executor = new BatchInsertExecutor();
+        ReflectionTestUtils.setField(executor, "mode", mode);
+        ReflectionTestUtils.setField(executor, "chunkSize", CHUNK_SIZE);
+        return executor;
+    }
+
+    private static <T> List<T> rows(int count, IntFunction<T> row) {
+        return IntStream.range(0, count).mapToObj(row).collect(Collectors.toList());
+    }
+
+    private static DeviceHmsEntity hms(int i) {
+        return DeviceHmsEntity.builder()
+                .hmsId(UUID.randomUUID().toString())
+                .tid(UUID.randomUUID().toString())
+                .bid(UUID.randomUUID().toString())
+                .sn("dock")
+                .level(i % 3)
+                .module(3)
+                .hmsKey("dock_tip_0x16100083")
+                .messageZh("")
+                .messageEn("The dock cover is open.")
+                .createTime(System.currentTimeMillis())
+                .updateTime(System.currentTimeMillis())
+                .build();
+    }
+
+    private static LogsFileEntity logsFile(int i) {
+        return LogsFileEntity.builder()
+                .fileId(UUID.randomUUID().toString())
+                .name("log" + i)
+                .size(1024L * i)
+                .logsId("logs")
+                .deviceSn("dock")
+                .objectKey("logs/dock/log" + i)
+                .status(true)
+                .build();
+    }
+
+    private static LogsFileIndexEntity logsFileIndex(int i) {
+        return LogsFileIndexEntity.builder()
+                .bootIndex(i)
+                .fileId("file")
+                .startTime(1000L * i)
+                .endTime(1000L * i + 999)
+                .size(1024L * i)
+                .deviceSn("dock")
+                .domain(3)
+                .build();
+    }
+
+    private static FirmwareModelEntity firmwareModel(int i) {
+        return FirmwareModelEntity.builder()
+                .firmwareId("firmware" + i / 4)
+                .deviceName("DJI Dock" + (i % 4))
+                .build();
+    }
+
+    private static ElementCoordinateEntity coordinate(int i) {
+        return ElementCoordinateEntity.builder()
+                .elementId("element" + i / 20)
+                .longitude(113.9 + i * 1e-6)
+                .latitude(22.5 + i * 1e-6)
+                .build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.dji.sample.component.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+class TelemetrySegmentTest {
+
+    private static final Set<TelemetryFieldEnum> ALL_FIELDS = EnumSet.allOf(TelemetryFieldEnum.class);
+
+    @Test
+    void writesAndReadsBitsAcrossWords() {
+        BitOutput out = new BitOutput();
+        Random random = new Random(7);
+        long[] values = new long[2000];
+        int[] counts = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            counts[i] = random.nextInt(Long.SIZE + 1);
+            values[i] = random.nextLong();
+            out.writeBits(values[i], counts[i]);
+        }
+        byte[] bytes = out.toByteArray();
+        assertEquals(out.byteLength(), bytes.length);
+
+        BitInput in = new BitInput(bytes, 0, bytes.length);
+        for (int i = 0; i < values.length; i++) {
+            long expected = counts[i] == Long.SIZE ? values[i] : values[i] & ((1L << counts[i]) - 1);
+            assertEquals(expected, in.readBits(counts[i]), "The value " + i + " of " + counts[i] + " bits.");
+        }
+    }
+
+    @Test
+    void rejectsReadingBeyondTheBlock() {
+        BitOutput out = new BitOutput();
+        out.writeBits(0b101, 3);
+        byte[] bytes = out.toByteArray();
+        BitInput in = new BitInput(bytes, 0, bytes.length);
+        assertEquals(0b10100000, in.readBits(8));
+        assertThrows(IllegalStateException.class, in::readBit);
+    }
+
+    @Test
+    void encodesTimestampsOfEveryDeltaRange() {
+        long[] timestamps = {
+                1_700_000_000_000L, 1_700_000_000_500L, 1_700_000_001_000L, 1_700_000_001_500L,
+                1_700_000_001_564L, 1_700_000_001_565L, 1_700_000_001_900L, 1_700_000_004_000L,
+                1_700_000_004_001L, 1_700_000_104_000L, 1_700_000_104_000L, 1_699_999_000_000L, 1_700_000_000_000L};
+        TelemetryCodec.TimestampEncoder encoder = new TelemetryCodec.TimestampEncoder();
+        for (long timestamp : timestamps) {
+            encoder.write(timestamp);
+        }
+        byte[] bytes = encoder.output().toByteArray();
+        TelemetryCodec.TimestampDecoder decoder = new TelemetryCodec.TimestampDecoder(new BitInput(bytes, 0, bytes.length));
+        for (long timestamp : timestamps) {
+            assertEquals(timestamp, decoder.next());
+        }
+    }
+
+    @Test
+    void encodesSteadyTimestampsInOneBit() {
+        TelemetryCodec.TimestampEncoder encoder = new TelemetryCodec.TimestampEncoder();
+        for (int i = 0; i < 1001; i++) {
+            encoder.write(1_700_000_000_000L + i * 500L);
+        }
+        // 64 bits for the first one, 16 bits for the first delta and 1 bit for each of the rest.
+        assertEquals((64 + 16 + 999 + 7) / 8, encoder.output().byteLength());
+    }
+
+    @Test
+    void encodesValuesExactly() {
+        double[] values = {
+                22.5712345, 22.5712345, 22.5712399, 22.5713001, -22.5713001, 0, -0.0, Double.NaN, Double.NaN,
+                1e-300, Double.MIN_VALUE, Double.MAX_VALUE, Double.NEGATIVE_INFINITY, 100.25, 100.5, 99.75};
+        TelemetryCodec.ValueEncoder encoder = new TelemetryCodec.ValueEncoder();
+        for (double value : values) {
+            encoder.write(value);
+        }
+        byte[] bytes = encoder.output().toByteArray();
+        TelemetryCodec.ValueDecoder decoder = new TelemetryCodec.ValueDecoder(new BitInput(bytes, 0, bytes.length));
+        for (double value : values) {
+            assertEquals(Double.doubleToRawLongBits(value), Double.doubleToRawLongBits(decoder.next()));
+        }
+    }
+
+    @Test
+    void encodesRepeatedValuesInOneBit() {
+        TelemetryCodec.ValueEncoder encoder = new TelemetryCodec.ValueEncoder();
+        for (int i = 0; i < 801; i++) {
+            encoder.write(85);
+        }
+        assertEquals((64 + 800) / 8, encoder.output().byteLength());
+    }
+
+    @Test
+    void decodesTheFramesOfTheSegment() {
+        Random random = new Random(11);
+        int count = 3600;
+        long[] timestamps = new long[count];
+        double[][] frames = new double[count][];
+        TelemetrySegment segment = new TelemetrySegment();
+        long timestamp = 1_700_000_000_000L;
+        double longitude = 113.94;
+        double latitude = 22.57;
+        for (int i = 0; i < count; i++) {
+            timestamp += 500 + (random.nextInt(10) == 0 ? random.nextInt(200) - 100 : 0);
+            longitude += random.nextGaussian() * 1e-5;
+            latitude += random.nextGaussian() * 1e-5;
+            double[] values = new double[TelemetrySegment.COLUMNS];
+            for (TelemetryFieldEnum field : TelemetryFieldEnum.values()) {
+                values[field.ordinal()] = random.nextInt(20) == 0 ? Double.NaN : random.nextInt(100);
+            }
+            values[TelemetryFieldEnum.LONGITUDE.ordinal()] = longitude;
+            values[TelemetryFieldEnum.LATITUDE.ordinal()] = latitude;
+            timestamps[i] = timestamp;
+            frames[i] = values;
+            segment.append(timestamp, values);
+        }
+        assertEquals(count, segment.getCount());
+        assertEquals(timestamps[0], segment.getStart());
+        assertEquals(timestamps[count - 1], segment.getEnd());
+
+        byte[] payload = segment.toPayload();
+        assertTrue(payload.length < count * TelemetrySegment.RAW_FRAME_BYTES / 2,
+                "The payload of " + payload.length + " bytes is not compressed.");
+
+        TelemetrySeries.Builder builder = new TelemetrySeries.Builder(ALL_FIELDS);
+        TelemetrySegment.decode(payload, count, Long.MIN_VALUE, Long.MAX_VALUE, ALL_FIELDS, builder);
+        TelemetrySeries series = builder.build();
+        assertArrayEquals(timestamps, series.getTimestamps());
+        for (TelemetryFieldEnum field : TelemetryFieldEnum.values()) {
+            double[] column = series.getValues().get(field);
+            for (int i = 0; i < count; i++) {
+                assertEquals(frames[i][field.ordinal()], column[i], field + " of the frame " + i);
+            }
+        }
+    }
+
+    @Test
+    void decodesOnlyTheFieldsWithinTheTimeRange() {
+        TelemetrySegment segment = new TelemetrySegment();
+        for (int i = 0; i < 10; i++) {
+            double[] values = new double[TelemetrySegment.COLUMNS];
+            Arrays.fill(values, i);
+            segment.append(1000L * i, values);
+        }
+        Set<TelemetryFieldEnum> fields = EnumSet.of(TelemetryFieldEnum.HEIGHT);
+        TelemetrySeries.Builder builder = new TelemetrySeries.Builder(fields);
+        TelemetrySegment.decode(segment.toPayload(), segment.getCount(), 3000, 6000, fields, builder);
+        TelemetrySeries series = builder.build();
+
+        assertArrayEquals(new long[]{3000, 4000, 5000, 6000}, series.getTimestamps());
+        assertEquals(fields, series.getValues().keySet());
+        assertArrayEquals(new double[]{3, 4, 5, 6}, series.getValues().get(TelemetryFieldEnum.HEIGHT));
+        assertFalse(series.getValues().containsKey(TelemetryFieldEnum.LONGITUDE));
+    }
+}
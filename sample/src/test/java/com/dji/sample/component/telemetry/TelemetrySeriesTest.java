@@ -0,0 +1,88 @@
+package com.dji.sample.component.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+class TelemetrySeriesTest {
+
+    private static final Set<TelemetryFieldEnum> FIELDS =
+            EnumSet.of(TelemetryFieldEnum.HEIGHT, TelemetryFieldEnum.ATTITUDE_HEAD);
+
+    @Test
+    void averagesTheFramesInEachInterval() {
+        TelemetrySeries series = series(new long[]{1000, 1500, 2000, 2500, 4000},
+                new double[]{10, 20, 30, Double.NaN, 50}, new double[]{10, 20, Double.NaN, Double.NaN, -30});
+        TelemetrySeries result = series.downsample(1000);
+
+        assertArrayEquals(new long[]{1000, 2000, 4000}, result.getTimestamps());
+        assertArrayEquals(new double[]{15, 30, 50}, result.getValues().get(TelemetryFieldEnum.HEIGHT));
+        double[] heads = result.getValues().get(TelemetryFieldEnum.ATTITUDE_HEAD);
+        assertEquals(15, heads[0], 1e-9);
+        assertTrue(Double.isNaN(heads[1]));
+        assertEquals(-30, heads[2], 1e-9);
+    }
+
+    @Test
+    void averagesTheHeadingsOnTheCircle() {
+        TelemetrySeries series = series(new long[]{0, 100, 200, 300},
+                new double[]{0, 0, 0, 0}, new double[]{179, -179, 170, -160});
+        double[] heads = series.downsample(200).getValues().get(TelemetryFieldEnum.ATTITUDE_HEAD);
+
+        // The arithmetic means are 0 and 5, both pointing away from where the drone was heading.
+        assertEquals(180, Math.abs(heads[0]), 1e-9);
+        assertEquals(-175, heads[1], 1e-9);
+    }
+
+    @Test
+    void returnsTheFramesAsTheyAreWithoutInterval() {
+        TelemetrySeries series = series(new long[]{0, 100}, new double[]{1, 2}, new double[]{3, 4});
+        assertSame(series, series.downsample(0));
+        assertEquals(0, series.minInterval(0, 100, 2));
+    }
+
+    @Test
+    void capsTheFramesOfAnyRange() {
+        Random random = new Random(3);
+        for (int maxPoints : new int[]{2, 7, 100, 2000}) {
+            for (int i = 0; i < 20; i++) {
+                long begin = 1_700_000_000_000L + random.nextInt(1_000_000);
+                long end = begin + random.nextInt(86_400_000);
+                int count = maxPoints + 1 + random.nextInt(5000);
+                long[] timestamps = new long[count];
+                double[] values = new double[count];
+                for (int j = 0; j < count; j++) {
+                    timestamps[j] = begin + (end - begin) * j / (count - 1);
+                }
+                TelemetrySeries series = series(timestamps, values, values);
+                long interval = series.minInterval(begin, end, maxPoints);
+
+                int size = series.downsample(interval).size();
+                assertTrue(size <= maxPoints, size + " frames are returned for at most " + maxPoints);
+            }
+        }
+    }
+
+    private static TelemetrySeries series(long[] timestamps, double[] heights, double[] heads) {
+        double[][] columns = new double[TelemetrySegment.COLUMNS][];
+        columns[TelemetryFieldEnum.HEIGHT.ordinal()] = heights;
+        columns[TelemetryFieldEnum.ATTITUDE_HEAD.ordinal()] = heads;
+        TelemetrySeries.Builder builder = new TelemetrySeries.Builder(FIELDS);
+        for (int i = 0; i < timestamps.length; i++) {
+            builder.add(timestamps[i], columns, i);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,224 @@
+package com.dji.sample.manage.service.impl;
+
+import com.dji.sample.component.redis.RedisConst;
+import com.dji.sample.component.redis.RedisOpsUtils;
+import com.dji.sample.manage.model.dto.CapacityCameraDTO;
+import com.dji.sample.manage.model.dto.DeviceDTO;
+import com.dji.sdk.cloudapi.device.DeviceDomainEnum;
+import com.dji.sdk.cloudapi.device.DeviceSubTypeEnum;
+import com.dji.sdk.cloudapi.device.DeviceTypeEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The redis is simulated with a fixed delay for each round trip. A pipeline and a multi key command
+ * take one round trip for all their keys.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Slf4j
+class DeviceRedisServiceImplTest {
+
+    /**
+     * Half of them are online with their live capacity.
+     */
+    private static final int DEVICES = 1000;
+
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    private final Map<String, Object> values = new HashMap<>();
+
+    private final Map<String, Long> expires = new HashMap<>();
+
+    private final Map<Object, Object> capacities = new HashMap<>();
+
+    private final List<String> sns = new ArrayList<>();
+
+    private final AtomicInteger roundTrips = new AtomicInteger();
+
+    private final DeviceRedisServiceImpl deviceRedisService = new DeviceRedisServiceImpl();
+
+    private final CapacityCameraServiceImpl capacityCameraService = new CapacityCameraServiceImpl();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < DEVICES; i++) {
+            String sn = "dock" + i;
+            sns.add(sn);
+            if (i % 2 == 1) {
+                continue;
+            }
+            values.put(RedisConst.DEVICE_ONLINE_PREFIX + sn, DeviceDTO.builder()
+                    .deviceSn(sn)
+                    .childDeviceSn("drone" + i)
+                    .domain(DeviceDomainEnum.DOCK)
+                    .type(DeviceTypeEnum.DOCK2)
+                    .subType(DeviceSubTypeEnum.ZERO)
+                    .build());
+            expires.put(RedisConst.DEVICE_ONLINE_PREFIX + sn, (long) RedisConst.DEVICE_ALIVE_SECOND);
+            capacities.put(sn, List.of(CapacityCameraDTO.builder().id("camera" + i).deviceSn(sn).index("0").build()));
+        }
+        new RedisOpsUtils().setRedisTemplate(redisTemplate());
+    }
+
+    @Test
+    void measuresTheOnlineStatus() {
+        // EXISTS and TTL for each device, as it was checked before.
+        measure("online status", () -> sns.stream().collect(Collectors.toMap(sn -> sn,
+                        sn -> RedisOpsUtils.checkExist(RedisConst.DEVICE_ONLINE_PREFIX + sn) &&
+                                deviceRedisService.checkDeviceOnline(sn))),
+                () -> deviceRedisService.checkDevicesOnline(sns));
+    }
+
+    @Test
+    void measuresTheOnlineDevices() {
+        measure("online devices", () -> {
+                    Map<String, DeviceDTO> devices = new HashMap<>();
+                    sns.forEach(sn -> deviceRedisService.getDeviceOnline(sn).ifPresent(device -> devices.put(sn, device)));
+                    return devices;
+                },
+                () -> deviceRedisService.getDevicesOnline(sns));
+    }
+
+    @Test
+    void measuresTheLiveCapacities() {
+        measure("live capacities", () -> {
+                    Map<String, List<CapacityCameraDTO>> capacityMap = new HashMap<>();
+                    for (String sn : sns) {
+                        List<CapacityCameraDTO> capacity = capacityCameraService.getCapacityCameraByDeviceSn(sn);
+                        if (null != capacity) {
+                            capacityMap.put(sn, capacity);
+                        }
+                    }
+                    return capacityMap;
+                },
+                () -> deviceRedisService.getCapacities(sns));
+    }
+
+    private <T> void measure(String name, Supplier<Map<String, T>> oneByOne, Supplier<Map<String, T>> bulk) {
+        roundTrips.set(0);
+        long start = System.nanoTime();
+        Map<String, T> expected = oneByOne.get();
+        long oneByOneNanos = System.nanoTime() - start;
+        int oneByOneRoundTrips = roundTrips.getAndSet(0);
+
+        start = System.nanoTime();
+        Map<String, T> actual = bulk.get();
+        long bulkNanos = System.nanoTime() - start;
+
+        log.info("Reading the {} of {} devices takes {} ms in {} round trips one by one and {} us in {} round trips in bulk.",
+                name, DEVICES, TimeUnit.NANOSECONDS.toMillis(oneByOneNanos), oneByOneRoundTrips,
+                TimeUnit.NANOSECONDS.toMicros(bulkNanos), roundTrips.get());
+        assertEquals(expected, actual);
+        assertEquals(1, roundTrips.get());
+        assertTrue(bulkNanos * 10 < oneByOneNanos, "Reading the " + name + " takes " + bulkNanos + " ns in bulk.");
+    }
+
+    private void roundTrip() {
+        roundTrips.incrementAndGet();
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+    }
+
+    private long ttl(Object key) {
+        return expires.getOrDefault((String) key, -2L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisTemplate<String, Object> redisTemplate() {
+        ValueOperations<String, Object> valueOperations = (ValueOperations<String, Object>) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class[]{ValueOperations.class}, (proxy, method, args) -> {
+                    roundTrip();
+                    switch (method.getName()) {
+                        case "get":
+                            return values.get((String) args[0]);
+                        case "multiGet":
+                            return ((Collection<String>) args[0]).stream().map(values::get).collect(Collectors.toList());
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        HashOperations<String, Object, Object> hashOperations = (HashOperations<String, Object, Object>) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class[]{HashOperations.class}, (proxy, method, args) -> {
+                    roundTrip();
+                    assertEquals(RedisConst.LIVE_CAPACITY, args[0]);
+                    switch (method.getName()) {
+                        case "get":
+                            return capacities.get(args[1]);
+                        case "multiGet":
+                            return ((Collection<Object>) args[1]).stream().map(capacities::get).collect(Collectors.toList());
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        return new RedisTemplate<>() {
+
+            @Override
+            public ValueOperations<String, Object> opsForValue() {
+                return valueOperations;
+            }
+
+            @Override
+            public <HK, HV> HashOperations<String, HK, HV> opsForHash() {
+                return (HashOperations<String, HK, HV>) hashOperations;
+            }
+
+            @Override
+            public Boolean hasKey(String key) {
+                roundTrip();
+                return values.containsKey(key);
+            }
+
+            @Override
+            public Long getExpire(String key, TimeUnit timeUnit) {
+                roundTrip();
+                return ttl(key);
+            }
+
+            @Override
+            public RedisSerializer<?> getKeySerializer() {
+                return RedisSerializer.string();
+            }
+
+            @Override
+            public List<Object> executePipelined(RedisCallback<?> action) {
+                List<Object> results = new ArrayList<>();
+                action.doInRedis((RedisConnection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class[]{RedisConnection.class}, (proxy, method, args) -> {
+                            if (!"ttl".equals(method.getName())) {
+                                throw new UnsupportedOperationException(method.getName());
+                            }
+                            results.add(ttl(new String((byte[]) args[0], StandardCharsets.UTF_8)));
+                            return null;
+                        }));
+                roundTrip();
+                return results;
+            }
+        };
+    }
+}
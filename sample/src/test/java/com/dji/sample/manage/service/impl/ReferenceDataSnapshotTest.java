@@ -0,0 +1,194 @@
+package com.dji.sample.manage.service.impl;
+
+import com.dji.sample.manage.dao.IDeviceDictionaryMapper;
+import com.dji.sample.manage.dao.IDeviceFirmwareMapper;
+import com.dji.sample.manage.dao.IWorkspaceMapper;
+import com.dji.sample.manage.model.dto.DeviceDictionaryDTO;
+import com.dji.sample.manage.model.dto.DeviceFirmwareNoteDTO;
+import com.dji.sample.manage.model.dto.WorkspaceDTO;
+import com.dji.sample.manage.model.entity.DeviceDictionaryEntity;
+import com.dji.sample.manage.model.entity.DeviceFirmwareEntity;
+import com.dji.sample.manage.model.entity.WorkspaceEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The dictionary, the workspaces and the release notes are looked up for each device that is converted.
+ * Each query of the mappers is delayed by a fixed round trip and counted.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Slf4j
+class ReferenceDataSnapshotTest {
+
+    private static final int DICTIONARY_ENTRIES = 60;
+
+    private static final int WORKSPACES = 100;
+
+    private static final int DEVICE_MODELS = 20;
+
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    private final List<DeviceDictionaryEntity> dictionary = new ArrayList<>();
+
+    private final List<WorkspaceEntity> workspaces = new ArrayList<>();
+
+    /**
+     * Sorted from the newest to the oldest, as the query of the release notes returns them.
+     */
+    private final List<DeviceFirmwareEntity> firmwares = new ArrayList<>();
+
+    /**
+     * The workspace inserted outside of this service, the only one the mapper finds by a query.
+     */
+    private WorkspaceEntity outside;
+
+    private final AtomicInteger queries = new AtomicInteger();
+
+    private final DeviceDictionaryServiceImpl dictionaryService = new DeviceDictionaryServiceImpl();
+
+    private final WorkspaceServiceImpl workspaceService = new WorkspaceServiceImpl();
+
+    private final DeviceFirmwareServiceImpl firmwareService = new DeviceFirmwareServiceImpl();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < DICTIONARY_ENTRIES; i++) {
+            dictionary.add(DeviceDictionaryEntity.builder()
+                    .id(i).domain(i % 4).deviceType(i).subType(0).deviceName("model" + i).build());
+        }
+        for (int i = 0; i < WORKSPACES; i++) {
+            workspaces.add(workspace("workspace" + i));
+        }
+        for (int i = 0; i < DEVICE_MODELS; i++) {
+            firmwares.add(firmware("10.02.0000", "model" + i + ",model" + i + "T", 2));
+        }
+        for (int i = 0; i < DEVICE_MODELS; i++) {
+            firmwares.add(firmware("10.01.0000", "model" + i + ",model" + i + "T,model" + i + "E", 1));
+        }
+
+        ReflectionTestUtils.setField(dictionaryService, "mapper", mapper(IDeviceDictionaryMapper.class,
+                Map.of("selectList", args -> new ArrayList<>(dictionary))));
+        ReflectionTestUtils.setField(workspaceService, "mapper", mapper(IWorkspaceMapper.class,
+                Map.of("selectList", args -> new ArrayList<>(workspaces), "selectOne", args -> outside)));
+        ReflectionTestUtils.setField(firmwareService, "mapper", mapper(IDeviceFirmwareMapper.class,
+                Map.of("selectFirmwareList", args -> new ArrayList<>(firmwares))));
+        for (Object service : List.of(dictionaryService, workspaceService, firmwareService)) {
+            ReflectionTestUtils.invokeMethod(service, "init");
+        }
+    }
+
+    @Test
+    void resolvesTheLookupsWithoutQueries() {
+        assertEquals(3, queries.getAndSet(0));
+        Integer[] numbers = new Integer[DICTIONARY_ENTRIES];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = i;
+        }
+        String[] workspaceIds = workspaces.stream().map(WorkspaceEntity::getWorkspaceId).toArray(String[]::new);
+        String[] deviceNames = new String[DEVICE_MODELS];
+        for (int i = 0; i < deviceNames.length; i++) {
+            deviceNames[i] = "model" + i;
+        }
+
+        int lookups = 300_000;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < lookups / 3; i++) {
+                Integer number = numbers[i % DICTIONARY_ENTRIES];
+                dictionaryService.getOneDictionaryInfoByTypeSubType(number % 4, number, 0).orElseThrow();
+                workspaceService.getWorkspaceByWorkspaceId(workspaceIds[i % WORKSPACES]).orElseThrow();
+                firmwareService.getLatestFirmwareReleaseNote(deviceNames[i % DEVICE_MODELS]).orElseThrow();
+            }
+            best = Math.min(best, (System.nanoTime() - start) / lookups);
+        }
+
+        log.info("A lookup of the reference data takes {} ns with {} queries, each query took a round trip of {} us.",
+                best, queries.get(), TimeUnit.NANOSECONDS.toMicros(ROUND_TRIP_NANOS));
+        assertEquals(0, queries.get());
+        assertTrue(best * 100 < ROUND_TRIP_NANOS, "A lookup takes " + best + " ns.");
+    }
+
+    @Test
+    void keepsTheNewestReleaseNoteOfEachModel() {
+        assertEquals("10.02.0000", firmwareService.getLatestFirmwareReleaseNote("model1").orElseThrow().getProductVersion());
+        assertEquals("10.02.0000", firmwareService.getLatestFirmwareReleaseNote("model1T").orElseThrow().getProductVersion());
+        // Only an older firmware supports it.
+        DeviceFirmwareNoteDTO note = firmwareService.getLatestFirmwareReleaseNote("model1E").orElseThrow();
+        assertEquals("10.01.0000", note.getProductVersion());
+        assertEquals("model1E", note.getDeviceName());
+        assertTrue(firmwareService.getLatestFirmwareReleaseNote("model" + DEVICE_MODELS).isEmpty());
+    }
+
+    @Test
+    void loadsTheWorkspaceInsertedOutsideOnce() {
+        assertTrue(workspaceService.getWorkspaceByWorkspaceId("outside").isEmpty());
+        outside = workspace("outside");
+        workspaces.add(outside);
+        queries.set(0);
+
+        // The lookup that finds it in the database rebuilds the snapshot.
+        WorkspaceDTO workspace = workspaceService.getWorkspaceByWorkspaceId("outside").orElseThrow();
+        assertEquals("outside", workspace.getWorkspaceId());
+        assertEquals(2, queries.get());
+        assertEquals(workspace, workspaceService.getWorkspaceNameByBindCode("outside-code").orElseThrow());
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void returnsAnEmptyDictionaryEntryForAnUnknownModel() {
+        DeviceDictionaryDTO entry = dictionaryService.getOneDictionaryInfoByTypeSubType(0, DICTIONARY_ENTRIES, 0).orElseThrow();
+        assertNull(entry.getDeviceName());
+        assertEquals(3, queries.get());
+    }
+
+    private static WorkspaceEntity workspace(String workspaceId) {
+        WorkspaceEntity workspace = new WorkspaceEntity();
+        workspace.setWorkspaceId(workspaceId);
+        workspace.setWorkspaceName(workspaceId);
+        workspace.setBindCode(workspaceId + "-code");
+        return workspace;
+    }
+
+    private static DeviceFirmwareEntity firmware(String version, String deviceNames, int day) {
+        return DeviceFirmwareEntity.builder()
+                .firmwareId(version + deviceNames)
+                .firmwareVersion(version)
+                .deviceName(deviceNames)
+                .releaseNote("release note of " + version)
+                .releaseDate(TimeUnit.DAYS.toMillis(day))
+                .status(true)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T mapper(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (null == answer) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            queries.incrementAndGet();
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+            return answer.apply(args);
+        });
+    }
+}
@@ -0,0 +1,258 @@
+package com.dji.sample.manage.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.config.GlobalConfig;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import com.dji.sample.component.mybatis.MybatisPlusMetaObjectHandler;
+import com.dji.sample.manage.dao.IDeviceMapper;
+import com.dji.sample.manage.model.dto.DeviceDTO;
+import com.dji.sample.manage.model.dto.DevicePayloadDTO;
+import com.dji.sample.manage.model.dto.WorkspaceDTO;
+import com.dji.sample.manage.model.entity.DeviceEntity;
+import com.dji.sample.manage.service.IDeviceFirmwareService;
+import com.dji.sample.manage.service.IDevicePayloadService;
+import com.dji.sample.manage.service.IDeviceRedisService;
+import com.dji.sample.manage.service.IWorkspaceService;
+import com.dji.sdk.cloudapi.device.DeviceEnum;
+import com.dji.sdk.cloudapi.tsa.TopologyList;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The devices are in an in-memory H2 database in the MySQL mode. Each query and each redis request
+ * is delayed by a fixed round trip, as over the network of a deployment.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Slf4j
+class TopologyServiceImplTest {
+
+    private static final String WORKSPACE_ID = "workspace";
+
+    /**
+     * Each remote control flies a drone. Every fifth one is offline.
+     */
+    private static final int REMOTE_CONTROLS = 500;
+
+    private static final int DOCKS = 100;
+
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    private final AtomicInteger databaseQueries = new AtomicInteger();
+
+    private final AtomicInteger redisRequests = new AtomicInteger();
+
+    private final Map<String, Boolean> online = new HashMap<>();
+
+    private SqlSession sqlSession;
+
+    private DeviceServiceImpl deviceService;
+
+    private TopologyServiceImpl topologyService;
+
+    @BeforeEach
+    void setUp() throws SQLException, IOException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             InputStream ddl = getClass().getResourceAsStream("/sql/manage_device.sql")) {
+            statement.execute(new String(ddl.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setEnvironment(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        GlobalConfig globalConfig = GlobalConfigUtils.getGlobalConfig(configuration);
+        globalConfig.setBanner(false);
+        globalConfig.setMetaObjectHandler(new MybatisPlusMetaObjectHandler());
+        configuration.addMapper(IDeviceMapper.class);
+        sqlSession = new MybatisSqlSessionFactoryBuilder().build(configuration).openSession(true);
+
+        IDeviceMapper mapper = sqlSession.getMapper(IDeviceMapper.class);
+        for (int i = 0; i < REMOTE_CONTROLS; i++) {
+            mapper.insert(device("rc" + i, DeviceEnum.RC_PLUS, "DJI RC Plus", "drone" + i));
+            mapper.insert(device("drone" + i, DeviceEnum.M30, "Matrice 30", null));
+            online.put("rc" + i, i % 5 != 0);
+            online.put("drone" + i, i % 5 != 0);
+        }
+        for (int i = 0; i < DOCKS; i++) {
+            mapper.insert(device("dock" + i, DeviceEnum.DOCK2, "DJI Dock 2", "m3d" + i));
+            mapper.insert(device("m3d" + i, DeviceEnum.M3D, "Matrice 3D", null));
+            online.put("dock" + i, true);
+            online.put("m3d" + i, true);
+        }
+
+        deviceService = new DeviceServiceImpl();
+        ReflectionTestUtils.setField(deviceService, "mapper", delayed(IDeviceMapper.class, mapper, databaseQueries));
+        ReflectionTestUtils.setField(deviceService, "deviceRedisService", deviceRedisService());
+        ReflectionTestUtils.setField(deviceService, "workspaceService", workspaceService());
+        ReflectionTestUtils.setField(deviceService, "deviceFirmwareService", deviceFirmwareService());
+        ReflectionTestUtils.setField(deviceService, "payloadService", payloadService());
+        topologyService = new TopologyServiceImpl();
+        ReflectionTestUtils.setField(topologyService, "deviceService", deviceService);
+        ReflectionTestUtils.setField(topologyService, "deviceRedisService", deviceRedisService());
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlSession.close();
+    }
+
+    @Test
+    void measuresThePilotTopologyOfAWorkspace() {
+        // Each gateway with its own queries, as the topology was assembled before.
+        long start = System.nanoTime();
+        List<String> oneByOne = new ArrayList<>();
+        for (int i = 0; i < REMOTE_CONTROLS; i++) {
+            topologyService.getDeviceTopologyByGatewaySn("rc" + i).map(TopologyList::toString).ifPresent(oneByOne::add);
+        }
+        long oneByOneNanos = System.nanoTime() - start;
+        int oneByOneQueries = databaseQueries.getAndSet(0);
+        int oneByOneRequests = redisRequests.getAndSet(0);
+
+        start = System.nanoTime();
+        List<String> batched = topologyService.getDeviceTopology(WORKSPACE_ID).stream()
+                .map(TopologyList::toString)
+                .collect(Collectors.toList());
+        long batchedNanos = System.nanoTime() - start;
+
+        log.info("The topology of {} remote controls takes {} ms with {} queries and {} redis requests one by one, " +
+                        "{} ms with {} queries and {} redis requests in batches.", REMOTE_CONTROLS,
+                TimeUnit.NANOSECONDS.toMillis(oneByOneNanos), oneByOneQueries, oneByOneRequests,
+                TimeUnit.NANOSECONDS.toMillis(batchedNanos), databaseQueries.get(), redisRequests.get());
+        assertEquals(oneByOne, batched);
+        assertTrue(batchedNanos * 10 < oneByOneNanos, "The batched topology takes " + batchedNanos + " ns.");
+    }
+
+    @Test
+    void measuresTheWebTopologyOfAWorkspace() {
+        long start = System.nanoTime();
+        List<DeviceDTO> gateways = deviceService.getDevicesTopoForWeb(WORKSPACE_ID);
+        long nanos = System.nanoTime() - start;
+
+        log.info("The web topology of {} gateways takes {} ms with {} queries and {} redis requests.",
+                gateways.size(), TimeUnit.NANOSECONDS.toMillis(nanos), databaseQueries.get(), redisRequests.get());
+        assertEquals(REMOTE_CONTROLS + DOCKS, gateways.size());
+        for (DeviceDTO gateway : gateways) {
+            boolean status = online.get(gateway.getDeviceSn());
+            assertEquals(status, Boolean.TRUE.equals(gateway.getStatus()));
+            // The offline remote controls are listed without their drones.
+            assertEquals(status, null != gateway.getChildren());
+            if (status) {
+                assertEquals(1, gateway.getChildren().getPayloadsList().size());
+            }
+        }
+        // The number of the round trips doesn't grow with the gateways.
+        assertTrue(databaseQueries.get() + redisRequests.get() < 20,
+                databaseQueries.get() + " queries and " + redisRequests.get() + " redis requests");
+    }
+
+    private static DeviceEntity device(String sn, DeviceEnum model, String name, String childSn) {
+        return DeviceEntity.builder()
+                .deviceSn(sn)
+                .deviceName(name)
+                .nickname(sn)
+                .workspaceId(WORKSPACE_ID)
+                .domain(model.getDomain().getDomain())
+                .deviceType(model.getType().getType())
+                .subType(model.getSubType().getSubType())
+                .childSn(childSn)
+                .firmwareVersion("10.01.0001")
+                .compatibleStatus(true)
+                .boundStatus(true)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T delayed(Class<T> type, Object target, AtomicInteger counter) {
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{type}, (proxy, method, args) -> {
+            counter.incrementAndGet();
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+            return method.invoke(target, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private IDeviceRedisService deviceRedisService() {
+        return (IDeviceRedisService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{IDeviceRedisService.class}, (proxy, method, args) -> {
+                    redisRequests.incrementAndGet();
+                    LockSupport.parkNanos(ROUND_TRIP_NANOS);
+                    switch (method.getName()) {
+                        case "checkDeviceOnline":
+                            return online.getOrDefault((String) args[0], false);
+                        case "checkDevicesOnline":
+                            Map<String, Boolean> onlineMap = new HashMap<>();
+                            for (String sn : (Collection<String>) args[0]) {
+                                onlineMap.put(sn, online.getOrDefault(sn, false));
+                            }
+                            return onlineMap;
+                        case "getFirmwareUpgradingProgress":
+                            return args[0] instanceof String ? Optional.empty() : new HashMap<>();
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private IWorkspaceService workspaceService() {
+        return (IWorkspaceService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{IWorkspaceService.class}, (proxy, method, args) -> {
+                    databaseQueries.incrementAndGet();
+                    LockSupport.parkNanos(ROUND_TRIP_NANOS);
+                    return Optional.of(WorkspaceDTO.builder().workspaceId((String) args[0]).workspaceName("Shenzhen").build());
+                });
+    }
+
+    private IDeviceFirmwareService deviceFirmwareService() {
+        return (IDeviceFirmwareService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{IDeviceFirmwareService.class}, (proxy, method, args) -> {
+                    databaseQueries.incrementAndGet();
+                    LockSupport.parkNanos(ROUND_TRIP_NANOS);
+                    return Optional.empty();
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private IDevicePayloadService payloadService() {
+        return (IDevicePayloadService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{IDevicePayloadService.class}, (proxy, method, args) -> {
+                    databaseQueries.incrementAndGet();
+                    LockSupport.parkNanos(ROUND_TRIP_NANOS);
+                    return ((Collection<String>) args[0]).stream().collect(Collectors.toMap(sn -> sn,
+                            sn -> List.of(DevicePayloadDTO.builder().payloadSn(sn + "-payload").index(0).build())));
+                });
+    }
+}
@@ -0,0 +1,154 @@
+package com.dji.sample.map.service.impl;
+
+import com.dji.sample.component.oss.model.OssConfiguration;
+import com.dji.sample.component.oss.service.impl.OssServiceContext;
+import com.dji.sample.map.dao.IFlightAreaFileMapper;
+import com.dji.sample.map.model.dto.FlightAreaContent;
+import com.dji.sample.map.model.dto.FlightAreaDTO;
+import com.dji.sample.map.model.dto.FlightAreaFileDTO;
+import com.dji.sample.map.model.entity.FlightAreaFileEntity;
+import com.dji.sdk.cloudapi.flightarea.GeofenceTypeEnum;
+import com.dji.sdk.cloudapi.map.ElementPolygonGeometry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Slf4j
+class FlightAreaFileServiceImplTest {
+
+    private static final String WORKSPACE_ID = "workspace";
+
+    private final List<FlightAreaFileEntity> saved = new ArrayList<>();
+
+    private final List<byte[]> uploaded = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        saved.clear();
+        uploaded.clear();
+    }
+
+    @Test
+    void writesTheSameFileFromTheCachedFragments() {
+        List<FlightAreaDTO> areas = areas(50, new Random(1));
+        FlightAreaFileServiceImpl service = service();
+        service.packageFlightAreaFile(WORKSPACE_ID, areas);
+
+        areas.set(10, area(areas.get(10).getAreaId(), 2, new Random(2)));
+        areas.remove(20);
+        FlightAreaFileDTO cached = service.packageFlightAreaFile(WORKSPACE_ID, areas);
+        FlightAreaFileDTO cold = service().packageFlightAreaFile(WORKSPACE_ID, areas);
+
+        assertEquals(cold.getSign(), cached.getSign());
+        assertEquals(cold.getName(), cached.getName());
+        assertArrayEquals(uploaded.get(2), uploaded.get(1));
+        assertTrue(cached.getLatest());
+        assertEquals(3, saved.size());
+    }
+
+    @Test
+    void packagesThousandsOfAreasAfterOneChange() {
+        // 5,000 polygons of 20 vertices, then one of them is edited before each package.
+        Random random = new Random(5);
+        List<FlightAreaDTO> areas = areas(5000, random);
+        long coldNanos = Long.MAX_VALUE;
+        long cachedNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            FlightAreaFileServiceImpl service = service();
+            long start = System.nanoTime();
+            service.packageFlightAreaFile(WORKSPACE_ID, areas);
+            coldNanos = Math.min(coldNanos, System.nanoTime() - start);
+
+            int changed = random.nextInt(areas.size());
+            areas.set(changed, area(areas.get(changed).getAreaId(), i + 1, random));
+            start = System.nanoTime();
+            service.packageFlightAreaFile(WORKSPACE_ID, areas);
+            cachedNanos = Math.min(cachedNanos, System.nanoTime() - start);
+        }
+        log.info("The file of {} areas, {} KB, is packaged in {} ms, and in {} ms from the cached fragments.",
+                areas.size(), uploaded.get(0).length / 1024, TimeUnit.NANOSECONDS.toMillis(coldNanos),
+                TimeUnit.NANOSECONDS.toMillis(cachedNanos));
+        assertTrue(cachedNanos < coldNanos, "The cached package takes " + cachedNanos + " ns.");
+    }
+
+    private FlightAreaFileServiceImpl service() {
+        FlightAreaFileServiceImpl service = new FlightAreaFileServiceImpl();
+        IFlightAreaFileMapper mapper = (IFlightAreaFileMapper) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{IFlightAreaFileMapper.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "selectOne":
+                            return null;
+                        case "selectCount":
+                            return 0;
+                        case "insert":
+                            FlightAreaFileEntity entity = (FlightAreaFileEntity) args[0];
+                            saved.add(entity);
+                            entity.setId(saved.size());
+                            return 1;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        ObjectMapper objectMapper = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        ReflectionTestUtils.setField(service, "mapper", mapper);
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(service, "ossServiceContext", new OssServiceContext(List.of(), new OssConfiguration()) {
+            @Override
+            public void putObject(String bucket, String objectKey, InputStream stream) {
+                try {
+                    uploaded.add(stream.readAllBytes());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+        return service;
+    }
+
+    private static List<FlightAreaDTO> areas(int count, Random random) {
+        List<FlightAreaDTO> areas = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            areas.add(area("area" + i, 0, random));
+        }
+        return areas;
+    }
+
+    private static FlightAreaDTO area(String areaId, long updateTime, Random random) {
+        double longitude = 113 + random.nextDouble();
+        double latitude = 22 + random.nextDouble();
+        Double[][] ring = new Double[20][];
+        for (int i = 0; i < ring.length; i++) {
+            double angle = 2 * Math.PI * i / ring.length;
+            ring[i] = new Double[]{longitude + Math.cos(angle) * 0.001, latitude + Math.sin(angle) * 0.001};
+        }
+        return FlightAreaDTO.builder()
+                .areaId(areaId)
+                .name(areaId)
+                .type(GeofenceTypeEnum.NFZ)
+                .status(true)
+                .updateTime(updateTime)
+                .content(FlightAreaContent.builder().geometry(new ElementPolygonGeometry().setCoordinates(new Double[][][]{ring})).build())
+                .build();
+    }
+}
@@ -0,0 +1,244 @@
+package com.dji.sample.map.service.impl;
+
+import com.dji.sample.component.websocket.config.MyConcurrentWebSocketSession;
+import com.dji.sample.component.websocket.service.IWebSocketMessageService;
+import com.dji.sample.map.model.dto.FlightAreaContent;
+import com.dji.sample.map.model.dto.FlightAreaDTO;
+import com.dji.sample.map.model.dto.GeofenceAlertDTO;
+import com.dji.sample.map.model.enums.GeofenceActionEnum;
+import com.dji.sample.map.util.GeoShape;
+import com.dji.sample.map.util.SpatialIndex;
+import com.dji.sdk.cloudapi.map.ElementPolygonGeometry;
+import com.dji.sdk.websocket.WebSocketMessageResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Slf4j
+class FlightAreaGeofenceServiceImplTest {
+
+    private static final String WORKSPACE_ID = "workspace";
+
+    private static final String DRONE_SN = "drone";
+
+    private static final double LONGITUDE = 113.94;
+
+    private static final double LATITUDE = 22.57;
+
+    private final FlightAreaGeofenceServiceImpl service = new FlightAreaGeofenceServiceImpl();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final List<GeofenceAlertDTO> alerts = new ArrayList<>();
+
+    private SpatialIndex<FlightAreaDTO> index;
+
+    private int lookups;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "approachDistance", 100);
+        ReflectionTestUtils.setField(service, "searchMargin", 500);
+        ReflectionTestUtils.setField(service, "meterRegistry", registry);
+        ReflectionTestUtils.setField(service, "flightAreaService", new FlightAreaServiceImpl() {
+            @Override
+            public Optional<SpatialIndex<FlightAreaDTO>> findFlightAreaIndex(String workspaceId) {
+                lookups++;
+                return Optional.ofNullable(index);
+            }
+        });
+        ReflectionTestUtils.setField(service, "webSocketMessageService", new IWebSocketMessageService() {
+            @Override
+            public void sendMessage(MyConcurrentWebSocketSession session, WebSocketMessageResponse message) {
+            }
+
+            @Override
+            public void sendBatch(Collection<MyConcurrentWebSocketSession> sessions, WebSocketMessageResponse message) {
+            }
+
+            @Override
+            public void sendBatch(String workspaceId, Integer userType, String bizCode, Object data) {
+            }
+
+            @Override
+            public void sendBatch(String workspaceId, String bizCode, Object data) {
+                alerts.add((GeofenceAlertDTO) data);
+            }
+        });
+        ReflectionTestUtils.invokeMethod(service, "init");
+    }
+
+    @Test
+    void alertsWhenTheDroneApproachesEntersAndExits() {
+        index = index(List.of(area("area", true, 0, 0, 1000)));
+        // Along the middle of the square from the west to the east, each fix can cross a line.
+        double[] xs = {-300, -50, 10, 500, 1050, 1300, 1050};
+        for (int i = 0; i < xs.length; i++) {
+            evaluate(xs[i], 500, i * 500L);
+        }
+
+        assertEquals(List.of(GeofenceActionEnum.APPROACH, GeofenceActionEnum.ENTER, GeofenceActionEnum.EXIT,
+                GeofenceActionEnum.APPROACH), actions());
+        assertEquals(50, alerts.get(0).getDistance(), 1);
+        assertEquals(0.0, alerts.get(1).getDistance());
+        assertEquals(50, alerts.get(2).getDistance(), 1);
+    }
+
+    @Test
+    void ignoresTheDisabledAreas() {
+        index = index(List.of(area("area", false, 0, 0, 1000)));
+        evaluate(500, 500, 0);
+        assertTrue(alerts.isEmpty());
+    }
+
+    @Test
+    void skipsTheNearbyFixesWithoutLookingUpTheIndex() {
+        index = index(List.of(area("area", true, 0, 0, 1000)));
+        evaluate(-400, 500, 0);
+        assertEquals(1, lookups);
+
+        // 300 meters from the approach line, the drone moves 10 meters per fix.
+        for (int i = 1; i < 10; i++) {
+            evaluate(-400 + i * 10, 500, i * 100L);
+        }
+        assertEquals(1, lookups);
+        assertEquals(9.0, skipped());
+
+        // The index is checked once a second, the drone has not moved far enough to be evaluated.
+        evaluate(-300, 500, 1000);
+        assertEquals(2, lookups);
+        assertEquals(10.0, skipped());
+        assertEquals(1, registry.get(FlightAreaGeofenceServiceImpl.EVALUATE).timer().count());
+    }
+
+    @Test
+    void evaluatesTheNewIndexOfTheHoveringDrone() {
+        index = index(List.of());
+        evaluate(500, 500, 0);
+        index = index(List.of(area("area", true, 0, 0, 1000)));
+        evaluate(500, 500, 500);
+        assertTrue(alerts.isEmpty());
+
+        evaluate(500, 500, 1000);
+        assertEquals(List.of(GeofenceActionEnum.ENTER), actions());
+    }
+
+    @Test
+    void waitsForTheFirstIndex() {
+        evaluate(500, 500, 0);
+        assertEquals(1, lookups);
+        assertTrue(alerts.isEmpty());
+
+        index = index(List.of(area("area", true, 0, 0, 1000)));
+        evaluate(500, 500, 100);
+        assertEquals(List.of(GeofenceActionEnum.ENTER), actions());
+    }
+
+    @Test
+    void evaluatesThousandDronesAtTwoHertzOnOneThread() {
+        // 5,000 areas of 50 to 300 meters in 20 km square, and 1,000 drones flying straight at 5 to 15 m/s.
+        Random random = new Random(7);
+        List<FlightAreaDTO> areas = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            areas.add(area("area" + i, true, random.nextDouble() * 20_000, random.nextDouble() * 20_000,
+                    50 + random.nextDouble() * 250));
+        }
+        index = index(areas);
+        int drones = 1000;
+        double[][] positions = new double[drones][];
+        for (int i = 0; i < drones; i++) {
+            double heading = random.nextDouble() * 2 * Math.PI;
+            double speed = 5 + random.nextDouble() * 10;
+            positions[i] = new double[]{random.nextDouble() * 20_000, random.nextDouble() * 20_000,
+                    Math.cos(heading) * speed / 2, Math.sin(heading) * speed / 2};
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int seconds = 60;
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        for (long millis = 0; millis < seconds * 1000; millis += 500) {
+            for (int i = 0; i < drones; i++) {
+                double[] position = positions[i];
+                position[0] += position[2];
+                position[1] += position[3];
+                service.evaluate(WORKSPACE_ID, "drone" + i, (float) lon(position[0]), (float) lat(position[1]), millis);
+            }
+        }
+        long cpuNanos = threads.getCurrentThreadCpuTime() - cpuStart;
+
+        int fixes = drones * seconds * 2;
+        Timer evaluate = registry.get(FlightAreaGeofenceServiceImpl.EVALUATE).timer();
+        double busy = cpuNanos / (seconds * 1e9);
+        log.info("{} fixes of {} drones in {} seconds took {} ms of cpu, {}% of one core. {} fixes are evaluated "
+                        + "in {} us on average, {} are skipped, and {} alerts are sent.",
+                fixes, drones, seconds, TimeUnit.NANOSECONDS.toMillis(cpuNanos), String.format("%.2f", busy * 100),
+                evaluate.count(), String.format("%.1f", evaluate.mean(TimeUnit.MICROSECONDS)), (long) skipped(),
+                alerts.size());
+        assertEquals(fixes, evaluate.count() + (long) skipped());
+        assertTrue(busy < 0.5, "The fixes take " + busy + " of one core.");
+    }
+
+    private void evaluate(double x, double y, long millis) {
+        service.evaluate(WORKSPACE_ID, DRONE_SN, (float) lon(x), (float) lat(y), millis);
+    }
+
+    private List<GeofenceActionEnum> actions() {
+        return alerts.stream().map(GeofenceAlertDTO::getAction).collect(Collectors.toList());
+    }
+
+    private double skipped() {
+        Counter counter = registry.get(FlightAreaGeofenceServiceImpl.SKIPPED).counter();
+        return counter.count();
+    }
+
+    private static SpatialIndex<FlightAreaDTO> index(List<FlightAreaDTO> areas) {
+        return new SpatialIndex<>(areas.stream()
+                .map(area -> new SpatialIndex.Entry<>(area, GeoShape.of(area.getContent().getGeometry()).orElseThrow()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * A square from the position in meters east and north of the origin.
+     */
+    private static FlightAreaDTO area(String areaId, boolean status, double x, double y, double size) {
+        ElementPolygonGeometry geometry = new ElementPolygonGeometry().setCoordinates(new Double[][][]{{
+                {lon(x), lat(y)}, {lon(x + size), lat(y)}, {lon(x + size), lat(y + size)}, {lon(x), lat(y + size)}}});
+        return FlightAreaDTO.builder()
+                .areaId(areaId)
+                .name(areaId)
+                .status(status)
+                .content(FlightAreaContent.builder().geometry(geometry).build())
+                .build();
+    }
+
+    private static double lon(double x) {
+        return LONGITUDE + x / GeoShape.longitudeMeters(LATITUDE);
+    }
+
+    private static double lat(double y) {
+        return LATITUDE + y / GeoShape.METERS_PER_DEGREE_LATITUDE;
+    }
+}
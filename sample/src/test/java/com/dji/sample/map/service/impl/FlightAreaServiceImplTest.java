@@ -0,0 +1,160 @@
+package com.dji.sample.map.service.impl;
+
+import com.dji.sample.map.model.dto.FlightAreaDTO;
+import com.dji.sample.map.model.dto.FlightAreaFileDTO;
+import com.dji.sdk.common.SDKManager;
+import com.dji.sdk.config.version.GatewayManager;
+import com.dji.sdk.config.version.GatewayTypeEnum;
+import com.dji.sdk.mqtt.MqttReply;
+import com.dji.sdk.mqtt.services.ServicesErrorCode;
+import com.dji.sdk.mqtt.services.ServicesReplyData;
+import com.dji.sdk.mqtt.services.TopicServicesResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Slf4j
+class FlightAreaServiceImplTest {
+
+    private static final String WORKSPACE_ID = "workspace";
+
+    private final List<String> discarded = new ArrayList<>();
+
+    private String version = "1";
+
+    private final List<String> docks = new ArrayList<>();
+
+    /**
+     * Run while the file is packaged.
+     */
+    private Runnable packaging = () -> { };
+
+    private final FlightAreaServiceImpl service = new FlightAreaServiceImpl() {
+        @Override
+        Object getFlightAreaVersion(String workspaceId) {
+            return version;
+        }
+
+        @Override
+        public List<FlightAreaDTO> getFlightAreaList(String workspaceId) {
+            return List.of();
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "flightAreaFileService", new FlightAreaFileServiceImpl() {
+            @Override
+            public FlightAreaFileDTO packageFlightAreaFile(String workspaceId, List<FlightAreaDTO> flightAreas) {
+                packaging.run();
+                return FlightAreaFileDTO.builder().fileId(UUID.randomUUID().toString()).workspaceId(workspaceId)
+                        .latest(true).build();
+            }
+
+            @Override
+            public Integer setNonLatestByFileId(String fileId) {
+                discarded.add(fileId);
+                return 1;
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        docks.forEach(SDKManager::logoutDevice);
+        if (Objects.nonNull(ReflectionTestUtils.getField(service, "syncExecutor"))) {
+            ReflectionTestUtils.invokeMethod(service, "destroy");
+        }
+    }
+
+    @Test
+    void keepsTheFilePackagedFromTheCurrentAreas() {
+        FlightAreaFileDTO file = service.packageFlightArea(WORKSPACE_ID);
+        assertTrue(file.getLatest());
+        assertTrue(discarded.isEmpty());
+    }
+
+    @Test
+    void discardsTheFileWhenTheAreasChangeWhilePackaging() {
+        packaging = () -> version = "2";
+        FlightAreaFileDTO file = service.packageFlightArea(WORKSPACE_ID);
+        assertFalse(file.getLatest());
+        assertEquals(List.of(file.getFileId()), discarded);
+
+        packaging = () -> { };
+        assertTrue(service.packageFlightArea(WORKSPACE_ID).getLatest());
+        assertEquals(1, discarded.size());
+    }
+
+    @Test
+    void notifiesTheDocksInParallel() throws InterruptedException {
+        // 200 docks reply in 100 ms, and every tenth dock fails its first notification.
+        long replyMillis = 100;
+        int parallelism = 16;
+        IntStream.range(0, 200).mapToObj(i -> "dock" + i).forEach(docks::add);
+        docks.forEach(sn -> SDKManager.registerDevice(sn, null, GatewayTypeEnum.DOCK, "1.1.3", null));
+        Set<String> failed = IntStream.range(0, docks.size()).filter(i -> i % 10 == 0).mapToObj(docks::get)
+                .collect(Collectors.toCollection(ConcurrentHashMap::newKeySet));
+        AtomicInteger notifications = new AtomicInteger();
+        AtomicInteger notified = new AtomicInteger();
+        ReflectionTestUtils.setField(service, "syncParallelism", parallelism);
+        ReflectionTestUtils.setField(service, "syncMaxRetries", 2);
+        ReflectionTestUtils.setField(service, "syncRetryBackoff", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(service, "abstractFlightAreaService", new SDKFlightAreaService() {
+            @Override
+            public TopicServicesResponse<ServicesReplyData> flightAreasUpdate(GatewayManager gateway) {
+                notifications.incrementAndGet();
+                try {
+                    Thread.sleep(replyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (failed.remove(gateway.getGatewaySn())) {
+                    throw new RuntimeException("The dock didn't reply.");
+                }
+                notified.incrementAndGet();
+                return new TopicServicesResponse<ServicesReplyData>()
+                        .setData(new ServicesReplyData().setResult(new ServicesErrorCode(MqttReply.CODE_SUCCESS)));
+            }
+        });
+        ReflectionTestUtils.invokeMethod(service, "init");
+
+        long start = System.nanoTime();
+        service.notifyFlightAreasUpdate("job", docks);
+        long deadline = start + TimeUnit.SECONDS.toNanos(30);
+        while (notified.get() < docks.size()) {
+            assertTrue(System.nanoTime() < deadline, notified.get() + " docks are notified.");
+            Thread.sleep(1);
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long sequentialMillis = notifications.get() * replyMillis;
+
+        log.info("{} docks are notified in {} ms with {} notifications on {} threads, {} ms one by one.",
+                docks.size(), millis, notifications.get(), parallelism, sequentialMillis);
+        assertEquals(docks.size() * 11 / 10, notifications.get());
+        assertTrue(millis < sequentialMillis / 4, "The docks are notified in " + millis + " ms.");
+    }
+}
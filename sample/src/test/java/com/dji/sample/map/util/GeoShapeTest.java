@@ -0,0 +1,127 @@
+package com.dji.sample.map.util;
+
+import com.dji.sdk.cloudapi.map.ElementCircleGeometry;
+import com.dji.sdk.cloudapi.map.ElementLineStringGeometry;
+import com.dji.sdk.cloudapi.map.ElementPolygonGeometry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+class GeoShapeTest {
+
+    private static final double LONGITUDE = 113.94;
+
+    private static final double LATITUDE = 22.57;
+
+    /**
+     * 0.001 degree of longitude at the latitude.
+     */
+    private static final double LONGITUDE_STEP = GeoShape.longitudeMeters(LATITUDE) / 1000;
+
+    private static final double LATITUDE_STEP = GeoShape.METERS_PER_DEGREE_LATITUDE / 1000;
+
+    @Test
+    void measuresTheDistanceInsideAndOutsideThePolygon() {
+        GeoShape square = polygon(square(0, 0, 10));
+
+        // A step of longitude is shorter than a step of latitude, so the nearest edges are the west and the east.
+        assertEquals(-5 * LONGITUDE_STEP, square.signedDistance(lon(5), lat(5)), 1);
+        assertEquals(0.0, square.distance(lon(5), lat(5)));
+        assertEquals(-LONGITUDE_STEP, square.signedDistance(lon(1), lat(5)), 1);
+        assertEquals(2 * LONGITUDE_STEP, square.signedDistance(lon(12), lat(5)), 1);
+        // The nearest point outside the corner is the corner.
+        assertEquals(Math.hypot(LONGITUDE_STEP, LATITUDE_STEP), square.signedDistance(lon(11), lat(11)), 1);
+    }
+
+    @Test
+    void excludesTheHoles() {
+        GeoShape frame = polygon(square(0, 0, 10), square(3, 3, 4));
+
+        assertTrue(frame.signedDistance(lon(1), lat(1)) < 0);
+        // The center of the hole is 2 steps from its edges.
+        assertEquals(2 * LONGITUDE_STEP, frame.signedDistance(lon(5), lat(5)), 1);
+        assertTrue(frame.signedDistance(lon(8), lat(8)) < 0);
+    }
+
+    @Test
+    void containsThePositionsOfConcavePolygon() {
+        // A U whose notch opens to the north.
+        GeoShape u = polygon(new double[][]{{0, 0}, {9, 0}, {9, 9}, {6, 9}, {6, 3}, {3, 3}, {3, 9}, {0, 9}});
+
+        assertTrue(u.signedDistance(lon(1), lat(8)) < 0);
+        assertTrue(u.signedDistance(lon(8), lat(8)) < 0);
+        assertTrue(u.signedDistance(lon(4.5), lat(1.5)) < 0);
+        // The walls of the notch are nearer than its bottom.
+        assertEquals(1.5 * LONGITUDE_STEP, u.signedDistance(lon(4.5), lat(6)), 1);
+    }
+
+    @Test
+    void measuresTheDistanceToTheCircle() {
+        ElementCircleGeometry geometry = new ElementCircleGeometry().setRadius(100f);
+        geometry.setCoordinates(new Double[]{LONGITUDE, LATITUDE});
+        GeoShape circle = GeoShape.of(geometry).orElseThrow();
+
+        assertEquals(-100, circle.signedDistance(LONGITUDE, LATITUDE), 0.001);
+        assertEquals(-100 + LATITUDE_STEP / 2, circle.signedDistance(LONGITUDE, lat(0.5)), 0.01);
+        assertEquals(LONGITUDE_STEP - 100, circle.signedDistance(lon(1), LATITUDE), 0.01);
+        // The bounding box includes the radius.
+        assertEquals(LATITUDE + 100 / GeoShape.METERS_PER_DEGREE_LATITUDE, circle.getMaxLatitude(), 1e-9);
+        assertEquals(LONGITUDE - 100 / GeoShape.longitudeMeters(LATITUDE), circle.getMinLongitude(), 1e-9);
+    }
+
+    @Test
+    void doesNotCloseTheLine() {
+        ElementLineStringGeometry geometry = new ElementLineStringGeometry()
+                .setCoordinates(coordinates(new double[][]{{0, 0}, {10, 0}, {10, 10}}));
+        GeoShape line = GeoShape.of(geometry).orElseThrow();
+
+        // The position would be on the closing edge of a polygon.
+        assertEquals(5 * LONGITUDE_STEP, line.signedDistance(lon(5), lat(5)), 1);
+        assertEquals(LATITUDE_STEP, line.signedDistance(lon(5), lat(-1)), 1);
+    }
+
+    @Test
+    void ignoresTheGeometryWithoutCoordinates() {
+        assertTrue(GeoShape.of(new ElementPolygonGeometry()).isEmpty());
+        assertTrue(GeoShape.of(new ElementPolygonGeometry().setCoordinates(new Double[][][]{{{LONGITUDE, null}}})).isEmpty());
+        assertTrue(GeoShape.of(new ElementCircleGeometry()).isEmpty());
+        assertTrue(GeoShape.of(null).isEmpty());
+    }
+
+    /**
+     * @param rings the rings in steps of 0.001 degree from the origin.
+     */
+    private static GeoShape polygon(double[][]... rings) {
+        Double[][][] coordinates = new Double[rings.length][][];
+        for (int i = 0; i < rings.length; i++) {
+            coordinates[i] = coordinates(rings[i]);
+        }
+        return GeoShape.of(new ElementPolygonGeometry().setCoordinates(coordinates)).orElseThrow();
+    }
+
+    private static Double[][] coordinates(double[][] steps) {
+        Double[][] coordinates = new Double[steps.length][];
+        for (int i = 0; i < steps.length; i++) {
+            coordinates[i] = new Double[]{lon(steps[i][0]), lat(steps[i][1])};
+        }
+        return coordinates;
+    }
+
+    private static double[][] square(double x, double y, double size) {
+        return new double[][]{{x, y}, {x + size, y}, {x + size, y + size}, {x, y + size}};
+    }
+
+    private static double lon(double steps) {
+        return LONGITUDE + steps / 1000;
+    }
+
+    private static double lat(double steps) {
+        return LATITUDE + steps / 1000;
+    }
+}
@@ -0,0 +1,184 @@
+package com.dji.sample.map.util;
+
+import com.dji.sdk.cloudapi.map.ElementCircleGeometry;
+import com.dji.sdk.cloudapi.map.ElementPolygonGeometry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Slf4j
+class SpatialIndexTest {
+
+    private static final double LONGITUDE = 113.94;
+
+    private static final double LATITUDE = 22.57;
+
+    @Test
+    void searchesTheEmptyIndex() {
+        SpatialIndex<Integer> index = SpatialIndex.empty();
+        assertEquals(0, index.size());
+        assertTrue(index.search(-180, -90, 180, 90).isEmpty());
+        assertTrue(index.nearby(LONGITUDE, LATITUDE, 1000).isEmpty());
+    }
+
+    @Test
+    void searchesTheSingleEntry() {
+        SpatialIndex<Integer> index = new SpatialIndex<>(List.of(new SpatialIndex.Entry<>(1, circle(LONGITUDE, LATITUDE, 10))));
+        assertEquals(List.of(1), index.search(LONGITUDE - 0.001, LATITUDE - 0.001, LONGITUDE + 0.001, LATITUDE + 0.001));
+        assertTrue(index.search(LONGITUDE + 0.001, LATITUDE, LONGITUDE + 0.002, LATITUDE + 0.001).isEmpty());
+    }
+
+    @Test
+    void findsTheSameEntriesAsScanningAll() {
+        // Enough entries for three levels of packed nodes.
+        List<SpatialIndex.Entry<Integer>> entries = randomEntries(10_000, new Random(1));
+        SpatialIndex<Integer> index = new SpatialIndex<>(entries);
+        assertEquals(entries.size(), index.size());
+
+        Random random = new Random(2);
+        for (int i = 0; i < 200; i++) {
+            double minLongitude = LONGITUDE + random.nextDouble() * 0.5;
+            double minLatitude = LATITUDE + random.nextDouble() * 0.5;
+            double maxLongitude = minLongitude + random.nextDouble() * 0.05;
+            double maxLatitude = minLatitude + random.nextDouble() * 0.05;
+            Set<Integer> expected = entries.stream()
+                    .filter(entry -> entry.getShape().getMinLongitude() <= maxLongitude
+                            && entry.getShape().getMaxLongitude() >= minLongitude
+                            && entry.getShape().getMinLatitude() <= maxLatitude
+                            && entry.getShape().getMaxLatitude() >= minLatitude)
+                    .map(SpatialIndex.Entry::getValue)
+                    .collect(Collectors.toSet());
+            List<Integer> actual = index.search(minLongitude, minLatitude, maxLongitude, maxLatitude);
+            assertEquals(expected.size(), actual.size());
+            assertEquals(expected, new HashSet<>(actual));
+        }
+    }
+
+    @Test
+    void findsTheNearbyEntriesNearestFirst() {
+        List<SpatialIndex.Entry<Integer>> entries = randomEntries(10_000, new Random(3));
+        SpatialIndex<Integer> index = new SpatialIndex<>(entries);
+
+        Random random = new Random(4);
+        for (int i = 0; i < 200; i++) {
+            double longitude = LONGITUDE + random.nextDouble() * 0.5;
+            double latitude = LATITUDE + random.nextDouble() * 0.5;
+            double radius = random.nextInt(2000);
+            List<Integer> expected = scan(entries, longitude, latitude, radius);
+            List<SpatialIndex.Neighbor<Integer>> actual = index.nearby(longitude, latitude, radius);
+            assertEquals(expected, actual.stream().map(SpatialIndex.Neighbor::getValue).collect(Collectors.toList()));
+            for (int j = 1; j < actual.size(); j++) {
+                assertTrue(actual.get(j - 1).getSignedDistance() <= actual.get(j).getSignedDistance());
+            }
+        }
+    }
+
+    @Test
+    void reportsTheAreaContainingThePosition() {
+        SpatialIndex<Integer> index = new SpatialIndex<>(List.of(
+                new SpatialIndex.Entry<>(1, square(LONGITUDE, LATITUDE, 0.01)),
+                new SpatialIndex.Entry<>(2, circle(LONGITUDE + 0.006, LATITUDE + 0.005, 100))));
+
+        List<SpatialIndex.Neighbor<Integer>> neighbors = index.nearby(LONGITUDE + 0.005, LATITUDE + 0.005, 200);
+        assertEquals(2, neighbors.size());
+        // The square is 500 meters around, the circle 3 meters.
+        assertEquals(1, neighbors.get(0).getValue());
+        assertEquals(0.0, neighbors.get(0).getDistance());
+        assertTrue(neighbors.get(0).getSignedDistance() < -500);
+        assertEquals(2, neighbors.get(1).getValue());
+        assertEquals(2.8, neighbors.get(1).getDistance(), 0.1);
+        assertTrue(index.nearby(LONGITUDE + 0.02, LATITUDE + 0.02, 200).isEmpty());
+    }
+
+    @Test
+    void measuresTheBuildAndTheQueries() {
+        // The size of a large workspace, and the positions of 1,000 drones.
+        int size = 50_000;
+        List<SpatialIndex.Entry<Integer>> entries = randomEntries(size, new Random(5));
+        long start = System.nanoTime();
+        SpatialIndex<Integer> index = new SpatialIndex<>(entries);
+        long buildNanos = System.nanoTime() - start;
+
+        Random random = new Random(6);
+        int queries = 20_000;
+        double[][] positions = new double[queries][];
+        for (int i = 0; i < queries; i++) {
+            positions[i] = new double[]{LONGITUDE + random.nextDouble() * 0.5, LATITUDE + random.nextDouble() * 0.5};
+        }
+        // Warm up the index before measuring the queries.
+        int found = 0;
+        for (int round = 0; round < 2; round++) {
+            found = 0;
+            start = System.nanoTime();
+            for (double[] position : positions) {
+                found += index.nearby(position[0], position[1], 500).size();
+            }
+        }
+        long queryNanos = System.nanoTime() - start;
+
+        int scans = 200;
+        start = System.nanoTime();
+        for (int i = 0; i < scans; i++) {
+            scan(entries, positions[i][0], positions[i][1], 500);
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        double queryMicros = TimeUnit.NANOSECONDS.toMicros(queryNanos) / (double) queries;
+        double scanMicros = TimeUnit.NANOSECONDS.toMicros(scanNanos) / (double) scans;
+        log.info("Built the index of {} shapes in {} ms. A query within 500 meters takes {} us and finds {} shapes, "
+                        + "scanning all the shapes takes {} us.", size, TimeUnit.NANOSECONDS.toMillis(buildNanos),
+                String.format("%.2f", queryMicros), found / queries, String.format("%.1f", scanMicros));
+        assertTrue(queryMicros * 10 < scanMicros, "A query takes " + queryMicros + " us.");
+    }
+
+    /**
+     * Squares and circles up to 200 meters across, in 0.5 degree from the origin.
+     */
+    private static List<SpatialIndex.Entry<Integer>> randomEntries(int size, Random random) {
+        List<SpatialIndex.Entry<Integer>> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double longitude = LONGITUDE + random.nextDouble() * 0.5;
+            double latitude = LATITUDE + random.nextDouble() * 0.5;
+            entries.add(new SpatialIndex.Entry<>(i, i % 2 == 0 ? square(longitude, latitude, random.nextDouble() * 0.002)
+                    : circle(longitude, latitude, random.nextInt(100))));
+        }
+        return entries;
+    }
+
+    private static List<Integer> scan(List<SpatialIndex.Entry<Integer>> entries, double longitude, double latitude,
+                                      double radius) {
+        return entries.stream()
+                .filter(entry -> entry.getShape().signedDistance(longitude, latitude) <= radius)
+                .sorted(Comparator.comparingDouble(entry -> entry.getShape().signedDistance(longitude, latitude)))
+                .map(SpatialIndex.Entry::getValue)
+                .collect(Collectors.toList());
+    }
+
+    private static GeoShape square(double longitude, double latitude, double size) {
+        return GeoShape.of(new ElementPolygonGeometry().setCoordinates(new Double[][][]{{
+                {longitude, latitude}, {longitude + size, latitude},
+                {longitude + size, latitude + size}, {longitude, latitude + size}}})).orElseThrow();
+    }
+
+    private static GeoShape circle(double longitude, double latitude, float radius) {
+        ElementCircleGeometry geometry = new ElementCircleGeometry().setRadius(radius);
+        geometry.setCoordinates(new Double[]{longitude, latitude});
+        return GeoShape.of(geometry).orElseThrow();
+    }
+}
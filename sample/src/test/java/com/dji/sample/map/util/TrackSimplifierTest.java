@@ -0,0 +1,149 @@
+package com.dji.sample.map.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+class TrackSimplifierTest {
+
+    private static final double LONGITUDE = 113.94;
+
+    private static final double LATITUDE = 22.57;
+
+    @Test
+    void keepsShortTracks() {
+        assertArrayEquals(new int[0], TrackSimplifier.simplify(new double[0], new double[0], 1));
+        assertArrayEquals(new int[]{0}, TrackSimplifier.simplify(new double[]{LONGITUDE}, new double[]{LATITUDE}, 1));
+        assertArrayEquals(new int[]{0, 1}, TrackSimplifier.simplify(
+                new double[]{LONGITUDE, LONGITUDE + 0.001}, new double[]{LATITUDE, LATITUDE}, 1));
+    }
+
+    @Test
+    void keepsAllPositionsWithoutTolerance() {
+        double[][] track = line(10, 100);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, TrackSimplifier.simplify(track[0], track[1], 0));
+    }
+
+    @Test
+    void collapsesStraightLine() {
+        double[][] track = line(1000, 1);
+        assertArrayEquals(new int[]{0, 999}, TrackSimplifier.simplify(track[0], track[1], 0.5));
+    }
+
+    @Test
+    void keepsCorner() {
+        // 100 meters to the east, then 100 meters to the north.
+        int half = 50;
+        double[] longitudes = new double[half * 2 + 1];
+        double[] latitudes = new double[half * 2 + 1];
+        for (int i = 0; i <= half * 2; i++) {
+            longitudes[i] = LONGITUDE + east(Math.min(i, half) * 2);
+            latitudes[i] = LATITUDE + north(Math.max(0, i - half) * 2);
+        }
+        assertArrayEquals(new int[]{0, half, half * 2}, TrackSimplifier.simplify(longitudes, latitudes, 1));
+    }
+
+    @Test
+    void keepsTrackReturningToStart() {
+        // Out 100 meters and back to the start: the line between the ends is a point.
+        double[] longitudes = new double[21];
+        double[] latitudes = new double[21];
+        for (int i = 0; i <= 20; i++) {
+            longitudes[i] = LONGITUDE + east((10 - Math.abs(10 - i)) * 10);
+            latitudes[i] = LATITUDE;
+        }
+        assertArrayEquals(new int[]{0, 10, 20}, TrackSimplifier.simplify(longitudes, latitudes, 1));
+    }
+
+    @Test
+    void keepsEveryPositionWithinTolerance() {
+        Random random = new Random(42);
+        int length = 5000;
+        double[] longitudes = new double[length];
+        double[] latitudes = new double[length];
+        double x = 0;
+        double y = 0;
+        for (int i = 0; i < length; i++) {
+            x += random.nextGaussian() * 3;
+            y += random.nextGaussian() * 3 + 1;
+            longitudes[i] = LONGITUDE + east(x);
+            latitudes[i] = LATITUDE + north(y);
+        }
+        double tolerance = 5;
+        int[] indexes = TrackSimplifier.simplify(longitudes, latitudes, tolerance);
+
+        assertEquals(0, indexes[0]);
+        assertEquals(length - 1, indexes[indexes.length - 1]);
+        assertTrue(indexes.length < length / 2, "Only " + (length - indexes.length) + " positions are removed.");
+        for (int i = 1; i < indexes.length; i++) {
+            assertTrue(indexes[i - 1] < indexes[i]);
+        }
+        for (int k = 1; k < indexes.length; k++) {
+            int first = indexes[k - 1];
+            int last = indexes[k];
+            for (int i = first + 1; i < last; i++) {
+                double distance = distance(longitudes, latitudes, i, first, last);
+                assertTrue(distance <= tolerance + 1e-6, "The position " + i + " is " + distance + " meters away.");
+            }
+        }
+    }
+
+    @Test
+    void keepsEveryPositionOfZigzag() {
+        // Every range is split, so the stack of the ranges grows beyond its initial size.
+        int length = 10_000;
+        double[] longitudes = new double[length];
+        double[] latitudes = new double[length];
+        for (int i = 0; i < length; i++) {
+            longitudes[i] = LONGITUDE + east(i * 10);
+            latitudes[i] = LATITUDE + north(i % 2 == 0 ? 0 : 10);
+        }
+        int[] indexes = TrackSimplifier.simplify(longitudes, latitudes, 1);
+        int[] all = new int[length];
+        Arrays.setAll(all, i -> i);
+        assertArrayEquals(all, indexes);
+    }
+
+    private static double[][] line(int length, double stepMeters) {
+        double[] longitudes = new double[length];
+        double[] latitudes = new double[length];
+        for (int i = 0; i < length; i++) {
+            longitudes[i] = LONGITUDE + east(i * stepMeters);
+            latitudes[i] = LATITUDE + north(i * stepMeters);
+        }
+        return new double[][]{longitudes, latitudes};
+    }
+
+    private static double east(double meters) {
+        return meters / GeoShape.longitudeMeters(LATITUDE);
+    }
+
+    private static double north(double meters) {
+        return meters / GeoShape.METERS_PER_DEGREE_LATITUDE;
+    }
+
+    /**
+     * The distance in meters from the position to the segment, on the same local plane as the simplifier.
+     */
+    private static double distance(double[] longitudes, double[] latitudes, int i, int first, int last) {
+        double kx = GeoShape.longitudeMeters(latitudes[0]);
+        double ky = GeoShape.METERS_PER_DEGREE_LATITUDE;
+        double px = (longitudes[i] - longitudes[first]) * kx;
+        double py = (latitudes[i] - latitudes[first]) * ky;
+        double dx = (longitudes[last] - longitudes[first]) * kx;
+        double dy = (latitudes[last] - latitudes[first]) * ky;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, (px * dx + py * dy) / lengthSquared));
+        return Math.hypot(px - t * dx, py - t * dy);
+    }
+}
@@ -0,0 +1,304 @@
+package com.dji.sample.media.service.impl;
+
+import com.dji.sample.component.oss.model.OssConfiguration;
+import com.dji.sample.component.websocket.service.impl.WebSocketMessageServiceImpl;
+import com.dji.sample.manage.model.dto.DeviceDTO;
+import com.dji.sample.manage.service.impl.DeviceRedisServiceImpl;
+import com.dji.sample.media.model.MediaFileCountDTO;
+import com.dji.sdk.cloudapi.media.FileUploadCallback;
+import com.dji.sdk.cloudapi.media.FileUploadCallbackFile;
+import com.dji.sdk.cloudapi.media.MediaUploadCallbackRequest;
+import com.dji.sdk.cloudapi.media.UploadCallbackFileExtension;
+import com.dji.sdk.cloudapi.media.UploadCallbackFileMetadata;
+import com.dji.sdk.mqtt.CommonTopicResponse;
+import com.dji.sdk.mqtt.MqttGatewayPublish;
+import com.dji.sdk.mqtt.events.TopicEventsRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Saves the upload callbacks of a dock against a fake database that takes 2 ms for each statement
+ * and 20 us for each row.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Slf4j
+class MediaServiceImplTest {
+
+    private static final String GATEWAY_SN = "dock";
+
+    private static final String WORKSPACE_ID = "workspace";
+
+    private static final long STATEMENT_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private static final long ROW_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    private final MediaServiceImpl service = new MediaServiceImpl();
+
+    private final List<List<MediaUploadCallbackRequest>> statements = Collections.synchronizedList(new ArrayList<>());
+
+    private final Set<String> savedObjectKeys = Collections.synchronizedSet(new HashSet<>());
+
+    private final List<String> saveThreads = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<CommonTopicResponse> replies = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<MediaFileCountDTO> notifications = Collections.synchronizedList(new ArrayList<>());
+
+    private final Map<String, MediaFileCountDTO> counts = new HashMap<>();
+
+    private boolean failingToSave;
+
+    private boolean failingToCount;
+
+    @BeforeEach
+    void setUp() {
+        new OssConfiguration().setObjectDirPrefix("media");
+        ReflectionTestUtils.setField(service, "batchWindow", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(service, "maxBatchSize", 500);
+        ReflectionTestUtils.setField(service, "flushParallelism", 1);
+        ReflectionTestUtils.setField(service, "fileService", new FileServiceImpl() {
+            @Override
+            public Integer saveFiles(String workspaceId, List<MediaUploadCallbackRequest> files) {
+                LockSupport.parkNanos(STATEMENT_NANOS + ROW_NANOS * files.size());
+                if (failingToSave) {
+                    throw new IllegalStateException("The database is down.");
+                }
+                saveThreads.add(Thread.currentThread().getName());
+                statements.add(files);
+                files.forEach(file -> savedObjectKeys.add(file.getObjectKey()));
+                return files.size();
+            }
+
+            @Override
+            public Set<String> getExistObjectKeys(String workspaceId, Collection<String> objectKeys) {
+                return objectKeys.stream().filter(savedObjectKeys::contains).collect(Collectors.toSet());
+            }
+        });
+        ReflectionTestUtils.setField(service, "deviceRedisService", new DeviceRedisServiceImpl() {
+            @Override
+            public Optional<DeviceDTO> getDeviceOnline(String sn) {
+                return Optional.of(DeviceDTO.builder().deviceSn(sn).workspaceId(WORKSPACE_ID).childDeviceSn("drone").build());
+            }
+        });
+        ReflectionTestUtils.setField(service, "mediaRedisService", new MediaRedisServiceImpl() {
+            @Override
+            public Map<String, MediaFileCountDTO> getMediaCounts(String gatewaySn, Collection<String> jobIds) {
+                Map<String, MediaFileCountDTO> result = new HashMap<>();
+                jobIds.stream().filter(counts::containsKey).forEach(jobId -> result.put(jobId, copy(counts.get(jobId))));
+                return result;
+            }
+
+            @Override
+            public void updateMediaCounts(String gatewaySn, Map<String, MediaFileCountDTO> uploadingCounts,
+                                          Collection<String> uploadedJobIds, boolean delHighestPriority) {
+                if (failingToCount) {
+                    throw new IllegalStateException("The redis is down.");
+                }
+                counts.putAll(uploadingCounts);
+                uploadedJobIds.forEach(counts::remove);
+            }
+
+            @Override
+            public MediaFileCountDTO getMediaHighestPriority(String gatewaySn) {
+                return null;
+            }
+        });
+        ReflectionTestUtils.setField(service, "webSocketMessageService", new WebSocketMessageServiceImpl() {
+            @Override
+            public void sendBatch(String workspaceId, Integer userType, String bizCode, Object data) {
+                notifications.add(copy((MediaFileCountDTO) data));
+            }
+        });
+        ReflectionTestUtils.setField(service, "gatewayPublish", new MqttGatewayPublish() {
+            @Override
+            public void publishReply(CommonTopicResponse response, MessageHeaders headers) {
+                replies.add(response);
+            }
+        });
+        ReflectionTestUtils.invokeMethod(service, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(service, "destroy");
+    }
+
+    @Test
+    void savesTheCallbacksOfTheWindowTogether() throws Exception {
+        service.fileUploadCallback(callback(1, "job"), null);
+        service.fileUploadCallback(callback(2, "job"), null);
+        flush(System.nanoTime());
+        assertTrue(statements.isEmpty());
+        assertTrue(replies.isEmpty());
+
+        flush(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(1, statements.size());
+        assertEquals(2, statements.get(0).size());
+        assertEquals(2, replies.size());
+    }
+
+    @Test
+    void savesTheFullBatchOnTheFlushThread() throws Exception {
+        ReflectionTestUtils.setField(service, "maxBatchSize", 3);
+        for (int i = 0; i < 3; i++) {
+            service.fileUploadCallback(callback(i, "job"), null);
+        }
+        flush(System.nanoTime());
+        assertEquals(List.of("media-upload-flush-1"), saveThreads);
+        assertEquals(3, replies.size());
+    }
+
+    @Test
+    void notifiesOnceForEachJob() throws Exception {
+        counts.put("a", MediaFileCountDTO.builder().jobId("a").mediaCount(10).uploadedCount(0).build());
+        counts.put("b", MediaFileCountDTO.builder().jobId("b").mediaCount(3).uploadedCount(0).build());
+        for (int i = 0; i < 8; i++) {
+            service.fileUploadCallback(callback(i, i < 5 ? "a" : "b"), null);
+        }
+        flushAll();
+
+        assertEquals(2, notifications.size());
+        assertEquals(5, notifications.get(0).getUploadedCount());
+        assertEquals(3, notifications.get(1).getUploadedCount());
+        // All the files of b are uploaded.
+        assertEquals(Set.of("a"), counts.keySet());
+    }
+
+    @Test
+    void doesNotReplyTheBatchFailedToSave() throws Exception {
+        failingToSave = true;
+        service.fileUploadCallback(callback(1, "job"), null);
+        flushAll();
+        assertTrue(replies.isEmpty());
+
+        failingToSave = false;
+        service.fileUploadCallback(callback(1, "job"), null);
+        flushAll();
+        assertEquals(1, statements.size());
+        assertEquals(1, replies.size());
+    }
+
+    @Test
+    void repliesTheSavedFilesWhenTheCountFails() throws Exception {
+        counts.put("job", MediaFileCountDTO.builder().jobId("job").mediaCount(10).uploadedCount(0).build());
+        failingToCount = true;
+        service.fileUploadCallback(callback(1, "job"), null);
+        flushAll();
+        assertEquals(1, statements.size());
+        assertEquals(1, replies.size());
+    }
+
+    @Test
+    void skipsTheFilesSavedBefore() throws Exception {
+        counts.put("job", MediaFileCountDTO.builder().jobId("job").mediaCount(10).uploadedCount(0).build());
+        service.fileUploadCallback(callback(1, "job"), null);
+        service.fileUploadCallback(callback(2, "job"), null);
+        flushAll();
+
+        // The replies are lost, and the dock sends the callbacks again with a new one.
+        service.fileUploadCallback(callback(1, "job").setTid("tid-again-1"), null);
+        service.fileUploadCallback(callback(2, "job").setTid("tid-again-2"), null);
+        service.fileUploadCallback(callback(3, "job"), null);
+        flushAll();
+
+        assertEquals(2, statements.size());
+        assertEquals(List.of("media/job/3.jpeg"),
+                statements.get(1).stream().map(MediaUploadCallbackRequest::getObjectKey).collect(Collectors.toList()));
+        assertEquals(5, replies.size());
+        assertEquals(3, counts.get("job").getUploadedCount());
+    }
+
+    @Test
+    void measuresTheBurstOfThousandFiles() throws Exception {
+        int files = 1000;
+        long start = System.nanoTime();
+        for (int i = 0; i < files; i++) {
+            service.fileUploadCallback(callback(i, "job"), null);
+        }
+        long callbackNanos = System.nanoTime() - start;
+        while (replies.size() < files) {
+            flush(System.nanoTime());
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        long batchedNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < files; i++) {
+            LockSupport.parkNanos(STATEMENT_NANOS + ROW_NANOS);
+        }
+        long oneByOneNanos = System.nanoTime() - start;
+
+        log.info("{} callbacks took {} ms on the inbound thread, and were saved with {} statements and replied in {} ms. "
+                        + "Saving them one by one takes {} ms.", files, TimeUnit.NANOSECONDS.toMillis(callbackNanos),
+                statements.size(), TimeUnit.NANOSECONDS.toMillis(batchedNanos), TimeUnit.NANOSECONDS.toMillis(oneByOneNanos));
+        assertEquals(files, savedObjectKeys.size());
+        // A full batch takes the callbacks that arrive before it's saved, the rest wait for the window.
+        assertTrue(statements.size() <= 2, statements.size() + " statements are executed.");
+        assertTrue(batchedNanos * 2 < oneByOneNanos);
+    }
+
+    /**
+     * Flush at the time, and wait until the saving is done.
+     */
+    private void flush(long nanos) throws ExecutionException, InterruptedException {
+        service.flushUploads(nanos);
+        ExecutorService flushExecutor = (ExecutorService) ReflectionTestUtils.getField(service, "flushExecutor");
+        flushExecutor.submit(() -> { }).get();
+    }
+
+    private void flushAll() throws ExecutionException, InterruptedException {
+        flush(Long.MAX_VALUE);
+    }
+
+    private static TopicEventsRequest<FileUploadCallback> callback(int index, String jobId) {
+        FileUploadCallbackFile file = new FileUploadCallbackFile()
+                .setName(index + ".jpeg")
+                .setObjectKey("media/" + jobId + "/" + index + ".jpeg")
+                .setPath(jobId)
+                .setExt(new UploadCallbackFileExtension().setFlightId(jobId).setOriginal(true))
+                .setMetadata(new UploadCallbackFileMetadata());
+        return new TopicEventsRequest<FileUploadCallback>()
+                .setTid("tid-" + index)
+                .setBid("bid-" + jobId)
+                .setGateway(GATEWAY_SN)
+                .setMethod("file_upload_callback")
+                .setNeedReply(true)
+                .setData(new FileUploadCallback().setResult(0).setFile(file));
+    }
+
+    private static MediaFileCountDTO copy(MediaFileCountDTO count) {
+        return MediaFileCountDTO.builder()
+                .jobId(count.getJobId())
+                .bid(count.getBid())
+                .tid(count.getTid())
+                .mediaCount(count.getMediaCount())
+                .uploadedCount(count.getUploadedCount())
+                .build();
+    }
+}
@@ -0,0 +1,222 @@
+package com.dji.sample.wayline.service.impl;
+
+import com.dji.sample.component.telemetry.TelemetryFieldEnum;
+import com.dji.sample.component.telemetry.TelemetryStore;
+import com.dji.sample.wayline.model.dto.FlightTrackDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Slf4j
+class FlightTrackServiceImplTest {
+
+    private static final String DRONE_SN = "drone";
+
+    private final FlightTrackServiceImpl service = new FlightTrackServiceImpl();
+
+    private final TelemetryStore telemetryStore = new TelemetryStore();
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("telemetry");
+        ReflectionTestUtils.setField(telemetryStore, "dir", dir.toString());
+        ReflectionTestUtils.setField(telemetryStore, "queueCapacity", 65536);
+        ReflectionTestUtils.setField(telemetryStore, "segmentFrames", 3600);
+        ReflectionTestUtils.setField(telemetryStore, "segmentDuration", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(telemetryStore, "retention", Duration.ofDays(7));
+        ReflectionTestUtils.setField(telemetryStore, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "telemetryStore", telemetryStore);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        ReflectionTestUtils.invokeMethod(telemetryStore, "destroy");
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void isDisabledWithTheTelemetryStore() {
+        ReflectionTestUtils.invokeMethod(telemetryStore, "init");
+        assertFalse(service.isEnabled());
+    }
+
+    @Test
+    void writesTheSameBytesAsTheEncodedTrack() throws Exception {
+        long begin = System.currentTimeMillis() - 60_000;
+        long end = recordFlight(begin, 600);
+        assertTrue(service.isEnabled());
+
+        for (double tolerance : new double[]{0, 1, 10}) {
+            ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+            service.writeDeviceTrack(DRONE_SN, begin, end, tolerance, 18, streamed);
+            FlightTrackDTO track = service.getDeviceTrack(DRONE_SN, begin, end, tolerance, 18);
+            assertArrayEquals(encode(track), streamed.toByteArray(), "The track in the tolerance " + tolerance);
+        }
+    }
+
+    @Test
+    void streamsTheTrackWithoutBuildingTheDto() throws Exception {
+        // An hour of flight at 2 Hz, all the positions are kept without tolerance.
+        long begin = System.currentTimeMillis() - 3_600_000;
+        long end = recordFlight(begin, 7200);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long streamedBytes = Long.MAX_VALUE;
+        long dtoBytes = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = threads.getThreadAllocatedBytes(threadId);
+            service.writeDeviceTrack(DRONE_SN, begin, end, 0, 18, new ByteArrayOutputStream(1 << 20));
+            streamedBytes = Math.min(streamedBytes, threads.getThreadAllocatedBytes(threadId) - start);
+
+            start = threads.getThreadAllocatedBytes(threadId);
+            service.encode(service.getDeviceTrack(DRONE_SN, begin, end, 0, 18), new ByteArrayOutputStream(1 << 20));
+            dtoBytes = Math.min(dtoBytes, threads.getThreadAllocatedBytes(threadId) - start);
+        }
+        log.info("The track of 7200 positions allocates {} KB streamed, and {} KB built into the dto and encoded. "
+                + "Both include the query and the 1 MB output buffer.", streamedBytes / 1024, dtoBytes / 1024);
+        assertTrue(streamedBytes < dtoBytes, streamedBytes + " bytes are allocated to stream the track.");
+    }
+
+    @Test
+    void encodesEmptyTrack() throws IOException {
+        assertArrayEquals(new byte[]{0}, encode(track(List.of(), List.of(), List.of(), List.of())));
+    }
+
+    @Test
+    void encodesZigzagVarints() throws IOException {
+        // The count and the deltas 0, -1, 1, -64 and 64 are zigzag encoded.
+        byte[] bytes = encode(track(
+                List.of(0L, -1L, 0L, -64L, 0L),
+                List.of(0.0, 0.0, 0.0000001, 0.0, 0.0000064),
+                List.of(0.0, 0.0, 0.0, 0.0, 0.0),
+                Arrays.asList(0.0, 0.01, 0.0, 0.0, 0.64)));
+        assertArrayEquals(new byte[]{
+                10,
+                0, 0, 0, 0,
+                1, 0, 0, 2,
+                2, 2, 0, 1,
+                (byte) 0x7F, 1, 0, 0,
+                (byte) 0x80, 0x01, (byte) 0x80, 0x01, 0, (byte) 0x80, 0x01}, bytes);
+    }
+
+    @Test
+    void decodesTheEncodedPositions() throws IOException {
+        List<Long> timestamps = List.of(1_700_000_000_000L, 1_700_000_000_500L, 1_700_000_060_000L, 1_699_000_000_000L);
+        List<Double> longitudes = List.of(113.9412345, 113.9412346, -179.9999999, 180.0);
+        List<Double> latitudes = List.of(22.5712345, 22.5712001, -89.9999999, 90.0);
+        List<Double> heights = Arrays.asList(120.55, null, -10.0, 5000.01);
+        ByteArrayInputStream in = new ByteArrayInputStream(encode(track(timestamps, longitudes, latitudes, heights)));
+
+        assertEquals(timestamps.size(), readVarint(in));
+        long timestamp = 0, longitude = 0, latitude = 0, height = 0;
+        for (int i = 0; i < timestamps.size(); i++) {
+            timestamp += readVarint(in);
+            longitude += readVarint(in);
+            latitude += readVarint(in);
+            height += readVarint(in);
+            assertEquals(timestamps.get(i), timestamp);
+            assertEquals(Math.round(longitudes.get(i) * 1e7), longitude);
+            assertEquals(Math.round(latitudes.get(i) * 1e7), latitude);
+            // The missing height is the same as the previous one.
+            assertEquals(Math.round((heights.get(i) == null ? heights.get(i - 1) : heights.get(i)) * 100), height);
+        }
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    void encodesExtremeDeltas() throws IOException {
+        List<Long> timestamps = List.of(Long.MAX_VALUE, Long.MIN_VALUE);
+        ByteArrayInputStream in = new ByteArrayInputStream(encode(
+                track(timestamps, List.of(0.0, 0.0), List.of(0.0, 0.0), List.of(0.0, 0.0))));
+
+        assertEquals(2, readVarint(in));
+        assertEquals(Long.MAX_VALUE, readVarint(in));
+        in.skip(3);
+        // The delta overflows, and the sum overflows back to the timestamp.
+        assertEquals(Long.MIN_VALUE, Long.MAX_VALUE + readVarint(in));
+    }
+
+    /**
+     * Record the frames of a drone flying north east every 500 ms, and wait until they are in the store.
+     * @return the timestamp of the last frame.
+     */
+    private long recordFlight(long begin, int frames) throws InterruptedException {
+        ReflectionTestUtils.setField(telemetryStore, "enabled", true);
+        ReflectionTestUtils.invokeMethod(telemetryStore, "init");
+        long timestamp = begin;
+        for (int i = 0; i < frames; i++) {
+            timestamp = begin + i * 500L;
+            double[] values = new double[TelemetryFieldEnum.values().length];
+            Arrays.fill(values, Double.NaN);
+            // A zigzag, so the simplification keeps some of the positions.
+            values[TelemetryFieldEnum.LONGITUDE.ordinal()] = 113.94 + i * 1e-5 + (i / 20 % 2) * 2e-4;
+            values[TelemetryFieldEnum.LATITUDE.ordinal()] = 22.57 + i * 1e-5;
+            values[TelemetryFieldEnum.HEIGHT.ordinal()] = 100 + i % 7;
+            telemetryStore.append(DRONE_SN, timestamp, values);
+        }
+        EnumSet<TelemetryFieldEnum> fields = EnumSet.of(TelemetryFieldEnum.LONGITUDE);
+        for (int i = 0; i < 100 && telemetryStore.query(DRONE_SN, begin, timestamp, fields).size() < frames; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(frames, telemetryStore.query(DRONE_SN, begin, timestamp, fields).size());
+        return timestamp;
+    }
+
+    private byte[] encode(FlightTrackDTO track) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.encode(track, out);
+        return out.toByteArray();
+    }
+
+    private static FlightTrackDTO track(List<Long> timestamps, List<Double> longitudes, List<Double> latitudes,
+                                        List<Double> heights) {
+        return FlightTrackDTO.builder()
+                .timestamps(timestamps)
+                .longitudes(longitudes)
+                .latitudes(latitudes)
+                .heights(heights)
+                .build();
+    }
+
+    private static long readVarint(ByteArrayInputStream in) {
+        long zigzag = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
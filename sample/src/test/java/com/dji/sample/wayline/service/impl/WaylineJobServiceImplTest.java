@@ -0,0 +1,404 @@
+package com.dji.sample.wayline.service.impl;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.config.GlobalConfig;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.dji.sample.component.mqtt.model.EventsReceiver;
+import com.dji.sample.component.mybatis.MybatisPlusMetaObjectHandler;
+import com.dji.sample.component.redis.RedisConst;
+import com.dji.sample.component.redis.RedisOpsUtils;
+import com.dji.sample.manage.service.IDeviceService;
+import com.dji.sample.media.model.MediaFileCountDTO;
+import com.dji.sample.media.service.IFileService;
+import com.dji.sample.wayline.dao.IWaylineJobMapper;
+import com.dji.sample.wayline.model.dto.WaylineJobDTO;
+import com.dji.sample.wayline.model.entity.WaylineJobEntity;
+import com.dji.sample.wayline.model.enums.WaylineJobStatusEnum;
+import com.dji.sample.wayline.service.IWaylineFileService;
+import com.dji.sdk.cloudapi.wayline.FlighttaskProgress;
+import com.dji.sdk.cloudapi.wayline.FlighttaskProgressData;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The jobs are in an in-memory H2 database in the MySQL mode. Each redis request is delayed by a fixed round trip,
+ * and a pipeline takes one round trip for all its commands.
+ *
+ * @author sean
+ * @version 1.10
+ * @date 2026/10/19
+ */
+@Slf4j
+class WaylineJobServiceImplTest {
+
+    private static final String WORKSPACE_ID = "workspace";
+
+    private static final int JOBS = 100_000;
+
+    private static final int DOCKS = 50;
+
+    /**
+     * The newest jobs are still in progress, one for each of these docks.
+     */
+    private static final int IN_PROGRESS = 10;
+
+    private static final int PAGE_SIZE = 50;
+
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    private final Map<String, Object> values = new HashMap<>();
+
+    private final Map<String, Map<Object, Object>> hashes = new HashMap<>();
+
+    private final AtomicInteger roundTrips = new AtomicInteger();
+
+    private final AtomicInteger queries = new AtomicInteger();
+
+    private final WaylineRedisServiceImpl waylineRedisService = new WaylineRedisServiceImpl();
+
+    private final WaylineJobServiceImpl waylineJobService = new WaylineJobServiceImpl();
+
+    private SqlSession sqlSession;
+
+    private IWaylineJobMapper mapper;
+
+    @BeforeEach
+    void setUp() throws SQLException, IOException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             InputStream ddl = getClass().getResourceAsStream("/sql/wayline_job.sql")) {
+            statement.execute(new String(ddl.readAllBytes(), StandardCharsets.UTF_8));
+            // Every third job has media files. Job X is created at X seconds.
+            statement.execute("INSERT INTO wayline_job (job_id, name, file_id, dock_sn, workspace_id, task_type, " +
+                    "wayline_type, username, begin_time, status, rth_altitude, out_of_control, media_count, " +
+                    "create_time, update_time) " +
+                    "SELECT 'job' || X, 'job' || X, 'wayline', 'dock' || MOD(X, " + DOCKS + "), '" + WORKSPACE_ID +
+                    "', 0, 0, 'pilot', X * 1000, CASE WHEN X > " + (JOBS - IN_PROGRESS) + " THEN " +
+                    WaylineJobStatusEnum.IN_PROGRESS.getVal() + " ELSE " + WaylineJobStatusEnum.SUCCESS.getVal() +
+                    " END, 100, 0, CASE WHEN MOD(X, 3) = 0 THEN 5 ELSE 0 END, X * 1000, X * 1000 " +
+                    "FROM SYSTEM_RANGE(1, " + JOBS + ")");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setEnvironment(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
+        configuration.addInterceptor(interceptor);
+        GlobalConfig globalConfig = GlobalConfigUtils.getGlobalConfig(configuration);
+        globalConfig.setBanner(false);
+        globalConfig.setMetaObjectHandler(new MybatisPlusMetaObjectHandler());
+        configuration.addMapper(IWaylineJobMapper.class);
+        sqlSession = new MybatisSqlSessionFactoryBuilder().build(configuration).openSession(true);
+        mapper = sqlSession.getMapper(IWaylineJobMapper.class);
+
+        // The first dock paused its job, the others report their progress.
+        for (int i = JOBS - IN_PROGRESS + 1; i <= JOBS; i++) {
+            String dockSn = "dock" + i % DOCKS;
+            values.put(RedisConst.WAYLINE_JOB_RUNNING_PREFIX + dockSn, new EventsReceiver<FlighttaskProgress>()
+                    .setOutput(new FlighttaskProgress().setProgress(new FlighttaskProgressData().setPercent(i % 100))));
+        }
+        values.put(RedisConst.WAYLINE_JOB_PAUSED_PREFIX + "dock" + JOBS % DOCKS, "job" + JOBS);
+        // The media files of the jobs on the first page are uploading, the even docks upload their newest job first.
+        for (int i = JOBS - PAGE_SIZE + 1; i <= JOBS; i++) {
+            String dockSn = "dock" + i % DOCKS;
+            hashes.computeIfAbsent(RedisConst.MEDIA_FILE_PREFIX + dockSn, key -> new HashMap<>())
+                    .put("job" + i, MediaFileCountDTO.builder().jobId("job" + i).mediaCount(5).uploadedCount(i % 5).build());
+            if (i % 2 == 0) {
+                values.put(RedisConst.MEDIA_HIGHEST_PRIORITY_PREFIX + dockSn, MediaFileCountDTO.builder().jobId("job" + i).build());
+            }
+        }
+        new RedisOpsUtils().setRedisTemplate(redisTemplate());
+
+        ReflectionTestUtils.setField(waylineJobService, "mapper", counted(mapper));
+        ReflectionTestUtils.setField(waylineJobService, "waylineFileService", service(IWaylineFileService.class));
+        ReflectionTestUtils.setField(waylineJobService, "deviceService", service(IDeviceService.class));
+        ReflectionTestUtils.setField(waylineJobService, "fileService", service(IFileService.class));
+        ReflectionTestUtils.setField(waylineJobService, "waylineRedisService", waylineRedisService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlSession.close();
+    }
+
+    @Test
+    void measuresTheFirstPageOfTheJobs() {
+        List<String> expected = null;
+        List<String> actual = null;
+        long oneByOneNanos = Long.MAX_VALUE;
+        long pipelinedNanos = Long.MAX_VALUE;
+        int oneByOneRoundTrips = 0;
+        for (int round = 0; round < 5; round++) {
+            roundTrips.set(0);
+            long start = System.nanoTime();
+            expected = pageAsBefore();
+            oneByOneNanos = Math.min(oneByOneNanos, System.nanoTime() - start);
+            oneByOneRoundTrips = roundTrips.getAndSet(0);
+
+            start = System.nanoTime();
+            actual = waylineJobService.getJobsByWorkspaceId(WORKSPACE_ID, 1, PAGE_SIZE, true).getList().stream()
+                    .map(job -> state(job.getJobId(), job.getStatus(), job.getProgress(), job.getUploadedCount(), job.getUploading()))
+                    .collect(Collectors.toList());
+            pipelinedNanos = Math.min(pipelinedNanos, System.nanoTime() - start);
+        }
+
+        log.info("A page of {} jobs in a workspace of {} jobs takes {} ms with {} redis round trips one by one, " +
+                        "and {} ms with {} round trip in a pipeline.", PAGE_SIZE, JOBS,
+                String.format("%.1f", oneByOneNanos / 1e6), oneByOneRoundTrips,
+                String.format("%.1f", pipelinedNanos / 1e6), roundTrips.get());
+        assertEquals(expected, actual);
+        assertEquals(PAGE_SIZE, actual.size());
+        assertEquals(state("job" + JOBS, WaylineJobStatusEnum.PAUSED.getVal(), 0, null, null), actual.get(0));
+        assertEquals(state("job" + (JOBS - 1), WaylineJobStatusEnum.IN_PROGRESS.getVal(), 99, 4, false), actual.get(1));
+        assertEquals(state("job" + (JOBS - 4), WaylineJobStatusEnum.IN_PROGRESS.getVal(), 96, 1, true), actual.get(4));
+        assertEquals(1, roundTrips.get());
+        assertTrue(pipelinedNanos * 2 < oneByOneNanos, "The pipelined page takes " + pipelinedNanos + " ns.");
+    }
+
+    @Test
+    void measuresTheFirstAndTheDeepPage() {
+        int deepPage = JOBS / PAGE_SIZE;
+        String lastJobId = "job" + (JOBS - (deepPage - 1) * PAGE_SIZE + 1);
+        List<String> offsetJobs = null;
+        List<String> keysetJobs = null;
+        long firstOffsetNanos = Long.MAX_VALUE;
+        long firstNanos = Long.MAX_VALUE;
+        long deepOffsetNanos = Long.MAX_VALUE;
+        long deepKeysetNanos = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            waylineJobService.getJobsByWorkspaceId(WORKSPACE_ID, 1, PAGE_SIZE, true);
+            firstOffsetNanos = Math.min(firstOffsetNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            waylineJobService.getJobsByWorkspaceId(WORKSPACE_ID, 1, PAGE_SIZE, false);
+            firstNanos = Math.min(firstNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            offsetJobs = jobIds(waylineJobService.getJobsByWorkspaceId(WORKSPACE_ID, deepPage, PAGE_SIZE, true).getList());
+            deepOffsetNanos = Math.min(deepOffsetNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            keysetJobs = jobIds(waylineJobService.getJobsByWorkspaceIdAfter(WORKSPACE_ID, lastJobId, PAGE_SIZE, false).getList());
+            deepKeysetNanos = Math.min(deepKeysetNanos, System.nanoTime() - start);
+        }
+
+        log.info("Of {} jobs, page 1 takes {} ms with the count and {} ms without. Page {} takes {} ms by the offset " +
+                        "with the count, and {} ms after its last job without the count.", JOBS,
+                String.format("%.1f", firstOffsetNanos / 1e6), String.format("%.1f", firstNanos / 1e6), deepPage,
+                String.format("%.1f", deepOffsetNanos / 1e6), String.format("%.1f", deepKeysetNanos / 1e6));
+        assertEquals(offsetJobs, keysetJobs);
+        assertEquals(PAGE_SIZE, keysetJobs.size());
+        assertEquals("job" + PAGE_SIZE, keysetJobs.get(0));
+        assertEquals("job1", keysetJobs.get(PAGE_SIZE - 1));
+        assertTrue(deepKeysetNanos * 2 < deepOffsetNanos, "The deep page takes " + deepKeysetNanos + " ns after its last job.");
+    }
+
+    @Test
+    void readsTheJobsOfManyIdsInChunks() {
+        // Finished jobs without media files, so the conversion reads nothing from redis.
+        List<String> jobIds = IntStream.iterate(1, x -> x + 50)
+                .filter(x -> x % 3 != 0)
+                .limit(1200)
+                .mapToObj(x -> "job" + x)
+                .collect(Collectors.toList());
+
+        long start = System.nanoTime();
+        List<String> chunked = jobIds(waylineJobService.getJobsByConditions(WORKSPACE_ID, jobIds, null));
+        long chunkedNanos = System.nanoTime() - start;
+
+        // One query with an OR for each job id, as they were read before.
+        start = System.nanoTime();
+        List<String> ored = mapper.selectList(new LambdaQueryWrapper<WaylineJobEntity>()
+                        .eq(WaylineJobEntity::getWorkspaceId, WORKSPACE_ID)
+                        .and(wrapper -> jobIds.forEach(id -> wrapper.eq(WaylineJobEntity::getJobId, id).or())))
+                .stream()
+                .map(WaylineJobEntity::getJobId)
+                .collect(Collectors.toList());
+        long oredNanos = System.nanoTime() - start;
+
+        log.info("{} jobs are read in {} ms with {} IN lists and converted, or in {} ms with one chain of OR.",
+                jobIds.size(), String.format("%.1f", chunkedNanos / 1e6), queries.get(), String.format("%.1f", oredNanos / 1e6));
+        assertEquals(3, queries.get());
+        assertEquals(0, roundTrips.get());
+        assertEquals(jobIds.stream().sorted().collect(Collectors.toList()), chunked.stream().sorted().collect(Collectors.toList()));
+        assertEquals(chunked.stream().sorted().collect(Collectors.toList()), ored.stream().sorted().collect(Collectors.toList()));
+    }
+
+    /**
+     * The page with the redis requests of each job, as the jobs were converted before.
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> pageAsBefore() {
+        List<WaylineJobEntity> entities = mapper.selectPage(new Page<WaylineJobEntity>(1, PAGE_SIZE, true),
+                        new LambdaQueryWrapper<WaylineJobEntity>()
+                                .eq(WaylineJobEntity::getWorkspaceId, WORKSPACE_ID)
+                                .orderByDesc(WaylineJobEntity::getCreateTime, WaylineJobEntity::getId))
+                .getRecords();
+        List<String> states = new ArrayList<>();
+        for (WaylineJobEntity entity : entities) {
+            boolean inProgress = WaylineJobStatusEnum.IN_PROGRESS.getVal() == entity.getStatus();
+            Integer status = inProgress && entity.getJobId().equals(waylineRedisService.getPausedWaylineJobId(entity.getDockSn())) ?
+                    WaylineJobStatusEnum.PAUSED.getVal() : entity.getStatus();
+            Integer progress = !inProgress ? null : waylineRedisService.getRunningWaylineJob(entity.getDockSn())
+                    .map(EventsReceiver::getOutput)
+                    .map(FlighttaskProgress::getProgress)
+                    .map(FlighttaskProgressData::getPercent)
+                    .orElse(null);
+            Integer uploadedCount = null;
+            Boolean uploading = null;
+            if (entity.getMediaCount() != 0) {
+                String key = RedisConst.MEDIA_HIGHEST_PRIORITY_PREFIX + entity.getDockSn();
+                MediaFileCountDTO mediaFileCount = (MediaFileCountDTO) RedisOpsUtils.hashGet(
+                        RedisConst.MEDIA_FILE_PREFIX + entity.getDockSn(), entity.getJobId());
+                uploadedCount = mediaFileCount.getUploadedCount();
+                uploading = RedisOpsUtils.checkExist(key) &&
+                        entity.getJobId().equals(((MediaFileCountDTO) RedisOpsUtils.get(key)).getJobId());
+            }
+            states.add(state(entity.getJobId(), status, progress, uploadedCount, uploading));
+        }
+        return states;
+    }
+
+    private static List<String> jobIds(List<WaylineJobDTO> jobs) {
+        return jobs.stream().map(WaylineJobDTO::getJobId).collect(Collectors.toList());
+    }
+
+    private static String state(String jobId, Integer status, Integer progress, Integer uploadedCount, Boolean uploading) {
+        return String.join(" ", jobId, String.valueOf(status), String.valueOf(progress),
+                String.valueOf(uploadedCount), String.valueOf(uploading));
+    }
+
+    private void roundTrip() {
+        roundTrips.incrementAndGet();
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+    }
+
+    private IWaylineJobMapper counted(IWaylineJobMapper target) {
+        return (IWaylineJobMapper) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{IWaylineJobMapper.class},
+                (proxy, method, args) -> {
+                    queries.incrementAndGet();
+                    return method.invoke(target, args);
+                });
+    }
+
+    /**
+     * The wayline files, the devices and the media files are not looked up in redis, so they are answered at once.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T service(Class<T> type) {
+        return (T) Proxy.newProxyInstance(WaylineJobServiceImplTest.class.getClassLoader(), new Class[]{type},
+                (proxy, method, args) -> Optional.class == method.getReturnType() ? Optional.empty() : List.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T operations(Class<T> type, List<Object> pipeline) {
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{type}, (proxy, method, args) -> {
+            if ("put".equals(method.getName()) && HashOperations.class == type && Objects.isNull(pipeline)) {
+                // The count of the uploaded media files is synced when it's missing.
+                roundTrip();
+                hashes.computeIfAbsent((String) args[0], key -> new HashMap<>()).put(args[1], args[2]);
+                return null;
+            }
+            if (!"get".equals(method.getName())) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            if (Objects.isNull(pipeline)) {
+                roundTrip();
+            }
+            Object value = ValueOperations.class == type ? values.get((String) args[0]) :
+                    hashes.getOrDefault((String) args[0], Map.of()).get(args[1]);
+            if (Objects.isNull(pipeline)) {
+                return value;
+            }
+            // The result of a command in a pipeline is only returned by the pipeline.
+            pipeline.add(value);
+            return null;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisTemplate<String, Object> redisTemplate() {
+        return new RedisTemplate<>() {
+
+            @Override
+            public ValueOperations<String, Object> opsForValue() {
+                return operations(ValueOperations.class, null);
+            }
+
+            @Override
+            public <HK, HV> HashOperations<String, HK, HV> opsForHash() {
+                return operations(HashOperations.class, null);
+            }
+
+            @Override
+            public Boolean hasKey(String key) {
+                roundTrip();
+                return values.containsKey(key);
+            }
+
+            @Override
+            public List<Object> executePipelined(SessionCallback<?> session) {
+                List<Object> results = new ArrayList<>();
+                ValueOperations<String, Object> valueOperations = operations(ValueOperations.class, results);
+                HashOperations<String, Object, Object> hashOperations = operations(HashOperations.class, results);
+                session.execute((RedisOperations<String, Object>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class[]{RedisOperations.class}, (proxy, method, args) -> {
+                            switch (method.getName()) {
+                                case "opsForValue":
+                                    return valueOperations;
+                                case "opsForHash":
+                                    return hashOperations;
+                                default:
+                                    throw new UnsupportedOperationException(method.getName());
+                            }
+                        }));
+                roundTrip();
+                return results;
+            }
+        };
+    }
+}
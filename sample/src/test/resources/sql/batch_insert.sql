@@ -0,0 +1,66 @@
+-- The tables of the batch inserts in cloud_sample.sql, without the quotes, the comments and the table options of mysql.
+
+CREATE TABLE manage_device_hms (
+  id int unsigned NOT NULL AUTO_INCREMENT,
+  hms_id varchar(45) NOT NULL DEFAULT '',
+  tid varchar(45) NOT NULL DEFAULT '',
+  bid varchar(45) NOT NULL DEFAULT '',
+  sn varchar(45) NOT NULL DEFAULT '',
+  level smallint NOT NULL,
+  module tinyint NOT NULL,
+  hms_key varchar(64) NOT NULL DEFAULT '',
+  message_zh varchar(100) NOT NULL DEFAULT '',
+  message_en varchar(300) NOT NULL DEFAULT '',
+  create_time bigint NOT NULL,
+  update_time bigint NOT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY UNIQUE_hms_id (hms_id)
+);
+
+CREATE TABLE logs_file (
+  id bigint unsigned NOT NULL AUTO_INCREMENT,
+  file_id varchar(45) NOT NULL DEFAULT '',
+  name varchar(100) NOT NULL DEFAULT '',
+  size bigint NOT NULL DEFAULT '0',
+  logs_id varchar(45) NOT NULL DEFAULT '',
+  device_sn varchar(45) NOT NULL DEFAULT '',
+  fingerprint varchar(64) NOT NULL DEFAULT '',
+  object_key varchar(1000) NOT NULL DEFAULT '',
+  status tinyint(1) NOT NULL,
+  create_time bigint NOT NULL,
+  update_time bigint NOT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY file_id_UNIQUE (file_id)
+);
+
+CREATE TABLE logs_file_index (
+  id bigint unsigned NOT NULL AUTO_INCREMENT,
+  boot_index int NOT NULL,
+  file_id varchar(64) NOT NULL DEFAULT '',
+  start_time bigint NOT NULL,
+  end_time bigint NOT NULL,
+  size bigint NOT NULL,
+  device_sn varchar(64) NOT NULL DEFAULT '',
+  domain int NOT NULL,
+  create_time bigint NOT NULL,
+  update_time bigint NOT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE manage_firmware_model (
+  id bigint unsigned NOT NULL AUTO_INCREMENT,
+  firmware_id varchar(64) NOT NULL,
+  device_name varchar(64) NOT NULL,
+  create_time bigint NOT NULL,
+  update_time bigint NOT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE map_element_coordinate (
+  id int unsigned NOT NULL AUTO_INCREMENT,
+  element_id varchar(64) NOT NULL DEFAULT '',
+  longitude decimal(18,14) NOT NULL,
+  latitude decimal(17,14) NOT NULL,
+  altitude decimal(17,14) DEFAULT NULL,
+  PRIMARY KEY (id)
+);
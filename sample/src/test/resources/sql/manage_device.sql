@@ -0,0 +1,28 @@
+-- The device table in cloud_sample.sql, without the quotes, the comments and the table options of mysql.
+
+CREATE TABLE manage_device (
+  id int unsigned NOT NULL AUTO_INCREMENT,
+  device_sn varchar(32) NOT NULL DEFAULT '',
+  device_name varchar(64) NOT NULL DEFAULT 'undefined',
+  user_id varchar(64) DEFAULT '',
+  nickname varchar(64) NOT NULL,
+  workspace_id varchar(64) DEFAULT '',
+  device_type int NOT NULL DEFAULT '-1',
+  sub_type int NOT NULL DEFAULT '-1',
+  domain int NOT NULL DEFAULT '-1',
+  firmware_version varchar(32) DEFAULT '',
+  compatible_status tinyint(1) NOT NULL DEFAULT '1',
+  version varchar(32) DEFAULT '',
+  device_index varchar(32) DEFAULT '',
+  child_sn varchar(32) DEFAULT '',
+  create_time bigint NOT NULL,
+  update_time bigint NOT NULL,
+  bound_time bigint DEFAULT NULL,
+  bound_status tinyint(1) NOT NULL DEFAULT '0',
+  login_time bigint DEFAULT NULL,
+  device_desc varchar(100) DEFAULT '',
+  url_normal varchar(200) DEFAULT '',
+  url_select varchar(200) DEFAULT '',
+  PRIMARY KEY (id),
+  UNIQUE KEY product_sn_UNIQUE (device_sn)
+);
@@ -0,0 +1,29 @@
+-- The job table in cloud_sample.sql, without the quotes, the comments and the table options of mysql.
+
+CREATE TABLE wayline_job (
+  id int unsigned NOT NULL AUTO_INCREMENT,
+  job_id varchar(45) NOT NULL DEFAULT '',
+  name varchar(64) NOT NULL DEFAULT '',
+  file_id varchar(45) NOT NULL DEFAULT '',
+  dock_sn varchar(45) NOT NULL DEFAULT '',
+  drone_sn varchar(45) DEFAULT NULL,
+  workspace_id varchar(45) NOT NULL DEFAULT '',
+  task_type int NOT NULL,
+  wayline_type int NOT NULL,
+  execute_time bigint DEFAULT NULL,
+  completed_time bigint DEFAULT NULL,
+  username varchar(64) NOT NULL DEFAULT '',
+  begin_time bigint NOT NULL,
+  end_time bigint DEFAULT NULL,
+  error_code int DEFAULT NULL,
+  status int NOT NULL,
+  rth_altitude int NOT NULL,
+  out_of_control int NOT NULL,
+  media_count int NOT NULL DEFAULT '0',
+  create_time bigint NOT NULL,
+  update_time bigint NOT NULL,
+  parent_id varchar(45) DEFAULT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY job_id_UNIQUE (job_id),
+  KEY workspace_create_time_INDEX (workspace_id, create_time, id)
+);
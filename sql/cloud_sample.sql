@@ -484,7 +484,8 @@ CREATE TABLE `media_file` (
   `create_time` bigint NOT NULL,
   `update_time` bigint NOT NULL,
   PRIMARY KEY (`id`),
-  UNIQUE KEY `UNIQUE_file_id` (`file_id`)
+  UNIQUE KEY `UNIQUE_file_id` (`file_id`),
+  KEY `workspace_object_key_INDEX` (`workspace_id`,`object_key`(255))
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb3 COMMENT='Media file information';
 
 
@@ -509,11 +510,32 @@ CREATE TABLE `wayline_file` (
   `create_time` bigint NOT NULL,
   `update_time` bigint NOT NULL COMMENT 'required, can''t modify.',
   PRIMARY KEY (`id`),
-  UNIQUE KEY `wayline_id_UNIQUE` (`wayline_id`)
+  UNIQUE KEY `wayline_id_UNIQUE` (`wayline_id`),
+  KEY `workspace_update_time_INDEX` (`workspace_id`,`update_time`),
+  KEY `workspace_create_time_INDEX` (`workspace_id`,`create_time`),
+  KEY `workspace_name_INDEX` (`workspace_id`,`name`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb3 COMMENT='Wayline file information';
 
 
 
+# wayline_file_filter
+# ------------------------------------------------------------
+
+DROP TABLE IF EXISTS `wayline_file_filter`;
+
+CREATE TABLE `wayline_file_filter` (
+  `id` int unsigned NOT NULL AUTO_INCREMENT,
+  `wayline_id` varchar(64) CHARACTER SET utf8 COLLATE utf8_general_ci NOT NULL DEFAULT '' COMMENT 'uuid',
+  `workspace_id` varchar(64) CHARACTER SET utf8 COLLATE utf8_general_ci NOT NULL DEFAULT '' COMMENT 'Which workspace the wayline belongs to.',
+  `filter_type` tinyint NOT NULL COMMENT '0: template type; 1: payload model key;',
+  `filter_value` varchar(32) CHARACTER SET utf8 COLLATE utf8_general_ci NOT NULL DEFAULT '' COMMENT 'One of the template types or payload model keys of the wayline.',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `wayline_filter_UNIQUE` (`wayline_id`,`filter_type`,`filter_value`),
+  KEY `workspace_filter_INDEX` (`workspace_id`,`filter_type`,`filter_value`,`wayline_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb3 COMMENT='The filter values of the wayline files, one row per value.';
+
+
+
 # wayline_job
 # ------------------------------------------------------------
 
@@ -525,6 +547,7 @@ CREATE TABLE `wayline_job` (
   `name` varchar(64) CHARACTER SET utf8 COLLATE utf8_general_ci NOT NULL DEFAULT '' COMMENT 'The name of the job.',
   `file_id` varchar(45) CHARACTER SET utf8 COLLATE utf8_general_ci NOT NULL DEFAULT '' COMMENT 'The wayline file used for this job.',
   `dock_sn` varchar(45) CHARACTER SET utf8 COLLATE utf8_general_ci NOT NULL DEFAULT '' COMMENT 'Which dock executes the job.',
+  `drone_sn` varchar(45) CHARACTER SET utf8 COLLATE utf8_general_ci DEFAULT NULL COMMENT 'Which drone flew the job, recorded when the job ends.',
   `workspace_id` varchar(45) CHARACTER SET utf8 COLLATE utf8_general_ci NOT NULL DEFAULT '' COMMENT 'Which workspace the current job belongs to.',
   `task_type` int NOT NULL,
   `wayline_type` int NOT NULL COMMENT 'The template type of the wayline.',
@@ -542,7 +565,8 @@ CREATE TABLE `wayline_job` (
   `update_time` bigint NOT NULL,
   `parent_id` varchar(45) CHARACTER SET utf8 COLLATE utf8_general_ci DEFAULT NULL,
   PRIMARY KEY (`id`),
-  UNIQUE KEY `job_id_UNIQUE` (`job_id`)
+  UNIQUE KEY `job_id_UNIQUE` (`job_id`),
+  KEY `workspace_create_time_INDEX` (`workspace_id`,`create_time`,`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb3 COMMENT='Wayline mission information of the dock.';
 
 
@@ -0,0 +1,106 @@
+# Upgrade an existing cloud_sample database to 1.10. A new database is created by cloud_sample.sql.
+# Run the statements in order. Each of them skips what's already done, so the script can be run again.
+#
+# MySQL can't add a column or an index only if it doesn't exist,
+# so the ALTER statements are prepared after checking information_schema, and 'DO 0' is run instead if it exists.
+
+USE `cloud_sample`;
+
+# wayline_job
+# ------------------------------------------------------------
+
+SET @statement = (SELECT IF(COUNT(*) = 0,
+  'ALTER TABLE `wayline_job` ADD COLUMN `drone_sn` varchar(45) CHARACTER SET utf8 COLLATE utf8_general_ci DEFAULT NULL COMMENT ''Which drone flew the job, recorded when the job ends.'' AFTER `dock_sn`',
+  'DO 0')
+  FROM information_schema.COLUMNS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'wayline_job' AND COLUMN_NAME = 'drone_sn');
+PREPARE statement FROM @statement;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+SET @statement = (SELECT IF(COUNT(*) = 0,
+  'ALTER TABLE `wayline_job` ADD KEY `workspace_create_time_INDEX` (`workspace_id`,`create_time`,`id`)',
+  'DO 0')
+  FROM information_schema.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'wayline_job' AND INDEX_NAME = 'workspace_create_time_INDEX');
+PREPARE statement FROM @statement;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+
+
+# wayline_file
+# ------------------------------------------------------------
+
+SET @statement = (SELECT IF(COUNT(*) = 0,
+  'ALTER TABLE `wayline_file` ADD KEY `workspace_update_time_INDEX` (`workspace_id`,`update_time`)',
+  'DO 0')
+  FROM information_schema.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'wayline_file' AND INDEX_NAME = 'workspace_update_time_INDEX');
+PREPARE statement FROM @statement;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+SET @statement = (SELECT IF(COUNT(*) = 0,
+  'ALTER TABLE `wayline_file` ADD KEY `workspace_create_time_INDEX` (`workspace_id`,`create_time`)',
+  'DO 0')
+  FROM information_schema.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'wayline_file' AND INDEX_NAME = 'workspace_create_time_INDEX');
+PREPARE statement FROM @statement;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+SET @statement = (SELECT IF(COUNT(*) = 0,
+  'ALTER TABLE `wayline_file` ADD KEY `workspace_name_INDEX` (`workspace_id`,`name`)',
+  'DO 0')
+  FROM information_schema.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'wayline_file' AND INDEX_NAME = 'workspace_name_INDEX');
+PREPARE statement FROM @statement;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+
+
+# wayline_file_filter
+# ------------------------------------------------------------
+
+CREATE TABLE IF NOT EXISTS `wayline_file_filter` (
+  `id` int unsigned NOT NULL AUTO_INCREMENT,
+  `wayline_id` varchar(64) CHARACTER SET utf8 COLLATE utf8_general_ci NOT NULL DEFAULT '' COMMENT 'uuid',
+  `workspace_id` varchar(64) CHARACTER SET utf8 COLLATE utf8_general_ci NOT NULL DEFAULT '' COMMENT 'Which workspace the wayline belongs to.',
+  `filter_type` tinyint NOT NULL COMMENT '0: template type; 1: payload model key;',
+  `filter_value` varchar(32) CHARACTER SET utf8 COLLATE utf8_general_ci NOT NULL DEFAULT '' COMMENT 'One of the template types or payload model keys of the wayline.',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `wayline_filter_UNIQUE` (`wayline_id`,`filter_type`,`filter_value`),
+  KEY `workspace_filter_INDEX` (`workspace_id`,`filter_type`,`filter_value`,`wayline_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb3 COMMENT='The filter values of the wayline files, one row per value.';
+
+# Split the comma-joined values of the existing wayline files into one row per value. Requires MySQL 8.0.4+.
+# The rows written by a running server are kept, so it can be run again, also while the servers are running.
+
+INSERT IGNORE INTO `wayline_file_filter` (`wayline_id`, `workspace_id`, `filter_type`, `filter_value`)
+SELECT a.`wayline_id`, a.`workspace_id`, 0, TRIM(v.`value`)
+FROM `wayline_file` a,
+  JSON_TABLE(CONCAT('["', REPLACE(a.`template_types`, ',', '","'), '"]'), '$[*]' COLUMNS (`value` varchar(32) PATH '$')) v
+WHERE TRIM(v.`value`) <> '';
+
+INSERT IGNORE INTO `wayline_file_filter` (`wayline_id`, `workspace_id`, `filter_type`, `filter_value`)
+SELECT a.`wayline_id`, a.`workspace_id`, 1, TRIM(v.`value`)
+FROM `wayline_file` a,
+  JSON_TABLE(CONCAT('["', REPLACE(a.`payload_model_keys`, ',', '","'), '"]'), '$[*]' COLUMNS (`value` varchar(32) PATH '$')) v
+WHERE a.`payload_model_keys` IS NOT NULL AND TRIM(v.`value`) <> '';
+
+
+
+# media_file
+# ------------------------------------------------------------
+
+# The files of the upload callbacks sent again are looked up by their object keys.
+SET @statement = (SELECT IF(COUNT(*) = 0,
+  'ALTER TABLE `media_file` ADD KEY `workspace_object_key_INDEX` (`workspace_id`,`object_key`(255))',
+  'DO 0')
+  FROM information_schema.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'media_file' AND INDEX_NAME = 'workspace_object_key_INDEX');
+PREPARE statement FROM @statement;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;